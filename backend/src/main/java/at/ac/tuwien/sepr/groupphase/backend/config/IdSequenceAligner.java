@@ -0,0 +1,80 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves the pooled id sequences past the ids that already exist in their tables.
+ *
+ * <p>Tickets, orders, order groups, seats and sectors draw their ids from sequences so inserts can be batched.
+ * Databases created while these tables still used identity columns get fresh sequences starting at 1 from
+ * the schema update, which would collide with the existing rows. Runs once on startup, before any data is generated,
+ * and only on H2.</p>
+ */
+@Component("idSequenceAligner")
+@DependsOn("entityManagerFactory")
+public class IdSequenceAligner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    /**
+     * Must match the allocation size of the sequence generators on the entities.
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES_BY_TABLE = Map.of(
+        "ticket", "ticket_seq",
+        "orders", "order_seq",
+        "order_group", "order_group_seq",
+        "seat", "seat_seq",
+        "sector", "sector_seq"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        // the sequences are read and restarted in the syntax of H2, the only database with tables from before the sequences
+        if (!"H2".equals(database)) {
+            LOGGER.debug("Not aligning id sequences on {}", database);
+            return;
+        }
+        SEQUENCES_BY_TABLE.forEach(this::align);
+    }
+
+    /**
+     * Restarts the sequence if the next block handed out by the pooled optimizer could contain existing ids.
+     * The pooled optimizer treats a sequence value as the upper end of a block of {@link #ALLOCATION_SIZE} ids.
+     *
+     * @param table    the table whose ids are generated by the sequence
+     * @param sequence the name of the sequence
+     */
+    private void align(String table, String sequence) {
+        List<Long> nextValue = jdbcTemplate.queryForList(
+            "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)", Long.class, sequence);
+        if (nextValue.isEmpty()) {
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == null || nextValue.getFirst() - ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+
+        long restartWith = maxId + ALLOCATION_SIZE;
+        LOGGER.info("Restarting sequence {} with {} to skip existing ids of table {}", sequence, restartWith, table);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith);
+    }
+}
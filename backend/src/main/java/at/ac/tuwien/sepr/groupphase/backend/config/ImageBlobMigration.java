@@ -0,0 +1,73 @@
+package at.ac.tuwien.sepr.groupphase.backend.config;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves pictures that are still stored as BLOBs in the image table into the image store.
+ *
+ * <p>Databases created before the image store hold every picture in the {@code image} column, which the schema update
+ * does not remove and which would reject new rows. Each picture is streamed from its column into the store, then the
+ * column is dropped. Runs once the application started, later startups find no column and do nothing.</p>
+ */
+@Component
+public class ImageBlobMigration implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ImageBlobMigration.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageService imageService;
+
+    public ImageBlobMigration(JdbcTemplate jdbcTemplate, ImageService imageService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.imageService = imageService;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        if (!hasLegacyColumn()) {
+            return;
+        }
+
+        List<Object[]> moved = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, image, image_type FROM image WHERE content_hash IS NULL", row -> {
+            try (InputStream content = row.getBinaryStream("image")) {
+                Image stored = imageService.store(content, row.getString("image_type"));
+                moved.add(new Object[] {stored.getContentHash(), stored.getThumbnailHash(), stored.getThumbnailType(), row.getLong("id")});
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read image " + row.getLong("id"), e);
+            }
+        });
+        jdbcTemplate.batchUpdate("UPDATE image SET content_hash = ?, thumbnail_hash = ?, thumbnail_type = ? WHERE id = ?", moved);
+        jdbcTemplate.execute("ALTER TABLE image DROP COLUMN image");
+        LOGGER.info("Moved {} images from the database into the image store", moved.size());
+    }
+
+    private boolean hasLegacyColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            // unquoted names are kept in the case the database folds them to
+            String name = metaData.storesUpperCaseIdentifiers() ? "IMAGE" : "image";
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(), name, name)) {
+                return columns.next();
+            }
+        }));
+    }
+}
@@ -0,0 +1,8 @@
+package at.ac.tuwien.sepr.groupphase.backend.config.type;
+
+public enum PurchaseStatus {
+    QUEUED,             // waiting in the on-sale queue of the show
+    PROCESSING,         // part of the batch currently written by the queue worker
+    COMPLETED,
+    FAILED,             // e.g. a requested seat was taken by an earlier purchase
+}
@@ -6,5 +6,14 @@ public enum TicketStatus {
     REFUNDED,
     EXPIRED,            // either a hold expired or a reservation timed out
     CANCELLED,          // user-initiated cancellation of a reservation or purchase
+    ;
 
+    /**
+     * Returns whether a ticket in this status blocks its seat or standing spot.
+     *
+     * @return true for bought and reserved tickets
+     */
+    public boolean isOccupying() {
+        return this == BOUGHT || this == RESERVED;
+    }
 }
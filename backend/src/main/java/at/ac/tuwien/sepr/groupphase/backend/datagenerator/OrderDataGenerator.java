@@ -11,7 +11,6 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
 import at.ac.tuwien.sepr.groupphase.backend.repository.SectorRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderGroupRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.UserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import jakarta.annotation.PostConstruct;
@@ -40,13 +39,12 @@ import static at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus.REFU
 import static at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus.RESERVED;
 
 @Profile("generateData")
-@DependsOn("userDataGenerator")
+@DependsOn({"userDataGenerator", "idSequenceAligner"})
 @Component
 public class OrderDataGenerator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private final OrderRepository orderRepository;
     private final OrderGroupRepository orderGroupRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
@@ -54,13 +52,11 @@ public class OrderDataGenerator {
     private final SectorRepository sectorRepository;
 
 
-    public OrderDataGenerator(OrderRepository orderRepository,
-                              OrderGroupRepository orderGroupRepository,
+    public OrderDataGenerator(OrderGroupRepository orderGroupRepository,
                               TicketRepository ticketRepository,
                               UserRepository userRepository,
                               ShowRepository showRepository,
                               SectorRepository sectorRepository) {
-        this.orderRepository = orderRepository;
         this.orderGroupRepository = orderGroupRepository;
         this.ticketRepository = ticketRepository;
         this.userRepository = userRepository;
@@ -149,6 +145,9 @@ public class OrderDataGenerator {
                                     Random random) {
         LOGGER.debug("Starting generateOrderGroups(): Generating {} order groups of type {} with status {}", count, orderType, ticketStatus);
 
+        List<OrderGroup> groups = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
+
         for (int i = 0; i < count; i++) {
             ApplicationUser user = users.get(random.nextInt(users.size()));
             Show show = targetShows.get(random.nextInt(targetShows.size()));
@@ -158,7 +157,7 @@ public class OrderDataGenerator {
 
             OrderGroup group = new OrderGroup();
             group.setUserId(user.getId());
-            group = orderGroupRepository.save(group);
+            groups.add(group);
 
             int ticketCount = 1 + random.nextInt(10);
             for (int j = 0; j < ticketCount; j++) {
@@ -168,7 +167,7 @@ public class OrderDataGenerator {
                 order.setOrderGroup(group);
                 order.setUserId(user.getId());
                 order.setTickets(new ArrayList<>());
-                order = orderRepository.save(order);
+                group.getOrders().add(order);
 
                 Ticket ticket = new Ticket();
                 ticket.setShow(show);
@@ -176,15 +175,17 @@ public class OrderDataGenerator {
                 ticket.setCreatedAt(createdAt);
                 ticket.setStatus(ticketStatus);
                 ticket.setOrders(List.of(order));
-                ticketRepository.save(ticket);
-
                 order.getTickets().add(ticket);
-                orderRepository.save(order);
+                tickets.add(ticket);
             }
 
-            LOGGER.trace("Created OrderGroup id={} (user={}), orderType={} with {} tickets at {}",
-                group.getId(), user.getId(), orderType, ticketCount, createdAt);
+            LOGGER.trace("Prepared OrderGroup (user={}), orderType={} with {} tickets at {}",
+                user.getId(), orderType, ticketCount, createdAt);
         }
+
+        // orders are cascaded from their groups, both are written in batches
+        orderGroupRepository.saveAll(groups);
+        ticketRepository.saveAll(tickets);
         LOGGER.debug("generateOrderGroups(): Created {} groups of type {}", count, orderType);
     }
 
@@ -200,6 +201,8 @@ public class OrderDataGenerator {
             remainingTicketCount, orderType, ticketStatus);
 
         AtomicInteger createdSum = new AtomicInteger(0);
+        List<OrderGroup> groups = new ArrayList<>();
+        List<Ticket> tickets = new ArrayList<>();
 
         while (createdSum.get() < remainingTicketCount) {
             ApplicationUser user = users.get(random.nextInt(users.size()));
@@ -207,7 +210,7 @@ public class OrderDataGenerator {
 
             OrderGroup group = new OrderGroup();
             group.setUserId(user.getId());
-            group = orderGroupRepository.save(group);
+            groups.add(group);
 
             LocalDateTime createdAt = randomPastDateTimeBefore(random, show.getDate(), 180);
 
@@ -216,7 +219,7 @@ public class OrderDataGenerator {
             order.setCreatedAt(createdAt);
             order.setOrderGroup(group);
             order.setUserId(user.getId());
-            order = orderRepository.save(order);
+            group.getOrders().add(order);
 
             Ticket ticket = new Ticket();
             ticket.setShow(show);
@@ -224,10 +227,13 @@ public class OrderDataGenerator {
             ticket.setCreatedAt(createdAt);
             ticket.setStatus(ticketStatus);
             ticket.setOrders(List.of(order));
-            ticketRepository.save(ticket);
+            tickets.add(ticket);
 
             createdSum.incrementAndGet();
         }
+
+        orderGroupRepository.saveAll(groups);
+        ticketRepository.saveAll(tickets);
         LOGGER.debug("generateSingleTicketOrderGroups(): Created {} single‐ticket orders with status {}",
             createdSum.get(), ticketStatus);
     }
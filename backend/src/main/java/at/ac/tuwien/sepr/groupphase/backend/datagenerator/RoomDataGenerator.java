@@ -19,7 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Component("roomDataGenerator")
-@DependsOn("locationSeeder")
+@DependsOn({"locationSeeder", "idSequenceAligner"})
 @Profile("generateData")
 public class RoomDataGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(RoomDataGenerator.class);
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.CreateEventDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventCategoryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventDetailDto;
@@ -7,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventTopTenDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.UpdateEventDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.EventMapper;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.ShowMapper;
@@ -93,6 +95,21 @@ public class EventEndpoint {
         }
     }
 
+    @GetMapping(value = "/paginated", params = "after")
+    @Secured("ROLE_ADMIN")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get all events page by page, continuing after a cursor", security = @SecurityRequirement(name = "apiKey"))
+    public CursorPageDto<UpdateEventDto> getEventsAfter(
+        @RequestParam(name = "after") String after,
+        @RequestParam(name = "size", defaultValue = "10") int size,
+        @RequestParam(name = "fromDate", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+        @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) throws ValidationException {
+        LOGGER.info("GET /api/v1/events/paginated?after={}&size={}&fromDate={}", after, size, fromDate);
+        return eventService.getEventsAfter(after, size, fromDate, count);
+    }
+
     @GetMapping
     @Secured("ROLE_ADMIN")
     @ResponseStatus(HttpStatus.OK)
@@ -149,7 +166,7 @@ public class EventEndpoint {
         description = "Search events by name, type, description, or duration (±30min) with page and size parameters.",
         security = @SecurityRequirement(name = "apiKey")
     )
-    public Page<EventSearchResultDto> search(@RequestBody @Valid EventSearchDto eventSearchDto) throws ValidationException {
+    public FacetedPageDto<EventSearchResultDto> search(@RequestBody @Valid EventSearchDto eventSearchDto) throws ValidationException {
         LOGGER.info("POST /api/v1/events/search {}", eventSearchDto);
         return searchService.searchEvents(eventSearchDto);
     }
@@ -80,8 +80,11 @@ public class EventLocationEndpoint {
 
     /**
      * Searches for event locations based on the given search criteria.
+     * Given a point and a radius, only locations within the radius are returned, nearest first.
      *
      * @param eventLocationSearchDto the search criteria
+     * @param near                   the point to search around as latitude,longitude, overrides the one in the criteria
+     * @param radiusKm               the radius around the point in kilometers, overrides the one in the criteria
      * @return a page of event locations matching the search criteria
      */
     @PostMapping("/search")
@@ -89,11 +92,19 @@ public class EventLocationEndpoint {
     @ResponseStatus(HttpStatus.OK)
     @Operation(
         summary = "Search eventlocations",
-        description = "Search eventlocations by name, street, city, country or postal code with page and size parameters.",
+        description = "Search eventlocations by name, street, city, country or postal code, or within radiusKm around near=lat,lon, with page and size parameters.",
         security = @SecurityRequirement(name = "apiKey")
     )
-    public Page<EventLocationDetailDto> search(@RequestBody @Valid EventLocationSearchDto eventLocationSearchDto) throws ValidationException {
-        LOGGER.info("POST /api/v1/locations/search {}", eventLocationSearchDto);
+    public Page<EventLocationDetailDto> search(@RequestBody @Valid EventLocationSearchDto eventLocationSearchDto,
+                                               @RequestParam(name = "near", required = false) String near,
+                                               @RequestParam(name = "radiusKm", required = false) Double radiusKm) throws ValidationException {
+        LOGGER.info("POST /api/v1/locations/search {} near={} radiusKm={}", eventLocationSearchDto, near, radiusKm);
+        if (near != null) {
+            eventLocationSearchDto.setNear(near);
+        }
+        if (radiusKm != null) {
+            eventLocationSearchDto.setRadiusKm(radiusKm);
+        }
         return searchService.searchEventLocations(eventLocationSearchDto);
     }
 
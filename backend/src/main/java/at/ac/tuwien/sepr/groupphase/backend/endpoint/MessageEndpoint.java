@@ -1,11 +1,14 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.DetailedMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.MessageInquiryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.MessageMapper;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.MessageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.StoredImage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
@@ -15,7 +18,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +29,7 @@ import org.springframework.security.access.annotation.Secured;
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -71,6 +78,19 @@ public class MessageEndpoint {
             .map(messageMapper::messageToSimpleMessageDto);
     }
 
+    @Secured("ROLE_USER")
+    @GetMapping(value = "/paginated", params = "after")
+    @Operation(summary = "Get list of messages without details, continuing after a cursor", security = @SecurityRequirement(name = "apiKey"))
+    public CursorPageDto<SimpleMessageDto> findAllAfter(
+        @RequestParam(value = "after") String after,
+        @RequestParam(value = "size", defaultValue = "10") int size,
+        @RequestParam(value = "count", defaultValue = "false") boolean count
+    ) throws ValidationException {
+        LOGGER.info("GET /api/v1/news/paginated?after={}", after);
+        return messageService.findAllAfter(after, size, count)
+            .map(messageMapper::messageToSimpleMessageDto);
+    }
+
     @Secured("ROLE_USER")
     @GetMapping(value = "/{id}")
     @Operation(summary = "Get detailed information about a specific message", security = @SecurityRequirement(name = "apiKey"))
@@ -88,17 +108,35 @@ public class MessageEndpoint {
 
         LOGGER.info("POST /api/v1/news body: {}", messageDto);
         return messageMapper.messageToDetailedMessageDto(
-            messageService.publishMessage(messageMapper.toMessage(messageDto, files)));
+            messageService.publishMessage(messageMapper.messageInquiryDtoToMessage(messageDto), files));
     }
 
     @Secured("ROLE_USER")
     @GetMapping(value = "/{id}/image/{imageId}")
     @Operation(summary = "Get a specific image", security = @SecurityRequirement(name = "apiKey"))
-    public ResponseEntity<byte[]> findImage(@PathVariable(name = "id") Long id, @PathVariable(name = "imageId") Long imageId) {
+    public ResponseEntity<Resource> findImage(@PathVariable(name = "id") Long id, @PathVariable(name = "imageId") Long imageId) {
         LOGGER.info("GET /api/v1/news/{}/image/{}", id, imageId);
-        var image = imageService.findById(imageId);
+        return toResponse(imageService.findContent(imageId, false));
+    }
+
+    @Secured("ROLE_USER")
+    @GetMapping(value = "/{id}/image/{imageId}/thumbnail")
+    @Operation(summary = "Get a scaled-down preview of a specific image", security = @SecurityRequirement(name = "apiKey"))
+    public ResponseEntity<Resource> findThumbnail(@PathVariable(name = "id") Long id, @PathVariable(name = "imageId") Long imageId) {
+        LOGGER.info("GET /api/v1/news/{}/image/{}/thumbnail", id, imageId);
+        return toResponse(imageService.findContent(imageId, true));
+    }
+
+    /**
+     * Streams a stored picture from its file. Spring answers range requests with the requested part and a matching
+     * {@code If-None-Match} with {@code 304 Not Modified}.
+     */
+    private static ResponseEntity<Resource> toResponse(StoredImage image) {
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(image.getImageType()))
-            .body(image.getImage());
+            .contentType(MediaType.parseMediaType(image.contentType()))
+            // stored pictures are named by their content and never change
+            .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+            .eTag("\"" + image.hash() + "\"")
+            .body(new FileSystemResource(image.path()));
     }
 }
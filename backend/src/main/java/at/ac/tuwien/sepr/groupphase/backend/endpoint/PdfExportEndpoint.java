@@ -2,23 +2,35 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfExportService;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdf;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StreamedPdf;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.lang.invoke.MethodHandles;
 import java.util.Optional;
 
+/**
+ * Downloads of tickets and invoices. Documents are streamed from the file they are stored in, tagged with the hash
+ * of their content, so a client sending the tag in {@code If-None-Match} gets {@code 304 Not Modified} instead.
+ * The tickets of a whole order group are rendered into one document while it is sent.
+ */
 @RestController
 @RequestMapping("/api/v1/pdf-export")
 public class PdfExportEndpoint {
@@ -33,62 +45,60 @@ public class PdfExportEndpoint {
     @GetMapping("/tickets/{ticketId}")
     @Secured("ROLE_USER")
     @Operation(summary = "Generate a Ticket PDF.", security = @SecurityRequirement(name = "apiKey"))
-    public void exportTicketPdf(@PathVariable("ticketId") Long ticketId, HttpServletResponse response) throws
-        IOException, ValidationException {
-
+    public ResponseEntity<Resource> exportTicketPdf(@PathVariable("ticketId") Long ticketId) throws ValidationException {
         LOGGER.info("GET /tickets/{ticketId}");
-        var pdf = new ByteArrayOutputStream();
-        pdfExportService.makeTicketPdf(ticketId, pdf, Optional.empty());
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "attachment; filename=Ticket" + ".pdf");
-        pdf.writeTo(response.getOutputStream());
-
+        return toResponse(pdfExportService.makeTicketPdf(ticketId, Optional.empty()), "attachment; filename=Ticket" + ".pdf");
     }
 
     @GetMapping(value = "/tickets/{ticketId}/{randomTicketCode}")
     @Secured("ROLE_ADMIN")
     @Operation(summary = "View a Ticket PDF in the browser.", security = @SecurityRequirement(name = "apiKey"))
-    public void viewTicketPdf(@PathVariable("ticketId") Long ticketId, HttpServletResponse response,
-                                                               @PathVariable("randomTicketCode") String randomTicketCode) throws IOException, ValidationException {
+    public ResponseEntity<Resource> viewTicketPdf(@PathVariable("ticketId") Long ticketId,
+                                                  @PathVariable("randomTicketCode") String randomTicketCode) throws ValidationException {
         LOGGER.info("GET /tickets/{ticketId}/{randomTicketCode}");
-
-        var pdf = new ByteArrayOutputStream();
-        pdfExportService.makeTicketPdf(ticketId, pdf, Optional.of(randomTicketCode));
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "inline; filename=Ticket" + ticketId + ".pdf");
-        pdf.writeTo(response.getOutputStream());
-
-
+        return toResponse(pdfExportService.makeTicketPdf(ticketId, Optional.of(randomTicketCode)), "inline; filename=Ticket" + ticketId + ".pdf");
     }
 
     @GetMapping("/invoice/{orderId}")
     @Secured("ROLE_USER")
     @Operation(summary = "Generate an Invoice Pdf.", security = @SecurityRequirement(name = "apiKey"))
-    public void exportInvoicePdf(@PathVariable("orderId") Long orderId, HttpServletResponse response) throws IOException {
-
+    public ResponseEntity<Resource> exportInvoicePdf(@PathVariable("orderId") Long orderId) {
         LOGGER.info("GET /invoice/{orderId}");
-        var pdf = new ByteArrayOutputStream();
-        pdfExportService.makeInvoicePdf(orderId, pdf);
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "attachment; filename=Invoice" + orderId + ".pdf");
-        pdf.writeTo(response.getOutputStream());
-
-
+        return toResponse(pdfExportService.makeInvoicePdf(orderId), "attachment; filename=Invoice" + orderId + ".pdf");
     }
 
     @GetMapping("/cancelinvoice/{orderId}")
     @Secured("ROLE_USER")
     @Operation(summary = "Generate a CancellationInvoice Pdf.", security = @SecurityRequirement(name = "apiKey"))
-    public void exportCancelInvoicePdf(@PathVariable("orderId") Long orderId, HttpServletResponse response) throws IOException, ValidationException {
-
+    public ResponseEntity<Resource> exportCancelInvoicePdf(@PathVariable("orderId") Long orderId) throws ValidationException {
         LOGGER.info("GET /cancelinvoice/{orderId}");
-        var pdf = new ByteArrayOutputStream();
-        pdfExportService.makeCancelInvoicePdf(orderId, pdf);
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "attachment; filename=CancellationInvoice" + orderId + ".pdf");
-        pdf.writeTo(response.getOutputStream());
-
+        return toResponse(pdfExportService.makeCancelInvoicePdf(orderId), "attachment; filename=CancellationInvoice" + orderId + ".pdf");
+    }
 
+    @GetMapping("/order-groups/{groupId}/tickets")
+    @Secured("ROLE_USER")
+    @Operation(summary = "Generate one Pdf with all Tickets of an OrderGroup.", security = @SecurityRequirement(name = "apiKey"))
+    public void exportOrderGroupTicketsPdf(@PathVariable("groupId") Long groupId, HttpServletResponse response) throws IOException {
+        LOGGER.info("GET /order-groups/{groupId}/tickets");
+        // loaded before the headers are set, so a missing order group is still answered with a problem detail
+        final StreamedPdf pdf = pdfExportService.makeOrderGroupTicketsPdf(groupId);
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=Tickets" + groupId + ".pdf");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+        pdf.writeTo(response.getOutputStream());
     }
 
+    /**
+     * Streams a stored document. Answers {@code 304 Not Modified} if the request names the tag of the document,
+     * checked by Spring before the body is written.
+     */
+    private static ResponseEntity<Resource> toResponse(StoredPdf pdf, String contentDisposition) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_PDF)
+            .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition)
+            // documents are personal, browsers may keep them but have to ask whether they changed
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag("\"" + pdf.etag() + "\"")
+            .body(new FileSystemResource(pdf.path()));
+    }
 }
@@ -0,0 +1,64 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.SuggestionDto;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+@RestController
+@RequestMapping("api/v1/search")
+public class SearchEndpoint {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final SearchService searchService;
+
+    @Autowired
+    public SearchEndpoint(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostMapping
+    @Secured("ROLE_USER")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Search artists, events, locations and shows at once",
+        description = "Returns the best matches of the query for every kind of entity.",
+        security = @SecurityRequirement(name = "apiKey")
+    )
+    public GlobalSearchResultDto search(@RequestBody @Valid GlobalSearchDto searchDto) throws ValidationException {
+        LOGGER.info("POST /api/v1/search with payload: {}", searchDto);
+        return searchService.searchAll(searchDto);
+    }
+
+    @GetMapping("/suggest")
+    @Secured("ROLE_USER")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(
+        summary = "Suggest names while typing",
+        description = "Returns artist stage names, event names and location names containing the query.",
+        security = @SecurityRequirement(name = "apiKey")
+    )
+    public List<SuggestionDto> suggest(@RequestParam("q") String query,
+                                       @RequestParam(value = "limit", defaultValue = "10") Integer limit) throws ValidationException {
+        LOGGER.info("GET /api/v1/search/suggest?q={}", query);
+        return searchService.suggest(query, limit);
+    }
+}
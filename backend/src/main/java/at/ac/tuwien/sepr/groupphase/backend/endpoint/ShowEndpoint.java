@@ -1,6 +1,7 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomDetailDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomUsageChangesDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.CreateShowDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchDto;
@@ -8,6 +9,8 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchResultDt
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.ShowMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
+import at.ac.tuwien.sepr.groupphase.backend.service.AvailabilityStreamService;
 import at.ac.tuwien.sepr.groupphase.backend.service.SearchService;
 import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.RoomServiceImpl;
@@ -17,16 +20,23 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.data.domain.Page;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
 import java.lang.invoke.MethodHandles;
 import java.util.List;
 
@@ -34,17 +44,23 @@ import java.util.List;
 @RequestMapping("api/v1/shows")
 public class ShowEndpoint {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final String AVAILABILITY_VERSION_HEADER = "X-Availability-Version";
     private final ShowService showService;
     private final ShowMapper showMapper;
     private final SearchService searchService;
     private final RoomServiceImpl roomService;
+    private final AuthenticationFacade authFacade;
+    private final AvailabilityStreamService availabilityStreamService;
 
     @Autowired
-    public ShowEndpoint(ShowService showService, ShowMapper showMapper, SearchService searchService, RoomServiceImpl roomService) {
+    public ShowEndpoint(ShowService showService, ShowMapper showMapper, SearchService searchService, RoomServiceImpl roomService,
+                        AuthenticationFacade authFacade, AvailabilityStreamService availabilityStreamService) {
         this.showService = showService;
         this.showMapper = showMapper;
         this.searchService = searchService;
         this.roomService = roomService;
+        this.authFacade = authFacade;
+        this.availabilityStreamService = availabilityStreamService;
     }
 
     @GetMapping("/{id}")
@@ -75,11 +91,20 @@ public class ShowEndpoint {
         return showMapper.showToShowDetailDto(show);
     }
 
+    @PutMapping("/{id}/on-sale-mode")
+    @Secured("ROLE_ADMIN")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Enable or disable the queued on-sale mode of a show", security = @SecurityRequirement(name = "apiKey"))
+    public ShowDetailDto setOnSaleMode(@PathVariable("id") Long id, @RequestParam("enabled") boolean enabled) {
+        LOGGER.info("PUT /api/v1/shows/{}/on-sale-mode?enabled={}", id, enabled);
+        return showMapper.showToShowDetailDto(showService.setOnSaleMode(id, enabled));
+    }
+
     @PostMapping("/search")
     @Secured("ROLE_USER")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Search for shows by various filter criteria", security = @SecurityRequirement(name = "apiKey"))
-    public Page<ShowSearchResultDto> searchShows(@RequestBody @Valid ShowSearchDto searchDto) throws ValidationException {
+    public FacetedPageDto<ShowSearchResultDto> searchShows(@RequestBody @Valid ShowSearchDto searchDto) throws ValidationException {
         LOGGER.info("POST /api/v1/shows/search with criteria: {}", searchDto);
         return searchService.searchShows(searchDto);
     }
@@ -87,16 +112,62 @@ public class ShowEndpoint {
 
     @GetMapping("/{showId}/room-usage")
     @Secured("ROLE_USER")
-    @ResponseStatus(HttpStatus.OK)
     @Operation(
         summary = "Get room layout + occupancy for a show",
-        description = "Returns the room's seats with isAvailable flags and standing sectors with availableCapacity, for the given show",
+        description = "Returns the room's seats with isAvailable flags and standing sectors with availableCapacity, for the given show. "
+            + "With sinceVersion, only the seats and standing sectors that changed since that version are returned. "
+            + "Responses carry an ETag, so polls with If-None-Match are answered with 304 while nothing changed.",
         security = @SecurityRequirement(name = "apiKey")
     )
-    public RoomDetailDto getRoomUsageForShow(
-        @PathVariable("showId") Long showId
+    public ResponseEntity<Object> getRoomUsageForShow(
+        @PathVariable("showId") Long showId,
+        @RequestParam(name = "sinceVersion", required = false) Long sinceVersion,
+        WebRequest request
     ) {
-        LOGGER.info("GET /api/v1/shows/{}/room-usage", showId);
-        return roomService.getRoomUsageForShow(showId);
+        LOGGER.info("GET /api/v1/shows/{}/room-usage?sinceVersion={}", showId, sinceVersion);
+
+        // answered from memory while nothing changed
+        Long version = roomService.getRoomUsageVersion(showId);
+        if (version != null && request.checkNotModified(roomUsageEtag(version))) {
+            return null;
+        }
+
+        if (sinceVersion == null) {
+            RoomDetailDto usage = roomService.getRoomUsageForShow(showId);
+            if (version == null) {
+                return ResponseEntity.ok(usage);
+            }
+            return roomUsageResponse(version).body(usage);
+        }
+
+        RoomUsageChangesDto changes = roomService.getRoomUsageChanges(showId, sinceVersion);
+        return roomUsageResponse(changes.getVersion()).body(changes);
+    }
+
+    @GetMapping(value = "/{showId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Secured("ROLE_USER")
+    @Operation(
+        summary = "Subscribe to live seat availability of a show",
+        description = "Server-sent events: a snapshot of unavailable seats and standing capacities, followed by seat-taken, seat-released, "
+            + "hold-placed, hold-expired and standing-capacity-changed events",
+        security = @SecurityRequirement(name = "apiKey")
+    )
+    public SseEmitter streamAvailability(@PathVariable("showId") Long showId) {
+        LOGGER.info("GET /api/v1/shows/{}/availability/stream", showId);
+        return availabilityStreamService.subscribe(showId);
+    }
+
+    private ResponseEntity.BodyBuilder roomUsageResponse(long version) {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .eTag(roomUsageEtag(version))
+            .header(AVAILABILITY_VERSION_HEADER, Long.toString(version));
+    }
+
+    /**
+     * Availability depends on who is asking, since the own holds of a user count as available for them.
+     */
+    private String roomUsageEtag(long version) {
+        return "\"" + version + "-" + authFacade.getCurrentUserId() + "\"";
     }
 }
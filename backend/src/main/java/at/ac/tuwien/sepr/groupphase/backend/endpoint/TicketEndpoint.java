@@ -3,11 +3,13 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.CreateHoldDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.OrderGroupDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.OrderGroupDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.PurchaseHandleDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.ReservationDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
+import at.ac.tuwien.sepr.groupphase.backend.service.PurchaseQueueService;
 import at.ac.tuwien.sepr.groupphase.backend.service.TicketService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -18,6 +20,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,6 +33,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.lang.invoke.MethodHandles;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("api/v1/tickets")
@@ -37,21 +41,37 @@ public class TicketEndpoint {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final TicketService ticketService;
     private final AuthenticationFacade authenticationFacade;
+    private final PurchaseQueueService purchaseQueueService;
 
     @Autowired
-    public TicketEndpoint(TicketService ticketService, AuthenticationFacade authenticationFacade) {
+    public TicketEndpoint(TicketService ticketService, AuthenticationFacade authenticationFacade, PurchaseQueueService purchaseQueueService) {
         this.ticketService = ticketService;
         this.authenticationFacade = authenticationFacade;
+        this.purchaseQueueService = purchaseQueueService;
     }
 
     @PostMapping("/buy")
     @Secured("ROLE_USER")
-    @ResponseStatus(HttpStatus.CREATED)
-    @Operation(summary = "Initiate ticket purchase", security = @SecurityRequirement(name = "apiKey"))
-    public OrderGroupDto buyTickets(
+    @Operation(
+        summary = "Initiate ticket purchase",
+        description = "Returns the order group (201), or a purchase handle to poll (202) if the show is in on-sale mode",
+        security = @SecurityRequirement(name = "apiKey")
+    )
+    public ResponseEntity<Object> buyTickets(
         @RequestBody @Valid TicketRequestDto ticketRequestDto) throws ValidationException {
         LOGGER.info("POST /api/v1/tickets/buy with request {}", ticketRequestDto);
-        return ticketService.buyTickets(ticketRequestDto);
+        if (purchaseQueueService.isOnSale(ticketRequestDto.getShowId())) {
+            return ResponseEntity.accepted().body(purchaseQueueService.enqueue(ticketRequestDto));
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(ticketService.buyTickets(ticketRequestDto));
+    }
+
+    @GetMapping("/purchases/{id}")
+    @Secured("ROLE_USER")
+    @Operation(summary = "Get the state of a queued purchase", security = @SecurityRequirement(name = "apiKey"))
+    public PurchaseHandleDto getPurchase(@PathVariable("id") UUID id) {
+        LOGGER.info("GET /api/v1/tickets/purchases/{}", id);
+        return purchaseQueueService.getPurchase(id);
     }
 
     @PostMapping("/reserve")
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.user.LockedUserDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.user.UserDetailDto;
@@ -78,6 +79,16 @@ public class UserEndpoint {
         return userService.getAllUsersPaginated(currentUserId, sorted);
     }
 
+    @GetMapping(value = "/paginated", params = "after")
+    @Secured("ROLE_ADMIN")
+    public CursorPageDto<LockedUserDto> getAllUsersAfter(@RequestParam(name = "after") String after,
+                                                         @RequestParam(name = "size", defaultValue = "10") int size,
+                                                         @RequestParam(name = "count", defaultValue = "false") boolean count
+    ) throws ValidationException {
+        LOGGER.info("getAllUsers after cursor={} size={}", after, size);
+        return userService.getAllUsersAfter(authenticationFacade.getCurrentUserId(), after, size, count);
+    }
+
     @PutMapping("/{id}/unlock")
     @Secured("ROLE_ADMIN")
     public ResponseEntity<Void> unlockUser(@PathVariable("id") Long id) {
@@ -0,0 +1,48 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a list paged with cursors instead of page numbers.
+ *
+ * @param content       the rows of the page
+ * @param next          the cursor to pass as {@code after} for the next page, null on the last page
+ * @param totalElements the number of rows in the whole list, null unless requested
+ * @param <T>           the type of the rows
+ */
+public record CursorPageDto<T>(
+    List<T> content,
+    String next,
+    Long totalElements
+) {
+
+    /**
+     * Creates a page from rows fetched with one row more than the page size, which tells whether there is a next page.
+     *
+     * @param rows     up to {@code size + 1} rows in sort order
+     * @param size     the page size
+     * @param cursorOf creates the cursor pointing after a row
+     * @param total    the number of rows in the whole list, null if not requested
+     * @param <T>      the type of the rows
+     * @return the page
+     */
+    public static <T> CursorPageDto<T> of(List<T> rows, int size, Function<T, String> cursorOf, Long total) {
+        if (rows.size() <= size) {
+            return new CursorPageDto<>(rows, null, total);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageDto<>(List.copyOf(content), cursorOf.apply(content.getLast()), total);
+    }
+
+    /**
+     * Converts the rows, keeping the cursor and count.
+     *
+     * @param mapper converts one row
+     * @param <R>    the converted type
+     * @return the converted page
+     */
+    public <R> CursorPageDto<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPageDto<>(content.stream().<R>map(mapper).toList(), next, totalElements);
+    }
+}
@@ -31,6 +31,15 @@ public class EventLocationDetailDto {
     @Size(max = 50, message = "Postal code must not exceed 50 characters")
     private String postalCode;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    /**
+     * Distance from the point searched around, null unless searched by distance.
+     */
+    private Double distanceKm;
+
     public Long getId() {
         return id;
     }
@@ -87,6 +96,30 @@ public class EventLocationDetailDto {
         this.postalCode = postalCode;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -130,6 +163,9 @@ public class EventLocationDetailDto {
         private String city;
         private String street;
         private String postalCode;
+        private Double latitude;
+        private Double longitude;
+        private Double distanceKm;
 
         private EventLocationDtoBuilder() {
         }
@@ -173,6 +209,21 @@ public class EventLocationDetailDto {
             return this;
         }
 
+        public EventLocationDtoBuilder latitude(Double latitude) {
+            this.latitude = latitude;
+            return this;
+        }
+
+        public EventLocationDtoBuilder longitude(Double longitude) {
+            this.longitude = longitude;
+            return this;
+        }
+
+        public EventLocationDtoBuilder distanceKm(Double distanceKm) {
+            this.distanceKm = distanceKm;
+            return this;
+        }
+
         public EventLocationDetailDto build() {
             EventLocationDetailDto eventLocationDetailDto = new EventLocationDetailDto();
             eventLocationDetailDto.setId(id);
@@ -182,6 +233,9 @@ public class EventLocationDetailDto {
             eventLocationDetailDto.setCity(city);
             eventLocationDetailDto.setStreet(street);
             eventLocationDetailDto.setPostalCode(postalCode);
+            eventLocationDetailDto.setLatitude(latitude);
+            eventLocationDetailDto.setLongitude(longitude);
+            eventLocationDetailDto.setDistanceKm(distanceKm);
             return eventLocationDetailDto;
         }
     }
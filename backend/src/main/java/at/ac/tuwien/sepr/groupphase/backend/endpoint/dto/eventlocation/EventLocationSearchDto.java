@@ -23,6 +23,16 @@ public class EventLocationSearchDto {
 
     private String postalCode;
 
+    /**
+     * Point to search around, as {@code "latitude,longitude"}.
+     */
+    private String near;
+
+    /**
+     * Radius around {@link #near} in kilometers.
+     */
+    private Double radiusKm;
+
     public Integer getPage() {
         return page;
     }
@@ -78,4 +88,20 @@ public class EventLocationSearchDto {
     public void setPostalCode(String postalCode) {
         this.postalCode = postalCode;
     }
+
+    public String getNear() {
+        return near;
+    }
+
+    public void setNear(String near) {
+        this.near = near;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
 }
@@ -0,0 +1,47 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room;
+
+/**
+ * A single change of seat availability pushed to subscribed clients.
+ * Standing sector events carry the available capacity instead of a seat.
+ */
+public class AvailabilityEventDto {
+
+    private Long seatId;
+
+    private Long sectorId;
+
+    private Integer availableCapacity;
+
+    public AvailabilityEventDto() {
+    }
+
+    public AvailabilityEventDto(Long seatId, Long sectorId, Integer availableCapacity) {
+        this.seatId = seatId;
+        this.sectorId = sectorId;
+        this.availableCapacity = availableCapacity;
+    }
+
+    public Long getSeatId() {
+        return seatId;
+    }
+
+    public void setSeatId(Long seatId) {
+        this.seatId = seatId;
+    }
+
+    public Long getSectorId() {
+        return sectorId;
+    }
+
+    public void setSectorId(Long sectorId) {
+        this.sectorId = sectorId;
+    }
+
+    public Integer getAvailableCapacity() {
+        return availableCapacity;
+    }
+
+    public void setAvailableCapacity(Integer availableCapacity) {
+        this.availableCapacity = availableCapacity;
+    }
+}
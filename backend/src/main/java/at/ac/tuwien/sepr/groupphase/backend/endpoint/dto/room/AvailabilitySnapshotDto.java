@@ -0,0 +1,44 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The availability of a show sent when a client subscribes to live updates.
+ * Contains only what is not available, the room layout itself is taken from the room usage.
+ */
+public class AvailabilitySnapshotDto {
+
+    private long version;
+
+    private List<Long> unavailableSeatIds;
+
+    private Map<Long, Integer> standingCapacities;
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public List<Long> getUnavailableSeatIds() {
+        return unavailableSeatIds;
+    }
+
+    public void setUnavailableSeatIds(List<Long> unavailableSeatIds) {
+        this.unavailableSeatIds = unavailableSeatIds;
+    }
+
+    /**
+     * Returns the available capacity per standing sector.
+     */
+    public Map<Long, Integer> getStandingCapacities() {
+        return standingCapacities;
+    }
+
+    public void setStandingCapacities(Map<Long, Integer> standingCapacities) {
+        this.standingCapacities = standingCapacities;
+    }
+}
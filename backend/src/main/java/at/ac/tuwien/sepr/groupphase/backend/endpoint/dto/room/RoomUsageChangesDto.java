@@ -0,0 +1,53 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatUsageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorUsageDto;
+
+import java.util.List;
+
+/**
+ * The seats and standing sectors of a show whose availability changed since a given version.
+ * If {@code complete} is set, the requested version was unknown and all seats and standing sectors are contained.
+ */
+public class RoomUsageChangesDto {
+
+    private long version;
+
+    private boolean complete;
+
+    private List<SeatUsageDto> seats;
+
+    private List<StandingSectorUsageDto> standingSectors;
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public List<SeatUsageDto> getSeats() {
+        return seats;
+    }
+
+    public void setSeats(List<SeatUsageDto> seats) {
+        this.seats = seats;
+    }
+
+    public List<StandingSectorUsageDto> getStandingSectors() {
+        return standingSectors;
+    }
+
+    public void setStandingSectors(List<StandingSectorUsageDto> standingSectors) {
+        this.standingSectors = standingSectors;
+    }
+}
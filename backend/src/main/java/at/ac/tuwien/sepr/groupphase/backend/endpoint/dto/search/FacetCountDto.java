@@ -0,0 +1,34 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+/**
+ * The number of search results sharing one value of a facet, e.g. the events in one city.
+ */
+public class FacetCountDto {
+
+    private String value;
+    private long count;
+
+    public FacetCountDto() {
+    }
+
+    public FacetCountDto(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
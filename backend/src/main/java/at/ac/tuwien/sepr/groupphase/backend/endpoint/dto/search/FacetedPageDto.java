@@ -0,0 +1,31 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A page of search results together with the facet counts of all results.
+ * Serialized like any other page, with an additional {@code facets} property.
+ *
+ * @param <T> the type of the results
+ */
+public class FacetedPageDto<T> extends PageImpl<T> {
+
+    private final transient SearchFacetsDto facets;
+
+    public FacetedPageDto(List<T> content, Pageable pageable, long total, SearchFacetsDto facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    /**
+     * Returns the facet counts.
+     *
+     * @return the counts, or null if they could not be counted, e.g. while the application is starting
+     */
+    public SearchFacetsDto getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,39 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class GlobalSearchDto {
+
+    private String query;
+
+    @NotNull(message = "Limit must not be null")
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 50, message = "Limit must not exceed 50")
+    private Integer limit = 5;
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public String toString() {
+        return "GlobalSearchDto{"
+            + "query='" + query + '\''
+            + ", limit=" + limit
+            + '}';
+    }
+}
@@ -0,0 +1,51 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.artist.ArtistSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLocationDetailDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchResultDto;
+
+import java.util.List;
+
+/**
+ * The best matches of one search query per kind of entity, best match first.
+ */
+public class GlobalSearchResultDto {
+
+    private List<ArtistSearchResultDto> artists = List.of();
+    private List<EventSearchResultDto> events = List.of();
+    private List<EventLocationDetailDto> locations = List.of();
+    private List<ShowSearchResultDto> shows = List.of();
+
+    public List<ArtistSearchResultDto> getArtists() {
+        return artists;
+    }
+
+    public void setArtists(List<ArtistSearchResultDto> artists) {
+        this.artists = artists;
+    }
+
+    public List<EventSearchResultDto> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<EventSearchResultDto> events) {
+        this.events = events;
+    }
+
+    public List<EventLocationDetailDto> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<EventLocationDetailDto> locations) {
+        this.locations = locations;
+    }
+
+    public List<ShowSearchResultDto> getShows() {
+        return shows;
+    }
+
+    public void setShows(List<ShowSearchResultDto> shows) {
+        this.shows = shows;
+    }
+}
@@ -0,0 +1,48 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The number of search results per category, city, price range and month, counted over all results of a search.
+ * Price ranges are labelled like {@code 20-50} or {@code 200+}, months like {@code 2025-06}.
+ */
+public class SearchFacetsDto {
+
+    private List<FacetCountDto> categories = new ArrayList<>();
+    private List<FacetCountDto> cities = new ArrayList<>();
+    private List<FacetCountDto> priceRanges = new ArrayList<>();
+    private List<FacetCountDto> months = new ArrayList<>();
+
+    public List<FacetCountDto> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<FacetCountDto> categories) {
+        this.categories = categories;
+    }
+
+    public List<FacetCountDto> getCities() {
+        return cities;
+    }
+
+    public void setCities(List<FacetCountDto> cities) {
+        this.cities = cities;
+    }
+
+    public List<FacetCountDto> getPriceRanges() {
+        return priceRanges;
+    }
+
+    public void setPriceRanges(List<FacetCountDto> priceRanges) {
+        this.priceRanges = priceRanges;
+    }
+
+    public List<FacetCountDto> getMonths() {
+        return months;
+    }
+
+    public void setMonths(List<FacetCountDto> months) {
+        this.months = months;
+    }
+}
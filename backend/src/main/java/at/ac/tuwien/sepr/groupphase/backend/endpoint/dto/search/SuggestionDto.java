@@ -0,0 +1,44 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search;
+
+/**
+ * A name suggested while typing a search query.
+ */
+public class SuggestionDto {
+
+    private String type;
+    private Long id;
+    private String text;
+
+    public SuggestionDto() {
+    }
+
+    public SuggestionDto(String type, Long id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
@@ -0,0 +1,88 @@
+package at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.PurchaseStatus;
+
+import java.util.UUID;
+
+public class PurchaseHandleDto {
+    private UUID id;
+    private Long showId;
+    private PurchaseStatus status;
+
+    // number of purchases ahead in the queue including this one, 0 once processing has started
+    private long position;
+
+    private OrderGroupDto orderGroup;
+    private String error;
+
+    public PurchaseHandleDto() {
+    }
+
+    public PurchaseHandleDto(UUID id, Long showId, PurchaseStatus status, long position, OrderGroupDto orderGroup, String error) {
+        this.id = id;
+        this.showId = showId;
+        this.status = status;
+        this.position = position;
+        this.orderGroup = orderGroup;
+        this.error = error;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    public void setShowId(Long showId) {
+        this.showId = showId;
+    }
+
+    public PurchaseStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(PurchaseStatus status) {
+        this.status = status;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public OrderGroupDto getOrderGroup() {
+        return orderGroup;
+    }
+
+    public void setOrderGroup(OrderGroupDto orderGroup) {
+        this.orderGroup = orderGroup;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "PurchaseHandleDto{"
+            + "id=" + id
+            + ", showId=" + showId
+            + ", status=" + status
+            + ", position=" + position
+            + ", error='" + error + '\''
+            + '}';
+    }
+}
@@ -3,6 +3,8 @@ package at.ac.tuwien.sepr.groupphase.backend.endpoint.exceptionhandler;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ValidationErrorRestDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.LoginAttemptException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.PdfRenderQueueFullException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.PurchaseQueueFullException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.SeatUnavailableException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import org.slf4j.Logger;
@@ -115,6 +117,30 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(pd);
     }
 
+    /**
+     * Handles {@link PurchaseQueueFullException} by asking the client to retry later.
+     */
+    @ExceptionHandler(PurchaseQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handlePurchaseQueueFull(PurchaseQueueFullException ex, ServletWebRequest req) {
+        LOG.warn("Purchase queue full: {}", ex.getMessage());
+        ProblemDetail pd = toProblemDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), req);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(pd);
+    }
+
+    /**
+     * Handles {@link PdfRenderQueueFullException} by asking the client to retry later.
+     */
+    @ExceptionHandler(PdfRenderQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handlePdfRenderQueueFull(PdfRenderQueueFullException ex, ServletWebRequest req) {
+        LOG.warn("PDF render queue full: {}", ex.getMessage());
+        ProblemDetail pd = toProblemDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(pd);
+    }
+
     /**
      * Override methods from ResponseEntityExceptionHandler to send a customized
      * HTTP response for a know exception
@@ -12,9 +12,15 @@ import java.util.List;
 @Mapper(componentModel = "spring")
 public interface EventLocationMapper {
 
+    // the distance only applies to results of a search around a point
+    @Mapping(target = "distanceKm", ignore = true)
     EventLocationDetailDto eventLocationToEventLocationDetailDto(EventLocation eventLocation);
 
+    // coordinates are looked up from the address by the service
     @Mapping(target = "type", source = "type", qualifiedByName = "mapStringToLocationType")
+    @Mapping(target = "latitude", ignore = true)
+    @Mapping(target = "longitude", ignore = true)
+    @Mapping(target = "geocodedAt", ignore = true)
     EventLocation createEventLocationDtoToEventLocation(CreateEventLocationDto createEventLocationDto);
 
     List<EventLocationDetailDto> eventLocationsToEventLocationDtos(List<EventLocation> eventLocations);
@@ -1,14 +1,15 @@
 package at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper;
 
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.DetailedMessageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.ImageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.MessageInquiryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
 import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -25,15 +26,15 @@ public interface MessageMapper {
 
     Message detailedMessageDtoToMessage(DetailedMessageDto detailedMessageDto);
 
+    // a message sent back only refers to its images, the stored files are never changed through it
+    @Mapping(target = "contentHash", ignore = true)
+    @Mapping(target = "imageType", ignore = true)
+    @Mapping(target = "thumbnailHash", ignore = true)
+    @Mapping(target = "thumbnailType", ignore = true)
+    Image imageDtoToImage(ImageDto imageDto);
+
     @Mapping(target = "images", expression = "java(new java.util.ArrayList<>())")
     Message messageInquiryDtoToMessage(MessageInquiryDto messageInquiryDto);
 
     MessageInquiryDto messageToMessageInquiryDto(Message message);
-
-    @Mapping(target = "id", ignore = true)
-    @Mapping(
-        target = "images",
-        expression = "java(multipartFiles != null ? imageMapper.toImageList(multipartFiles) : new java.util.ArrayList<>())"
-    )
-    Message toMessage(MessageInquiryDto messageDto, List<MultipartFile> multipartFiles);
 }
\ No newline at end of file
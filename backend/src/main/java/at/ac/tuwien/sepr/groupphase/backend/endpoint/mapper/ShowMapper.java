@@ -27,6 +27,8 @@ public interface ShowMapper {
     @Mapping(target = "event", source = "eventId", qualifiedByName = "mapEventIdToEvent")
     @Mapping(target = "artists", source = "artistIds", qualifiedByName = "mapIdsToArtists")
     @Mapping(target = "room", source = "roomId", qualifiedByName = "mapRoomIdToRoom")
+    @Mapping(target = "priceHistogram", ignore = true)
+    @Mapping(target = "onSaleMode", ignore = true)
     Show createShowDtoToShow(CreateShowDto createShowDto);
 
     List<ShowDetailDto> showsToShowDetailDtos(List<Show> shows);
@@ -1,7 +1,9 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndexListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,6 +16,7 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 public class Artist {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,7 +1,9 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndexListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -10,9 +12,11 @@ import jakarta.persistence.Id;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 public class EventLocation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +42,16 @@ public class EventLocation {
     @Column(nullable = false, length = 100)
     private String postalCode;
 
+    /**
+     * Coordinates looked up from the address, null if the geocoding table does not know it.
+     */
+    private Double latitude;
+
+    private Double longitude;
+
+    // when the coordinates were looked up, addresses the table did not know are not looked up again
+    private LocalDateTime geocodedAt;
+
     public Long getId() {
         return id;
     }
@@ -94,6 +108,30 @@ public class EventLocation {
         this.postalCode = postalCode;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDateTime getGeocodedAt() {
+        return geocodedAt;
+    }
+
+    public void setGeocodedAt(LocalDateTime geocodedAt) {
+        this.geocodedAt = geocodedAt;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -1,9 +1,13 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldAvailabilityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
@@ -13,6 +17,8 @@ import java.time.LocalDateTime;
  * for a specific show.
  */
 @Entity
+@Table(indexes = {@Index(columnList = "showId, validUntil"), @Index(columnList = "validUntil")})
+@EntityListeners(HoldAvailabilityListener.class)
 public class Hold {
 
     @Id
@@ -1,29 +1,37 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
-import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
-import java.util.Arrays;
 import java.util.Objects;
 
+/**
+ * A picture of a news message. The picture itself lives in the image store, the entity refers to it by the hash
+ * of its content.
+ */
 @Entity
 public class Image {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Basic(fetch = FetchType.LAZY)
-    @Column(nullable = false, columnDefinition = "BLOB")
-    private byte[] image;
+    // nullable only so the schema update can add it to tables still holding the pictures as BLOBs
+    @Column(length = 64)
+    private String contentHash;
 
     @Column(nullable = false)
     private String imageType;
 
+    // null if the picture could not be decoded, previews fall back to the original then
+    @Column(length = 64)
+    private String thumbnailHash;
+
+    @Column
+    private String thumbnailType;
+
     public Long getId() {
         return id;
     }
@@ -32,12 +40,12 @@ public class Image {
         this.id = id;
     }
 
-    public byte[] getImage() {
-        return image;
+    public String getContentHash() {
+        return contentHash;
     }
 
-    public void setImage(byte[] image) {
-        this.image = image;
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
     }
 
     public String getImageType() {
@@ -48,6 +56,22 @@ public class Image {
         this.imageType = imageType;
     }
 
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public String getThumbnailType() {
+        return thumbnailType;
+    }
+
+    public void setThumbnailType(String thumbnailType) {
+        this.thumbnailType = thumbnailType;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) {
@@ -55,15 +79,13 @@ public class Image {
         }
 
         Image image1 = (Image) o;
-        return Objects.equals(id, image1.id) && Arrays.equals(image, image1.image) && Objects.equals(imageType, image1.imageType);
+        return Objects.equals(id, image1.id) && Objects.equals(contentHash, image1.contentHash) && Objects.equals(imageType, image1.imageType)
+            && Objects.equals(thumbnailHash, image1.thumbnailHash) && Objects.equals(thumbnailType, image1.thumbnailType);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hashCode(id);
-        result = 31 * result + Arrays.hashCode(image);
-        result = 31 * result + Objects.hashCode(imageType);
-        return result;
+        return Objects.hash(id, contentHash, imageType, thumbnailHash, thumbnailType);
     }
 
 
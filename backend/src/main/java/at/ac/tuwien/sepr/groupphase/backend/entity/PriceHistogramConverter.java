@@ -0,0 +1,40 @@
+package at.ac.tuwien.sepr.groupphase.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a price histogram, the number of sectors per price, as text like {@code "10:2,25:1"} in a single column.
+ */
+@Converter
+public class PriceHistogramConverter implements AttributeConverter<SortedMap<Integer, Integer>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(SortedMap<Integer, Integer> histogram) {
+        if (histogram == null) {
+            return null;
+        }
+        return histogram.entrySet().stream()
+            .map(bucket -> bucket.getKey() + ":" + bucket.getValue())
+            .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public SortedMap<Integer, Integer> convertToEntityAttribute(String text) {
+        if (text == null) {
+            return null;
+        }
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (String bucket : text.split(",")) {
+            if (!bucket.isEmpty()) {
+                String[] priceAndCount = bucket.split(":");
+                histogram.merge(Integer.valueOf(priceAndCount[0]), Integer.valueOf(priceAndCount[1]), Integer::sum);
+            }
+        }
+        return histogram;
+    }
+}
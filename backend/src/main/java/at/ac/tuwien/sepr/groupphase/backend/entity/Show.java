@@ -1,28 +1,41 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity;
 
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndexListener;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Table(indexes = {@Index(columnList = "min_price"), @Index(columnList = "max_price")})
 public class Show {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,7 +65,26 @@ public class Show {
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
-    @PrePersist
+    @Column(name = "on_sale_mode", nullable = false)
+    @ColumnDefault("false")
+    private boolean onSaleMode;
+
+    /**
+     * The lowest sector price of the room, copied here so price filters do not have to join the sectors.
+     */
+    @Column(name = "min_price")
+    private Integer minPrice;
+
+    @Column(name = "max_price")
+    private Integer maxPrice;
+
+    /**
+     * The number of sectors of the room per price, null until the prices were taken from the room.
+     */
+    @Column(name = "price_histogram", length = 1000)
+    @Convert(converter = PriceHistogramConverter.class)
+    private SortedMap<Integer, Integer> priceHistogram;
+
     @PreUpdate
     private void truncateDateToMinutes() {
         if (this.date != null) {
@@ -60,6 +92,15 @@ public class Show {
         }
     }
 
+    @PrePersist
+    private void prepareInsert() {
+        truncateDateToMinutes();
+        // rooms loaded without their sectors are left to ShowServiceImpl, which completes missing prices on startup
+        if (this.priceHistogram == null && this.room != null && Hibernate.isInitialized(this.room.getSectors())) {
+            updatePrices(this.room.getSectors());
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -125,6 +166,44 @@ public class Show {
         this.room = room;
     }
 
+    public boolean isOnSaleMode() {
+        return onSaleMode;
+    }
+
+    public void setOnSaleMode(boolean onSaleMode) {
+        this.onSaleMode = onSaleMode;
+    }
+
+    public Integer getMinPrice() {
+        return minPrice;
+    }
+
+    public Integer getMaxPrice() {
+        return maxPrice;
+    }
+
+    public SortedMap<Integer, Integer> getPriceHistogram() {
+        return priceHistogram != null ? Collections.unmodifiableSortedMap(priceHistogram) : null;
+    }
+
+    /**
+     * Takes the lowest and highest price and the price histogram from the sectors of the room.
+     * Sectors without a price, like stages, are left out.
+     *
+     * @param sectors the sectors of the room
+     */
+    public void updatePrices(Collection<Sector> sectors) {
+        SortedMap<Integer, Integer> histogram = new TreeMap<>();
+        for (Sector sector : sectors) {
+            if (sector.getPrice() != null) {
+                histogram.merge(sector.getPrice(), 1, Integer::sum);
+            }
+        }
+        this.priceHistogram = histogram;
+        this.minPrice = histogram.isEmpty() ? null : histogram.firstKey();
+        this.maxPrice = histogram.isEmpty() ? null : histogram.lastKey();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -173,6 +252,7 @@ public class Show {
         private Event event;
         private Set<Artist> artists;
         private Room room;
+        private boolean onSaleMode;
 
         private ShowBuilder() {
         }
@@ -211,6 +291,11 @@ public class Show {
             return this;
         }
 
+        public ShowBuilder withOnSaleMode(boolean onSaleMode) {
+            this.onSaleMode = onSaleMode;
+            return this;
+        }
+
         public Show build() {
             Show show = new Show();
             show.setName(name);
@@ -219,6 +304,7 @@ public class Show {
             show.setEvent(event);
             show.setArtists(artists);
             show.setRoom(room);
+            show.setOnSaleMode(onSaleMode);
             return show;
         }
     }
@@ -1,14 +1,17 @@
 package at.ac.tuwien.sepr.groupphase.backend.entity.ticket;
 
 import at.ac.tuwien.sepr.groupphase.backend.config.type.OrderType;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdfListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
@@ -17,9 +20,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@EntityListeners(StoredPdfListener.class)
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
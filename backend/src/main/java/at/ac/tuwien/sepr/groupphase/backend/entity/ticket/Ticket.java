@@ -4,29 +4,42 @@ import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.TicketOccupancyListener;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.TicketSalesListener;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(indexes = {@Index(columnList = "randomTicketCode")})
+@Table(indexes = {@Index(columnList = "randomTicketCode"), @Index(columnList = "show_id, status")},
+    uniqueConstraints = {@UniqueConstraint(name = "uk_ticket_show_active_seat", columnNames = {"show_id", "active_seat_id"})})
+@EntityListeners({TicketOccupancyListener.class, TicketSalesListener.class})
 public class Ticket {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     Long id;
 
     @ManyToMany
@@ -61,6 +74,19 @@ public class Ticket {
     @Column(nullable = true)
     private String randomTicketCode;
 
+    /**
+     * Copy of the seat id while the ticket blocks its seat (BOUGHT or RESERVED), null otherwise.
+     * Together with the show it is unique, so the database rejects a second active ticket for the same seat.
+     */
+    @Column(name = "active_seat_id")
+    private Long activeSeatId;
+
+    /**
+     * Status as last read from or written to the database, used to detect status transitions.
+     */
+    @Transient
+    private TicketStatus persistedStatus;
+
     @PrePersist
     public void prePersist() {
         if (this.createdAt == null) {
@@ -68,6 +94,16 @@ public class Ticket {
         }
     }
 
+    /**
+     * Runs after the entity listeners, which compare the new status with the previous one.
+     */
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    public void rememberPersistedStatus() {
+        this.persistedStatus = this.status;
+    }
+
     public List<Order> getOrders() {
         return orders;
     }
@@ -98,6 +134,7 @@ public class Ticket {
 
     public void setSeat(Seat seat) {
         this.seat = seat;
+        updateActiveSeatId();
     }
 
     public TicketStatus getStatus() {
@@ -106,6 +143,15 @@ public class Ticket {
 
     public void setStatus(TicketStatus status) {
         this.status = status;
+        updateActiveSeatId();
+    }
+
+    public Long getActiveSeatId() {
+        return activeSeatId;
+    }
+
+    private void updateActiveSeatId() {
+        this.activeSeatId = seat != null && status != null && status.isOccupying() ? seat.getId() : null;
     }
 
     public Long getId() {
@@ -132,4 +178,8 @@ public class Ticket {
         this.randomTicketCode = randomTicketCode;
     }
 
+    public TicketStatus getPersistedStatus() {
+        return persistedStatus;
+    }
+
 }
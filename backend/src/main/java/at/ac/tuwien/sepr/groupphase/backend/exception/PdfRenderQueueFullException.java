@@ -0,0 +1,18 @@
+package at.ac.tuwien.sepr.groupphase.backend.exception;
+
+/**
+ * Thrown when all PDF render workers are busy and their queue is full, so no further documents can be accepted for now.
+ */
+public class PdfRenderQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PdfRenderQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
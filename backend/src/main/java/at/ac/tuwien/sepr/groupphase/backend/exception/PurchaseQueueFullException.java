@@ -0,0 +1,18 @@
+package at.ac.tuwien.sepr.groupphase.backend.exception;
+
+/**
+ * Thrown when the on-sale purchase queue of a show is full and no further purchases can be accepted for now.
+ */
+public class PurchaseQueueFullException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PurchaseQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -5,6 +5,22 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface EventLocationRepository extends JpaRepository<EventLocation, Long>, JpaSpecificationExecutor<EventLocation> {
+public interface EventLocationRepository extends JpaRepository<EventLocation, Long>, JpaSpecificationExecutor<EventLocation>, EventLocationSearchRepository {
+
+    /**
+     * Finds all locations with coordinates.
+     *
+     * @return the locations with coordinates
+     */
+    List<EventLocation> findByLatitudeIsNotNullAndLongitudeIsNotNull();
+
+    /**
+     * Finds all locations whose coordinates have never been looked up.
+     *
+     * @return the locations not looked up yet
+     */
+    List<EventLocation> findByGeocodedAtIsNull();
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Searches event locations, selecting only the columns of a search result.
+ */
+public interface EventLocationSearchRepository {
+
+    /**
+     * The columns of an event location shown as a search result.
+     *
+     * @param id         the ID of the location
+     * @param name       the name
+     * @param street     the street
+     * @param city       the city
+     * @param country    the country
+     * @param postalCode the postal code
+     * @param latitude   the latitude, null if not known
+     * @param longitude  the longitude, null if not known
+     */
+    record LocationRow(Long id, String name, String street, String city, String country, String postalCode, Double latitude, Double longitude) {
+    }
+
+    /**
+     * Returns the locations matching the specification.
+     *
+     * @param spec the criteria
+     * @return the result columns of the matching locations
+     */
+    List<LocationRow> findSearchRows(Specification<EventLocation> spec);
+
+    /**
+     * Returns one page of the locations matching the specification.
+     *
+     * @param spec     the criteria
+     * @param pageable the requested page
+     * @return the result columns of the matching locations on the page
+     */
+    Page<LocationRow> findSearchRows(Specification<EventLocation> spec, Pageable pageable);
+}
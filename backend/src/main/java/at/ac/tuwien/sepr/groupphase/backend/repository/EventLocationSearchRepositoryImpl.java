@@ -0,0 +1,32 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class EventLocationSearchRepositoryImpl implements EventLocationSearchRepository {
+
+    private final SpecificationRows<EventLocation, LocationRow> rows;
+
+    EventLocationSearchRepositoryImpl(EntityManager entityManager) {
+        this.rows = new SpecificationRows<>(entityManager, EventLocation.class, LocationRow.class, root -> new Selection<?>[] {
+            root.get("id"), root.get("name"), root.get("street"), root.get("city"), root.get("country"), root.get("postalCode"),
+            root.get("latitude"), root.get("longitude")
+        });
+    }
+
+    @Override
+    public List<LocationRow> findSearchRows(Specification<EventLocation> spec) {
+        return rows.findAll(spec);
+    }
+
+    @Override
+    public Page<LocationRow> findSearchRows(Specification<EventLocation> spec, Pageable pageable) {
+        return rows.findAll(spec, pageable);
+    }
+}
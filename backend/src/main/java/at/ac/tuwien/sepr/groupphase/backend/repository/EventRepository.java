@@ -1,17 +1,54 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventSearchRepository {
     List<Event> findAllByCategory(Event.EventCategory category);
 
     long countByDateTimeBefore(LocalDateTime dateTime);
+
+    long countByDateTimeGreaterThanEqual(LocalDateTime dateTime);
+
+    /**
+     * Returns the first events from the given date on, ordered by date, name ignoring case and ID.
+     *
+     * @param from  the earliest date, null for no limit
+     * @param limit the maximum number of events
+     * @return the events
+     */
+    @Query("""
+        SELECT e FROM Event e
+        WHERE :from IS NULL OR e.dateTime >= :from
+        ORDER BY e.dateTime, LOWER(e.name), e.id
+        """)
+    List<Event> findFirstFrom(@Param("from") LocalDateTime from, Limit limit);
+
+    /**
+     * Returns the events following the given one, ordered by date, name ignoring case and ID.
+     *
+     * @param dateTime the date of the last event already returned
+     * @param name     the lower-case name of that event
+     * @param id       the ID of that event
+     * @param limit    the maximum number of events
+     * @return the events
+     */
+    @Query("""
+        SELECT e FROM Event e
+        WHERE e.dateTime >= :dateTime
+          AND (e.dateTime > :dateTime
+           OR (e.dateTime = :dateTime AND (LOWER(e.name) > :name OR (LOWER(e.name) = :name AND e.id > :id))))
+        ORDER BY e.dateTime, LOWER(e.name), e.id
+        """)
+    List<Event> findAfter(@Param("dateTime") LocalDateTime dateTime, @Param("name") String name, @Param("id") Long id, Limit limit);
 }
 
@@ -0,0 +1,44 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Searches events, selecting only the columns of a search result instead of loading events with their locations.
+ */
+public interface EventSearchRepository {
+
+    /**
+     * The columns of an event shown as a search result.
+     *
+     * @param id          the ID of the event
+     * @param name        the name
+     * @param category    the category
+     * @param locationId  the ID of the location
+     * @param duration    the duration in minutes
+     * @param description the description
+     */
+    record EventRow(Long id, String name, Event.EventCategory category, Long locationId, int duration, String description) {
+    }
+
+    /**
+     * Returns the events matching the specification.
+     *
+     * @param spec the criteria
+     * @return the result columns of the matching events
+     */
+    List<EventRow> findSearchRows(Specification<Event> spec);
+
+    /**
+     * Returns one page of the events matching the specification.
+     *
+     * @param spec     the criteria
+     * @param pageable the requested page
+     * @return the result columns of the matching events on the page
+     */
+    Page<EventRow> findSearchRows(Specification<Event> spec, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class EventSearchRepositoryImpl implements EventSearchRepository {
+
+    private final SpecificationRows<Event, EventRow> rows;
+
+    EventSearchRepositoryImpl(EntityManager entityManager) {
+        // the ID of the location is the foreign key column, so the location table is not joined
+        this.rows = new SpecificationRows<>(entityManager, Event.class, EventRow.class, root -> new Selection<?>[] {
+            root.get("id"), root.get("name"), root.get("category"), root.get("location").get("id"), root.get("duration"), root.get("description")
+        });
+    }
+
+    @Override
+    public List<EventRow> findSearchRows(Specification<Event> spec) {
+        return rows.findAll(spec);
+    }
+
+    @Override
+    public Page<EventRow> findSearchRows(Specification<Event> spec, Pageable pageable) {
+        return rows.findAll(spec, pageable);
+    }
+}
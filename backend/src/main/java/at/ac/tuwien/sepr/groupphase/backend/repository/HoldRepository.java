@@ -1,11 +1,36 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface HoldRepository extends JpaRepository<Hold, Long> {
 
     List<Hold> findByShowId(Long showId);
+
+    /**
+     * Finds the holds of a show that are still valid at the given time.
+     *
+     * @param showId the ID of the show
+     * @param now    the current time
+     * @return the active holds of the show
+     */
+    List<Hold> findByShowIdAndValidUntilAfter(Long showId, LocalDateTime now);
+
+    /**
+     * Deletes all holds that ran out before the given time in one statement.
+     *
+     * @param threshold holds valid until before this time are deleted
+     * @return the number of deleted holds
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Hold h WHERE h.validUntil < :threshold")
+    int deleteByValidUntilBefore(@Param("threshold") LocalDateTime threshold);
 }
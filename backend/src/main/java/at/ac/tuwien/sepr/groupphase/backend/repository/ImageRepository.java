@@ -7,5 +7,13 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Long> {
 
+    /**
+     * Checks whether any image refers to a stored file, as its picture or as its thumbnail.
+     *
+     * @param contentHash   the hash of the file
+     * @param thumbnailHash the hash of the file
+     * @return true if the file is still in use
+     */
+    boolean existsByContentHashOrThumbnailHash(String contentHash, String thumbnailHash);
 
 }
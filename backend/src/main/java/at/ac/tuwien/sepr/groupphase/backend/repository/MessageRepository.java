@@ -1,6 +1,7 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -50,4 +52,28 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
             )
         """)
     Page<Message> findAllUnseenByUserIdPaginated(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Returns the newest messages, ordered by published at date and ID (descending).
+     *
+     * @param limit the maximum number of messages
+     * @return the messages
+     */
+    List<Message> findAllByOrderByPublishedAtDescIdDesc(Limit limit);
+
+    /**
+     * Returns the messages published before the given one, ordered by published at date and ID (descending).
+     *
+     * @param publishedAt the published at date of the last message already returned
+     * @param id          the ID of that message
+     * @param limit       the maximum number of messages
+     * @return the messages
+     */
+    @Query("""
+            SELECT m FROM Message m
+            WHERE m.publishedAt <= :publishedAt
+              AND (m.publishedAt < :publishedAt OR (m.publishedAt = :publishedAt AND m.id < :id))
+            ORDER BY m.publishedAt DESC, m.id DESC
+        """)
+    List<Message> findBefore(@Param("publishedAt") LocalDateTime publishedAt, @Param("id") Long id, Limit limit);
 }
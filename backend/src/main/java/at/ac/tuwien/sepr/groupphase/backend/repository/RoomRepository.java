@@ -21,6 +21,24 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
         + "LEFT JOIN FETCH r.seats")
     List<Room> findAllWithSectorsAndSeats();
 
+    /**
+     * Counts the seats of every room that belong to a sector and are not deleted.
+     * Each row is {@code [roomId, seatCount]}, rooms without such seats are left out.
+     *
+     * @return one row per room with seats
+     */
+    @Query("SELECT s.room.id, COUNT(s.id) FROM Seat s WHERE s.deleted = false AND s.sector IS NOT NULL GROUP BY s.room.id")
+    List<Object[]> countSeatsPerRoom();
+
+    /**
+     * Sums the capacity of the standing sectors of every room.
+     * Each row is {@code [roomId, capacity]}, rooms without standing sectors are left out.
+     *
+     * @return one row per room with standing sectors
+     */
+    @Query("SELECT s.room.id, SUM(s.capacity) FROM StandingSector s GROUP BY s.room.id")
+    List<Object[]> sumStandingCapacityPerRoom();
+
     @EntityGraph(attributePaths = {"sectors", "seats"})
     @Override
     Page<Room> findAll(Pageable pageable);
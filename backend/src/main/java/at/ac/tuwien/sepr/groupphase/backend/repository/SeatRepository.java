@@ -3,8 +3,12 @@ package at.ac.tuwien.sepr.groupphase.backend.repository;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SeatRepository extends JpaRepository<Seat, Integer> {
     Optional<Seat> findById(Long seatId);
+
+    List<Seat> findByIdIn(Collection<Long> seatIds);
 }
@@ -3,8 +3,12 @@ package at.ac.tuwien.sepr.groupphase.backend.repository;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface SectorRepository extends JpaRepository<Sector, Integer> {
     Optional<Sector> findById(Long sectorId);
+
+    List<Sector> findByIdIn(Collection<Long> sectorIds);
 }
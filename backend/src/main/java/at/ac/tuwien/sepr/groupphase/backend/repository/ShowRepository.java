@@ -5,7 +5,6 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.util.MinMaxTime;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -18,7 +17,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ShowRepository extends JpaRepository<Show, Long>, JpaSpecificationExecutor<Show> {
+public interface ShowRepository extends JpaRepository<Show, Long>, JpaSpecificationExecutor<Show>, ShowSearchRepository {
 
     @Query("SELECT DISTINCT s FROM Show s LEFT JOIN FETCH s.artists")
     List<Show> findAllWithArtists();
@@ -68,8 +67,22 @@ public interface ShowRepository extends JpaRepository<Show, Long>, JpaSpecificat
         """)
     Optional<Show> findByIdWithRoomAndSectors(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"room.sectors", "event"})
-    Page<Show> findAll(Specification<Show> spec, Pageable pageable);
+    /**
+     * Returns the shows taking place in the given room, with the sectors of the room.
+     *
+     * @param roomId the ID of the room
+     * @return the shows in the room
+     */
+    @EntityGraph(attributePaths = {"room.sectors"})
+    List<Show> findByRoomId(Long roomId);
+
+    /**
+     * Returns the shows whose prices have not been taken from their room yet, with the sectors of the room.
+     *
+     * @return the shows without prices
+     */
+    @EntityGraph(attributePaths = {"room.sectors"})
+    List<Show> findByPriceHistogramIsNull();
 
     @Query("""
             SELECT s FROM Show s
@@ -77,4 +90,11 @@ public interface ShowRepository extends JpaRepository<Show, Long>, JpaSpecificat
         """)
     List<Show> findShowsBetween(@Param("start") LocalDateTime start,
                                 @Param("end") LocalDateTime end);
+
+    @Query("""
+            SELECT s.id FROM Show s
+            WHERE s.date BETWEEN :start AND :end
+        """)
+    List<Long> findShowIdsBetween(@Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,50 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Searches shows, selecting only the columns of a search result instead of loading shows with their events and rooms.
+ */
+public interface ShowSearchRepository {
+
+    /**
+     * The columns of a show shown as a search result.
+     *
+     * @param id        the ID of the show
+     * @param name      the name
+     * @param duration  the duration in minutes
+     * @param date      the start
+     * @param eventId   the ID of the event
+     * @param eventName the name of the event
+     * @param roomId    the ID of the room
+     * @param roomName  the name of the room
+     * @param minPrice  the price of the cheapest sector, null if not known
+     * @param maxPrice  the price of the most expensive sector, null if not known
+     */
+    record ShowRow(Long id, String name, int duration, LocalDateTime date, Long eventId, String eventName, Long roomId, String roomName,
+                   Integer minPrice, Integer maxPrice) {
+    }
+
+    /**
+     * Returns the shows matching the specification.
+     *
+     * @param spec the criteria
+     * @return the result columns of the matching shows
+     */
+    List<ShowRow> findSearchRows(Specification<Show> spec);
+
+    /**
+     * Returns one page of the shows matching the specification.
+     *
+     * @param spec     the criteria
+     * @param pageable the requested page
+     * @return the result columns of the matching shows on the page
+     */
+    Page<ShowRow> findSearchRows(Specification<Show> spec, Pageable pageable);
+}
@@ -0,0 +1,33 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ShowSearchRepositoryImpl implements ShowSearchRepository {
+
+    private final SpecificationRows<Show, ShowRow> rows;
+
+    ShowSearchRepositoryImpl(EntityManager entityManager) {
+        // implicit joins on the same path are shared with those of the specifications
+        this.rows = new SpecificationRows<>(entityManager, Show.class, ShowRow.class, root -> new Selection<?>[] {
+            root.get("id"), root.get("name"), root.get("duration"), root.get("date"), root.get("event").get("id"), root.get("event").get("name"),
+            root.get("room").get("id"), root.get("room").get("name"), root.get("minPrice"), root.get("maxPrice")
+        });
+    }
+
+    @Override
+    public List<ShowRow> findSearchRows(Specification<Show> spec) {
+        return rows.findAll(spec);
+    }
+
+    @Override
+    public Page<ShowRow> findSearchRows(Specification<Show> spec, Pageable pageable) {
+        return rows.findAll(spec, pageable);
+    }
+}
@@ -0,0 +1,86 @@
+package at.ac.tuwien.sepr.groupphase.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs a {@link Specification} as a Criteria API query that selects only the given columns into a row type
+ * through a constructor expression. Rows are no entities, so the persistence context neither loads associations
+ * nor tracks the results.
+ *
+ * @param <E> the entity type the specification applies to
+ * @param <R> the row type, with a constructor taking the columns in order
+ */
+final class SpecificationRows<E, R> {
+
+    private final EntityManager entityManager;
+    private final Class<E> entityType;
+    private final Class<R> rowType;
+    private final Function<Root<E>, Selection<?>[]> columns;
+
+    SpecificationRows(EntityManager entityManager, Class<E> entityType, Class<R> rowType, Function<Root<E>, Selection<?>[]> columns) {
+        this.entityManager = entityManager;
+        this.entityType = entityType;
+        this.rowType = rowType;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns all rows of the entities matching the specification.
+     */
+    List<R> findAll(Specification<E> spec) {
+        return query(spec, Pageable.unpaged()).getResultList();
+    }
+
+    /**
+     * Returns one page of rows, counting all matching entities only if the page does not tell their number.
+     */
+    Page<R> findAll(Specification<E> spec, Pageable pageable) {
+        TypedQuery<R> query = query(spec, pageable);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    private TypedQuery<R> query(Specification<E> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(rowType);
+        Root<E> root = query.from(entityType);
+        query.select(cb.construct(rowType, columns.apply(root)));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
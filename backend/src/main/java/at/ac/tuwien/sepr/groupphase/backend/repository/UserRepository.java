@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -58,4 +59,17 @@ public interface UserRepository extends JpaRepository<ApplicationUser, Long> {
     @Transactional
     @Query("SELECT u FROM ApplicationUser u WHERE u.id <> :id")
     Page<ApplicationUser> findAllByIdNot(@Param("id") Long id, Pageable pageable);
-}
\ No newline at end of file
+
+    long countByIdNot(Long id);
+
+    /**
+     * Returns the users following the given ID, except the given user, ordered by ID.
+     *
+     * @param id      the user to leave out
+     * @param afterId the ID of the last user already returned, 0 for the first page
+     * @param limit   the maximum number of users
+     * @return the users
+     */
+    @Query("SELECT u FROM ApplicationUser u WHERE u.id <> :id AND u.id > :afterId ORDER BY u.id")
+    List<ApplicationUser> findAllByIdNotAfter(@Param("id") Long id, @Param("afterId") Long afterId, Limit limit);
+}
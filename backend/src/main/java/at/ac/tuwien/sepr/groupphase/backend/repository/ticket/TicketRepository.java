@@ -1,15 +1,16 @@
 package at.ac.tuwien.sepr.groupphase.backend.repository.ticket;
 
-import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
-import org.springframework.data.domain.Pageable;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -17,29 +18,114 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
 
     long countByStatus(TicketStatus status);
 
+    /**
+     * Counts the bought tickets of every event starting in the given period.
+     * Each row is {@code [eventId, name, dateTime, category, ticketCount]}, events without bought tickets are left out.
+     *
+     * @param start the earliest start of an event
+     * @param end   the latest start of an event
+     * @return one row per event with bought tickets
+     */
     @Query("""
-        SELECT t.show.event, COUNT(t.id) as ticketCount
-        FROM Ticket t
-        WHERE t.status = 'BOUGHT' AND t.show.event.dateTime BETWEEN CURRENT_TIMESTAMP AND :endDate
-        GROUP BY t.show.event
-        ORDER BY ticketCount DESC, t.show.event.dateTime ASC
+        SELECT e.id, e.name, e.dateTime, e.category, COUNT(t.id)
+        FROM Ticket t JOIN t.show s JOIN s.event e
+        WHERE t.status = 'BOUGHT' AND e.dateTime BETWEEN :start AND :end
+        GROUP BY e.id, e.name, e.dateTime, e.category
         """)
-    List<Object[]> findTopTenEventsOrderByTicketCountDesc(@Param("endDate") LocalDateTime endDate, Pageable pageable);
+    List<Object[]> countBoughtPerEventBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
+    /**
+     * Counts the bought tickets of every show.
+     * Each row is {@code [showId, ticketCount]}, shows without bought tickets are left out.
+     *
+     * @return one row per show with bought tickets
+     */
+    @Query("SELECT t.show.id, COUNT(t.id) FROM Ticket t WHERE t.status = 'BOUGHT' GROUP BY t.show.id")
+    List<Object[]> countBoughtPerShow();
 
+    List<Ticket> findByShowAndStatus(Show show, TicketStatus status);
+
+    /**
+     * Returns the bought tickets of an order group of the given user, together with everything printed on them,
+     * ordered by the start of their show.
+     *
+     * @param orderGroupId the order group to look up
+     * @param userId       the user the order group has to belong to
+     * @return the bought tickets, empty if the order group does not exist or belongs to another user
+     */
     @Query("""
-        SELECT t.show.event, COUNT(t.id) as ticketCount
-        FROM Ticket t
-        WHERE t.status = 'BOUGHT'
-                AND t.show.event.category = :category
-                AND t.show.event.dateTime BETWEEN CURRENT_TIMESTAMP AND :endDate
-        GROUP BY t.show.event
-        ORDER BY ticketCount DESC, t.show.event.dateTime ASC
+        SELECT DISTINCT t FROM Ticket t
+        JOIN t.orders o
+        JOIN FETCH t.show s
+        JOIN FETCH s.event e
+        JOIN FETCH e.location
+        JOIN FETCH t.sector sector
+        JOIN FETCH sector.room
+        LEFT JOIN FETCH t.seat
+        WHERE o.orderGroup.id = :orderGroupId AND o.userId = :userId
+          AND o.orderType = at.ac.tuwien.sepr.groupphase.backend.config.type.OrderType.ORDER AND t.status = 'BOUGHT'
+        ORDER BY s.date, t.id
         """)
-    List<Object[]> findTopTenEventsByCategoryOrderByTicketCountDesc(@Param("category") Event.EventCategory category, @Param("endDate") LocalDateTime endDate,
-                                                                    Pageable pageable);
-
-    List<Ticket> findByShowAndStatus(Show show, TicketStatus status);
+    List<Ticket> findBoughtByOrderGroupForExport(@Param("orderGroupId") Long orderGroupId, @Param("userId") Long userId);
 
     List<Ticket> findBySectorId(Long id);
+
+    /**
+     * Returns seat and sector id of every ticket of the show in one of the given states.
+     * Each row is {@code [seatId, sectorId]}, with {@code seatId} null for standing tickets.
+     *
+     * @param showId   the show to look up
+     * @param statuses the ticket states to include
+     * @return one row per matching ticket
+     */
+    @Query("""
+        SELECT s.id, t.sector.id
+        FROM Ticket t LEFT JOIN t.seat s
+        WHERE t.show.id = :showId AND t.status IN :statuses
+        """)
+    List<Object[]> findOccupancyByShowId(@Param("showId") Long showId, @Param("statuses") Collection<TicketStatus> statuses);
+
+    /**
+     * Returns show, seat and sector id of every ticket of the given shows that is still reserved.
+     * Each row is {@code [showId, seatId, sectorId]}, with {@code seatId} null for standing tickets.
+     *
+     * @param showIds the shows to look up
+     * @return one row per reserved ticket
+     */
+    @Query("""
+        SELECT t.show.id, s.id, t.sector.id
+        FROM Ticket t LEFT JOIN t.seat s
+        WHERE t.show.id IN :showIds AND t.status = 'RESERVED'
+        """)
+    List<Object[]> findReservedByShowIds(@Param("showIds") Collection<Long> showIds);
+
+    /**
+     * Expires all reserved tickets of the given shows in one statement and frees their seats.
+     * Bypasses entity listeners, so callers have to update in-memory state themselves.
+     *
+     * @param showIds the shows whose reservations expire
+     * @return the number of expired tickets
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+        UPDATE Ticket t
+        SET t.status = 'EXPIRED', t.activeSeatId = NULL
+        WHERE t.show.id IN :showIds AND t.status = 'RESERVED'
+        """)
+    int expireReservedByShowIds(@Param("showIds") Collection<Long> showIds);
+
+    /**
+     * Marks the seats of bought and reserved tickets stored before the seat uniqueness was enforced as taken.
+     *
+     * @return the number of updated tickets
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+        UPDATE Ticket t
+        SET t.activeSeatId = t.seat.id
+        WHERE t.status IN ('BOUGHT', 'RESERVED') AND t.seat IS NOT NULL AND t.activeSeatId IS NULL
+        """)
+    int completeMissingActiveSeats();
 }
@@ -0,0 +1,22 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface AvailabilityStreamService {
+
+    /**
+     * Subscribes the current user to live availability updates of a show.
+     *
+     * <p>
+     * The stream starts with a {@code snapshot} event containing the unavailable seats and the available capacity
+     * of every standing sector, followed by {@code seat-taken}, {@code seat-released}, {@code hold-placed},
+     * {@code hold-expired} and {@code standing-capacity-changed} events as they happen.
+     * </p>
+     *
+     * @param showId the ID of the show
+     * @return the emitter the events are sent to
+     * @throws NotFoundException if no show with the given {@code showId} exists
+     */
+    SseEmitter subscribe(Long showId);
+}
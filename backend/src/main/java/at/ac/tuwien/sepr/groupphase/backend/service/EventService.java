@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventCategoryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventTopTenDto;
@@ -45,6 +46,18 @@ public interface EventService {
      */
     long countEventsBefore(LocalDateTime dateTime);
 
+    /**
+     * Returns the events following a cursor, ordered by date and name.
+     *
+     * @param after    the cursor of the previous page, null or blank for the first page
+     * @param size     the number of events per page
+     * @param fromDate the earliest date of the first page, null to start with the earliest event
+     * @param count    whether to count all events from the given date on
+     * @return the page of events with the cursor of the next page
+     * @throws ValidationException if the cursor or size are invalid
+     */
+    CursorPageDto<UpdateEventDto> getEventsAfter(String after, int size, LocalDateTime fromDate, boolean count) throws ValidationException;
+
     /**
      * Saves the given event.
      *
@@ -1,6 +1,9 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.StoredImage;
+
+import java.io.InputStream;
 
 public interface ImageService {
 
@@ -12,4 +15,23 @@ public interface ImageService {
      */
     Image findById(Long id);
 
+    /**
+     * Store an uploaded picture together with its thumbnail.
+     * The returned entity refers to the stored files and still has to be saved.
+     *
+     * @param content     the picture, read to its end but not closed
+     * @param contentType the media type of the picture
+     * @return the unsaved image entity
+     */
+    Image store(InputStream content, String contentType);
+
+    /**
+     * Find the stored picture of an image.
+     *
+     * @param id        the id of the image
+     * @param thumbnail whether to return the thumbnail, falls back to the original if the image has none
+     * @return the stored picture
+     */
+    StoredImage findContent(Long id, boolean thumbnail);
+
 }
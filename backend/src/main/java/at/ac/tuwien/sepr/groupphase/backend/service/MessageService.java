@@ -1,8 +1,11 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -23,6 +26,17 @@ public interface MessageService {
      */
     Page<Message> findAllPaginated(Pageable pageable);
 
+    /**
+     * Find the message entries published before a cursor, ordered by published at date (descending).
+     *
+     * @param after the cursor of the previous page, null or blank for the first page
+     * @param size  the number of message entries per page
+     * @param count whether to count all message entries
+     * @return the page of message entries with the cursor of the next page
+     * @throws ValidationException if the cursor or size are invalid
+     */
+    CursorPageDto<Message> findAllAfter(String after, int size, boolean count) throws ValidationException;
+
     /**
      * Find a single message entry by id.
      *
@@ -39,6 +53,16 @@ public interface MessageService {
      */
     Message publishMessage(Message message);
 
+    /**
+     * Publish a single message entry together with uploaded pictures.
+     * The pictures are only stored once the message has been accepted, and are removed again if publishing fails.
+     *
+     * @param message to publish
+     * @param uploads the pictures of the message
+     * @return published message entry
+     */
+    Message publishMessage(Message message, List<MultipartFile> uploads);
+
     /**
      * Find a message with image.
      *
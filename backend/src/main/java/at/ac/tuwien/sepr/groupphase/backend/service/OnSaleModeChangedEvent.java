@@ -0,0 +1,11 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+/**
+ * Published when the on-sale mode of a show was switched on or off.
+ * The {@link PurchaseQueueService} updates its cached mode of the show once the change is committed.
+ *
+ * @param showId     the show
+ * @param onSaleMode whether purchases of the show now go through the purchase queue
+ */
+public record OnSaleModeChangedEvent(Long showId, boolean onSaleMode) {
+}
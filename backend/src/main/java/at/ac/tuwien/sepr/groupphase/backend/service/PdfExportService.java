@@ -1,8 +1,9 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdf;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StreamedPdf;
 
-import java.io.OutputStream;
 import java.util.Optional;
 
 /**
@@ -15,25 +16,33 @@ public interface PdfExportService {
      * Export of Ticket as Pdf.
      *
      * @param id the unique identifier of the ticket to export
-     * @param outputStream OutputStream of the http responseBody
      * @param verficationCode of the ticket
+     * @return the rendered document
      */
-    void makeTicketPdf(Long id, OutputStream outputStream, Optional<String> verficationCode)  throws ValidationException;
+    StoredPdf makeTicketPdf(Long id, Optional<String> verficationCode)  throws ValidationException;
 
     /**
      * Export Invoice of an Order as Pdf.
      *
      * @param id the unique identifier of the order to export
-     * @param responseBody outputStream of the http responseBody
+     * @return the rendered document
      */
-    void makeInvoicePdf(Long id, OutputStream responseBody);
+    StoredPdf makeInvoicePdf(Long id);
 
     /**
      * Export the Cancellation of an Invoice as Pdf.
      *
      * @param id the unique identifier of the canceled order to export
-     * @param responseBody outputStream of the http responseBody
+     * @return the rendered document
      */
-    void makeCancelInvoicePdf(Long id, OutputStream responseBody) throws ValidationException;
+    StoredPdf makeCancelInvoicePdf(Long id) throws ValidationException;
+
+    /**
+     * Export all bought Tickets of an OrderGroup as one Pdf, a page per ticket.
+     *
+     * @param id the unique identifier of the order group of the logged-in user
+     * @return the document, rendered while it is written
+     */
+    StreamedPdf makeOrderGroupTicketsPdf(Long id);
 
 }
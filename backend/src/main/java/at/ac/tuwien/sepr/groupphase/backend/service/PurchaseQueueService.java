@@ -0,0 +1,46 @@
+package at.ac.tuwien.sepr.groupphase.backend.service;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.PurchaseHandleDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.PurchaseQueueFullException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+
+import java.util.UUID;
+
+/**
+ * Queues ticket purchases for shows in on-sale mode.
+ *
+ * <p>Each show has a bounded queue that is drained by a single worker, which writes several carts
+ * in one transaction. Callers receive a handle they can poll until the purchase is completed or failed.</p>
+ */
+public interface PurchaseQueueService {
+
+    /**
+     * Checks whether purchases for the given show have to go through the purchase queue.
+     *
+     * @param showId the ID of the show
+     * @return true if the show is in on-sale mode
+     * @throws NotFoundException if the show does not exist
+     */
+    boolean isOnSale(Long showId);
+
+    /**
+     * Validates the checkout data of the request and enqueues it for the current user.
+     *
+     * @param ticketRequestDto the purchase request
+     * @return the handle of the queued purchase including its position in the queue
+     * @throws ValidationException        if the payment or address data is invalid
+     * @throws PurchaseQueueFullException if the queue of the show is full
+     */
+    PurchaseHandleDto enqueue(TicketRequestDto ticketRequestDto) throws ValidationException;
+
+    /**
+     * Returns the current state of a queued purchase of the current user.
+     *
+     * @param id the ID of the purchase handle
+     * @return the handle with its status, queue position and, once completed, the created order group
+     * @throws NotFoundException if no such purchase exists for the current user
+     */
+    PurchaseHandleDto getPurchase(UUID id);
+}
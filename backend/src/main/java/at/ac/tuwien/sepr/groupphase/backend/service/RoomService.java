@@ -3,6 +3,7 @@ package at.ac.tuwien.sepr.groupphase.backend.service;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.CreateRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomUsageChangesDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatUsageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorUsageDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
@@ -12,6 +13,7 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RoomService {
@@ -53,6 +55,22 @@ public interface RoomService {
      */
     Seat getSeatById(Long seatId);
 
+    /**
+     * Returns all sectors with the given IDs using a single query.
+     *
+     * @param sectorIds the IDs of the sectors to retrieve
+     * @return the sectors found, IDs without a sector are skipped
+     */
+    List<Sector> getSectorsByIds(Collection<Long> sectorIds);
+
+    /**
+     * Returns all seats with the given IDs using a single query.
+     *
+     * @param seatIds the IDs of the seats to retrieve
+     * @return the seats found, IDs without a seat are skipped
+     */
+    List<Seat> getSeatsByIds(Collection<Long> seatIds);
+
     /**
      * Returns the room with the given ID.
      *
@@ -78,6 +96,37 @@ public interface RoomService {
      */
     RoomDetailDto getRoomUsageForShow(Long showId);
 
+    /**
+     * Returns the current availability version of a show, without touching the database.
+     * The version increases whenever a seat or standing spot of the show is taken, released, held or no longer held.
+     *
+     * @param showId the ID of the show
+     * @return the current version, or null if the room usage of the show has not been requested yet
+     */
+    Long getRoomUsageVersion(Long showId);
+
+    /**
+     * Returns the seats and standing sectors of a show whose availability changed since the given version.
+     * If the version is missing or unknown, e.g. from before a restart, all seats and standing sectors are returned
+     * and the result is marked as complete.
+     *
+     * @param showId       the ID of the show
+     * @param sinceVersion the version the caller has already seen, may be null
+     * @return the changed seats and standing sectors together with the current version
+     * @throws NotFoundException if no show with the given {@code showId} exists
+     */
+    RoomUsageChangesDto getRoomUsageChanges(Long showId, Long sinceVersion);
+
+    /**
+     * Returns all seats and standing sectors of a show as seen by any user: seats and standing spots held by anyone,
+     * including the current user, count as unavailable. Used for what is shared by all users, like the availability stream.
+     *
+     * @param showId the ID of the show
+     * @return all seats and standing sectors together with the current version, marked as complete
+     * @throws NotFoundException if no show with the given {@code showId} exists
+     */
+    RoomUsageChangesDto getSharedRoomUsage(Long showId);
+
 
     /**
      * Retrieves all rooms in the system.
@@ -11,6 +11,10 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLoca
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.performance.PerformanceDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.performance.PerformanceSearchDto;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.SuggestionDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -44,18 +48,37 @@ public interface SearchService {
      * Search events by title, category, duration (± 30min), or content.
      *
      * @param criteria the search criteria
-     * @return page of matching events
+     * @return page of matching events, with the number of all matching events per category, city, price range and month
      */
-    Page<EventSearchResultDto> searchEvents(EventSearchDto criteria) throws ValidationException;
+    FacetedPageDto<EventSearchResultDto> searchEvents(EventSearchDto criteria) throws ValidationException;
 
     /**
      * Searches for shows based on the given criteria and returns a paginated list of results.
      *
      * @param criteria the search criteria including optional filters like date range, event, room, name, and price
-     * @return a page of shows matching the given criteria
+     * @return a page of shows matching the given criteria, with the number of all matching shows per category, city, price range and month
      * @throws ValidationException if the search criteria are invalid
      */
-    Page<ShowSearchResultDto> searchShows(ShowSearchDto criteria) throws ValidationException;
+    FacetedPageDto<ShowSearchResultDto> searchShows(ShowSearchDto criteria) throws ValidationException;
+
+    /**
+     * Searches artists, events, locations and shows for one query at once.
+     *
+     * @param criteria the query and the maximum number of results per kind of entity
+     * @return the best matches per kind of entity
+     * @throws ValidationException if the search criteria are invalid
+     */
+    GlobalSearchResultDto searchAll(GlobalSearchDto criteria) throws ValidationException;
+
+    /**
+     * Suggests artist stage names, event names and location names containing the text typed so far.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, best match first
+     * @throws ValidationException if the query or limit are invalid
+     */
+    List<SuggestionDto> suggest(String query, Integer limit) throws ValidationException;
 
 
 }
@@ -51,5 +51,22 @@ public interface ShowService {
      */
     List<Show> findShowsBetween(LocalDateTime start, LocalDateTime end);
 
+    /**
+     * Switches the on-sale mode of a show. While it is enabled, purchases for the show are queued
+     * and processed in batches instead of being handled directly by the request.
+     *
+     * @param id         the ID of the show
+     * @param onSaleMode whether the on-sale mode should be enabled
+     * @return the updated show
+     */
+    Show setOnSaleMode(Long id, boolean onSaleMode);
+
+    /**
+     * Copies the sector prices of a room to all shows taking place in it, after its sectors changed.
+     *
+     * @param roomId the ID of the room
+     */
+    void updatePricesOfRoom(Long roomId);
+
 }
 
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.service;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.user.LockedUserDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.user.UserLoginDto;
@@ -83,6 +84,19 @@ public interface UserService extends UserDetailsService {
      */
     Page<LockedUserDto> getAllUsersPaginated(Long currentUserId, Pageable pageable);
 
+    /**
+     * Returns the users following a cursor, ordered by ID, only administrators
+     * should be able to access this method.
+     *
+     * @param currentUserId the user to leave out
+     * @param after         the cursor of the previous page, null or blank for the first page
+     * @param size          the number of users per page
+     * @param count         whether to count all users
+     * @return the page of users with the cursor of the next page
+     * @throws ValidationException if the cursor or size are invalid
+     */
+    CursorPageDto<LockedUserDto> getAllUsersAfter(Long currentUserId, String after, int size, boolean count) throws ValidationException;
+
     /**
      * Unlocks the user account with the given ID by setting its 'locked' status to false.
      *
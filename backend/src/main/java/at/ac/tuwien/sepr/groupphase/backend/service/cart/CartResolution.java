@@ -0,0 +1,98 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.cart;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetSeatedDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetStandingDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomService;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The sectors and seats referenced by the targets of one ticket request.
+ *
+ * <p>All of them are loaded up front with one query for the sectors and one for the seats, so validating the
+ * request and building its tickets costs the same number of round-trips no matter how many targets it has.
+ * A resolution belongs to a single request and is passed along explicitly instead of being cached.</p>
+ */
+public final class CartResolution {
+
+    private final Map<Long, Sector> sectors;
+    private final Map<Long, Seat> seats;
+
+    private CartResolution(Map<Long, Sector> sectors, Map<Long, Seat> seats) {
+        this.sectors = sectors;
+        this.seats = seats;
+    }
+
+    /**
+     * Loads all sectors and seats referenced by the given targets.
+     * Unknown IDs are not rejected here, but when they are looked up.
+     *
+     * @param roomService the service to load sectors and seats with
+     * @param targets     the targets of the ticket request
+     * @return the resolved cart
+     */
+    public static CartResolution resolve(RoomService roomService, List<TicketTargetDto> targets) {
+        Set<Long> sectorIds = new HashSet<>();
+        Set<Long> seatIds = new HashSet<>();
+        for (TicketTargetDto target : targets) {
+            if (target instanceof TicketTargetSeatedDto seated) {
+                addIfPresent(sectorIds, seated.getSectorId());
+                addIfPresent(seatIds, seated.getSeatId());
+            } else if (target instanceof TicketTargetStandingDto standing) {
+                addIfPresent(sectorIds, standing.getSectorId());
+            }
+        }
+
+        // sectors first, so the sector of each seat is already in the persistence context
+        Map<Long, Sector> sectors = sectorIds.isEmpty() ? Map.of() : roomService.getSectorsByIds(sectorIds).stream()
+            .collect(Collectors.toMap(Sector::getId, Function.identity()));
+        Map<Long, Seat> seats = seatIds.isEmpty() ? Map.of() : roomService.getSeatsByIds(seatIds).stream()
+            .collect(Collectors.toMap(Seat::getId, Function.identity()));
+        return new CartResolution(sectors, seats);
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Returns the resolved sector with the given ID.
+     *
+     * @param sectorId the ID of the sector
+     * @return the sector
+     * @throws NotFoundException if the request referenced no such sector
+     */
+    public Sector getSector(Long sectorId) {
+        Sector sector = sectors.get(sectorId);
+        if (sector == null) {
+            throw new NotFoundException("Sector not found with id " + sectorId);
+        }
+        return sector;
+    }
+
+    /**
+     * Returns the resolved seat with the given ID.
+     *
+     * @param seatId the ID of the seat
+     * @return the seat
+     * @throws NotFoundException if the request referenced no such seat
+     */
+    public Seat getSeat(Long seatId) {
+        Seat seat = seats.get(seatId);
+        if (seat == null) {
+            throw new NotFoundException("Seat not found with id " + seatId);
+        }
+        return seat;
+    }
+}
@@ -0,0 +1,55 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.geo;
+
+/**
+ * A point on earth in degrees.
+ *
+ * @param latitude  the latitude, between -90 and 90
+ * @param longitude the longitude, between -180 and 180
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    /**
+     * Mean radius of the earth used for distances.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Returns the great-circle distance to another point, using the haversine formula.
+     *
+     * @param other the other point
+     * @return the distance in kilometers
+     */
+    public double distanceKm(GeoPoint other) {
+        double latitudeDelta = Math.toRadians(other.latitude - latitude);
+        double longitudeDelta = Math.toRadians(other.longitude - longitude);
+        double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+            + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude)) * Math.pow(Math.sin(longitudeDelta / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Parses a point given as {@code "latitude,longitude"}.
+     *
+     * @param text the point
+     * @return the point, or null if the text is no valid point
+     */
+    public static GeoPoint parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] parts = text.split(",", -1);
+        if (parts.length != 2) {
+            return null;
+        }
+        try {
+            double latitude = Double.parseDouble(parts[0].trim());
+            double longitude = Double.parseDouble(parts[1].trim());
+            if (!(Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180)) {
+                return null;
+            }
+            return new GeoPoint(latitude, longitude);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
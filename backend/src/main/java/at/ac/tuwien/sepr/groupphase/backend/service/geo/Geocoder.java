@@ -0,0 +1,105 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.geo;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Looks up the coordinates of addresses in the geocoding table bundled with the application, without any network calls.
+ *
+ * <p>{@code geocoding/places.csv} lists postal codes with their city names and coordinates, {@code geocoding/countries.csv}
+ * the names a country may be written as. An address is placed at its postal code if the table knows it, otherwise at its city.
+ * Names are compared regardless of case, accents and punctuation.</p>
+ */
+@Component
+public class Geocoder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Geocoder.class);
+
+    private final Map<String, String> countryCodes = new HashMap<>();
+    private final Map<String, GeoPoint> byPostalCode = new HashMap<>();
+    private final Map<String, GeoPoint> byCity = new HashMap<>();
+
+    public Geocoder() {
+        read("geocoding/countries.csv", columns -> {
+            for (String name : columns) {
+                countryCodes.put(normalizeName(name), columns[0]);
+            }
+        });
+        read("geocoding/places.csv", columns -> {
+            GeoPoint point = new GeoPoint(Double.parseDouble(columns[3]), Double.parseDouble(columns[4]));
+            byPostalCode.put(key(columns[0], normalizePostalCode(columns[1])), point);
+            for (String city : columns[2].split("\\|")) {
+                byCity.putIfAbsent(key(columns[0], normalizeName(city)), point);
+            }
+        });
+        LOGGER.info("Loaded {} postal codes and {} city names for geocoding", byPostalCode.size(), byCity.size());
+    }
+
+    /**
+     * Looks up the coordinates of a location.
+     *
+     * @param location the location
+     * @return the coordinates, or null if the table knows neither the postal code nor the city
+     */
+    public GeoPoint locate(EventLocation location) {
+        return locate(location.getCountry(), location.getPostalCode(), location.getCity());
+    }
+
+    /**
+     * Looks up the coordinates of an address.
+     *
+     * @param country    the country, as name or code
+     * @param postalCode the postal code, may be null
+     * @param city       the city, may be null
+     * @return the coordinates, or null if the table knows neither the postal code nor the city
+     */
+    public GeoPoint locate(String country, String postalCode, String city) {
+        String countryCode = country != null ? countryCodes.get(normalizeName(country)) : null;
+        if (countryCode == null) {
+            return null;
+        }
+        GeoPoint point = postalCode != null ? byPostalCode.get(key(countryCode, normalizePostalCode(postalCode))) : null;
+        if (point == null && city != null) {
+            point = byCity.get(key(countryCode, normalizeName(city)));
+        }
+        return point;
+    }
+
+    private static String key(String countryCode, String value) {
+        return countryCode + ';' + value;
+    }
+
+    private static String normalizeName(String name) {
+        return String.join(" ", SearchTokenizer.tokenize(name));
+    }
+
+    private static String normalizePostalCode(String postalCode) {
+        return postalCode.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+    }
+
+    private static void read(String path, Consumer<String[]> row) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    row.accept(line.split(";"));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read geocoding table " + path, e);
+        }
+    }
+}
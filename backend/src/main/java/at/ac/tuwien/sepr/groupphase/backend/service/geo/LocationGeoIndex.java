@@ -0,0 +1,198 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.geo;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.PendingIndexUpdates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid of the coordinates of all event locations, answering which locations lie within a radius of a point.
+ *
+ * <p>The earth is divided into cells of {@value #CELL_DEGREES} degrees latitude and longitude. A radius search only
+ * visits the cells overlapping the bounding box of the circle and measures the distance to the locations in them,
+ * so its cost depends on the number of nearby locations, not on all of them. Searches covering more cells than there
+ * are locations measure all locations instead.</p>
+ *
+ * <p>The grid is built once the application started and kept up to date by
+ * {@link at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndexListener} whenever a location is committed
+ * or removed, changes committed while it is built are applied afterwards. Until it is built, {@link #isReady()} is false.</p>
+ */
+@Component
+public class LocationGeoIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocationGeoIndex.class);
+
+    static final double CELL_DEGREES = 0.1;
+    private static final int COLUMNS = (int) Math.round(360 / CELL_DEGREES);
+
+    /**
+     * A location within the searched radius.
+     *
+     * @param id         the ID of the location
+     * @param distanceKm the distance to the searched point
+     */
+    public record Hit(Long id, double distanceKm) {
+    }
+
+    private static final Comparator<Hit> NEAREST_FIRST = Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::id);
+
+    private final EventLocationRepository eventLocationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, GeoPoint> points = new HashMap<>();
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexUpdates updates = new PendingIndexUpdates();
+    private volatile boolean ready;
+
+    public LocationGeoIndex(EventLocationRepository eventLocationRepository, PlatformTransactionManager transactionManager) {
+        this.eventLocationRepository = eventLocationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns whether the grid has been built and can answer searches.
+     *
+     * @return true once the grid is built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds all locations with coordinates once the application started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, GeoPoint> loaded = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> eventLocationRepository.findByLatitudeIsNotNullAndLongitudeIsNotNull()
+            .forEach(location -> loaded.put(location.getId(), new GeoPoint(location.getLatitude(), location.getLongitude()))));
+        loaded.forEach(this::store);
+        updates.replay();
+        ready = true;
+        LOGGER.info("Indexed coordinates of {} event locations", loaded.size());
+    }
+
+    /**
+     * Sets the coordinates of a location, replacing previous ones.
+     *
+     * @param id    the ID of the location
+     * @param point the coordinates, null if the location has none
+     */
+    public void put(Long id, GeoPoint point) {
+        updates.submit(() -> store(id, point));
+    }
+
+    private void store(Long id, GeoPoint point) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (point != null) {
+                points.put(id, point);
+                cells.computeIfAbsent(cell(point.latitude(), point.longitude()), c -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the coordinates of a location.
+     *
+     * @param id the ID of the location
+     */
+    public void remove(Long id) {
+        put(id, null);
+    }
+
+    /**
+     * Finds the locations within a radius of a point.
+     *
+     * @param center   the point
+     * @param radiusKm the radius in kilometers
+     * @return the locations within the radius, nearest first
+     */
+    public List<Hit> within(GeoPoint center, double radiusKm) {
+        double latitudeSpan = Math.toDegrees(radiusKm / GeoPoint.EARTH_RADIUS_KM);
+        double minLatitude = Math.max(-90, center.latitude() - latitudeSpan);
+        double maxLatitude = Math.min(90, center.latitude() + latitudeSpan);
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        // towards the poles a degree of longitude gets shorter, so the box has to be wider where the circle is widest
+        double longitudeSpan = widestLatitude >= 90 ? 180 : Math.min(180, latitudeSpan / Math.cos(Math.toRadians(widestLatitude)));
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int firstColumn = (int) Math.floor((center.longitude() - longitudeSpan + 180) / CELL_DEGREES);
+        int lastColumn = (int) Math.floor((center.longitude() + longitudeSpan + 180) / CELL_DEGREES);
+        if (lastColumn - firstColumn + 1 >= COLUMNS) {
+            firstColumn = 0;
+            lastColumn = COLUMNS - 1;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long cellCount = (long) (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+            if (cellCount > points.size()) {
+                points.forEach((id, point) -> addIfWithin(hits, id, point, center, radiusKm));
+            } else {
+                for (int row = firstRow; row <= lastRow; row++) {
+                    for (int column = firstColumn; column <= lastColumn; column++) {
+                        for (Long id : cells.getOrDefault(key(row, Math.floorMod(column, COLUMNS)), Set.of())) {
+                            addIfWithin(hits, id, points.get(id), center, radiusKm);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(NEAREST_FIRST);
+        return hits;
+    }
+
+    private static void addIfWithin(List<Hit> hits, Long id, GeoPoint point, GeoPoint center, double radiusKm) {
+        double distance = center.distanceKm(point);
+        if (distance <= radiusKm) {
+            hits.add(new Hit(id, distance));
+        }
+    }
+
+    private void unindex(Long id) {
+        GeoPoint previous = points.remove(id);
+        if (previous != null) {
+            long cell = cell(previous.latitude(), previous.longitude());
+            Set<Long> ids = cells.get(cell);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                cells.remove(cell);
+            }
+        }
+    }
+
+    private static long cell(double latitude, double longitude) {
+        return key(row(latitude), Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS));
+    }
+
+    private static int row(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long key(int row, int column) {
+        return (long) row * COLUMNS + column;
+    }
+}
@@ -0,0 +1,212 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps image files on disk, named by the SHA-256 hash of their content.
+ *
+ * <p>A file is stored as {@code <first two digits of the hash>/<hash>}, so a picture uploaded twice is kept once and
+ * a stored file never changes. Uploads are copied to a temporary file while their hash is computed and moved into
+ * place afterwards, so they never pass through the heap as a whole and readers never see a partial file.</p>
+ *
+ * <p>A file stored within a transaction is pinned until the transaction completed. If the transaction rolls back, a
+ * file it created is deleted again, unless another transaction stored the same content in the meantime and committed.
+ * Files no image refers to anymore are removed by {@link #removeUnused(Predicate)}, which leaves pinned files and
+ * files stored within the last {@link #UNUSED_AFTER} alone, as their images may not be committed yet.</p>
+ */
+@Component
+public class ImageStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * How long a stored file is kept at least, even if no image refers to it.
+     */
+    static final Duration UNUSED_AFTER = Duration.ofHours(1);
+
+    /**
+     * The files stored by transactions that have not completed yet.
+     */
+    private static final class Pin {
+        private int transactions;
+        private boolean created;
+        private boolean committed;
+    }
+
+    private final Path directory;
+    private final Map<String, Pin> pins = new HashMap<>();
+
+    public ImageStore(@Value("${image.store.directory:./image-store}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Stores a file, unless a file with the same content is stored already.
+     *
+     * @param content the content of the file, read to its end but not closed
+     * @return the hash the file is stored under
+     */
+    public String put(InputStream content) {
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                Files.copy(new DigestInputStream(content, digest), temporary, StandardCopyOption.REPLACE_EXISTING);
+                String hash = HexFormat.of().formatHex(digest.digest());
+                place(hash, temporary);
+                return hash;
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store image", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Removes the files that have not been stored for a while and are no longer in use.
+     *
+     * @param inUse tells whether an image still refers to the file with the given hash
+     * @return the number of removed files
+     * @throws UncheckedIOException if the stored files could not be listed
+     */
+    public int removeUnused(Predicate<String> inUse) {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        FileTime unusedSince = FileTime.from(Instant.now().minus(UNUSED_AFTER));
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(directory, 2)) {
+            candidates = files
+                .filter(file -> HASH.matcher(file.getFileName().toString()).matches() && isStoredBefore(file, unusedSince))
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list stored images", e);
+        }
+        int removed = 0;
+        for (Path file : candidates) {
+            String hash = file.getFileName().toString();
+            if (inUse.test(hash)) {
+                continue;
+            }
+            synchronized (pins) {
+                // the file may have been stored again since it was listed, its new image may not be visible yet
+                if (!pins.containsKey(hash) && isStoredBefore(file, unusedSince) && delete(file)) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the file a hash is stored under.
+     *
+     * @param hash the hash returned by {@link #put(InputStream)}
+     * @return the path of the file, which may not exist
+     */
+    public Path path(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not an image hash: " + hash);
+        }
+        return directory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Moves an upload into place, or marks the existing file with the same content as just stored, and pins it to
+     * the surrounding transaction.
+     */
+    private void place(String hash, Path temporary) throws IOException {
+        Path target = path(hash);
+        synchronized (pins) {
+            boolean created = !Files.exists(target);
+            if (created) {
+                Files.createDirectories(target.getParent());
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } else {
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            }
+
+            Pin pin = pins.get(hash);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                // stored for good right away, so a transaction rolling back must not delete it
+                if (pin != null) {
+                    pin.committed = true;
+                }
+                return;
+            }
+            if (pin == null) {
+                pin = new Pin();
+                pins.put(hash, pin);
+            }
+            pin.transactions++;
+            pin.created |= created;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(hash, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void release(String hash, boolean committed) {
+        synchronized (pins) {
+            Pin pin = pins.get(hash);
+            pin.transactions--;
+            pin.committed |= committed;
+            if (pin.transactions > 0) {
+                return;
+            }
+            pins.remove(hash);
+            if (pin.created && !pin.committed) {
+                delete(path(hash));
+            }
+        }
+    }
+
+    private static boolean isStoredBefore(Path file, FileTime time) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(time) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes a file, a file that could not be deleted is left to the next sweep.
+     */
+    private static boolean delete(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
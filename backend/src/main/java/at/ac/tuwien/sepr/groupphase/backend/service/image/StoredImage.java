@@ -0,0 +1,13 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.image;
+
+import java.nio.file.Path;
+
+/**
+ * A picture in the {@link ImageStore}, ready to be sent.
+ *
+ * @param path        the file holding the picture
+ * @param contentType the media type of the picture
+ * @param hash        the hash of the file content, a strong entity tag without quotes
+ */
+public record StoredImage(Path path, String contentType, String hash) {
+}
@@ -0,0 +1,98 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Scales pictures down for previews, once when they are uploaded.
+ *
+ * <p>Large pictures are decoded with subsampling, reading only every n-th pixel of every n-th row, so a photo of many
+ * megapixels is never held in memory at full size. JPEG pictures stay JPEG, everything else becomes PNG to keep
+ * transparency.</p>
+ */
+@Component
+public class ThumbnailGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    /**
+     * A scaled-down picture.
+     *
+     * @param content     the encoded picture
+     * @param contentType the media type of the encoding
+     */
+    public record Thumbnail(byte[] content, String contentType) {
+    }
+
+    private final int size;
+
+    public ThumbnailGenerator(@Value("${image.thumbnail.size:480}") int size) {
+        this.size = size;
+    }
+
+    /**
+     * Creates the thumbnail of a picture, fitting its longer side into the configured size.
+     * Pictures smaller than that keep their size.
+     *
+     * @param original the file of the picture
+     * @return the thumbnail, or null if the file is not a picture that can be decoded
+     */
+    public Thumbnail create(Path original) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // decode at no less than twice the target size, scaling the rest of the way keeps edges smooth
+                int subsampling = Math.max(1, Math.max(reader.getWidth(0), reader.getHeight(0)) / (2 * size));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                boolean jpeg = "jpeg".equalsIgnoreCase(reader.getFormatName());
+                BufferedImage thumbnail = scale(reader.read(0, param), jpeg);
+
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                ImageIO.write(thumbnail, jpeg ? "jpeg" : "png", encoded);
+                return new Thumbnail(encoded.toByteArray(), jpeg ? "image/jpeg" : "image/png");
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not create thumbnail of {}: {}", original.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, boolean opaque) {
+        double factor = Math.min(1, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, opaque ? Color.WHITE : null, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
@@ -6,11 +6,13 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.ArtistService;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
 import at.ac.tuwien.sepr.groupphase.backend.util.EntitySyncUtil;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.lang.invoke.MethodHandles;
@@ -23,11 +25,13 @@ public class ArtistServiceImpl implements ArtistService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final ArtistRepository artistRepository;
     private final ShowRepository showRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ArtistServiceImpl(ArtistRepository artistRepository, ShowRepository showRepository) {
+    public ArtistServiceImpl(ArtistRepository artistRepository, ShowRepository showRepository, ApplicationEventPublisher eventPublisher) {
         this.artistRepository = artistRepository;
         this.showRepository = showRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,6 +64,7 @@ public class ArtistServiceImpl implements ArtistService {
         artist = artistRepository.save(artist);
         EntitySyncUtil.syncArtistShowRelationship(artist);
         showRepository.saveAll(existingShows);
+        eventPublisher.publishEvent(SearchResultsChangedEvent.artistChanged());
 
         return artist;
     }
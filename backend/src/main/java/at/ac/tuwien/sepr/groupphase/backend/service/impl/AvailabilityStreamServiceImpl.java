@@ -0,0 +1,329 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.AvailabilityEventDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.AvailabilitySnapshotDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomUsageChangesDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatUsageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorUsageDto;
+import at.ac.tuwien.sepr.groupphase.backend.service.AvailabilityStreamService;
+import at.ac.tuwien.sepr.groupphase.backend.service.RoomService;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ReservationsExpiredEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatOccupancyIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes availability changes of a show to all clients watching it.
+ *
+ * <p>Every watched show has a channel whose tasks are run one after another by a single worker, like the purchase queue.
+ * An event is serialized once per show and written to every watcher, so idle watchers cost nothing but their connection.
+ * Watchers receive events from the moment they subscribe; events arriving while their snapshot is built are held back
+ * and sent right after it, so nothing falls between snapshot and stream. When reservations expire in bulk,
+ * all watchers of the show get a fresh snapshot instead of one event per seat.</p>
+ *
+ * <p>All watchers of a show get the same frames, so snapshots and events count every hold, including the watcher's own,
+ * and never depend on the user whose request or expiry happens to build them.</p>
+ */
+@Service
+public class AvailabilityStreamServiceImpl implements AvailabilityStreamService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityStreamServiceImpl.class);
+
+    private final RoomService roomService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final HoldStore holdStore;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMillis;
+
+    private final Map<Long, ShowChannel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static final class Watcher {
+        private final SseEmitter emitter;
+        private final List<Set<DataWithMediaType>> backlog = new ArrayList<>();
+        private boolean live;
+
+        private Watcher(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * The watchers of one show. Watchers and capacities are only touched by the worker of the channel.
+     */
+    private static final class ShowChannel {
+        private final Long showId;
+        private final List<Watcher> watchers = new ArrayList<>();
+        private final Map<Long, Integer> standingCapacities = new HashMap<>();
+        private final Queue<Consumer<ShowChannel>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private int subscribers;
+
+        private ShowChannel(Long showId) {
+            this.showId = showId;
+        }
+    }
+
+    @Autowired
+    public AvailabilityStreamServiceImpl(
+        RoomService roomService,
+        SeatOccupancyIndex seatOccupancyIndex,
+        HoldStore holdStore,
+        ObjectMapper objectMapper,
+        @Value("${tickets.availability-stream.timeout:30m}") Duration timeout) {
+
+        this.roomService = roomService;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.holdStore = holdStore;
+        this.objectMapper = objectMapper;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public SseEmitter subscribe(Long showId) {
+        LOGGER.debug("Subscribe to availability of show {}", showId);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Watcher watcher = new Watcher(emitter);
+
+        // attached before the snapshot is read, so every later change reaches the watcher
+        ShowChannel channel = channels.compute(showId, (id, existing) -> {
+            ShowChannel attached = existing != null ? existing : new ShowChannel(id);
+            attached.subscribers++;
+            return attached;
+        });
+        submit(channel, c -> c.watchers.add(watcher));
+
+        RoomUsageChangesDto usage;
+        try {
+            usage = roomService.getSharedRoomUsage(showId);
+        } catch (RuntimeException e) {
+            submit(channel, c -> detach(c, watcher));
+            throw e;
+        }
+
+        Set<DataWithMediaType> snapshot = toSnapshotEvent(usage);
+        submit(channel, c -> {
+            usage.getStandingSectors().forEach(standing -> c.standingCapacities.put(standing.getId(), standing.getCapacity()));
+            goLive(c, watcher, snapshot);
+        });
+
+        emitter.onCompletion(() -> submit(channel, c -> detach(c, watcher)));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> submit(channel, c -> detach(c, watcher)));
+        return emitter;
+    }
+
+    /**
+     * Forwards a ticket change to the watchers of its show once its transaction committed.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(AvailabilityEvent event) {
+        if (!event.isHold()) {
+            forward(event);
+        }
+    }
+
+    /**
+     * Forwards a hold being placed or running out right away, as holds are not bound to the transaction noticing them.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onHoldChanged(AvailabilityEvent event) {
+        if (event.isHold()) {
+            forward(event);
+        }
+    }
+
+    /**
+     * Sends a fresh snapshot to the watchers of a show whose reservations expired, once the expiry committed.
+     *
+     * @param event the expiry
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationsExpired(ReservationsExpiredEvent event) {
+        ShowChannel channel = channels.get(event.showId());
+        if (channel != null) {
+            submit(channel, c -> {
+                RoomUsageChangesDto usage = roomService.getSharedRoomUsage(c.showId);
+                usage.getStandingSectors().forEach(standing -> c.standingCapacities.put(standing.getId(), standing.getCapacity()));
+                broadcast(c, toSnapshotEvent(usage));
+            });
+        }
+    }
+
+    private void forward(AvailabilityEvent event) {
+        ShowChannel channel = channels.get(event.showId());
+        if (channel != null) {
+            submit(channel, c -> broadcast(c, toSseEvent(c, event)));
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and notices watchers that went away.
+     */
+    @Scheduled(fixedRate = 30_000)
+    public void sendHeartbeats() {
+        channels.values().forEach(channel -> submit(channel, c -> broadcast(c, SseEmitter.event().comment("heartbeat").build())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> submit(channel, c -> c.watchers.forEach(watcher -> watcher.emitter.complete())));
+        workers.shutdown();
+    }
+
+    /**
+     * Builds the frames of the event once, so they can be written to every watcher.
+     */
+    private Set<DataWithMediaType> toSseEvent(ShowChannel channel, AvailabilityEvent event) {
+        if (event.isStanding()) {
+            Integer capacity = channel.standingCapacities.get(event.sectorId());
+            Integer available = capacity == null ? null : capacity
+                - Math.toIntExact(seatOccupancyIndex.forShow(event.showId()).getStandingTaken(event.sectorId()))
+                - holdStore.forShow(event.showId()).standingHeld(event.sectorId());
+            return SseEmitter.event().name("standing-capacity-changed").data(toJson(new AvailabilityEventDto(null, event.sectorId(), available))).build();
+        }
+
+        String name = switch (event.type()) {
+            case SEAT_TAKEN -> "seat-taken";
+            case SEAT_RELEASED -> "seat-released";
+            case HOLD_PLACED -> "hold-placed";
+            case HOLD_EXPIRED -> "hold-expired";
+        };
+        return SseEmitter.event().name(name).data(toJson(new AvailabilityEventDto(event.seatId(), event.sectorId(), null))).build();
+    }
+
+    private Set<DataWithMediaType> toSnapshotEvent(RoomUsageChangesDto usage) {
+        return SseEmitter.event().name("snapshot").id(Long.toString(usage.getVersion())).data(toJson(toSnapshot(usage))).build();
+    }
+
+    private static AvailabilitySnapshotDto toSnapshot(RoomUsageChangesDto usage) {
+        AvailabilitySnapshotDto snapshot = new AvailabilitySnapshotDto();
+        snapshot.setVersion(usage.getVersion());
+        snapshot.setUnavailableSeatIds(usage.getSeats().stream()
+            .filter(seat -> !seat.isAvailable())
+            .map(SeatUsageDto::getId)
+            .toList());
+        snapshot.setStandingCapacities(usage.getStandingSectors().stream()
+            .collect(Collectors.toMap(StandingSectorUsageDto::getId, StandingSectorUsageDto::getAvailableCapacity)));
+        return snapshot;
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize availability update", e);
+        }
+    }
+
+    private void broadcast(ShowChannel channel, Set<DataWithMediaType> event) {
+        for (Watcher watcher : List.copyOf(channel.watchers)) {
+            if (watcher.live) {
+                send(channel, watcher, event);
+            } else {
+                watcher.backlog.add(event);
+            }
+        }
+    }
+
+    private void goLive(ShowChannel channel, Watcher watcher, Set<DataWithMediaType> snapshot) {
+        if (!channel.watchers.contains(watcher)) {
+            return;
+        }
+        watcher.live = true;
+        if (send(channel, watcher, snapshot)) {
+            for (Set<DataWithMediaType> event : watcher.backlog) {
+                if (!send(channel, watcher, event)) {
+                    break;
+                }
+            }
+        }
+        watcher.backlog.clear();
+    }
+
+    private boolean send(ShowChannel channel, Watcher watcher, Set<DataWithMediaType> event) {
+        try {
+            watcher.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Dropping availability watcher of show {}: {}", channel.showId, e.getMessage());
+            detach(channel, watcher);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the watcher and forgets the channel once nobody watches the show anymore.
+     */
+    private void detach(ShowChannel channel, Watcher watcher) {
+        if (!channel.watchers.remove(watcher)) {
+            return;
+        }
+        channels.computeIfPresent(channel.showId, (id, existing) -> existing != channel || --existing.subscribers > 0 ? existing : null);
+    }
+
+    /**
+     * Runs the task on the worker of the channel, starting one unless it is already running.
+     */
+    private void submit(ShowChannel channel, Consumer<ShowChannel> task) {
+        channel.tasks.add(task);
+        if (channel.draining.compareAndSet(false, true)) {
+            workers.execute(() -> drain(channel));
+        }
+    }
+
+    /**
+     * Runs the tasks of the channel until none are left.
+     * Re-checks the queue after releasing it, since a task may have been added in between.
+     */
+    private void drain(ShowChannel channel) {
+        try {
+            Consumer<ShowChannel> task;
+            while ((task = channel.tasks.poll()) != null) {
+                try {
+                    task.accept(channel);
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Availability update of show {} failed", channel.showId, e);
+                }
+            }
+        } finally {
+            channel.draining.set(false);
+        }
+        if (!channel.tasks.isEmpty() && channel.draining.compareAndSet(false, true)) {
+            workers.execute(() -> drain(channel));
+        }
+    }
+}
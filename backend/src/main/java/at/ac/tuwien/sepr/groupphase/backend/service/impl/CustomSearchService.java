@@ -7,64 +7,157 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchResult
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLocationDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLocationSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetCountDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.SearchFacetsDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.SuggestionDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.ArtistMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Artist;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.SearchService;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.LocationGeoIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.ShowSalesStatistics;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceCandidate;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceRanker;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchHit;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SuggestionIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.ArtistSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.EventLocationSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.EventSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.ShowSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.SearchValidator;
-import java.util.Comparator;
-
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.lang.invoke.MethodHandles;
-
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static org.springframework.util.StringUtils.hasText;
+
+/**
+ * Searches artists, locations, events and shows.
+ *
+ * <p>Text criteria are looked up in the {@link SearchIndex}, which matches whole words and word beginnings regardless of
+ * case and accents and ranks the hits by relevance. Remaining criteria are applied by the database, restricted to the hits.
+ * Until the index is built, text criteria fall back to substring matches in the database.</p>
+ *
+ * <p>Events, shows and locations are read as rows of just the columns a result shows, through the search fragments
+ * of their repositories, instead of as entities with their associations.</p>
+ *
+ * <p>A global search looks up one query in all entity types at once. Without the index, the four database queries
+ * run in parallel on virtual threads.</p>
+ *
+ * <p>Event locations can also be searched within a radius around a point. The {@link LocationGeoIndex} finds the
+ * locations nearby, which are returned nearest first.</p>
+ *
+ * <p>Suggestions while typing are answered from the {@link SuggestionIndex} alone and never reach the database.</p>
+ *
+ * <p>Event and show results come with the number of all results per category, city, price range and month,
+ * counted by the {@link FacetIndex} in memory instead of grouping in the database.</p>
+ *
+ * <p>Once the facet index is built, it also finds the matching events and shows. These are ordered by the
+ * {@link RelevanceRanker}, which weighs text match, start date, remaining places and tickets sold, and only the
+ * rows on the requested page are read from the database. Sales and the current time come from the snapshot the
+ * {@link ShowSalesStatistics} take once a minute, so all pages requested within a minute are cut from the same order.</p>
+ *
+ * <p>Pages of artist, event and show results are kept in the {@link SearchResultCache} until the data they were built from changes.</p>
+ */
 @Service
 public class CustomSearchService implements SearchService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final int HIT_CHUNK_SIZE = 200;
     private final EventRepository eventRepo;
     private final EventLocationRepository eventLocationRepo;
     private final ShowRepository showRepo;
     private final SearchValidator searchValidator;
     private final ArtistRepository artistRepo;
     private final ArtistMapper artistMapper;
+    private final SearchIndex searchIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final SearchResultCache searchResultCache;
+    private final LocationGeoIndex locationGeoIndex;
+    private final FacetIndex facetIndex;
+    private final RelevanceRanker relevanceRanker;
+    private final ShowSalesStatistics showSalesStatistics;
+
+    /**
+     * Normalized criteria of an artist search, the key of its cached results.
+     */
+    private record ArtistQuery(boolean indexed, String firstname, String lastname, String stagename, int page, int size) {
+    }
+
+    /**
+     * Normalized criteria of an event search, the key of its cached results.
+     */
+    private record EventQuery(boolean indexed, boolean faceted, String name, String description, String category, Integer duration, int page, int size) {
+    }
+
+    /**
+     * Normalized criteria of a show search, the key of its cached results.
+     */
+    private record ShowQuery(boolean indexed, boolean faceted, LocalDateTime startDate, LocalDateTime endDate, String name, String eventName, String roomName,
+                             BigDecimal minPrice, BigDecimal maxPrice, int page, int size) {
+    }
 
     @Autowired
     public CustomSearchService(EventRepository eventRepo, ShowRepository showRepo, EventLocationRepository eventLocationRepo, SearchValidator searchValidator, ArtistRepository artistRepo,
-                               ArtistMapper artistMapper) {
+                               ArtistMapper artistMapper, SearchIndex searchIndex, SuggestionIndex suggestionIndex,
+                               SearchResultCache searchResultCache, LocationGeoIndex locationGeoIndex, FacetIndex facetIndex,
+                               RelevanceRanker relevanceRanker, ShowSalesStatistics showSalesStatistics) {
         this.eventRepo = eventRepo;
         this.showRepo = showRepo;
         this.eventLocationRepo = eventLocationRepo;
         this.searchValidator = searchValidator;
         this.artistRepo = artistRepo;
         this.artistMapper = artistMapper;
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.searchResultCache = searchResultCache;
+        this.locationGeoIndex = locationGeoIndex;
+        this.facetIndex = facetIndex;
+        this.relevanceRanker = relevanceRanker;
+        this.showSalesStatistics = showSalesStatistics;
     }
 
     @Override
@@ -73,21 +166,33 @@ public class CustomSearchService implements SearchService {
 
         searchValidator.validateForArtists(criteria);
 
-        Specification<Artist> spec = (root, query, cb) -> cb.conjunction();
-        spec = spec
-            .and(ArtistSpecifications.hasFirstnameLike(criteria.getFirstname()))
-            .and(ArtistSpecifications.hasLastnameLike(criteria.getLastname()))
-            .and(ArtistSpecifications.hasStagenameLike(criteria.getStagename()));
+        ArtistQuery query = new ArtistQuery(searchIndex.isReady(), normalize(criteria.getFirstname()), normalize(criteria.getLastname()),
+            normalize(criteria.getStagename()), criteria.getPage(), criteria.getSize());
+        return searchResultCache.get(SearchDocument.Type.ARTIST, query, () -> findArtists(criteria));
+    }
 
-        Page<Artist> page = artistRepo.findAll(spec, PageRequest.of(criteria.getPage(), criteria.getSize()));
+    private Page<ArtistSearchResultDto> findArtists(ArtistSearchDto criteria) {
+        Map<String, String> text = textQueries(
+            SearchDocument.FIRSTNAME, criteria.getFirstname(),
+            SearchDocument.LASTNAME, criteria.getLastname(),
+            SearchDocument.STAGENAME, criteria.getStagename());
+
+        Page<Artist> page;
+        if (searchIndex.isReady() && !text.isEmpty()) {
+            page = CustomSearchService.<Artist, Artist>rankedPage(searchIndex.search(SearchDocument.Type.ARTIST, text), null, artistRepo::findAll, artistRepo::count, Artist::getId,
+                PageRequest.of(criteria.getPage(), criteria.getSize()));
+        } else {
+            Specification<Artist> spec = (root, query, cb) -> cb.conjunction();
+            spec = spec
+                .and(ArtistSpecifications.hasFirstnameLike(criteria.getFirstname()))
+                .and(ArtistSpecifications.hasLastnameLike(criteria.getLastname()))
+                .and(ArtistSpecifications.hasStagenameLike(criteria.getStagename()));
+
+            page = artistRepo.findAll(spec, PageRequest.of(criteria.getPage(), criteria.getSize()));
+        }
 
         List<ArtistSearchResultDto> dtos = page.getContent().stream()
-            .map(artist -> ArtistSearchResultDto.ArtistSearchResultDtoBuilder.anArtistSearchResultDto()
-                .id(artist.getId())
-                .firstname(artist.getFirstname())
-                .lastname(artist.getLastname())
-                .stagename(artist.getStagename())
-                .build())
+            .map(CustomSearchService::toArtistResult)
             .collect(Collectors.toList());
 
         return new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
@@ -99,110 +204,473 @@ public class CustomSearchService implements SearchService {
 
         searchValidator.validateForEventLocations(eventLocationSearchDto);
 
+        Map<String, String> text = textQueries(
+            SearchDocument.NAME, eventLocationSearchDto.getName(),
+            SearchDocument.STREET, eventLocationSearchDto.getStreet(),
+            SearchDocument.CITY, eventLocationSearchDto.getCity());
+        boolean indexed = searchIndex.isReady() && !text.isEmpty();
+
         Specification<EventLocation> spec = (root, query, cb) -> cb.conjunction();
+        if (!indexed) {
+            spec = spec
+                .and(EventLocationSpecifications.hasNameLike(eventLocationSearchDto.getName()))
+                .and(EventLocationSpecifications.hasStreetLike(eventLocationSearchDto.getStreet()))
+                .and(EventLocationSpecifications.hasCityLike(eventLocationSearchDto.getCity()));
+        }
         spec = spec
-            .and(EventLocationSpecifications.hasNameLike(eventLocationSearchDto.getName()))
-            .and(EventLocationSpecifications.hasStreetLike(eventLocationSearchDto.getStreet()))
-            .and(EventLocationSpecifications.hasCityLike(eventLocationSearchDto.getCity()))
             .and(EventLocationSpecifications.hasCountryLike(eventLocationSearchDto.getCountry()))
             .and(EventLocationSpecifications.hasPostalCodeLike(eventLocationSearchDto.getPostalCode()));
 
-        Page<EventLocation> page = eventLocationRepo.findAll(spec, PageRequest.of(eventLocationSearchDto.getPage(), eventLocationSearchDto.getSize()));
+        // criteria of the filter that the index or the distance do not cover
+        Specification<EventLocation> filter = !indexed && !text.isEmpty()
+            || hasText(eventLocationSearchDto.getCountry()) || hasText(eventLocationSearchDto.getPostalCode()) ? spec : null;
+
+        PageRequest pageable = PageRequest.of(eventLocationSearchDto.getPage(), eventLocationSearchDto.getSize());
+        GeoPoint near = GeoPoint.parse(eventLocationSearchDto.getNear());
+        Map<Long, Double> distances = new HashMap<>();
+        Page<EventLocationSearchRepository.LocationRow> page;
+        if (near != null) {
+            List<LocationGeoIndex.Hit> nearby = locationGeoIndex.isReady()
+                ? locationGeoIndex.within(near, eventLocationSearchDto.getRadiusKm())
+                : nearbyFromDatabase(near, eventLocationSearchDto.getRadiusKm());
+            if (indexed) {
+                Set<Long> matching = searchIndex.search(SearchDocument.Type.LOCATION, text).stream().map(SearchHit::id).collect(Collectors.toSet());
+                nearby = nearby.stream().filter(hit -> matching.contains(hit.id())).toList();
+            }
+            nearby.forEach(hit -> distances.put(hit.id(), hit.distanceKm()));
+            // nearest first: rankedPage keeps the order of the hits
+            List<SearchHit> hits = nearby.stream().map(hit -> new SearchHit(hit.id(), -hit.distanceKm())).toList();
+            page = rankedPage(hits, filter, eventLocationRepo::findSearchRows, eventLocationRepo::count, EventLocationSearchRepository.LocationRow::id, pageable);
+        } else {
+            page = indexed
+                ? rankedPage(searchIndex.search(SearchDocument.Type.LOCATION, text), filter, eventLocationRepo::findSearchRows,
+                    eventLocationRepo::count, EventLocationSearchRepository.LocationRow::id, pageable)
+                : eventLocationRepo.findSearchRows(spec, pageable);
+        }
 
         List<EventLocationDetailDto> dtos = page.getContent().stream()
-            .map(eventLocation -> EventLocationDetailDto.EventLocationDtoBuilder.anEventLocationDto()
-                .id(eventLocation.getId())
-                .name(eventLocation.getName())
-                .street(eventLocation.getStreet())
-                .city(eventLocation.getCity())
-                .country(eventLocation.getCountry())
-                .postalCode(eventLocation.getPostalCode())
-                .build())
+            .map(location -> {
+                EventLocationDetailDto dto = toLocationResult(location);
+                dto.setDistanceKm(distances.get(location.id()));
+                return dto;
+            })
             .collect(Collectors.toList());
 
         return new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
     }
 
     @Override
-    public Page<EventSearchResultDto> searchEvents(EventSearchDto eventSearchDto) throws ValidationException {
+    public FacetedPageDto<EventSearchResultDto> searchEvents(EventSearchDto eventSearchDto) throws ValidationException {
         LOGGER.debug("Search events with criteria: {}", eventSearchDto);
 
         searchValidator.validateForEvents(eventSearchDto);
 
+        EventQuery query = new EventQuery(searchIndex.isReady(), facetIndex.isReady(), normalize(eventSearchDto.getName()), normalize(eventSearchDto.getDescription()),
+            normalize(eventSearchDto.getCategory()), eventSearchDto.getDuration(), eventSearchDto.getPage(), eventSearchDto.getSize());
+        return searchResultCache.get(SearchDocument.Type.EVENT, query, () -> findEvents(eventSearchDto));
+    }
+
+    private FacetedPageDto<EventSearchResultDto> findEvents(EventSearchDto eventSearchDto) {
+        Map<String, String> text = textQueries(
+            SearchDocument.NAME, eventSearchDto.getName(),
+            SearchDocument.DESCRIPTION, eventSearchDto.getDescription());
+        boolean indexed = searchIndex.isReady() && !text.isEmpty();
+        PageRequest pageable = PageRequest.of(eventSearchDto.getPage(), eventSearchDto.getSize());
+        List<SearchHit> hits = indexed ? searchIndex.search(SearchDocument.Type.EVENT, text) : null;
+
+        // substring matches of the database cannot be found in memory
+        if (facetIndex.isReady() && (indexed || text.isEmpty())) {
+            List<FacetDocument.EventFacts> matches = facetIndex.matchingEvents(idsOf(hits), eventSearchDto.getCategory(), eventSearchDto.getDuration());
+            ShowSalesStatistics.Snapshot sales = showSalesStatistics.snapshot();
+            Page<EventSearchRepository.EventRow> page = this.<Event, EventSearchRepository.EventRow>relevancePage(
+                eventCandidates(matches, hits, sales), sales, eventRepo::findSearchRows, EventSearchRepository.EventRow::id, pageable);
+            List<EventSearchResultDto> dtos = page.getContent().stream().map(CustomSearchService::toEventResult).collect(Collectors.toList());
+            return new FacetedPageDto<>(dtos, pageable, page.getTotalElements(), toFacetsDto(facetIndex.countEvents(matches)));
+        }
+
         Specification<Event> spec = (root, query, cb) -> cb.conjunction();
-        spec = spec
-            .and(EventSpecifications.hasName(eventSearchDto.getName()))
-            .and(EventSpecifications.hasCategory(eventSearchDto.getCategory()))
-            .and(EventSpecifications.hasDescription(eventSearchDto.getDescription()));
+        if (!indexed) {
+            spec = spec
+                .and(EventSpecifications.hasName(eventSearchDto.getName()))
+                .and(EventSpecifications.hasDescription(eventSearchDto.getDescription()));
+        }
+        spec = spec.and(EventSpecifications.hasCategory(eventSearchDto.getCategory()));
 
         if (eventSearchDto.getDuration() != null) {
             spec = spec.and(EventSpecifications.hasDurationBetween(eventSearchDto.getDuration()));
         }
 
-        Page<Event> page = eventRepo.findAll(spec, PageRequest.of(eventSearchDto.getPage(), eventSearchDto.getSize()));
-
-        List<EventSearchResultDto> dtos = page.getContent().stream().map(e -> EventSearchResultDto.EventSearchResultDtoBuilder.anEventSearchResultDto()
-            .id(e.getId())
-            .name(e.getName())
-            .category(e.getCategory().getDisplayName())
-            .locationId(e.getLocation().getId())
-            .duration(e.getDuration())
-            .description(e.getDescription())
-            .build()).collect(Collectors.toList());
+        Page<EventSearchRepository.EventRow> page = indexed
+            ? rankedPage(hits, hasText(eventSearchDto.getCategory()) || eventSearchDto.getDuration() != null ? spec : null,
+                eventRepo::findSearchRows, eventRepo::count, EventSearchRepository.EventRow::id, pageable)
+            : eventRepo.findSearchRows(spec, pageable);
 
-        return new PageImpl<>(dtos, page.getPageable(), page.getTotalElements());
+        List<EventSearchResultDto> dtos = page.getContent().stream().map(CustomSearchService::toEventResult).collect(Collectors.toList());
+        return new FacetedPageDto<>(dtos, page.getPageable(), page.getTotalElements(), null);
     }
 
 
     @Override
-    public Page<ShowSearchResultDto> searchShows(ShowSearchDto criteria) throws ValidationException {
+    public FacetedPageDto<ShowSearchResultDto> searchShows(ShowSearchDto criteria) throws ValidationException {
         LOGGER.debug("Searching shows with criteria: {}", criteria);
 
         searchValidator.validateForShows(criteria);
 
+        ShowQuery query = new ShowQuery(searchIndex.isReady(), facetIndex.isReady(), criteria.getStartDate(), criteria.getEndDate(), normalize(criteria.getName()),
+            normalize(criteria.getEventName()), normalize(criteria.getRoomName()), normalize(criteria.getMinPrice()), normalize(criteria.getMaxPrice()),
+            criteria.getPage(), criteria.getSize());
+        return searchResultCache.get(SearchDocument.Type.SHOW, query, () -> findShows(criteria));
+    }
+
+    private FacetedPageDto<ShowSearchResultDto> findShows(ShowSearchDto criteria) {
         Specification<Show> spec = (root, query, cb) -> cb.conjunction();
 
         spec = spec
             .and(ShowSpecifications.dateBetween(criteria.getStartDate(), criteria.getEndDate()))
-            .and(ShowSpecifications.hasEventName(criteria.getEventName()))
             .and(ShowSpecifications.hasRoomName(criteria.getRoomName()))
-            .and(ShowSpecifications.nameContains(criteria.getName()))
             .and(ShowSpecifications.hasPriceBetween(criteria.getMinPrice(), criteria.getMaxPrice()));
 
         PageRequest pageable = PageRequest.of(criteria.getPage(), criteria.getSize());
-        Page<Show> page = showRepo.findAll(spec, pageable);
-
-        List<ShowSearchResultDto> result = page.getContent().stream().map(show -> {
-            ShowSearchResultDto dto = new ShowSearchResultDto();
-            dto.setId(show.getId());
-            dto.setName(show.getName());
-            dto.setDuration(show.getDuration());
-            dto.setDate(show.getDate());
-            dto.setEventId(show.getEvent().getId());
-            dto.setEventName(show.getEvent().getName());
-            dto.setRoomId(show.getRoom().getId());
-            dto.setRoomName(show.getRoom().getName());
-
-            var sectorPrices = show.getRoom().getSectors().stream()
-                .map(Sector::getPrice)
-                .filter(Objects::nonNull)
-                .map(BigDecimal::valueOf)
-                .toList();
-
-            BigDecimal min = sectorPrices.stream()
-                .min(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-
-            BigDecimal max = sectorPrices.stream()
-                .max(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-
-            dto.setMinPrice(min);
-            dto.setMaxPrice(max);
-            return dto;
-        }).collect(Collectors.toList());
-
-        return new PageImpl<>(result, pageable, page.getTotalElements());
+        Map<String, String> eventText = textQueries(SearchDocument.NAME, criteria.getEventName());
+        Map<String, String> text = textQueries(SearchDocument.NAME, criteria.getName());
+        Set<Long> eventIds = null;
+        List<SearchHit> hits = null;
+        if (searchIndex.isReady()) {
+            if (!eventText.isEmpty()) {
+                eventIds = idsOf(searchIndex.search(SearchDocument.Type.EVENT, eventText));
+            }
+            if (!text.isEmpty()) {
+                hits = searchIndex.search(SearchDocument.Type.SHOW, text);
+            }
+        }
+
+        // substring matches of the database cannot be found in memory
+        if (facetIndex.isReady() && (searchIndex.isReady() || eventText.isEmpty() && text.isEmpty())) {
+            List<FacetDocument.ShowFacts> matches = facetIndex.matchingShows(idsOf(hits), eventIds, criteria.getStartDate(), criteria.getEndDate(),
+                criteria.getRoomName(), criteria.getMinPrice(), criteria.getMaxPrice());
+            ShowSalesStatistics.Snapshot sales = showSalesStatistics.snapshot();
+            Page<ShowSearchRepository.ShowRow> page = this.<Show, ShowSearchRepository.ShowRow>relevancePage(
+                showCandidates(matches, hits, sales), sales, showRepo::findSearchRows, ShowSearchRepository.ShowRow::id, pageable);
+            List<ShowSearchResultDto> result = page.getContent().stream().map(CustomSearchService::toShowResult).collect(Collectors.toList());
+            return new FacetedPageDto<>(result, pageable, page.getTotalElements(), toFacetsDto(facetIndex.countShows(matches)));
+        }
+
+        Page<ShowSearchRepository.ShowRow> page;
+        if (searchIndex.isReady()) {
+            if (eventIds != null) {
+                spec = spec.and(ShowSpecifications.hasEventIn(eventIds));
+            }
+            page = hits == null
+                ? showRepo.findSearchRows(spec, pageable)
+                : rankedPage(hits, eventIds != null || criteria.getStartDate() != null || criteria.getEndDate() != null
+                    || hasText(criteria.getRoomName()) || criteria.getMinPrice() != null || criteria.getMaxPrice() != null ? spec : null,
+                    showRepo::findSearchRows, showRepo::count, ShowSearchRepository.ShowRow::id, pageable);
+        } else {
+            spec = spec
+                .and(ShowSpecifications.hasEventName(criteria.getEventName()))
+                .and(ShowSpecifications.nameContains(criteria.getName()));
+            page = showRepo.findSearchRows(spec, pageable);
+        }
+
+        List<ShowSearchResultDto> result = page.getContent().stream().map(CustomSearchService::toShowResult).collect(Collectors.toList());
+        return new FacetedPageDto<>(result, pageable, page.getTotalElements(), null);
+    }
+
+    @Override
+    public GlobalSearchResultDto searchAll(GlobalSearchDto criteria) throws ValidationException {
+        LOGGER.debug("Searching everything with criteria: {}", criteria);
+
+        searchValidator.validateForGlobalSearch(criteria);
+
+        String text = criteria.getQuery().strip();
+        int limit = criteria.getLimit();
+        GlobalSearchResultDto result = new GlobalSearchResultDto();
+        if (searchIndex.isReady()) {
+            Map<SearchDocument.Type, List<SearchHit>> hits = searchIndex.searchAll(text, limit);
+            result.setArtists(ranked(hits.get(SearchDocument.Type.ARTIST), artistRepo::findAllById, Artist::getId).stream()
+                .map(CustomSearchService::toArtistResult).toList());
+            result.setEvents(ranked(hits.get(SearchDocument.Type.EVENT), ids -> eventRepo.findSearchRows(hasIdIn(ids)), EventSearchRepository.EventRow::id)
+                .stream().map(CustomSearchService::toEventResult).toList());
+            result.setLocations(ranked(hits.get(SearchDocument.Type.LOCATION), ids -> eventLocationRepo.findSearchRows(hasIdIn(ids)),
+                EventLocationSearchRepository.LocationRow::id).stream().map(CustomSearchService::toLocationResult).toList());
+            result.setShows(ranked(hits.get(SearchDocument.Type.SHOW), ids -> showRepo.findSearchRows(hasIdIn(ids)), ShowSearchRepository.ShowRow::id)
+                .stream().map(CustomSearchService::toShowResult).toList());
+            return result;
+        }
+
+        PageRequest firstPage = PageRequest.of(0, limit);
+        Specification<Artist> artistSpec = Specification.anyOf(
+            ArtistSpecifications.hasFirstnameLike(text), ArtistSpecifications.hasLastnameLike(text), ArtistSpecifications.hasStagenameLike(text));
+        Specification<Event> eventSpec = Specification.anyOf(EventSpecifications.hasName(text), EventSpecifications.hasDescription(text));
+        Specification<EventLocation> locationSpec = Specification.anyOf(
+            EventLocationSpecifications.hasNameLike(text), EventLocationSpecifications.hasStreetLike(text), EventLocationSpecifications.hasCityLike(text));
+        Specification<Show> showSpec = ShowSpecifications.nameContains(text);
+
+        // each query runs on its own virtual thread and maps its entities there, while its own read transaction is still open
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<ArtistSearchResultDto>> artists = executor.submit(() ->
+                artistRepo.findAll(artistSpec, firstPage).stream().map(CustomSearchService::toArtistResult).toList());
+            Future<List<EventSearchResultDto>> events = executor.submit(() ->
+                eventRepo.findSearchRows(eventSpec, firstPage).stream().map(CustomSearchService::toEventResult).toList());
+            Future<List<EventLocationDetailDto>> locations = executor.submit(() ->
+                eventLocationRepo.findSearchRows(locationSpec, firstPage).stream().map(CustomSearchService::toLocationResult).toList());
+            Future<List<ShowSearchResultDto>> shows = executor.submit(() ->
+                showRepo.findSearchRows(showSpec, firstPage).stream().map(CustomSearchService::toShowResult).toList());
+
+            result.setArtists(await(artists));
+            result.setEvents(await(events));
+            result.setLocations(await(locations));
+            result.setShows(await(shows));
+        }
+        return result;
+    }
+
+    @Override
+    public List<SuggestionDto> suggest(String query, Integer limit) throws ValidationException {
+        LOGGER.debug("Suggesting names for: {}", query);
+
+        searchValidator.validateForSuggestions(query, limit);
+
+        return suggestionIndex.suggest(query, limit).stream()
+            .map(suggestion -> new SuggestionDto(suggestion.type().name(), suggestion.id(), suggestion.text()))
+            .toList();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
     }
-}
 
+    /**
+     * Loads the entities of the given hits, in the order of the hits.
+     */
+    private static <T> List<T> ranked(List<SearchHit> hits, Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = hits.stream().map(SearchHit::id).toList();
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return load.apply(ids).stream().sorted(Comparator.comparing(entity -> rank.get(idOf.apply(entity)))).toList();
+    }
+
+    private static List<RelevanceCandidate> showCandidates(List<FacetDocument.ShowFacts> shows, List<SearchHit> hits, ShowSalesStatistics.Snapshot sales) {
+        Map<Long, Double> textScores = textScoresOf(hits);
+        return shows.stream()
+            .map(show -> new RelevanceCandidate(show.id(), textScores.getOrDefault(show.id(), 0.0), show.date(), sales.sold(show.id()), sales.capacity(show.roomId())))
+            .toList();
+    }
+
+    /**
+     * Sums up sales and places over the shows of every event and dates it by its next show.
+     */
+    private List<RelevanceCandidate> eventCandidates(List<FacetDocument.EventFacts> events, List<SearchHit> hits, ShowSalesStatistics.Snapshot sales) {
+        Map<Long, Double> textScores = textScoresOf(hits);
+        Set<Long> eventIds = events.stream().map(FacetDocument.EventFacts::id).collect(Collectors.toSet());
+        Map<Long, List<FacetDocument.ShowFacts>> showsByEvent = facetIndex.matchingShows(null, eventIds, null, null, null, null, null).stream()
+            .collect(Collectors.groupingBy(FacetDocument.ShowFacts::eventId));
+        LocalDateTime now = sales.takenAt();
+        return events.stream().map(event -> {
+            long sold = 0;
+            long capacity = 0;
+            LocalDateTime next = null;
+            for (FacetDocument.ShowFacts show : showsByEvent.getOrDefault(event.id(), List.of())) {
+                sold += sales.sold(show.id());
+                capacity += sales.capacity(show.roomId());
+                if (show.date() != null && !show.date().isBefore(now) && (next == null || show.date().isBefore(next))) {
+                    next = show.date();
+                }
+            }
+            return new RelevanceCandidate(event.id(), textScores.getOrDefault(event.id(), 0.0), next != null ? next : event.dateTime(), sold, capacity);
+        }).toList();
+    }
+
+    /**
+     * Ranks the candidates by relevance and reads the rows on the requested page.
+     */
+    private <E, T> Page<T> relevancePage(List<RelevanceCandidate> candidates, ShowSalesStatistics.Snapshot sales,
+                                         Function<Specification<E>, List<T>> find, Function<T, Long> idOf, Pageable pageable) {
+        List<Long> ids = relevanceRanker.page(candidates, sales.takenAt(), pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, candidates.size());
+        }
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<T> content = find.apply(hasIdIn(ids)).stream().sorted(Comparator.comparing(row -> rank.get(idOf.apply(row)))).toList();
+        return new PageImpl<>(content, pageable, candidates.size());
+    }
+
+    private static Map<Long, Double> textScoresOf(List<SearchHit> hits) {
+        return hits == null ? Map.of() : hits.stream().collect(Collectors.toMap(SearchHit::id, SearchHit::score, Math::max));
+    }
+
+    private static Set<Long> idsOf(List<SearchHit> hits) {
+        return hits == null ? null : hits.stream().map(SearchHit::id).collect(Collectors.toSet());
+    }
+
+    private static SearchFacetsDto toFacetsDto(FacetIndex.Facets facets) {
+        SearchFacetsDto dto = new SearchFacetsDto();
+        dto.setCategories(toFacetCounts(facets.categories()));
+        dto.setCities(toFacetCounts(facets.cities()));
+        dto.setPriceRanges(toFacetCounts(facets.priceRanges()));
+        dto.setMonths(toFacetCounts(facets.months()));
+        return dto;
+    }
+
+    private static List<FacetCountDto> toFacetCounts(Map<String, Long> counts) {
+        return counts.entrySet().stream().map(count -> new FacetCountDto(count.getKey(), count.getValue())).toList();
+    }
+
+    private static <T> Specification<T> hasIdIn(List<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    private static ArtistSearchResultDto toArtistResult(Artist artist) {
+        return ArtistSearchResultDto.ArtistSearchResultDtoBuilder.anArtistSearchResultDto()
+            .id(artist.getId())
+            .firstname(artist.getFirstname())
+            .lastname(artist.getLastname())
+            .stagename(artist.getStagename())
+            .build();
+    }
+
+    /**
+     * Measures the distance to all located event locations, for searches before the {@link LocationGeoIndex} is built.
+     */
+    private List<LocationGeoIndex.Hit> nearbyFromDatabase(GeoPoint near, double radiusKm) {
+        return eventLocationRepo.findByLatitudeIsNotNullAndLongitudeIsNotNull().stream()
+            .map(location -> new LocationGeoIndex.Hit(location.getId(), near.distanceKm(new GeoPoint(location.getLatitude(), location.getLongitude()))))
+            .filter(hit -> hit.distanceKm() <= radiusKm)
+            .sorted(Comparator.comparingDouble(LocationGeoIndex.Hit::distanceKm).thenComparing(LocationGeoIndex.Hit::id))
+            .toList();
+    }
+
+    private static EventLocationDetailDto toLocationResult(EventLocationSearchRepository.LocationRow location) {
+        return EventLocationDetailDto.EventLocationDtoBuilder.anEventLocationDto()
+            .id(location.id())
+            .name(location.name())
+            .street(location.street())
+            .city(location.city())
+            .country(location.country())
+            .postalCode(location.postalCode())
+            .latitude(location.latitude())
+            .longitude(location.longitude())
+            .build();
+    }
+
+    private static EventSearchResultDto toEventResult(EventSearchRepository.EventRow e) {
+        return EventSearchResultDto.EventSearchResultDtoBuilder.anEventSearchResultDto()
+            .id(e.id())
+            .name(e.name())
+            .category(e.category().getDisplayName())
+            .locationId(e.locationId())
+            .duration(e.duration())
+            .description(e.description())
+            .build();
+    }
+
+    private static ShowSearchResultDto toShowResult(ShowSearchRepository.ShowRow show) {
+        ShowSearchResultDto dto = new ShowSearchResultDto();
+        dto.setId(show.id());
+        dto.setName(show.name());
+        dto.setDuration(show.duration());
+        dto.setDate(show.date());
+        dto.setEventId(show.eventId());
+        dto.setEventName(show.eventName());
+        dto.setRoomId(show.roomId());
+        dto.setRoomName(show.roomName());
+
+        dto.setMinPrice(show.minPrice() != null ? BigDecimal.valueOf(show.minPrice()) : BigDecimal.ZERO);
+        dto.setMaxPrice(show.maxPrice() != null ? BigDecimal.valueOf(show.maxPrice()) : BigDecimal.ZERO);
+        return dto;
+    }
+
+    /**
+     * Text criteria are matched regardless of case, and blank ones are ignored.
+     */
+    private static String normalize(String text) {
+        return text == null || text.isBlank() ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static BigDecimal normalize(BigDecimal amount) {
+        return amount == null ? null : amount.stripTrailingZeros();
+    }
+
+    /**
+     * Collects the non-blank text criteria, given as pairs of field name and query.
+     */
+    private static Map<String, String> textQueries(String... fieldsAndQueries) {
+        Map<String, String> queries = new HashMap<>();
+        for (int i = 0; i < fieldsAndQueries.length; i += 2) {
+            if (fieldsAndQueries[i + 1] != null && !fieldsAndQueries[i + 1].isBlank()) {
+                queries.put(fieldsAndQueries[i], fieldsAndQueries[i + 1]);
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Returns one page of the index hits that also match the filter, in the order of the hits.
+     * Without a filter only the results of the requested page are loaded. With a filter the hits are checked in
+     * chunks of {@link #HIT_CHUNK_SIZE}, loading chunks until the requested page is complete and only counting the
+     * matches of the remaining ones.
+     *
+     * @param hits     the ranked hits from the index
+     * @param filter   criteria the index does not cover, null if there are none
+     * @param find     loads the results matching a specification, as entities or as result rows
+     * @param count    counts the results matching a specification
+     * @param idOf     returns the ID of a result
+     * @param pageable the requested page
+     * @return the page of matching results
+     */
+    private static <E, T> Page<T> rankedPage(List<SearchHit> hits, Specification<E> filter, Function<Specification<E>, List<T>> find,
+                                             Function<Specification<E>, Long> count, Function<T, Long> idOf, Pageable pageable) {
+
+        if (hits.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Long> ranked = hits.stream().map(SearchHit::id).toList();
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            rank.put(ranked.get(i), i);
+        }
+        Comparator<T> byRank = Comparator.comparing(entity -> rank.get(idOf.apply(entity)));
+
+        if (filter == null) {
+            int from = (int) Math.min(pageable.getOffset(), ranked.size());
+            int to = Math.min(from + pageable.getPageSize(), ranked.size());
+            List<T> content = find.apply(hasIdIn(ranked.subList(from, to))).stream().sorted(byRank).toList();
+            return new PageImpl<>(content, pageable, ranked.size());
+        }
+
+        long needed = pageable.getOffset() + pageable.getPageSize();
+        List<T> matches = new ArrayList<>();
+        long total = 0;
+        for (int chunk = 0; chunk < ranked.size(); chunk += HIT_CHUNK_SIZE) {
+            Specification<E> chunkFilter = filter.and(hasIdIn(ranked.subList(chunk, Math.min(chunk + HIT_CHUNK_SIZE, ranked.size()))));
+            if (matches.size() < needed) {
+                List<T> found = find.apply(chunkFilter);
+                found.stream().sorted(byRank).forEach(matches::add);
+                total += found.size();
+            } else {
+                total += count.apply(chunkFilter);
+            }
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = (int) Math.min(needed, matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, total);
+    }
+}
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.password.PasswordResetDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.user.LockedUserDto;
@@ -20,10 +21,12 @@ import at.ac.tuwien.sepr.groupphase.backend.service.PasswordService;
 import at.ac.tuwien.sepr.groupphase.backend.service.TokenLinkService;
 import at.ac.tuwien.sepr.groupphase.backend.service.UserService;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.UserValidator;
+import at.ac.tuwien.sepr.groupphase.backend.util.KeysetCursor;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -218,13 +221,35 @@ public class CustomUserDetailService implements UserService {
     public Page<LockedUserDto> getAllUsersPaginated(Long currentUserId, Pageable pageable) {
         LOGGER.debug("Fetching all users paginated");
         return userRepository.findAllByIdNot(currentUserId, pageable)
-            .map(user -> LockedUserDto.LockedUserDtoBuilder.aLockedUserDto()
-                .withId(user.getId())
-                .withFirstName(user.getFirstName())
-                .withLastName(user.getLastName())
-                .withEmail(user.getEmail())
-                .withIsLocked(user.isLocked())
-                .build());
+            .map(CustomUserDetailService::toLockedUserDto);
+    }
+
+    @Override
+    public CursorPageDto<LockedUserDto> getAllUsersAfter(Long currentUserId, String after, int size, boolean count) throws ValidationException {
+        LOGGER.debug("Fetching users after cursor {}", after);
+        KeysetCursor.validateSize(size);
+
+        long afterId = 0L;
+        if (after != null && !after.isBlank()) {
+            try {
+                afterId = Long.parseLong(KeysetCursor.decode(after, 1).getFirst());
+            } catch (NumberFormatException e) {
+                throw KeysetCursor.invalid();
+            }
+        }
+        List<ApplicationUser> rows = userRepository.findAllByIdNotAfter(currentUserId, afterId, Limit.of(size + 1));
+        return CursorPageDto.of(rows, size, user -> KeysetCursor.encode(user.getId()), count ? userRepository.countByIdNot(currentUserId) : null)
+            .map(CustomUserDetailService::toLockedUserDto);
+    }
+
+    private static LockedUserDto toLockedUserDto(ApplicationUser user) {
+        return LockedUserDto.LockedUserDtoBuilder.aLockedUserDto()
+            .withId(user.getId())
+            .withFirstName(user.getFirstName())
+            .withLastName(user.getLastName())
+            .withEmail(user.getEmail())
+            .withIsLocked(user.isLocked())
+            .build();
     }
 
     @Override
@@ -6,14 +6,22 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.EventLocationService;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.Geocoder;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
+import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.lang.invoke.MethodHandles;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -22,12 +30,17 @@ public class EventLocationServiceImpl implements EventLocationService {
     private final EventLocationRepository eventLocationRepository;
     private final ShowRepository showRepository;
     private final ShowMapper showMapper;
+    private final Geocoder geocoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public EventLocationServiceImpl(EventLocationRepository eventLocationRepository, ShowRepository showRepository, ShowMapper showMapper) {
+    public EventLocationServiceImpl(EventLocationRepository eventLocationRepository, ShowRepository showRepository, ShowMapper showMapper,
+                                    Geocoder geocoder, ApplicationEventPublisher eventPublisher) {
         this.eventLocationRepository = eventLocationRepository;
         this.showRepository = showRepository;
         this.showMapper = showMapper;
+        this.geocoder = geocoder;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -45,7 +58,10 @@ public class EventLocationServiceImpl implements EventLocationService {
     @Override
     public EventLocation createEventLocation(EventLocation eventLocation) {
         LOGGER.debug("Save event location {}", eventLocation);
-        return eventLocationRepository.save(eventLocation);
+        locate(eventLocation);
+        EventLocation saved = eventLocationRepository.save(eventLocation);
+        eventPublisher.publishEvent(SearchResultsChangedEvent.locationChanged());
+        return saved;
     }
 
     @Override
@@ -59,4 +75,30 @@ public class EventLocationServiceImpl implements EventLocationService {
             showRepository.findAllByEvent_Location_IdOrderByDateAsc(eventLocationId, pageable)
         );
     }
+
+    /**
+     * Looks up the coordinates of locations stored before locations had coordinates, or stored without the service.
+     * Locations whose address was not found are not looked up again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void completeMissingCoordinates() {
+        long located = eventLocationRepository.findByGeocodedAtIsNull().stream().filter(this::locate).count();
+        if (located > 0) {
+            LOGGER.info("Looked up the coordinates of {} event locations", located);
+        }
+    }
+
+    /**
+     * Sets the coordinates of the location from its address.
+     *
+     * @return true if the address was found
+     */
+    private boolean locate(EventLocation eventLocation) {
+        GeoPoint point = geocoder.locate(eventLocation);
+        eventLocation.setLatitude(point != null ? point.latitude() : null);
+        eventLocation.setLongitude(point != null ? point.longitude() : null);
+        eventLocation.setGeocodedAt(LocalDateTime.now());
+        return point != null;
+    }
 }
@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventCategoryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventTopTenDto;
@@ -14,22 +15,28 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.EventService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.EventSales;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.EventSalesLeaderboard;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.EventValidator;
+import at.ac.tuwien.sepr.groupphase.backend.util.KeysetCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.lang.invoke.MethodHandles;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 
 @Service
@@ -38,25 +45,28 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final EventLocationRepository eventLocationRepository;
     private final ShowRepository showRepository;
-    private final TicketRepository ticketRepository;
+    private final EventSalesLeaderboard eventSalesLeaderboard;
     private final EventMapper eventMapper;
     private final ShowMapper showMapper;
     private final EventValidator eventValidator;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public EventServiceImpl(EventRepository eventRepository,
                             EventLocationRepository eventLocationRepository,
                             ShowRepository showRepository,
-                            TicketRepository ticketRepository,
+                            EventSalesLeaderboard eventSalesLeaderboard,
                             EventMapper eventMapper,
-                            ShowMapper showMapper, EventValidator eventValidator) {
+                            ShowMapper showMapper, EventValidator eventValidator,
+                            ApplicationEventPublisher eventPublisher) {
         this.eventRepository = eventRepository;
         this.eventLocationRepository = eventLocationRepository;
         this.showRepository = showRepository;
-        this.ticketRepository = ticketRepository;
+        this.eventSalesLeaderboard = eventSalesLeaderboard;
         this.eventMapper = eventMapper;
         this.showMapper = showMapper;
         this.eventValidator = eventValidator;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -83,6 +93,32 @@ public class EventServiceImpl implements EventService {
         return eventRepository.countByDateTimeBefore(dateTime);
     }
 
+    @Override
+    public CursorPageDto<UpdateEventDto> getEventsAfter(String after, int size, LocalDateTime fromDate, boolean count) throws ValidationException {
+        LOGGER.debug("Get events after cursor {}", after);
+        KeysetCursor.validateSize(size);
+
+        Limit limit = Limit.of(size + 1);
+        List<Event> rows;
+        if (after == null || after.isBlank()) {
+            rows = eventRepository.findFirstFrom(fromDate, limit);
+        } else {
+            List<String> keys = KeysetCursor.decode(after, 3);
+            try {
+                rows = eventRepository.findAfter(LocalDateTime.parse(keys.get(0)), keys.get(1), Long.valueOf(keys.get(2)), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw KeysetCursor.invalid();
+            }
+        }
+
+        Long total = null;
+        if (count) {
+            total = fromDate != null ? eventRepository.countByDateTimeGreaterThanEqual(fromDate) : eventRepository.count();
+        }
+        return CursorPageDto.of(rows, size, event -> KeysetCursor.encode(event.getDateTime(), event.getName().toLowerCase(Locale.ROOT), event.getId()), total)
+            .map(eventMapper::eventToUpdateEventDto);
+    }
+
     @Override
     public Event createEvent(Event event) throws ValidationException {
         LOGGER.debug("Save event {}", event);
@@ -95,7 +131,9 @@ public class EventServiceImpl implements EventService {
         } else {
             throw new ValidationException("No event location given", List.of("No event location given"));
         }
-        return eventRepository.save(event);
+        Event saved = eventRepository.save(event);
+        eventPublisher.publishEvent(SearchResultsChangedEvent.eventChanged());
+        return saved;
     }
 
     @Override
@@ -116,7 +154,9 @@ public class EventServiceImpl implements EventService {
         existing.setDuration(event.getDuration());
         existing.setLocation(location);
 
-        return eventRepository.save(existing);
+        Event saved = eventRepository.save(existing);
+        eventPublisher.publishEvent(SearchResultsChangedEvent.eventChanged());
+        return saved;
     }
 
     @Override
@@ -140,33 +180,24 @@ public class EventServiceImpl implements EventService {
     @Override
     public List<EventTopTenDto> getTopTenEventsByCategory(String category) throws ValidationException {
         LOGGER.debug("Fetching top ten events for category={}", category);
-        Pageable topTen = PageRequest.of(0, 10);
-        List<Object[]> topTenEvents;
-        if (category.equalsIgnoreCase("all")) {
-            topTenEvents = ticketRepository.findTopTenEventsOrderByTicketCountDesc(LocalDateTime.now().plusDays(30), topTen);
-        } else {
+        Event.EventCategory eventCategory = null;
+        if (!category.equalsIgnoreCase("all")) {
             try {
                 Event.EventCategory.valueOf(category);
             } catch (IllegalArgumentException e) {
                 throw new ValidationException("Invalid category: " + category, List.of("Invalid category: " + category));
             }
-            Event.EventCategory eventCategory = Event.EventCategory.valueOf(category.toUpperCase());
-            topTenEvents = ticketRepository.findTopTenEventsByCategoryOrderByTicketCountDesc(eventCategory, LocalDateTime.now().plusDays(30), topTen);
+            eventCategory = Event.EventCategory.valueOf(category.toUpperCase());
         }
 
         List<EventTopTenDto> eventTopTenDtos = new ArrayList<>();
 
-        for (Object[] objects : topTenEvents) {
-            Event event = (Event) objects[0];
-            Long ticketCount = (Long) objects[1];
-
-            LocalDateTime date = event.getDateTime();
-
+        for (EventSales sales : eventSalesLeaderboard.top(eventCategory, 10)) {
             EventTopTenDto eventTopTenDto = EventTopTenDto.EventTopTenDtoBuilder.anEventTopTenDto()
-                .id(event.getId())
-                .name(event.getName())
-                .date(date)
-                .ticketsSold(ticketCount)
+                .id(sales.eventId())
+                .name(sales.name())
+                .date(sales.dateTime())
+                .ticketsSold(sales.ticketsSold())
                 .build();
 
             eventTopTenDtos.add(eventTopTenDto);
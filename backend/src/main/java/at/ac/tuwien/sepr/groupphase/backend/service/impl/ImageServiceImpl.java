@@ -4,21 +4,39 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ImageRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ImageStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.StoredImage;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ThumbnailGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 
+/**
+ * Keeps the pictures of news messages in the {@link ImageStore} and their thumbnails next to them.
+ * Thumbnails are created once on upload, so lists and previews never need the full-size picture.
+ * Files no image refers to anymore, e.g. after their news message was removed, are deleted by an hourly sweep.
+ */
 @Service
 public class ImageServiceImpl implements ImageService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final ImageRepository imageRepository;
+    private final ImageStore imageStore;
+    private final ThumbnailGenerator thumbnailGenerator;
 
-    public ImageServiceImpl(ImageRepository imageRepository) {
+    public ImageServiceImpl(ImageRepository imageRepository, ImageStore imageStore, ThumbnailGenerator thumbnailGenerator) {
         this.imageRepository = imageRepository;
+        this.imageStore = imageStore;
+        this.thumbnailGenerator = thumbnailGenerator;
     }
 
     @Override
@@ -32,5 +50,48 @@ public class ImageServiceImpl implements ImageService {
         }
     }
 
+    @Override
+    public Image store(InputStream content, String contentType) {
+        Image image = new Image();
+        image.setContentHash(imageStore.put(content));
+        image.setImageType(contentType);
+        LOGGER.debug("Stored image {}", image.getContentHash());
+
+        var thumbnail = thumbnailGenerator.create(imageStore.path(image.getContentHash()));
+        if (thumbnail != null) {
+            image.setThumbnailHash(imageStore.put(new ByteArrayInputStream(thumbnail.content())));
+            image.setThumbnailType(thumbnail.contentType());
+        }
+        return image;
+    }
+
+    @Override
+    public StoredImage findContent(Long id, boolean thumbnail) {
+        var image = findById(id);
+        boolean useThumbnail = thumbnail && image.getThumbnailHash() != null;
+        String hash = useThumbnail ? image.getThumbnailHash() : image.getContentHash();
+        if (hash == null) {
+            throw new NotFoundException(String.format("Image with id %s has not been moved to the image store yet", id));
+        }
+        Path path = imageStore.path(hash);
+        if (!Files.exists(path)) {
+            throw new NotFoundException(String.format("Could not find the picture of image with id %s", id));
+        }
+        return new StoredImage(path, useThumbnail ? image.getThumbnailType() : image.getImageType(), hash);
+    }
+
+    /**
+     * Deletes the stored pictures and thumbnails no image refers to anymore.
+     */
+    @Scheduled(fixedRate = 3_600_000, initialDelay = 60_000)
+    public void removeUnusedFiles() {
+        try {
+            int removed = imageStore.removeUnused(hash -> imageRepository.existsByContentHashOrThumbnailHash(hash, hash));
+            LOGGER.debug("Removed {} unused images", removed);
+        } catch (UncheckedIOException e) {
+            LOGGER.warn("Could not clean up stored images: {}", e.getMessage());
+        }
+    }
+
 
 }
@@ -1,6 +1,8 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
 import at.ac.tuwien.sepr.groupphase.backend.config.type.OrderType;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Order;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
 import at.ac.tuwien.sepr.groupphase.backend.exception.AuthorizationException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
@@ -8,39 +10,30 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.UserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.PdfExportService;
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.itextpdf.io.image.ImageData;
-import com.itextpdf.io.image.ImageDataFactory;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Image;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
-import jakarta.transaction.Transactional;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfDocumentModel;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderPool;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdf;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StreamedPdf;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.OutputStream;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
 import java.lang.invoke.MethodHandles;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
 
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-
+/**
+ * Exports tickets and invoices as PDF.
+ *
+ * <p>Each export reads what is printed into a {@link PdfDocumentModel} in a short transaction, checking on the way that
+ * the caller may see the document. The transaction ends before the document is handed to the {@link PdfRenderPool},
+ * so layout and QR code generation never hold a database connection, and repeated downloads are served from the stored file.</p>
+ */
 @Service
 public class PdfExportServiceImpl implements PdfExportService {
 
@@ -49,24 +42,44 @@ public class PdfExportServiceImpl implements PdfExportService {
     private final TicketRepository ticketRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final PdfRenderPool renderPool;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     @Autowired
     public PdfExportServiceImpl(
         TicketRepository ticketRepository,
         OrderRepository orderRepository,
-        UserRepository userRepository) {
+        UserRepository userRepository,
+        PdfRenderPool renderPool,
+        PlatformTransactionManager transactionManager) {
         this.ticketRepository = ticketRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.renderPool = renderPool;
+        // a ticket is given its verification code the first time it is exported
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
-    @Transactional
-    public void makeTicketPdf(Long id, OutputStream responseBody, Optional<String> verficationCode) throws ValidationException {
-        LOGGER.info("Constructs the Ticket Pdf document={}", id, verficationCode);
+    public StoredPdf makeTicketPdf(Long id, Optional<String> verficationCode) throws ValidationException {
+        LOGGER.info("Constructs the Ticket Pdf document={} verifiedByCode={}", id, verficationCode.isPresent());
+
+        var model = transactionTemplate.execute(status -> loadTicket(id, verficationCode.isEmpty()));
+        if (verficationCode.isPresent() && !verficationCode.get().equals(model.ticketCode())) {
+            throw new ValidationException("Ticket could not be verified.", List.of());
+        }
+        return renderPool.render(model);
+    }
 
+    /**
+     * Loads a ticket, checking that it belongs to the logged-in user unless it is verified by its code afterwards.
+     */
+    private PdfDocumentModel.TicketDocument loadTicket(Long id, boolean ownTicket) {
         var ticket = ticketRepository.findById(id).orElseThrow(NotFoundException::new);
-        if (verficationCode.isEmpty()) {
+        if (ownTicket) {
             var idloggedin = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
             boolean authorized = ticket.getOrders().stream()
                 .anyMatch(order ->
@@ -77,306 +90,91 @@ public class PdfExportServiceImpl implements PdfExportService {
             if (!authorized) {
                 throw new AuthorizationException("You are not authorized to export this ticket.");
             }
-            /*
-            if (!ticket.getOrder().getUserId().equals(idloggedin)) {
-                throw new AuthorizationException("You are not authorized to export this ticket.");
-            }
-            */
-            if (ticket.getRandomTicketCode() == null) {
-                ticket.setRandomTicketCode(RandomStringUtils.randomAlphanumeric(32));
-                ticketRepository.save(ticket);
-            }
-
-        } else {
-            if (!verficationCode.get().equals(ticket.getRandomTicketCode())) {
-                throw new ValidationException("Ticket could not be verified.", List.of());
-            }
-        }
-
-        PdfWriter writer = new PdfWriter(responseBody);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-
-        var ticketLine = new Paragraph("""
-            TicketLine
-            Verkauf von Tickets für Kino, Theater, Opern, Konzerte und mehr
-            Karlsplatz 13, 1040 Wien
-            Tel.: 0043 1 523543210, Mail: shop@ticketline.at
-            www.ticketline.at""");
-        ticketLine.setTextAlignment(TextAlignment.RIGHT);
-        document.add(ticketLine);
-
-        document.add(new Paragraph("Ticket").setTextAlignment(TextAlignment.CENTER).setBold());
-        document.add(new Paragraph("Show: " + ticket.getShow().getName()));
-        document.add(new Paragraph("Event: " + ticket.getShow().getEvent().getName()));
-        document.add(new Paragraph("Address: " + ticket.getShow().getEvent().getLocation().getName()));
-        document.add(new Paragraph(ticket.getShow().getEvent().getLocation().getStreet()));
-        document.add(new Paragraph(ticket.getShow().getEvent().getLocation().getPostalCode() + " "
-            + ticket.getShow().getEvent().getLocation().getCity()));
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-        document.add(new Paragraph("Date: " + ticket.getShow().getDate().format(formatter)));
-        document.add(new Paragraph("Room: " + ticket.getSector().getRoom().getName()));
-        document.add(new Paragraph("Sector: " + ticket.getSector().getId()));
-        if (ticket.getSeat() != null) {
-            document.add(new Paragraph("Seat: " + ticket.getSeat().getRowNumber() + ticket.getSeat().getColumnNumber()));
+            assignTicketCode(ticket);
         }
+        return toTicketDocument(ticket);
+    }
 
-        document.add(new Paragraph("Price: " + ticket.getSector().getPrice() + " EUR"));
-
-        String qrContent = "http://localhost:4200/ticket/" + ticket.getId() + "/" + ticket.getRandomTicketCode();
-        BufferedImage qrImage = generateQrCodeImage(qrContent);
+    @Override
+    public StreamedPdf makeOrderGroupTicketsPdf(Long id) {
+        LOGGER.info("Constructs the Ticket Pdf document of order group={}", id);
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            ImageIO.write(qrImage, "PNG", baos);
-        } catch (IOException e) {
-            throw new RuntimeException("Error while generating QR code", e);
+        var idloggedin = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
+        List<PdfDocumentModel.TicketDocument> tickets = transactionTemplate.execute(status ->
+            ticketRepository.findBoughtByOrderGroupForExport(id, idloggedin).stream()
+                .map(ticket -> {
+                    assignTicketCode(ticket);
+                    return toTicketDocument(ticket);
+                })
+                .toList());
+        if (tickets.isEmpty()) {
+            throw new NotFoundException("No bought tickets found in order group " + id);
         }
-        ImageData imageData = ImageDataFactory.create(baos.toByteArray());
-        Image qrCode = new Image(imageData);
-
-        document.add(qrCode);
-
-        document.close();
+        return renderPool.stream(tickets);
     }
 
-    private BufferedImage generateQrCodeImage(String content) {
-        LOGGER.debug("generateQrCodeImage");
-        QRCodeWriter qrCodeWriter = new QRCodeWriter();
-        try {
-            BitMatrix bitMatrix = qrCodeWriter.encode(content, BarcodeFormat.QR_CODE, 200, 200);
-            return MatrixToImageWriter.toBufferedImage(bitMatrix);
-        } catch (WriterException e) {
-            throw new RuntimeException("Error while generating QR Code", e);
+    private void assignTicketCode(Ticket ticket) {
+        if (ticket.getRandomTicketCode() == null) {
+            ticket.setRandomTicketCode(RandomStringUtils.randomAlphanumeric(32));
+            ticketRepository.save(ticket);
         }
     }
 
+    private static PdfDocumentModel.TicketDocument toTicketDocument(Ticket ticket) {
+        var show = ticket.getShow();
+        var location = show.getEvent().getLocation();
+        var seat = ticket.getSeat();
+        return new PdfDocumentModel.TicketDocument(ticket.getId(), ticket.getRandomTicketCode(), show.getName(), show.getEvent().getName(),
+            location.getName(), location.getStreet(), location.getPostalCode(), location.getCity(), show.getDate(),
+            ticket.getSector().getRoom().getName(), ticket.getSector().getId(),
+            seat != null ? seat.getRowNumber() : null, seat != null ? seat.getColumnNumber() : null, ticket.getSector().getPrice());
+    }
 
     @Override
-    @Transactional
-    public void makeInvoicePdf(Long id, OutputStream responseBody) {
+    public StoredPdf makeInvoicePdf(Long id) {
         LOGGER.info("Constructs the Invoice Pdf document={}", id);
 
-        var order = orderRepository.findById(id).orElseThrow(NotFoundException::new);
-        final var user = userRepository.findById(order.getUserId()).orElseThrow(NotFoundException::new);
-        var idloggedin = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
-        if (!order.getUserId().equals(idloggedin)) {
-            throw new AuthorizationException("You are not authorized to export this invoice.");
-        }
-
-        PdfWriter writer = new PdfWriter(responseBody);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-
-
-        var ticketLine = new Paragraph("""
-            TicketLine
-            Verkauf von Tickets für Kino, Theater, Opern, Konzerte und mehr
-            Karlsplatz 13, 1040 Wien
-            Tel.: 0043 1 523543210, Mail: shop@ticketline.at
-            www.ticketline.at""");
-        ticketLine.setTextAlignment(TextAlignment.RIGHT);
-        document.add(ticketLine);
-
-        document.add(new Paragraph(order.getFirstName() + " " + order.getLastName()));
-
-        if (order.getStreet() != null && order.getHousenumber() != null && order.getPostalCode() != null
-            && order.getCity() != null && order.getCountry() != null) {
-            document.add(new Paragraph(order.getStreet() + " " + order.getHousenumber()));
-            document.add(new Paragraph(order.getPostalCode() + " " + order.getCity()));
-            document.add(new Paragraph(order.getCountry()));
-        }
-
-        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-        var invoiceDateOfOrder = new Paragraph(order.getCreatedAt().format(format));
-        invoiceDateOfOrder.setTextAlignment(TextAlignment.RIGHT);
-        document.add(invoiceDateOfOrder);
-
-        var invoiceNumber = new Paragraph("Invoice Number / Rechnung Nr." + order.getId());
-        invoiceNumber.setTextAlignment(TextAlignment.CENTER);
-        invoiceNumber.setBold();
-        document.add(invoiceNumber);
-
-        Table table = new Table(8);
-
-        table.addCell(new Cell().add(new Paragraph("Datum")));
-        table.addCell(new Cell().add(new Paragraph("Bezeichnung")));
-        table.addCell(new Cell().add(new Paragraph("Menge")));
-        table.addCell(new Cell().add(new Paragraph("Platzwahl")));
-        table.addCell(new Cell().add(new Paragraph("Steuersatz")));
-        table.addCell(new Cell().add(new Paragraph("Netto ")));
-        table.addCell(new Cell().add(new Paragraph("Ust. ")));
-        table.addCell(new Cell().add(new Paragraph("Gesamt")));
-
-        var sum = 0;
-        for (var ticket : order.getTickets()) {
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-            table.addCell(new Cell().add(new Paragraph(ticket.getShow().getDate().format(formatter))));
-            table.addCell(new Cell().add(new Paragraph(ticket.getShow().getEvent().getName())));
-            table.addCell(new Cell().add(new Paragraph("1")));
-            var seatchoice = "Room: " + ticket.getSector().getRoom().getName() + ", Sector: "
-                + ticket.getSector().getId();
-            if (ticket.getSeat() != null) {
-                seatchoice = seatchoice + ", Row: " + ticket.getSeat().getRowNumber() + ", Seat: "
-                    + ticket.getSeat().getColumnNumber();
-            }
-            table.addCell(new Cell().add(new Paragraph(seatchoice)));
-
-            var bruttoPrice = Optional.ofNullable(ticket.getSector().getPrice()).orElse(0);
-            sum = sum + bruttoPrice;
-            var ust = bruttoPrice - (bruttoPrice / (1 + 0.13));
-            var netto = bruttoPrice - ust;
-
-            table.addCell(new Cell().add(new Paragraph("13 %")));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", netto))));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", ust))));
-            table.addCell(new Cell().add(new Paragraph(ticket.getSector().getPrice() + " EUR")));
-        }
-
-        document.add(table);
-
-        var ust = sum - (sum / (1 + 0.13));
-        var netto = sum - ust;
-
-        document.add(new Paragraph("Summe Brutto:           " + sum + " EUR").setTextAlignment(TextAlignment.RIGHT).setBold());
-        document.add(new Paragraph("Summe Netto:      "
-            + String.format("%.02f", netto) + " EUR").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("Betrag enthält wie folgt 13% USt:        "
-            + String.format("%.02f", ust) + " EUR").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("USt 13% (ermäßigter Steuersatz für Konzerte und Opernkarten etc)").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("""
-
-            Wir haben Ihre Bezahlung unter Angabe der Rechnungsnummer auf das Konto der TicketLine GmbH dankend erhalten.
-
-            Wir wünschen Ihnen einen interessanten und angenehmen Veranstaltungsbesuch!
-
-            Freundliche Grüße,
-            Das TicketLine Team
-
-            """));
-        document.add(new Paragraph("UID: ATU1234567"));
-
-        document.close();
+        PdfDocumentModel model = readOnlyTransactionTemplate.execute(status -> {
+            var order = loadOwnOrder(id, "You are not authorized to export this invoice.");
+            return toInvoice(order, false);
+        });
+        return renderPool.render(model);
     }
 
     @Override
-    @Transactional
-    public void makeCancelInvoicePdf(Long id, OutputStream responseBody) throws ValidationException {
+    public StoredPdf makeCancelInvoicePdf(Long id) throws ValidationException {
         LOGGER.info("Constructs the Cancellation Invoice Pdf document={}", id);
 
-        var order = orderRepository.findById(id).orElseThrow(NotFoundException::new);
-        final var user = userRepository.findById(order.getUserId()).orElseThrow(NotFoundException::new);
-        var idloggedin = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
-        if (!order.getUserId().equals(idloggedin)) {
-            throw new AuthorizationException("You are not authorized to export this cancellation invoice.");
-        }
-
-        if (order.getOrderType() != OrderType.REFUND) {
+        PdfDocumentModel model = readOnlyTransactionTemplate.execute(status -> {
+            var order = loadOwnOrder(id, "You are not authorized to export this cancellation invoice.");
+            // checked after the transaction, it cannot throw checked exceptions
+            return order.getOrderType() == OrderType.REFUND ? toInvoice(order, true) : null;
+        });
+        if (model == null) {
             throw new ValidationException("You cannot print a refund invoice for different ordertypes.", List.of());
         }
+        return renderPool.render(model);
+    }
 
-        PdfWriter writer = new PdfWriter(responseBody);
-        PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-
-        var ticketLine = new Paragraph("""
-            TicketLine
-            Verkauf von Tickets für Kino, Theater, Opern, Konzerte und mehr
-            Karlsplatz 13, 1040 Wien
-            Tel.: 0043 1 523543210, Mail: shop@ticketline.at
-            www.ticketline.at""");
-        ticketLine.setTextAlignment(TextAlignment.RIGHT);
-        document.add(ticketLine);
-
-        document.add(new Paragraph(order.getFirstName() + " " + order.getLastName()));
-
-        if (order.getStreet() != null && order.getHousenumber() != null && order.getPostalCode() != null
-            && order.getCity() != null && order.getCountry() != null) {
-            document.add(new Paragraph(order.getStreet() + " " + order.getHousenumber()));
-            document.add(new Paragraph(order.getPostalCode() + " " + order.getCity()));
-            document.add(new Paragraph(order.getCountry()));
-        }
-
-
-        DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-        var invoiceDateOfOrder = new Paragraph(order.getCreatedAt().format(format));
-        invoiceDateOfOrder.setTextAlignment(TextAlignment.RIGHT);
-        document.add(invoiceDateOfOrder);
-
-        var invoiceNumber = new Paragraph("Cancellation Invoice Number / Stornierung Rechnung Nr." + order.getId());
-        invoiceNumber.setTextAlignment(TextAlignment.CENTER);
-        invoiceNumber.setBold();
-        document.add(invoiceNumber);
-
-        Table table = new Table(8);
-
-        table.addCell(new Cell().add(new Paragraph("Datum")));
-        table.addCell(new Cell().add(new Paragraph("Bezeichnung")));
-        table.addCell(new Cell().add(new Paragraph("Menge")));
-        table.addCell(new Cell().add(new Paragraph("Platzwahl")));
-        table.addCell(new Cell().add(new Paragraph("Steuersatz")));
-        table.addCell(new Cell().add(new Paragraph("Netto ")));
-        table.addCell(new Cell().add(new Paragraph("Ust. ")));
-        table.addCell(new Cell().add(new Paragraph("Gesamt")));
-
-        var sum = 0;
-        for (var ticket : order.getTickets()) {
-
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
-            table.addCell(new Cell().add(new Paragraph(ticket.getShow().getDate().format(formatter))));
-            table.addCell(new Cell().add(new Paragraph(ticket.getShow().getEvent().getName())));
-            table.addCell(new Cell().add(new Paragraph("1")));
-            var seatchoice = "Room: " + ticket.getSector().getRoom().getName() + ", Sector: "
-                + ticket.getSector().getId();
-            if (ticket.getSeat() != null) {
-                seatchoice = seatchoice + ", Row: " + ticket.getSeat().getRowNumber() + ", Seat: "
-                    + ticket.getSeat().getColumnNumber();
-            }
-            table.addCell(new Cell().add(new Paragraph(seatchoice)));
-
-            var bruttoPrice = Optional.ofNullable(ticket.getSector().getPrice()).orElse(0);
-            sum = sum + bruttoPrice;
-            var ust = bruttoPrice - (bruttoPrice / (1 + 0.13));
-            var netto = bruttoPrice - ust;
-
-            table.addCell(new Cell().add(new Paragraph("13 %")));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", netto))));
-            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", ust))));
-            table.addCell(new Cell().add(new Paragraph(ticket.getSector().getPrice() + " EUR")));
+    private Order loadOwnOrder(Long id, String notAuthorizedMessage) {
+        var order = orderRepository.findById(id).orElseThrow(NotFoundException::new);
+        userRepository.findById(order.getUserId()).orElseThrow(NotFoundException::new);
+        var idloggedin = Long.valueOf(SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
+        if (!order.getUserId().equals(idloggedin)) {
+            throw new AuthorizationException(notAuthorizedMessage);
         }
-
-        document.add(table);
-
-
-        var ust = sum - (sum / (1 + 0.13));
-        var netto = sum - ust;
-
-        document.add(new Paragraph("Summe Brutto:           " + sum + " EUR").setTextAlignment(TextAlignment.RIGHT).setBold());
-        document.add(new Paragraph("Summe Netto:      "
-            + String.format("%.02f", netto) + " EUR").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("Betrag enthält wie folgt 13% USt:        "
-            + String.format("%.02f", ust) + " EUR").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("USt 13% (ermäßigter Steuersatz für Konzerte und Opernkarten etc)").setTextAlignment(TextAlignment.RIGHT));
-        document.add(new Paragraph("""
-
-            Wir haben Ihre Stornierung erhalten und wie gewünscht rückabgewickelt.
-
-            Der Rechnungsbetrag wurde auf Ihr angegebenes Konto für die Gutschrift rückerstattet.
-
-            Wir bedauern Ihre Stornierung, vielleicht finden Sie jedoch Interesse an anderen unserer Veranstaltungen!
-
-
-            Freundliche Grüße,
-            Das TicketLine Team
-
-            """));
-        document.add(new Paragraph("UID: ATU1234567"));
-
-
-        document.close();
+        return order;
     }
 
+    private static PdfDocumentModel.InvoiceDocument toInvoice(Order order, boolean cancellation) {
+        List<PdfDocumentModel.InvoiceLine> lines = order.getTickets().stream().map(PdfExportServiceImpl::toInvoiceLine).toList();
+        return new PdfDocumentModel.InvoiceDocument(order.getId(), cancellation, order.getFirstName(), order.getLastName(), order.getStreet(),
+            order.getHousenumber(), order.getPostalCode(), order.getCity(), order.getCountry(), order.getCreatedAt(), lines);
+    }
 
+    private static PdfDocumentModel.InvoiceLine toInvoiceLine(Ticket ticket) {
+        var seat = ticket.getSeat();
+        return new PdfDocumentModel.InvoiceLine(ticket.getShow().getDate(), ticket.getShow().getEvent().getName(), ticket.getSector().getRoom().getName(),
+            ticket.getSector().getId(), seat != null ? seat.getRowNumber() : null, seat != null ? seat.getColumnNumber() : null, ticket.getSector().getPrice());
+    }
 }
@@ -0,0 +1,293 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.impl;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.PurchaseStatus;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.OrderGroupDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.PurchaseHandleDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.PurchaseQueueFullException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.SeatUnavailableException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
+import at.ac.tuwien.sepr.groupphase.backend.service.OnSaleModeChangedEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.PurchaseQueueService;
+import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
+import at.ac.tuwien.sepr.groupphase.backend.service.validators.TicketValidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Service
+public class PurchaseQueueServiceImpl implements PurchaseQueueService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PurchaseQueueServiceImpl.class);
+    private static final Duration FINISHED_RETENTION = Duration.ofMinutes(10);
+    private static final long RETRY_AFTER_SECONDS = 5;
+    private static final String FAILED_MESSAGE = "Purchase could not be completed";
+
+    private final TicketServiceImpl ticketService;
+    private final TicketValidator ticketValidator;
+    private final ShowService showService;
+    private final AuthenticationFacade authFacade;
+    private final TransactionTemplate transactionTemplate;
+    private final int queueCapacity;
+    private final int batchSize;
+
+    private final Map<Long, Boolean> onSaleModes = new ConcurrentHashMap<>();
+    private final Map<Long, ShowQueue> queues = new ConcurrentHashMap<>();
+    private final Map<UUID, QueuedPurchase> purchases = new ConcurrentHashMap<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record Outcome(OrderGroupDto orderGroup, String error) {
+    }
+
+    @Autowired
+    public PurchaseQueueServiceImpl(
+        TicketServiceImpl ticketService,
+        TicketValidator ticketValidator,
+        ShowService showService,
+        AuthenticationFacade authFacade,
+        PlatformTransactionManager transactionManager,
+        @Value("${tickets.on-sale.queue-capacity:500}") int queueCapacity,
+        @Value("${tickets.on-sale.batch-size:20}") int batchSize) {
+
+        this.ticketService = ticketService;
+        this.ticketValidator = ticketValidator;
+        this.showService = showService;
+        this.authFacade = authFacade;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean isOnSale(Long showId) {
+        return onSaleModes.computeIfAbsent(showId, id -> showService.getShowById(id).isOnSaleMode());
+    }
+
+    /**
+     * Keeps the cached on-sale mode of a show in sync once a switch is committed.
+     *
+     * @param event the switch
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSaleModeChanged(OnSaleModeChangedEvent event) {
+        onSaleModes.put(event.showId(), event.onSaleMode());
+    }
+
+    @Override
+    public PurchaseHandleDto enqueue(TicketRequestDto request) throws ValidationException {
+        LOGGER.debug("Enqueue purchase request: {}", request);
+        ticketValidator.validateCheckoutPaymentData(request);
+        ticketValidator.validateCheckoutAddress(request);
+
+        ShowQueue queue = queues.computeIfAbsent(request.getShowId(), id -> new ShowQueue(queueCapacity));
+        QueuedPurchase purchase;
+        synchronized (queue) {
+            purchase = new QueuedPurchase(queue, queue.enqueued + 1, authFacade.getCurrentUserId(), request, authFacade.getAuthentication());
+            if (!queue.pending.offer(purchase)) {
+                LOGGER.warn("Purchase queue of show {} is full", request.getShowId());
+                throw new PurchaseQueueFullException("Too many purchases for this show at the moment, please try again shortly", RETRY_AFTER_SECONDS);
+            }
+            queue.enqueued = purchase.sequence;
+        }
+        purchases.put(purchase.id, purchase);
+        scheduleDrain(queue);
+        return purchase.toDto();
+    }
+
+    @Override
+    public PurchaseHandleDto getPurchase(UUID id) {
+        LOGGER.debug("Get queued purchase {}", id);
+        QueuedPurchase purchase = purchases.get(id);
+        if (purchase == null || !Objects.equals(purchase.userId, authFacade.getCurrentUserId())) {
+            throw new NotFoundException("Purchase with id " + id + " not found");
+        }
+        return purchase.toDto();
+    }
+
+    @Scheduled(fixedRate = 60_000)
+    public void evictFinishedPurchases() {
+        Instant threshold = Instant.now().minus(FINISHED_RETENTION);
+        purchases.values().removeIf(purchase -> purchase.finishedAt != null && purchase.finishedAt.isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    /**
+     * Starts a worker for the queue unless one is already running, so every show has at most one writer.
+     *
+     * @param queue the queue of the show
+     */
+    private void scheduleDrain(ShowQueue queue) {
+        if (queue.draining.compareAndSet(false, true)) {
+            workers.execute(() -> drain(queue));
+        }
+    }
+
+    /**
+     * Processes the queue in batches until it is empty.
+     * Re-checks the queue after releasing it, since a purchase may have been enqueued in between.
+     *
+     * @param queue the queue of the show
+     */
+    private void drain(ShowQueue queue) {
+        try {
+            List<QueuedPurchase> batch = new ArrayList<>(batchSize);
+            while (queue.pending.drainTo(batch, batchSize) > 0) {
+                queue.processed = batch.getLast().sequence;
+                processBatch(batch);
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Purchase queue worker failed", e);
+        } finally {
+            queue.draining.set(false);
+        }
+        if (!queue.pending.isEmpty()) {
+            scheduleDrain(queue);
+        }
+    }
+
+    /**
+     * Writes all carts of the batch in one transaction. Carts whose seats are no longer available are rejected
+     * without affecting the others; if anything else goes wrong, including a seat taken that only the database
+     * noticed, the batch is rolled back at once and every cart is retried in a transaction of its own. Purchases left without an outcome, e.g. because the worker failed,
+     * are marked as failed, so no purchase stays in processing.
+     *
+     * @param batch the purchases to process, in queue order
+     */
+    private void processBatch(List<QueuedPurchase> batch) {
+        batch.forEach(purchase -> purchase.status = PurchaseStatus.PROCESSING);
+        Map<QueuedPurchase, Outcome> outcomes = new LinkedHashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (QueuedPurchase purchase : batch) {
+                    outcomes.put(purchase, asUser(purchase, () -> {
+                        try {
+                            return new Outcome(ticketService.purchaseTickets(purchase.request), null);
+                        } catch (SeatUnavailableException | NotFoundException e) {
+                            // the rejected insert already doomed the transaction of the whole batch
+                            if (e.getCause() instanceof DataIntegrityViolationException) {
+                                throw e;
+                            }
+                            return new Outcome(null, e.getMessage());
+                        }
+                    }));
+                }
+            });
+        } catch (RuntimeException e) {
+            LOGGER.warn("Purchase batch of {} carts rolled back, retrying one by one: {}", batch.size(), e.getMessage());
+            outcomes.clear();
+            for (QueuedPurchase purchase : batch) {
+                outcomes.put(purchase, processAlone(purchase));
+            }
+        } finally {
+            batch.forEach(purchase -> outcomes.putIfAbsent(purchase, new Outcome(null, FAILED_MESSAGE)));
+            outcomes.forEach(QueuedPurchase::finish);
+        }
+    }
+
+    private Outcome processAlone(QueuedPurchase purchase) {
+        try {
+            return transactionTemplate.execute(tx -> asUser(purchase, () -> new Outcome(ticketService.purchaseTickets(purchase.request), null)));
+        } catch (SeatUnavailableException | NotFoundException e) {
+            return new Outcome(null, e.getMessage());
+        } catch (RuntimeException e) {
+            LOGGER.error("Queued purchase {} failed", purchase.id, e);
+            return new Outcome(null, FAILED_MESSAGE);
+        }
+    }
+
+    /**
+     * Runs the action with the authentication the purchase was enqueued with.
+     *
+     * @param purchase the queued purchase
+     * @param action   the action to run on behalf of its user
+     * @return the result of the action
+     */
+    private Outcome asUser(QueuedPurchase purchase, Supplier<Outcome> action) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(purchase.authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static final class ShowQueue {
+        private final BlockingQueue<QueuedPurchase> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private long enqueued;
+        private volatile long processed;
+
+        private ShowQueue(int capacity) {
+            this.pending = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class QueuedPurchase {
+        private final UUID id = UUID.randomUUID();
+        private final ShowQueue queue;
+        private final long sequence;
+        private final Long userId;
+        private final TicketRequestDto request;
+        private final Authentication authentication;
+        private volatile PurchaseStatus status = PurchaseStatus.QUEUED;
+        private volatile OrderGroupDto orderGroup;
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private QueuedPurchase(ShowQueue queue, long sequence, Long userId, TicketRequestDto request, Authentication authentication) {
+            this.queue = queue;
+            this.sequence = sequence;
+            this.userId = userId;
+            this.request = request;
+            this.authentication = authentication;
+        }
+
+        private void finish(Outcome outcome) {
+            orderGroup = outcome.orderGroup();
+            error = outcome.error();
+            finishedAt = Instant.now();
+            status = outcome.error() == null ? PurchaseStatus.COMPLETED : PurchaseStatus.FAILED;
+        }
+
+        private PurchaseHandleDto toDto() {
+            PurchaseStatus current = status;
+            long position = current == PurchaseStatus.QUEUED ? Math.max(sequence - queue.processed, 1) : 0;
+            return new PurchaseHandleDto(id, request.getShowId(), current, position, orderGroup, error);
+        }
+    }
+}
@@ -1,30 +1,52 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
-import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
-import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
-import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ReservationsExpiredEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatClaimEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
+/**
+ * Expires reservations of shows starting within the next 30 minutes.
+ *
+ * <p>Reservations are expired with one bulk update per run, so tickets are never loaded into the persistence context.
+ * As the update bypasses the entity listeners, a {@link ReservationsExpiredEvent} naming the released seats is published
+ * for every affected show. The lock of each upcoming show is held until the run completed, so the show is not loaded
+ * into memory between the update and the event.</p>
+ */
 @Service
 public class ReservationCleanUpService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReservationCleanUpService.class);
 
     private final TicketRepository ticketRepository;
-    private final ShowService showService;
+    private final ShowRepository showRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatClaimEngine seatClaimEngine;
+    private final Counter expiredReservations;
 
-    public ReservationCleanUpService(TicketRepository ticketRepository, ShowService showService) {
+    public ReservationCleanUpService(TicketRepository ticketRepository, ShowRepository showRepository,
+                                     ApplicationEventPublisher eventPublisher, SeatClaimEngine seatClaimEngine, MeterRegistry meterRegistry) {
         this.ticketRepository = ticketRepository;
-        this.showService = showService;
+        this.showRepository = showRepository;
+        this.eventPublisher = eventPublisher;
+        this.seatClaimEngine = seatClaimEngine;
+        this.expiredReservations = Counter.builder("tickets.reservations.expired")
+            .description("Reservations expired because their show was about to start")
+            .register(meterRegistry);
     }
 
     @Scheduled(fixedRate = 60_000)
@@ -35,18 +57,23 @@ public class ReservationCleanUpService {
 
         LOGGER.info("Running reservation cleanup at {}", now);
 
-        List<Show> upcomingShows = showService.findShowsBetween(now, maxShowTime);
+        List<Long> upcomingShowIds = showRepository.findShowIdsBetween(now, maxShowTime);
+        if (upcomingShowIds.isEmpty()) {
+            return;
+        }
 
-        for (Show show : upcomingShows) {
-            List<Ticket> reservedTickets = ticketRepository.findByShowAndStatus(show, TicketStatus.RESERVED);
+        upcomingShowIds.stream().sorted().forEach(showId -> seatClaimEngine.lockUntilCompletion(showId, null));
+        Map<Long, List<ReservationsExpiredEvent.Released>> releasedPerShow = ticketRepository.findReservedByShowIds(upcomingShowIds).stream()
+            .collect(Collectors.groupingBy(row -> (Long) row[0], LinkedHashMap::new,
+                Collectors.mapping(row -> new ReservationsExpiredEvent.Released((Long) row[1], (Long) row[2]), Collectors.toList())));
+        if (releasedPerShow.isEmpty()) {
+            return;
+        }
 
-            for (Ticket ticket : reservedTickets) {
-                ticket.setStatus(TicketStatus.EXPIRED);
-                LOGGER.info("Auto-cancelled ticket ID={} for show '{}' starting at {}",
-                    ticket.getId(), show.getName(), show.getDate());
-            }
+        int expired = ticketRepository.expireReservedByShowIds(releasedPerShow.keySet());
+        expiredReservations.increment(expired);
+        LOGGER.info("Auto-cancelled {} reservations of {} shows starting before {}", expired, releasedPerShow.size(), maxShowTime);
 
-            ticketRepository.saveAll(reservedTickets);
-        }
+        releasedPerShow.forEach((showId, released) -> eventPublisher.publishEvent(new ReservationsExpiredEvent(showId, released)));
     }
 }
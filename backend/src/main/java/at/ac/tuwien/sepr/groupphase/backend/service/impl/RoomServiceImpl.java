@@ -1,9 +1,9 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
-import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.CreateRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomDetailDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomUsageChangesDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatUsageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SectorDto;
@@ -12,18 +12,15 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSector
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorUsageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.RoomMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.entity.StageSector;
 import at.ac.tuwien.sepr.groupphase.backend.entity.StandingSector;
-import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.SeatRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.SectorRepository;
@@ -31,22 +28,29 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
 import at.ac.tuwien.sepr.groupphase.backend.service.RoomService;
 import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityChanges;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityJournal;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatOccupancyIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowHolds;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowOccupancy;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.SectorValidator;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -60,26 +64,33 @@ public class RoomServiceImpl implements RoomService {
     private final SeatRepository seatRepository;
     private final ShowService showService;
     private final TicketRepository ticketRepository;
-    private final HoldRepository holdRepository;
+    private final HoldStore holdStore;
     private final RoomMapper roomMapper;
     private final SectorValidator sectorValidator;
     private final AuthenticationFacade authFacade;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final AvailabilityJournal availabilityJournal;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public RoomServiceImpl(EventLocationRepository eventLocationRepository,
                            RoomRepository roomRepository, SectorRepository sectorRepository, SeatRepository seatRepository, ShowService showService,
-                           TicketRepository ticketRepository, HoldRepository holdRepository, RoomMapper roomMapper, SectorValidator sectorValidator,
-                           AuthenticationFacade authFacade) {
+                           TicketRepository ticketRepository, HoldStore holdStore, RoomMapper roomMapper, SectorValidator sectorValidator,
+                           AuthenticationFacade authFacade, SeatOccupancyIndex seatOccupancyIndex, AvailabilityJournal availabilityJournal,
+                           ApplicationEventPublisher eventPublisher) {
         this.eventLocationRepository = eventLocationRepository;
         this.roomRepository = roomRepository;
         this.sectorRepository = sectorRepository;
         this.seatRepository = seatRepository;
         this.showService = showService;
         this.ticketRepository = ticketRepository;
-        this.holdRepository = holdRepository;
+        this.holdStore = holdStore;
         this.roomMapper = roomMapper;
         this.sectorValidator = sectorValidator;
         this.authFacade = authFacade;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.availabilityJournal = availabilityJournal;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -172,6 +183,11 @@ public class RoomServiceImpl implements RoomService {
         );
 
         roomRepository.saveAndFlush(room);
+        showService.updatePricesOfRoom(room.getId());
+        eventPublisher.publishEvent(SearchResultsChangedEvent.roomChanged());
+
+        // seats may have been removed or moved between sectors, so pollers have to start over
+        availabilityJournal.clear();
 
         return roomMapper.roomToRoomDetailDto(room);
     }
@@ -233,6 +249,16 @@ public class RoomServiceImpl implements RoomService {
             .orElseThrow(() -> new NotFoundException("Seat not found with id " + seatId));
     }
 
+    @Override
+    public List<Sector> getSectorsByIds(Collection<Long> sectorIds) {
+        return sectorRepository.findByIdIn(sectorIds);
+    }
+
+    @Override
+    public List<Seat> getSeatsByIds(Collection<Long> seatIds) {
+        return seatRepository.findByIdIn(seatIds);
+    }
+
     @Override
     @Transactional
     public RoomDetailDto getRoomById(Long id) {
@@ -246,92 +272,27 @@ public class RoomServiceImpl implements RoomService {
     public RoomDetailDto getRoomUsageForShow(Long showId) {
         LOGGER.debug("Retrieving room usage for show with id: {}", showId);
 
-        Long currentUserId = authFacade.getCurrentUserId();
-
         Show show = showService.getShowWithRoomAndSectors(showId);
         Room room = show.getRoom();
 
-        List<Ticket> tickets = ticketRepository.findByShowId(showId).stream()
-            .filter(t -> t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED)
-            .toList();
-
-        // occupied seats
-        Set<Long> occupiedSeatIds = tickets.stream()
-            .map(Ticket::getSeat)
-            .filter(Objects::nonNull)
-            .map(Seat::getId)
-            .collect(Collectors.toSet());
-
-        Map<Long, Long> soldStandingCounts = tickets.stream()
-            .filter(t -> t.getSeat() == null)
-            .collect(Collectors.groupingBy(
-                t -> t.getSector().getId(),
-                Collectors.counting()
-            ));
-
-        //  holds by other users
-        List<Hold> otherValidHolds = holdRepository.findByShowId(showId).stream()
-            .filter(h -> h.getValidUntil().isAfter(LocalDateTime.now()))
-            .filter(h -> !h.getUserId().equals(currentUserId))
-            .toList();
-
-        // held seats by others
-        Set<Long> heldSeatIds = otherValidHolds.stream()
-            .map(Hold::getSeatId)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
+        // tracked before reading the state, so versions handed out later never skip a change
+        availabilityJournal.forShow(showId);
 
-        // held standing spots by others per sector
-        Map<Long, Long> standingHoldCounts = otherValidHolds.stream()
-            .filter(h -> h.getSeatId() == null)
-            .collect(Collectors.groupingBy(
-                Hold::getSectorId,
-                Collectors.counting()
-            ));
+        // bought or reserved seats and standing spots
+        ShowOccupancy occupancy = seatOccupancyIndex.forShow(showId);
+        HeldByOthers held = heldByOthers(showId, authFacade.getCurrentUserId());
 
         // prepare full seat list with availability info
         List<SeatUsageDto> seatDtos = room.getSeats().stream()
             .distinct()
-            .map(seat -> {
-                SeatUsageDto dto = new SeatUsageDto();
-                dto.setId(seat.getId());
-                dto.setRowNumber(seat.getRowNumber());
-                dto.setColumnNumber(seat.getColumnNumber());
-                dto.setDeleted(seat.isDeleted());
-                dto.setRoomId(room.getId());
-                dto.setSectorId(seat.getSector() != null ? seat.getSector().getId() : null);
-
-                // only seats that belong to a normal sector are bookable
-                boolean isBookable = seat.getSector() != null && seat.getSector().isBookable();
-                boolean isAvailable = isBookable
-                    && !seat.isDeleted()
-                    && !occupiedSeatIds.contains(seat.getId())
-                    && !heldSeatIds.contains(seat.getId());
-
-                dto.setAvailable(isAvailable);
-                return dto;
-            })
+            .map(seat -> toSeatUsage(seat, room.getId(), occupancy, held))
             .toList();
 
         List<SectorDto> usageSectors = new ArrayList<>();
 
         for (Sector sec : room.getSectors()) {
             if (sec instanceof StandingSector standing) {
-                long sold = soldStandingCounts.getOrDefault(standing.getId(), 0L);
-                long held = standingHoldCounts.getOrDefault(standing.getId(), 0L);
-                int capacity = standing.getCapacity();
-
-                int availableCapacity = capacity
-                    - Math.toIntExact(sold)
-                    - Math.toIntExact(held);
-
-                StandingSectorUsageDto udto = new StandingSectorUsageDto();
-                udto.setId(standing.getId());
-                udto.setPrice(standing.getPrice());
-                udto.setCapacity(capacity);
-                udto.setAvailableCapacity(availableCapacity);
-
-                usageSectors.add(udto);
+                usageSectors.add(toStandingSectorUsage(standing, occupancy, held));
 
             } else if (sec instanceof StageSector stage) {
                 StageSectorDto dto = new StageSectorDto();
@@ -358,6 +319,128 @@ public class RoomServiceImpl implements RoomService {
             .build();
     }
 
+    @Override
+    public Long getRoomUsageVersion(Long showId) {
+        return availabilityJournal.currentVersion(showId);
+    }
+
+    @Override
+    @Transactional
+    public RoomUsageChangesDto getRoomUsageChanges(Long showId, Long sinceVersion) {
+        LOGGER.debug("Retrieving room usage changes for show with id {} since version {}", showId, sinceVersion);
+        return usageChanges(showId, sinceVersion, authFacade.getCurrentUserId());
+    }
+
+    @Override
+    @Transactional
+    public RoomUsageChangesDto getSharedRoomUsage(Long showId) {
+        LOGGER.debug("Retrieving shared room usage for show with id {}", showId);
+        return usageChanges(showId, null, null);
+    }
+
+    private RoomUsageChangesDto usageChanges(Long showId, Long sinceVersion, Long userId) {
+        AvailabilityChanges changes = sinceVersion != null ? availabilityJournal.changesSince(showId, sinceVersion) : null;
+        boolean complete = changes == null;
+
+        long version;
+        Long roomId;
+        Collection<Seat> seats;
+        List<StandingSector> standingSectors;
+        if (complete) {
+            Room room = showService.getShowWithRoomAndSectors(showId).getRoom();
+            availabilityJournal.forShow(showId);
+            version = availabilityJournal.currentVersion(showId);
+            roomId = room.getId();
+            seats = room.getSeats();
+            standingSectors = standingSectorsOf(room.getSectors());
+        } else {
+            version = changes.version();
+            roomId = null;
+            seats = changes.seatIds().isEmpty() ? List.of() : getSeatsByIds(changes.seatIds());
+            standingSectors = changes.standingSectorIds().isEmpty() ? List.of() : standingSectorsOf(getSectorsByIds(changes.standingSectorIds()));
+        }
+
+        ShowOccupancy occupancy = seatOccupancyIndex.forShow(showId);
+        HeldByOthers held = heldByOthers(showId, userId);
+
+        RoomUsageChangesDto dto = new RoomUsageChangesDto();
+        dto.setVersion(version);
+        dto.setComplete(complete);
+        dto.setSeats(seats.stream()
+            .distinct()
+            .map(seat -> toSeatUsage(seat, roomId != null ? roomId : seat.getRoom().getId(), occupancy, held))
+            .toList());
+        dto.setStandingSectors(standingSectors.stream()
+            .map(standing -> toStandingSectorUsage(standing, occupancy, held))
+            .toList());
+        return dto;
+    }
+
+    /**
+     * Seats and standing spots of a show currently held by users other than the given one.
+     *
+     * @param holds  the active holds of the show
+     * @param userId the user whose own holds count as available, null to count every hold
+     */
+    private record HeldByOthers(ShowHolds holds, Long userId) {
+
+        boolean isSeatHeld(Long seatId) {
+            return holds.isSeatHeldByOther(seatId, userId);
+        }
+
+        int standingHeld(Long sectorId) {
+            return holds.standingHeldByOthers(sectorId, userId);
+        }
+    }
+
+    private HeldByOthers heldByOthers(Long showId, Long userId) {
+        return new HeldByOthers(holdStore.forShow(showId), userId);
+    }
+
+    private SeatUsageDto toSeatUsage(Seat seat, Long roomId, ShowOccupancy occupancy, HeldByOthers held) {
+        SeatUsageDto dto = new SeatUsageDto();
+        dto.setId(seat.getId());
+        dto.setRowNumber(seat.getRowNumber());
+        dto.setColumnNumber(seat.getColumnNumber());
+        dto.setDeleted(seat.isDeleted());
+        dto.setRoomId(roomId);
+        dto.setSectorId(seat.getSector() != null ? seat.getSector().getId() : null);
+
+        // only seats that belong to a normal sector are bookable
+        boolean isBookable = seat.getSector() != null && seat.getSector().isBookable();
+        boolean isAvailable = isBookable
+            && !seat.isDeleted()
+            && !occupancy.isSeatTaken(seat.getId())
+            && !held.isSeatHeld(seat.getId());
+
+        dto.setAvailable(isAvailable);
+        return dto;
+    }
+
+    private StandingSectorUsageDto toStandingSectorUsage(StandingSector standing, ShowOccupancy occupancy, HeldByOthers held) {
+        long sold = occupancy.getStandingTaken(standing.getId());
+        long heldSpots = held.standingHeld(standing.getId());
+        int capacity = standing.getCapacity();
+
+        int availableCapacity = capacity
+            - Math.toIntExact(sold)
+            - Math.toIntExact(heldSpots);
+
+        StandingSectorUsageDto dto = new StandingSectorUsageDto();
+        dto.setId(standing.getId());
+        dto.setPrice(standing.getPrice());
+        dto.setCapacity(capacity);
+        dto.setAvailableCapacity(availableCapacity);
+        return dto;
+    }
+
+    private static List<StandingSector> standingSectorsOf(Collection<Sector> sectors) {
+        return sectors.stream()
+            .filter(StandingSector.class::isInstance)
+            .map(StandingSector.class::cast)
+            .toList();
+    }
+
 
     public List<RoomDetailDto> getAllRooms() {
         LOGGER.info("Fetching all rooms");
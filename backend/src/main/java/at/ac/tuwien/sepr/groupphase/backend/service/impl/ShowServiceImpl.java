@@ -11,12 +11,17 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.OnSaleModeChangedEvent;
 import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
 import at.ac.tuwien.sepr.groupphase.backend.util.EntitySyncUtil;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import java.lang.invoke.MethodHandles;
 import java.time.LocalDateTime;
@@ -32,18 +37,21 @@ public class ShowServiceImpl implements ShowService {
     private final ArtistRepository artistRepository;
     private final ShowValidator showValidator;
     private final RoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ShowServiceImpl(ShowRepository showRepository,
                            EventRepository eventRepository,
                            ArtistRepository artistRepository,
                            ShowValidator showValidator,
-                           RoomRepository roomRepository) {
+                           RoomRepository roomRepository,
+                           ApplicationEventPublisher eventPublisher) {
         this.showRepository = showRepository;
         this.eventRepository = eventRepository;
         this.artistRepository = artistRepository;
         this.showValidator = showValidator;
         this.roomRepository = roomRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -74,10 +82,12 @@ public class ShowServiceImpl implements ShowService {
 
         show.setEvent(event);
         show.setRoom(room);
+        show.updatePrices(room.getSectors());
         show.setArtists(artists);
         show = showRepository.save(show);
         EntitySyncUtil.syncShowArtistRelationship(show);
         artistRepository.saveAll(artists);
+        eventPublisher.publishEvent(SearchResultsChangedEvent.showChanged());
 
         return show;
     }
@@ -103,4 +113,38 @@ public class ShowServiceImpl implements ShowService {
         LOGGER.debug("Finding shows between {} and {}", start, end);
         return showRepository.findShowsBetween(start, end);
     }
+
+    @Override
+    @Transactional
+    public Show setOnSaleMode(Long id, boolean onSaleMode) {
+        LOGGER.debug("Set on-sale mode of show {} to {}", id, onSaleMode);
+        Show show = showRepository.findDetailedById(id)
+            .orElseThrow(() -> new NotFoundException("Show not found"));
+        show.setOnSaleMode(onSaleMode);
+        Show saved = showRepository.save(show);
+        eventPublisher.publishEvent(new OnSaleModeChangedEvent(id, onSaleMode));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void updatePricesOfRoom(Long roomId) {
+        LOGGER.debug("Update prices of the shows in room {}", roomId);
+        for (Show show : showRepository.findByRoomId(roomId)) {
+            show.updatePrices(show.getRoom().getSectors());
+        }
+    }
+
+    /**
+     * Takes the prices of shows stored before shows had their own price columns from their rooms.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void completeMissingPrices() {
+        List<Show> shows = showRepository.findByPriceHistogramIsNull();
+        shows.forEach(show -> show.updatePrices(show.getRoom().getSectors()));
+        if (!shows.isEmpty()) {
+            LOGGER.info("Took the prices of {} shows from their rooms", shows.size());
+        }
+    }
 }
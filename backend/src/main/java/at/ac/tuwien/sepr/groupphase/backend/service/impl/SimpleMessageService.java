@@ -1,20 +1,32 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.impl;
 
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.CursorPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ImageRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.MessageRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.MessageService;
+import at.ac.tuwien.sepr.groupphase.backend.util.KeysetCursor;
 import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,10 +37,12 @@ public class SimpleMessageService implements MessageService {
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
     private final MessageRepository messageRepository;
     private final ImageRepository imageRepository;
+    private final ImageService imageService;
 
-    public SimpleMessageService(MessageRepository messageRepository, ImageRepository imageRepository) {
+    public SimpleMessageService(MessageRepository messageRepository, ImageRepository imageRepository, ImageService imageService) {
         this.messageRepository = messageRepository;
         this.imageRepository = imageRepository;
+        this.imageService = imageService;
     }
 
     @Override
@@ -43,6 +57,28 @@ public class SimpleMessageService implements MessageService {
         return messageRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<Message> findAllAfter(String after, int size, boolean count) throws ValidationException {
+        LOGGER.debug("Find messages after cursor {}", after);
+        KeysetCursor.validateSize(size);
+
+        Limit limit = Limit.of(size + 1);
+        List<Message> rows;
+        if (after == null || after.isBlank()) {
+            rows = messageRepository.findAllByOrderByPublishedAtDescIdDesc(limit);
+        } else {
+            List<String> keys = KeysetCursor.decode(after, 2);
+            try {
+                rows = messageRepository.findBefore(LocalDateTime.parse(keys.get(0)), Long.valueOf(keys.get(1)), limit);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw KeysetCursor.invalid();
+            }
+        }
+        return CursorPageDto.of(rows, size, message -> KeysetCursor.encode(message.getPublishedAt(), message.getId()),
+            count ? messageRepository.count() : null);
+    }
+
     @Override
     public Message findOne(Long id) {
         LOGGER.debug("Find message with id {}", id);
@@ -64,6 +100,28 @@ public class SimpleMessageService implements MessageService {
         return messageRepository.save(message);
     }
 
+    @Override
+    public Message publishMessage(Message message, List<MultipartFile> uploads) {
+        LOGGER.debug("Publish new message {} with {} images", message, uploads == null ? 0 : uploads.size());
+        message.setPublishedAt(LocalDateTime.now());
+        // the database checks the message before anything is written to the image store
+        Message published = messageRepository.saveAndFlush(message);
+        if (uploads == null || uploads.isEmpty()) {
+            return published;
+        }
+        // files stored in this transaction are removed by the image store if it rolls back
+        List<Image> images = new ArrayList<>();
+        for (MultipartFile upload : uploads) {
+            try (InputStream content = upload.getInputStream()) {
+                images.add(imageService.store(content, upload.getContentType()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read uploaded image " + upload.getOriginalFilename(), e);
+            }
+        }
+        published.getImages().addAll(imageRepository.saveAll(images));
+        return published;
+    }
+
 
     @Override
     public Message findOneWithImage(Long id) {
@@ -23,8 +23,8 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Order;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.OrderGroup;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.exception.SeatUnavailableException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
-import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderGroupRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
@@ -32,11 +32,16 @@ import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
 import at.ac.tuwien.sepr.groupphase.backend.service.RoomService;
 import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
 import at.ac.tuwien.sepr.groupphase.backend.service.TicketService;
+import at.ac.tuwien.sepr.groupphase.backend.service.cart.CartResolution;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatClaimEngine;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.TicketValidator;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -57,9 +62,10 @@ public class TicketServiceImpl implements TicketService {
     private final OrderRepository orderRepository;
     private final OrderGroupRepository orderGroupRepository;
     private final TicketMapper ticketMapper;
-    private final HoldRepository holdRepository;
+    private final HoldStore holdStore;
     private final AuthenticationFacade authFacade;
     private final OrderMapper orderMapper;
+    private final SeatClaimEngine seatClaimEngine;
 
     private record TicketCreationResult(List<Ticket> tickets, int totalPrice) {
     }
@@ -73,9 +79,10 @@ public class TicketServiceImpl implements TicketService {
         OrderRepository orderRepository,
         OrderGroupRepository orderGroupRepository,
         TicketMapper ticketMapper,
-        HoldRepository holdRepository,
+        HoldStore holdStore,
         AuthenticationFacade authFacade,
-        OrderMapper orderMapper) {
+        OrderMapper orderMapper,
+        SeatClaimEngine seatClaimEngine) {
 
         this.ticketValidator = ticketValidator;
         this.showService = showService;
@@ -84,9 +91,23 @@ public class TicketServiceImpl implements TicketService {
         this.orderRepository = orderRepository;
         this.orderGroupRepository = orderGroupRepository;
         this.ticketMapper = ticketMapper;
-        this.holdRepository = holdRepository;
+        this.holdStore = holdStore;
         this.authFacade = authFacade;
         this.orderMapper = orderMapper;
+        this.seatClaimEngine = seatClaimEngine;
+    }
+
+    /**
+     * Marks the seats of bought and reserved tickets stored before the seat uniqueness was enforced as taken,
+     * so the database rejects a second ticket for them too.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void completeMissingActiveSeats() {
+        int updated = ticketRepository.completeMissingActiveSeats();
+        if (updated > 0) {
+            LOGGER.info("Marked the seats of {} tickets as taken", updated);
+        }
     }
 
     @Override
@@ -111,21 +132,36 @@ public class TicketServiceImpl implements TicketService {
     @Transactional
     public OrderGroupDto buyTickets(TicketRequestDto request) throws ValidationException {
         LOGGER.debug("Buy tickets request: {}", request);
-        ticketValidator.validateForBuyTickets(request);
         ticketValidator.validateCheckoutPaymentData(request);
         ticketValidator.validateCheckoutAddress(request);
-        Show show = loadShow(request.getShowId());
-        Order order = initOrderWithAdresse(authFacade.getCurrentUserId(), OrderType.ORDER, request);
+        return purchaseTickets(request);
+    }
 
-        var result = createTickets(order, show, request.getTargets(), TicketStatus.BOUGHT);
-        finalizeOrder(order, result.tickets);
+    /**
+     * Claims the requested seats and creates the purchase order for a request whose payment and address data have
+     * already been validated. Joins the transaction of the caller, so the on-sale purchase queue can commit several
+     * purchases together. A cart rejected before anything was written leaves that transaction usable.
+     */
+    @Transactional(value = Transactional.TxType.MANDATORY, dontRollbackOn = {SeatUnavailableException.class, NotFoundException.class})
+    OrderGroupDto purchaseTickets(TicketRequestDto request) {
+        LOGGER.debug("Purchase tickets request: {}", request);
+        CartResolution cart = CartResolution.resolve(roomService, request.getTargets());
+        Order order = seatClaimEngine.claim(request.getShowId(), () -> {
+            ticketValidator.validateForBuyTickets(request, cart);
+            Show show = loadShow(request.getShowId());
+            Order newOrder = initOrderWithAdresse(authFacade.getCurrentUserId(), OrderType.ORDER, request);
+            var created = createTickets(newOrder, show, cart, request.getTargets(), TicketStatus.BOUGHT);
+            finalizeOrder(newOrder, created.tickets);
+            return newOrder;
+        });
+        List<Ticket> tickets = order.getTickets();
         OrderGroup group = order.getOrderGroup();
-        OrderDto orderDto = buildOrderDto(order, result.tickets);
-        orderDto.setTotalPrice(result.totalPrice);
+        OrderDto orderDto = buildOrderDto(order, tickets);
+        orderDto.setTotalPrice(calculateTotalPrice(tickets));
 
         OrderGroupDto groupDto = new OrderGroupDto();
         groupDto.setId(group.getId());
-        Ticket firstTicket = result.tickets.getFirst();
+        Ticket firstTicket = tickets.getFirst();
         groupDto.setShowName(firstTicket.getShow().getName());
         groupDto.setShowDate(firstTicket.getShow().getDate());
         groupDto.setLocationName(firstTicket.getShow().getEvent().getLocation().getName());
@@ -138,13 +174,16 @@ public class TicketServiceImpl implements TicketService {
     @Transactional
     public ReservationDto reserveTickets(TicketRequestDto request) {
         LOGGER.debug("Reserve tickets request: {}", request);
-        ticketValidator.validateForReserveTickets(request);
         Show show = loadShow(request.getShowId());
-        Order order = initOrder(authFacade.getCurrentUserId(), OrderType.RESERVATION);
-
-        var result = createTickets(order, show, request.getTargets(), TicketStatus.RESERVED);
-        finalizeOrder(order, result.tickets);
-        return buildReservationDto(order, result.tickets, show.getDate().minusMinutes(30));
+        CartResolution cart = CartResolution.resolve(roomService, request.getTargets());
+        Order order = seatClaimEngine.claim(show.getId(), () -> {
+            ticketValidator.validateForReserveTickets(request, cart);
+            Order newOrder = initOrder(authFacade.getCurrentUserId(), OrderType.RESERVATION);
+            var created = createTickets(newOrder, show, cart, request.getTargets(), TicketStatus.RESERVED);
+            finalizeOrder(newOrder, created.tickets);
+            return newOrder;
+        });
+        return buildReservationDto(order, order.getTickets(), show.getDate().minusMinutes(30));
     }
 
     /**
@@ -223,12 +262,14 @@ public class TicketServiceImpl implements TicketService {
      *
      * @param order   the Order to attach tickets to
      * @param show    the Show for which tickets are created
+     * @param cart    the sectors and seats of the request, resolved up front
      * @param targets the list of ticket target DTOs specifying seats or quantities
      * @param status  the status to apply to created tickets (BOUGHT or RESERVED)
      * @return a TicketCreationResult containing saved tickets and total price in cents
      */
     private TicketCreationResult createTickets(Order order,
                                                Show show,
+                                               CartResolution cart,
                                                List<TicketTargetDto> targets,
                                                TicketStatus status) {
         LOGGER.debug("Creating tickets for order: {}, show: {}, targets: {}, status: {}", order, show, targets, status);
@@ -238,21 +279,21 @@ public class TicketServiceImpl implements TicketService {
         for (TicketTargetDto target : targets) {
             if (target instanceof TicketTargetSeatedDto seated) {
 
-                Sector raw = roomService.getSectorById(seated.getSectorId());
+                Sector raw = cart.getSector(seated.getSectorId());
                 // …then verify it really is a SeatedSector
                 if (!raw.isBookable()) {
                     throw new IllegalArgumentException(
                         "Sector " + seated.getSectorId() + " is not a seated sector"
                     );
                 }
-                Seat seat = roomService.getSeatById(seated.getSeatId());
+                Seat seat = cart.getSeat(seated.getSeatId());
 
                 Ticket ticket = buildTicket(order, show, raw, seat, status);
                 tickets.add(ticket);
                 totalPrice += (status == TicketStatus.BOUGHT ? raw.getPrice() : 0);
 
             } else if (target instanceof TicketTargetStandingDto standing) {
-                Sector raw = roomService.getSectorById(standing.getSectorId());
+                Sector raw = cart.getSector(standing.getSectorId());
                 if (!(raw instanceof StandingSector sector)) {
                     throw new IllegalArgumentException(
                         "Sector " + standing.getSectorId() + " is not a standing sector"
@@ -269,7 +310,7 @@ public class TicketServiceImpl implements TicketService {
             }
         }
 
-        List<Ticket> saved = ticketRepository.saveAll(tickets);
+        List<Ticket> saved = ticketRepository.saveAllAndFlush(tickets);
         return new TicketCreationResult(saved, totalPrice);
     }
 
@@ -405,7 +446,7 @@ public class TicketServiceImpl implements TicketService {
             newOrder.getTickets().add(ticket);
         }
 
-        ticketRepository.saveAll(tickets);
+        ticketRepository.saveAllAndFlush(tickets);
         orderRepository.save(oldReservation);
         orderRepository.save(newOrder);
 
@@ -558,27 +599,29 @@ public class TicketServiceImpl implements TicketService {
         });
 
         newOrder.getTickets().addAll(tickets);
-        ticketRepository.saveAll(tickets);
+        ticketRepository.saveAllAndFlush(tickets);
         finalizeOrder(newOrder, tickets);
         return newOrder;
     }
 
 
     @Override
+    @Transactional
     public void createTicketHold(CreateHoldDto createHoldDto) {
         LOGGER.debug("Hold seat with id {} for show {}", createHoldDto.getSeatId(), createHoldDto.getShowId());
         Long userId = authFacade.getCurrentUserId();
-        ticketValidator.validateHold(createHoldDto.getShowId(), createHoldDto.getSectorId(), createHoldDto.getSeatId(), userId);
+        seatClaimEngine.claim(createHoldDto.getShowId(), () -> {
+            ticketValidator.validateHold(createHoldDto.getShowId(), createHoldDto.getSectorId(), createHoldDto.getSeatId(), userId);
 
-        Hold hold = new Hold();
-        hold.setShowId(createHoldDto.getShowId());
-        hold.setSeatId(createHoldDto.getSeatId());
-        hold.setUserId(userId);
-        hold.setSectorId(createHoldDto.getSectorId());
-        hold.setValidUntil(LocalDateTime.now().plusMinutes(30));
-
-        holdRepository.save(hold);
+            Hold hold = new Hold();
+            hold.setShowId(createHoldDto.getShowId());
+            hold.setSeatId(createHoldDto.getSeatId());
+            hold.setUserId(userId);
+            hold.setSectorId(createHoldDto.getSectorId());
+            hold.setValidUntil(LocalDateTime.now().plusMinutes(30));
 
+            return holdStore.place(hold);
+        });
 
     }
 
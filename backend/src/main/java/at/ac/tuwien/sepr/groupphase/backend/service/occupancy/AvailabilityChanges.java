@@ -0,0 +1,13 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import java.util.Set;
+
+/**
+ * The seats and standing sectors of a show whose availability changed after a given version.
+ *
+ * @param version           the current availability version of the show
+ * @param seatIds           the seats that changed
+ * @param standingSectorIds the standing sectors whose free capacity changed
+ */
+public record AvailabilityChanges(long version, Set<Long> seatIds, Set<Long> standingSectorIds) {
+}
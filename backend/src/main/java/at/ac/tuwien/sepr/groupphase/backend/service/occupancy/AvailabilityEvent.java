@@ -0,0 +1,29 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+/**
+ * Published whenever a seat or standing spot of a show is taken, released, held or no longer held.
+ * Ticket events are published while the ticket is flushed, holds running out whenever the {@link HoldStore} notices it,
+ * which may happen inside an unrelated transaction.
+ *
+ * @param type     what happened
+ * @param showId   the show
+ * @param seatId   the seat, null for standing spots
+ * @param sectorId the sector of the seat or standing spot
+ */
+public record AvailabilityEvent(Type type, Long showId, Long seatId, Long sectorId) {
+
+    public enum Type {
+        SEAT_TAKEN,
+        SEAT_RELEASED,
+        HOLD_PLACED,
+        HOLD_EXPIRED
+    }
+
+    public boolean isStanding() {
+        return seatId == null;
+    }
+
+    public boolean isHold() {
+        return type == Type.HOLD_PLACED || type == Type.HOLD_EXPIRED;
+    }
+}
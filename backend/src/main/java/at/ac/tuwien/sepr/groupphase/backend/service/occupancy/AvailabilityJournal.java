@@ -0,0 +1,126 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks a monotonically increasing availability version per show, so clients can ask only for what changed.
+ *
+ * <p>Shows are tracked from the first time their room usage is requested. Versions are drawn from one counter
+ * that starts at the current time in microseconds, so they keep increasing across restarts and a version
+ * handed out before a restart is recognized as unknown rather than mistaken for a current one.
+ * Recording a change too often is harmless, it only makes clients fetch the unchanged state again.</p>
+ *
+ * <p>Ticket changes are recorded by {@link TicketOccupancyListener} as soon as they are flushed, holds placed
+ * and run out are taken from the events of the {@link HoldStore}, and seats of reservations that expired in bulk from
+ * the {@link ReservationsExpiredEvent} listing them.</p>
+ */
+@Component
+public class AvailabilityJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityJournal.class);
+
+    private final HoldStore holdStore;
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<Long, ShowAvailabilityLog> logs = new ConcurrentHashMap<>();
+
+    public AvailabilityJournal(HoldStore holdStore) {
+        this.holdStore = holdStore;
+    }
+
+    /**
+     * Returns the log of the given show, starting to track the show if needed.
+     * Callers are expected to have checked that the show exists.
+     *
+     * @param showId the ID of the show
+     * @return the availability log of the show
+     */
+    public ShowAvailabilityLog forShow(Long showId) {
+        return logs.computeIfAbsent(showId, id -> {
+            LOGGER.debug("Tracking availability of show {}", id);
+            return new ShowAvailabilityLog(versions::incrementAndGet);
+        });
+    }
+
+    /**
+     * Returns the current version of the given show without touching the database.
+     * Holds that ran out by now are taken into account.
+     *
+     * @param showId the ID of the show
+     * @return the current version, or null if the show is not tracked yet
+     */
+    public Long currentVersion(Long showId) {
+        ShowAvailabilityLog log = logs.get(showId);
+        if (log == null) {
+            return null;
+        }
+        holdStore.expireHolds(showId);
+        return log.currentVersion();
+    }
+
+    /**
+     * Returns the seats and standing sectors of the given show that changed after the given version.
+     *
+     * @param showId       the ID of the show
+     * @param sinceVersion the version the caller has already seen
+     * @return the changes, or null if the show is not tracked or the version is unknown
+     */
+    public AvailabilityChanges changesSince(Long showId, long sinceVersion) {
+        ShowAvailabilityLog log = logs.get(showId);
+        if (log == null) {
+            return null;
+        }
+        holdStore.expireHolds(showId);
+        return log.changesSince(sinceVersion);
+    }
+
+    /**
+     * Records that a ticket took or released a seat or standing spot.
+     *
+     * @param showId   the show of the ticket
+     * @param seatId   the seat, null for standing tickets
+     * @param sectorId the sector of the ticket
+     */
+    public void seatChanged(Long showId, Long seatId, Long sectorId) {
+        ShowAvailabilityLog log = logs.get(showId);
+        if (log != null) {
+            log.changed(seatId, sectorId);
+        }
+    }
+
+    /**
+     * Records holds being placed or running out. Delivered right away, not only once a transaction committed.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onHoldChanged(AvailabilityEvent event) {
+        if (event.isHold()) {
+            seatChanged(event.showId(), event.seatId(), event.sectorId());
+        }
+    }
+
+    /**
+     * Records the seats and standing spots of expired reservations once the expiry is committed.
+     *
+     * @param event the expiry
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservationsExpired(ReservationsExpiredEvent event) {
+        event.released().forEach(released -> seatChanged(event.showId(), released.seatId(), released.sectorId()));
+    }
+
+    /**
+     * Stops tracking all shows, e.g. after a room layout changed. Clients get a complete update on their next request.
+     */
+    public void clear() {
+        logs.clear();
+    }
+}
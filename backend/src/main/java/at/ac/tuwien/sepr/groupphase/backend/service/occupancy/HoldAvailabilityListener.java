@@ -0,0 +1,37 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener keeping the {@link HoldStore} in sync with every hold row that is persisted or removed.
+ * Like ticket changes, every hold change keeps the lock of its show until the transaction completed and is reverted on rollback.
+ */
+@Component
+public class HoldAvailabilityListener {
+
+    private final ObjectProvider<HoldStore> holdStore;
+    private final ObjectProvider<SeatClaimEngine> seatClaimEngine;
+
+    public HoldAvailabilityListener(ObjectProvider<HoldStore> holdStore, ObjectProvider<SeatClaimEngine> seatClaimEngine) {
+        this.holdStore = holdStore;
+        this.seatClaimEngine = seatClaimEngine;
+    }
+
+    @PostPersist
+    public void afterPersist(Hold hold) {
+        HoldStore store = holdStore.getObject();
+        seatClaimEngine.getObject().lockUntilCompletion(hold.getShowId(), () -> store.removed(hold));
+        store.added(hold);
+    }
+
+    @PostRemove
+    public void afterRemove(Hold hold) {
+        HoldStore store = holdStore.getObject();
+        seatClaimEngine.getObject().lockUntilCompletion(hold.getShowId(), () -> store.added(hold));
+        store.removed(hold);
+    }
+}
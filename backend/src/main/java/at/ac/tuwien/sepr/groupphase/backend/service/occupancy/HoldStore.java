@@ -0,0 +1,177 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
+import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory store of the holds of each show that have not run out yet, backed by the {@code Hold} table.
+ *
+ * <p>Holds are written through to the table with {@link #place(Hold)} and kept in sync by {@link HoldAvailabilityListener}
+ * for every hold row persisted or removed. The holds of a show are loaded from the database on first access, under the
+ * lock of the show in the {@link SeatClaimEngine} that every hold change keeps until its transaction completed.
+ * Holds that ran out are evicted on every access and by a regular sweep, which publishes a
+ * {@link AvailabilityEvent.Type#HOLD_EXPIRED} event for each of them. Shows without active holds are dropped by the
+ * sweep and loaded again on their next access, so only shows with holds stay in memory. Shows that started cannot get
+ * new holds, so they are dropped at the latest once their last hold ran out. Rows of holds that ran out are purged regularly,
+ * so the table does not keep growing.</p>
+ */
+@Component
+public class HoldStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HoldStore.class);
+
+    /**
+     * How long rows of holds that ran out are kept before they are purged.
+     */
+    private static final Duration PURGE_AFTER = Duration.ofMinutes(5);
+
+    private final HoldRepository holdRepository;
+    private final SeatClaimEngine seatClaimEngine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Map<Long, ShowHolds> holds = new ConcurrentHashMap<>();
+
+    public HoldStore(HoldRepository holdRepository, SeatClaimEngine seatClaimEngine, ApplicationEventPublisher eventPublisher, Clock clock) {
+        this.holdRepository = holdRepository;
+        this.seatClaimEngine = seatClaimEngine;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the active holds of the given show, loading them from the database if they are not in memory yet.
+     *
+     * @param showId the ID of the show
+     * @return the active holds of the show
+     */
+    public ShowHolds forShow(Long showId) {
+        ShowHolds showHolds = holds.get(showId);
+        if (showHolds == null) {
+            showHolds = seatClaimEngine.withLock(showId, () -> {
+                ShowHolds existing = holds.get(showId);
+                if (existing != null) {
+                    return existing;
+                }
+                ShowHolds loaded = load(showId);
+                holds.put(showId, loaded);
+                return loaded;
+            });
+        }
+        expire(showId, showHolds);
+        return showHolds;
+    }
+
+    /**
+     * Writes a new hold to the database. The store picks it up through {@link HoldAvailabilityListener}.
+     *
+     * @param hold the hold to write
+     * @return the persisted hold
+     */
+    public Hold place(Hold hold) {
+        return holdRepository.saveAndFlush(hold);
+    }
+
+    /**
+     * Evicts the holds of the given show that ran out, without loading the show if it is not in memory.
+     *
+     * @param showId the ID of the show
+     */
+    public void expireHolds(Long showId) {
+        ShowHolds showHolds = holds.get(showId);
+        if (showHolds != null) {
+            expire(showId, showHolds);
+        }
+    }
+
+    /**
+     * Evicts the holds that ran out in all shows, so their release is noticed without anyone asking for the show,
+     * and drops the shows that have no active holds left.
+     */
+    @Scheduled(fixedRate = 5_000)
+    public void expireAllHolds() {
+        holds.forEach((showId, showHolds) -> {
+            expire(showId, showHolds);
+            if (showHolds.isEmpty()) {
+                // a claim in flight keeps the lock until its holds are in the store, such shows are checked next sweep
+                seatClaimEngine.tryWithLock(showId, () -> {
+                    if (showHolds.isEmpty()) {
+                        holds.remove(showId, showHolds);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Deletes the rows of holds that ran out a while ago.
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void purgeExpiredHolds() {
+        int purged = holdRepository.deleteByValidUntilBefore(LocalDateTime.now(clock).minus(PURGE_AFTER));
+        if (purged > 0) {
+            LOGGER.debug("Purged {} expired holds", purged);
+        }
+    }
+
+    /**
+     * Adds a persisted hold to the store.
+     *
+     * @param hold the persisted hold
+     */
+    void added(Hold hold) {
+        ShowHolds showHolds = holds.get(hold.getShowId());
+        ShowHolds.ActiveHold active = toActiveHold(hold);
+        // shows that are not in memory yet are loaded with the current database state on first access
+        if (showHolds != null && !showHolds.add(active)) {
+            return;
+        }
+        publish(AvailabilityEvent.Type.HOLD_PLACED, hold.getShowId(), active);
+    }
+
+    /**
+     * Removes a deleted hold from the store.
+     *
+     * @param hold the deleted hold
+     */
+    void removed(Hold hold) {
+        ShowHolds showHolds = holds.get(hold.getShowId());
+        ShowHolds.ActiveHold active = showHolds != null ? showHolds.remove(hold.getId()) : null;
+        if (active != null) {
+            publish(AvailabilityEvent.Type.HOLD_EXPIRED, hold.getShowId(), active);
+        }
+    }
+
+    private void expire(Long showId, ShowHolds showHolds) {
+        for (ShowHolds.ActiveHold expired : showHolds.expire(LocalDateTime.now(clock))) {
+            publish(AvailabilityEvent.Type.HOLD_EXPIRED, showId, expired);
+        }
+    }
+
+    private void publish(AvailabilityEvent.Type type, Long showId, ShowHolds.ActiveHold hold) {
+        eventPublisher.publishEvent(new AvailabilityEvent(type, showId, hold.seatId(), hold.sectorId()));
+    }
+
+    private ShowHolds load(Long showId) {
+        LOGGER.debug("Loading active holds of show {}", showId);
+        ShowHolds showHolds = new ShowHolds(clock);
+        List<Hold> active = holdRepository.findByShowIdAndValidUntilAfter(showId, LocalDateTime.now(clock));
+        active.forEach(hold -> showHolds.add(toActiveHold(hold)));
+        return showHolds;
+    }
+
+    private static ShowHolds.ActiveHold toActiveHold(Hold hold) {
+        return new ShowHolds.ActiveHold(hold.getId(), hold.getSeatId(), hold.getSectorId(), hold.getUserId(), hold.getValidUntil());
+    }
+}
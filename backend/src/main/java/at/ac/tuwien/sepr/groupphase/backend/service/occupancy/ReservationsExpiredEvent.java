@@ -0,0 +1,31 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import java.util.List;
+
+/**
+ * Published when the reservations of a show expired in bulk. Unlike {@link AvailabilityEvent} it is published once
+ * for all released seats and standing spots of the show.
+ *
+ * @param showId   the show
+ * @param released the seats and standing spots of the expired reservations
+ */
+public record ReservationsExpiredEvent(Long showId, List<Released> released) {
+
+    /**
+     * The target of one expired reservation.
+     *
+     * @param seatId   the seat, null for standing spots
+     * @param sectorId the sector
+     */
+    public record Released(Long seatId, Long sectorId) {
+    }
+
+    /**
+     * Returns the number of reservations that expired.
+     *
+     * @return the number of expired reservations
+     */
+    public long count() {
+        return released.size();
+    }
+}
@@ -0,0 +1,157 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.SeatUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Claims seats and standing spots of a show atomically.
+ *
+ * <p>Every claim runs under one of a fixed number of striped locks chosen by the show id, so the availability check
+ * against the {@link SeatOccupancyIndex} and the flushed insert cannot interleave with another claim on the same show,
+ * while claims on different shows rarely share a lock. Inside a transaction the lock is kept until the transaction
+ * completed, since the inserted rows only become visible to others once they are committed.
+ * The unique constraint on (show, active seat) of the ticket table is the last line of defence,
+ * e.g. for other application instances; a violation is reported as a seat conflict.</p>
+ */
+@Component
+public class SeatClaimEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeatClaimEngine.class);
+    private static final int STRIPES = 64;
+
+    /**
+     * How long to wait for the lock of a show before giving up, so transactions locking several shows cannot deadlock.
+     */
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public SeatClaimEngine() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the given claim while holding the lock stripe of the show.
+     * The claim is expected to check availability and flush the new tickets or holds before it returns.
+     * Inside a transaction the lock is released once the transaction completed, otherwise when the claim returns.
+     *
+     * @param showId the show whose seats are claimed
+     * @param claim  the check-and-insert action
+     * @param <T>    the result type of the claim
+     * @return the result of the claim
+     * @throws SeatUnavailableException if the database rejects the claim because a seat is already taken
+     */
+    public <T> T claim(Long showId, Supplier<T> claim) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return withLock(showId, () -> attempt(showId, claim));
+        }
+        lockUntilCompletion(showId, null);
+        return attempt(showId, claim);
+    }
+
+    /**
+     * Takes the lock stripe of the show and keeps it until the current transaction completed.
+     * Without a transaction the lock is only waited for, e.g. until a running claim on the show is done.
+     *
+     * @param showId     the show to lock
+     * @param onRollback run before the lock is released if the transaction rolled back, may be null
+     * @throws SeatUnavailableException if the lock could not be taken in time
+     */
+    public void lockUntilCompletion(Long showId, Runnable onRollback) {
+        ReentrantLock lock = lock(showId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.unlock();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_ROLLED_BACK && onRollback != null) {
+                        onRollback.run();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the given action while holding the lock stripe of the show, e.g. to load state of the show
+     * while no claim on it is in flight.
+     *
+     * @param showId the show to lock
+     * @param action the action to run
+     * @param <T>    the result type of the action
+     * @return the result of the action
+     * @throws SeatUnavailableException if the lock could not be taken in time
+     */
+    public <T> T withLock(Long showId, Supplier<T> action) {
+        ReentrantLock lock = lock(showId);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the given action if the lock stripe of the show is free right now, without waiting for it.
+     *
+     * @param showId the show to lock
+     * @param action the action to run
+     * @return true if the action ran, false if the lock was taken
+     */
+    public boolean tryWithLock(Long showId, Runnable action) {
+        ReentrantLock lock = lockFor(showId);
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            action.run();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T attempt(Long showId, Supplier<T> claim) {
+        try {
+            return claim.get();
+        } catch (DataIntegrityViolationException e) {
+            LOGGER.warn("Seat claim for show {} rejected by database: {}", showId, e.getMostSpecificCause().getMessage());
+            throw new SeatUnavailableException("One of the requested seats has just been taken", e);
+        }
+    }
+
+    private ReentrantLock lock(Long showId) {
+        ReentrantLock lock = lockFor(showId);
+        try {
+            if (lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                return lock;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOGGER.warn("Timed out waiting for the lock of show {}", showId);
+        throw new SeatUnavailableException("The show is busy, please try again");
+    }
+
+    private ReentrantLock lockFor(Long showId) {
+        int hash = Long.hashCode(showId);
+        hash ^= (hash >>> 16);
+        return locks[Math.floorMod(hash, STRIPES)];
+    }
+}
@@ -0,0 +1,103 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of taken seats and standing spots per show.
+ * The occupancy of a show is loaded from the database on first access and afterwards kept up to date
+ * by {@link TicketOccupancyListener} whenever a ticket is persisted, changes its status or is removed.
+ * Both the load and every change hold the lock of the show in the {@link SeatClaimEngine}, and changes keep it until
+ * their transaction completed, so a load never misses a change that is flushed but not committed yet.
+ * Seats and standing spots of reservations that expired in bulk are released in place.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeatOccupancyIndex.class);
+
+    /**
+     * Ticket states that block a seat or standing spot.
+     */
+    public static final List<TicketStatus> OCCUPYING_STATUSES = List.of(TicketStatus.BOUGHT, TicketStatus.RESERVED);
+
+    private final TicketRepository ticketRepository;
+    private final SeatClaimEngine seatClaimEngine;
+    private final Map<Long, ShowOccupancy> occupancies = new ConcurrentHashMap<>();
+
+    public SeatOccupancyIndex(TicketRepository ticketRepository, SeatClaimEngine seatClaimEngine) {
+        this.ticketRepository = ticketRepository;
+        this.seatClaimEngine = seatClaimEngine;
+    }
+
+    /**
+     * Returns the occupancy of the given show, loading it from the database if it is not indexed yet.
+     *
+     * @param showId the ID of the show
+     * @return the occupancy of the show
+     */
+    public ShowOccupancy forShow(Long showId) {
+        ShowOccupancy occupancy = occupancies.get(showId);
+        if (occupancy != null) {
+            return occupancy;
+        }
+        return seatClaimEngine.withLock(showId, () -> {
+            ShowOccupancy existing = occupancies.get(showId);
+            if (existing != null) {
+                return existing;
+            }
+            ShowOccupancy loaded = load(showId);
+            occupancies.put(showId, loaded);
+            return loaded;
+        });
+    }
+
+    /**
+     * Applies a single ticket change to the index. Shows that are not indexed yet are ignored,
+     * since they will be loaded with the current database state on first access.
+     * Callers hold the lock of the show, see {@link SeatClaimEngine#lockUntilCompletion(Long, Runnable)}.
+     *
+     * @param showId   the show of the ticket
+     * @param seatId   the seat of the ticket, null for standing tickets
+     * @param sectorId the sector of the ticket
+     * @param delta    +1 if the ticket now occupies its target, -1 if it released it
+     */
+    public void apply(Long showId, Long seatId, Long sectorId, int delta) {
+        ShowOccupancy occupancy = occupancies.get(showId);
+        if (occupancy != null) {
+            occupancy.apply(seatId, sectorId, delta);
+        }
+    }
+
+    /**
+     * Releases the seats and standing spots of expired reservations once the expiry is committed.
+     * Runs before other listeners of the event, so they read the new occupancy. The expiring transaction holds
+     * the lock of the show until it completed, so the show cannot be loaded in between.
+     *
+     * @param event the expiry
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReservationsExpired(ReservationsExpiredEvent event) {
+        event.released().forEach(released -> apply(event.showId(), released.seatId(), released.sectorId(), -1));
+    }
+
+    private ShowOccupancy load(Long showId) {
+        LOGGER.debug("Loading seat occupancy for show {}", showId);
+        ShowOccupancy occupancy = new ShowOccupancy(showId);
+        for (Object[] row : ticketRepository.findOccupancyByShowId(showId, OCCUPYING_STATUSES)) {
+            occupancy.apply((Long) row[0], (Long) row[1], 1);
+        }
+        return occupancy;
+    }
+}
@@ -0,0 +1,75 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers for one show the version at which each seat and standing sector last changed its availability.
+ */
+public class ShowAvailabilityLog {
+
+    private final LongSupplier nextVersion;
+    private final long baseVersion;
+    private long version;
+    private final Map<Long, Long> seatVersions = new HashMap<>();
+    private final Map<Long, Long> standingVersions = new HashMap<>();
+
+    ShowAvailabilityLog(LongSupplier nextVersion) {
+        this.nextVersion = nextVersion;
+        this.baseVersion = nextVersion.getAsLong();
+        this.version = baseVersion;
+    }
+
+    /**
+     * Returns the current version.
+     *
+     * @return the current availability version of the show
+     */
+    public synchronized long currentVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the seats and standing sectors that changed after the given version.
+     *
+     * @param sinceVersion the version the caller has already seen
+     * @return the changes, or null if the version was not handed out by this log and the caller needs a complete update
+     */
+    public synchronized AvailabilityChanges changesSince(long sinceVersion) {
+        if (sinceVersion < baseVersion || sinceVersion > version) {
+            return null;
+        }
+        return new AvailabilityChanges(version, newerThan(seatVersions, sinceVersion), newerThan(standingVersions, sinceVersion));
+    }
+
+    /**
+     * Records that a seat, or a spot in a standing sector if no seat is given, changed its availability.
+     *
+     * @param seatId   the seat, null for standing spots
+     * @param sectorId the sector
+     */
+    synchronized void changed(Long seatId, Long sectorId) {
+        long changedAt = nextVersion.getAsLong();
+        if (seatId != null) {
+            seatVersions.put(seatId, changedAt);
+        } else if (sectorId != null) {
+            standingVersions.put(sectorId, changedAt);
+        } else {
+            return;
+        }
+        version = changedAt;
+    }
+
+    private static Set<Long> newerThan(Map<Long, Long> versions, long sinceVersion) {
+        Set<Long> ids = new HashSet<>();
+        versions.forEach((id, changedAt) -> {
+            if (changedAt > sinceVersion) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+}
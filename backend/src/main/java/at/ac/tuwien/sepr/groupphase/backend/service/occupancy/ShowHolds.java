@@ -0,0 +1,222 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The holds of one show that have not run out yet.
+ *
+ * <p>Holds are indexed by seat and counted per standing sector, so lookups do not depend on how many holds were ever placed.
+ * They are also sorted into a time wheel with one slot per second. Expiring holds only visits the slots of the seconds
+ * that passed since the last call, so the cost depends on the number of expired holds, not on the number of active ones.
+ * Holds running longer than one turn of the wheel stay in their slot until their turn comes.
+ * Slots are only created for seconds at which a hold runs out and dropped once they are empty.</p>
+ */
+public class ShowHolds {
+
+    /**
+     * One turn of the wheel covers a little more than the 30 minutes a hold is valid.
+     */
+    static final int WHEEL_SLOTS = 2048;
+
+    /**
+     * A hold that has not run out yet.
+     *
+     * @param id         the ID of the hold row
+     * @param seatId     the held seat, null for standing spots
+     * @param sectorId   the sector of the hold
+     * @param userId     the user holding the seat or spot
+     * @param validUntil the end of the hold
+     */
+    public record ActiveHold(Long id, Long seatId, Long sectorId, Long userId, LocalDateTime validUntil) {
+    }
+
+    private record SectorUser(Long sectorId, Long userId) {
+    }
+
+    private final Map<Long, ActiveHold> byId = new HashMap<>();
+    private final Map<Long, ActiveHold> bySeat = new HashMap<>();
+    private final Map<Long, Integer> standingBySector = new HashMap<>();
+    private final Map<SectorUser, Integer> standingBySectorAndUser = new HashMap<>();
+    private final Map<Integer, List<ActiveHold>> wheel = new HashMap<>();
+    private final Clock clock;
+    private long currentSecond;
+
+    ShowHolds(Clock clock) {
+        this.clock = clock;
+        this.currentSecond = toSecond(LocalDateTime.now(clock));
+    }
+
+    /**
+     * Returns whether anyone holds the seat right now.
+     *
+     * @param seatId the seat
+     * @return true if the seat is held
+     */
+    public synchronized boolean isSeatHeld(Long seatId) {
+        return isSeatHeldByOther(seatId, null);
+    }
+
+    /**
+     * Returns whether a user other than the given one holds the seat right now.
+     *
+     * @param seatId the seat
+     * @param userId the user whose own holds are ignored, null to consider all holds
+     * @return true if the seat is held by someone else
+     */
+    public synchronized boolean isSeatHeldByOther(Long seatId, Long userId) {
+        ActiveHold hold = bySeat.get(seatId);
+        return hold != null
+            && hold.validUntil().isAfter(LocalDateTime.now(clock))
+            && (userId == null || !userId.equals(hold.userId()));
+    }
+
+    /**
+     * Returns the number of held spots in a standing sector.
+     *
+     * @param sectorId the standing sector
+     * @return the number of held spots
+     */
+    public synchronized int standingHeld(Long sectorId) {
+        return standingBySector.getOrDefault(sectorId, 0);
+    }
+
+    /**
+     * Returns the number of spots in a standing sector held by users other than the given one.
+     *
+     * @param sectorId the standing sector
+     * @param userId   the user whose own holds are not counted, null to count all holds
+     * @return the number of spots held by others
+     */
+    public synchronized int standingHeldByOthers(Long sectorId, Long userId) {
+        return standingHeld(sectorId) - standingBySectorAndUser.getOrDefault(new SectorUser(sectorId, userId), 0);
+    }
+
+    /**
+     * Returns a copy of all holds that have not been expired yet.
+     *
+     * @return the active holds
+     */
+    public synchronized List<ActiveHold> active() {
+        return List.copyOf(byId.values());
+    }
+
+    /**
+     * Returns whether no hold is active anymore.
+     *
+     * @return true if there are no active holds
+     */
+    synchronized boolean isEmpty() {
+        return byId.isEmpty();
+    }
+
+    /**
+     * Adds a hold, unless it is already known or already ran out.
+     *
+     * @param hold the hold
+     * @return true if the hold was added
+     */
+    synchronized boolean add(ActiveHold hold) {
+        long expirySecond = expirySecond(hold.validUntil());
+        if (expirySecond <= currentSecond || byId.containsKey(hold.id())) {
+            return false;
+        }
+        byId.put(hold.id(), hold);
+        if (hold.seatId() != null) {
+            bySeat.put(hold.seatId(), hold);
+        } else {
+            standingBySector.merge(hold.sectorId(), 1, Integer::sum);
+            standingBySectorAndUser.merge(new SectorUser(hold.sectorId(), hold.userId()), 1, Integer::sum);
+        }
+        wheel.computeIfAbsent(slot(expirySecond), slot -> new ArrayList<>()).add(hold);
+        return true;
+    }
+
+    /**
+     * Removes a hold before it ran out. Its wheel entry is skipped once its slot comes up.
+     *
+     * @param holdId the ID of the hold
+     * @return the removed hold, or null if it was not active
+     */
+    synchronized ActiveHold remove(Long holdId) {
+        ActiveHold hold = byId.remove(holdId);
+        if (hold != null) {
+            unindex(hold);
+        }
+        return hold;
+    }
+
+    /**
+     * Removes all holds that ran out since the last call.
+     *
+     * @param now the current time
+     * @return the holds that ran out
+     */
+    synchronized List<ActiveHold> expire(LocalDateTime now) {
+        long nowSecond = toSecond(now);
+        if (nowSecond <= currentSecond) {
+            return List.of();
+        }
+
+        List<ActiveHold> expired = new ArrayList<>();
+        long passed = Math.min(nowSecond - currentSecond, WHEEL_SLOTS);
+        for (long second = nowSecond - passed + 1; second <= nowSecond; second++) {
+            List<ActiveHold> entriesOfSecond = wheel.get(slot(second));
+            if (entriesOfSecond == null) {
+                continue;
+            }
+            Iterator<ActiveHold> entries = entriesOfSecond.iterator();
+            while (entries.hasNext()) {
+                ActiveHold hold = entries.next();
+                if (!byId.containsKey(hold.id())) {
+                    entries.remove();
+                } else if (expirySecond(hold.validUntil()) <= nowSecond) {
+                    entries.remove();
+                    byId.remove(hold.id());
+                    unindex(hold);
+                    expired.add(hold);
+                }
+            }
+            if (entriesOfSecond.isEmpty()) {
+                wheel.remove(slot(second));
+            }
+        }
+        currentSecond = nowSecond;
+        return expired;
+    }
+
+    private void unindex(ActiveHold hold) {
+        if (hold.seatId() != null) {
+            bySeat.remove(hold.seatId(), hold);
+        } else {
+            decrement(standingBySector, hold.sectorId());
+            decrement(standingBySectorAndUser, new SectorUser(hold.sectorId(), hold.userId()));
+        }
+    }
+
+    private static <K> void decrement(Map<K, Integer> counts, K key) {
+        counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static int slot(long second) {
+        return (int) Math.floorMod(second, (long) WHEEL_SLOTS);
+    }
+
+    private static long toSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * The first full second at which the hold is no longer valid.
+     */
+    private static long expirySecond(LocalDateTime validUntil) {
+        long second = toSecond(validUntil);
+        return validUntil.getNano() > 0 ? second + 1 : second;
+    }
+}
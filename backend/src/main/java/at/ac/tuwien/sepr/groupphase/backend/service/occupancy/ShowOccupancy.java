@@ -0,0 +1,103 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Occupancy state of a single show: a bitmap of taken seats and a counter per standing sector.
+ * A seat or standing spot counts as taken while a BOUGHT or RESERVED ticket exists for it.
+ *
+ * <p>Seat ids are stored relative to the lowest seat id seen so far, since the seats of one room
+ * are created together and therefore have (almost) contiguous ids.
+ */
+public class ShowOccupancy {
+
+    private final Long showId;
+    private BitSet takenSeats = new BitSet();
+    private long seatIdBase = -1;
+    private final Map<Long, Integer> takenStanding = new HashMap<>();
+
+    public ShowOccupancy(Long showId) {
+        this.showId = showId;
+    }
+
+    public Long getShowId() {
+        return showId;
+    }
+
+    /**
+     * Returns whether the given seat is bought or reserved for this show.
+     *
+     * @param seatId the ID of the seat
+     * @return true if the seat is taken
+     */
+    public synchronized boolean isSeatTaken(Long seatId) {
+        if (seatId == null || seatIdBase < 0 || seatId < seatIdBase) {
+            return false;
+        }
+        return takenSeats.get(toIndex(seatId));
+    }
+
+    /**
+     * Returns how many spots of the given standing sector are bought or reserved.
+     *
+     * @param sectorId the ID of the standing sector
+     * @return number of taken spots, 0 if none
+     */
+    public synchronized int getStandingTaken(Long sectorId) {
+        return takenStanding.getOrDefault(sectorId, 0);
+    }
+
+    /**
+     * Returns the number of taken seats.
+     *
+     * @return number of seats currently marked as taken
+     */
+    public synchronized int getTakenSeatCount() {
+        return takenSeats.cardinality();
+    }
+
+    /**
+     * Marks one ticket as taken ({@code delta > 0}) or released ({@code delta < 0}).
+     * Seated tickets flip the seat bit, standing tickets adjust the sector counter.
+     *
+     * @param seatId   the seat of the ticket, null for standing tickets
+     * @param sectorId the sector of the ticket
+     * @param delta    +1 to take, -1 to release
+     */
+    public synchronized void apply(Long seatId, Long sectorId, int delta) {
+        if (seatId != null) {
+            ensureBase(seatId);
+            takenSeats.set(toIndex(seatId), delta > 0);
+        } else if (sectorId != null) {
+            int updated = Math.max(0, takenStanding.getOrDefault(sectorId, 0) + delta);
+            if (updated == 0) {
+                takenStanding.remove(sectorId);
+            } else {
+                takenStanding.put(sectorId, updated);
+            }
+        }
+    }
+
+    private int toIndex(long seatId) {
+        return Math.toIntExact(seatId - seatIdBase);
+    }
+
+    /**
+     * Moves the bitmap base down if a seat id lower than the current base shows up.
+     */
+    private void ensureBase(long seatId) {
+        if (seatIdBase < 0) {
+            seatIdBase = seatId;
+            return;
+        }
+        if (seatId < seatIdBase) {
+            int shift = Math.toIntExact(seatIdBase - seatId);
+            BitSet shifted = new BitSet(takenSeats.length() + shift);
+            takenSeats.stream().forEach(i -> shifted.set(i + shift));
+            takenSeats = shifted;
+            seatIdBase = seatId;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.occupancy;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener keeping the {@link SeatOccupancyIndex} in sync with every ticket write.
+ * Changes are applied as soon as they are flushed, so concurrent checks already see the claim,
+ * and are reverted if the surrounding transaction rolls back. Both are recorded in the {@link AvailabilityJournal}.
+ * The lock of the show is held from the change until the transaction completed, so the show is not loaded in between.
+ * An {@link AvailabilityEvent} is published for every change, listeners only receive it once the transaction committed.
+ */
+@Component
+public class TicketOccupancyListener {
+
+    private final ObjectProvider<SeatOccupancyIndex> seatOccupancyIndex;
+    private final ObjectProvider<AvailabilityJournal> availabilityJournal;
+    private final ObjectProvider<SeatClaimEngine> seatClaimEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TicketOccupancyListener(ObjectProvider<SeatOccupancyIndex> seatOccupancyIndex, ObjectProvider<AvailabilityJournal> availabilityJournal,
+                                   ObjectProvider<SeatClaimEngine> seatClaimEngine, ApplicationEventPublisher eventPublisher) {
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.availabilityJournal = availabilityJournal;
+        this.seatClaimEngine = seatClaimEngine;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    public void afterPersist(Ticket ticket) {
+        onChange(ticket, false, isOccupying(ticket.getStatus()));
+    }
+
+    @PostUpdate
+    public void afterUpdate(Ticket ticket) {
+        onChange(ticket, isOccupying(ticket.getPersistedStatus()), isOccupying(ticket.getStatus()));
+    }
+
+    @PostRemove
+    public void afterRemove(Ticket ticket) {
+        onChange(ticket, isOccupying(ticket.getPersistedStatus()), false);
+    }
+
+    private void onChange(Ticket ticket, boolean wasOccupying, boolean isOccupying) {
+        if (wasOccupying == isOccupying || ticket.getShow() == null) {
+            return;
+        }
+
+        Long showId = ticket.getShow().getId();
+        Long seatId = ticket.getSeat() != null ? ticket.getSeat().getId() : null;
+        Long sectorId = ticket.getSector() != null ? ticket.getSector().getId() : null;
+        int delta = isOccupying ? 1 : -1;
+
+        SeatOccupancyIndex index = seatOccupancyIndex.getObject();
+        AvailabilityJournal journal = availabilityJournal.getObject();
+        seatClaimEngine.getObject().lockUntilCompletion(showId, () -> {
+            index.apply(showId, seatId, sectorId, -delta);
+            journal.seatChanged(showId, seatId, sectorId);
+        });
+        index.apply(showId, seatId, sectorId, delta);
+        journal.seatChanged(showId, seatId, sectorId);
+        eventPublisher.publishEvent(new AvailabilityEvent(
+            isOccupying ? AvailabilityEvent.Type.SEAT_TAKEN : AvailabilityEvent.Type.SEAT_RELEASED, showId, seatId, sectorId));
+    }
+
+    private static boolean isOccupying(TicketStatus status) {
+        return status != null && status.isOccupying();
+    }
+}
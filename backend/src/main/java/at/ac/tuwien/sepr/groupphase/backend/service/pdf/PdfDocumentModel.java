@@ -0,0 +1,102 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Everything printed on a ticket or invoice, read from the database before rendering starts.
+ * The models hold no entities, so they can be rendered on another thread without a transaction, and two models
+ * are equal exactly if they render the same document.
+ */
+public sealed interface PdfDocumentModel {
+
+    /**
+     * The kind of document, stored documents are grouped by it.
+     *
+     * @return a lower case name without spaces
+     */
+    String type();
+
+    /**
+     * The ID of the entity the document is about.
+     *
+     * @return the ID of the ticket or order
+     */
+    Long id();
+
+    /**
+     * The contents of a ticket.
+     *
+     * @param ticketId     the ID of the ticket
+     * @param ticketCode   the code verifying the ticket at the entrance
+     * @param showName     the name of the show
+     * @param eventName    the name of the event
+     * @param locationName the name of the location
+     * @param street       the street of the location
+     * @param postalCode   the postal code of the location
+     * @param city         the city of the location
+     * @param showDate     the start of the show
+     * @param roomName     the name of the room
+     * @param sectorId     the ID of the sector
+     * @param rowNumber    the row of the seat, null for standing tickets
+     * @param columnNumber the column of the seat, null for standing tickets
+     * @param price        the price of the sector in euros
+     */
+    record TicketDocument(Long ticketId, String ticketCode, String showName, String eventName, String locationName, String street, String postalCode,
+                          String city, LocalDateTime showDate, String roomName, Long sectorId, Integer rowNumber, Integer columnNumber,
+                          Integer price) implements PdfDocumentModel {
+
+        @Override
+        public String type() {
+            return "ticket";
+        }
+
+        @Override
+        public Long id() {
+            return ticketId;
+        }
+    }
+
+    /**
+     * The contents of an invoice or of the cancellation invoice of a refund.
+     *
+     * @param orderId      the ID of the order, which is the invoice number
+     * @param cancellation whether this is the cancellation invoice of a refund
+     * @param firstName    the first name of the customer
+     * @param lastName     the last name of the customer
+     * @param street       the street of the billing address, the address is only printed if it is complete
+     * @param housenumber  the house number of the billing address
+     * @param postalCode   the postal code of the billing address
+     * @param city         the city of the billing address
+     * @param country      the country of the billing address
+     * @param createdAt    when the order was placed
+     * @param lines        one line per ticket
+     */
+    record InvoiceDocument(Long orderId, boolean cancellation, String firstName, String lastName, String street, String housenumber,
+                           String postalCode, String city, String country, LocalDateTime createdAt, List<InvoiceLine> lines) implements PdfDocumentModel {
+
+        @Override
+        public String type() {
+            return cancellation ? "cancellation-invoice" : "invoice";
+        }
+
+        @Override
+        public Long id() {
+            return orderId;
+        }
+    }
+
+    /**
+     * One ticket on an invoice.
+     *
+     * @param showDate     the start of the show
+     * @param eventName    the name of the event
+     * @param roomName     the name of the room
+     * @param sectorId     the ID of the sector
+     * @param rowNumber    the row of the seat, null for standing tickets
+     * @param columnNumber the column of the seat, null for standing tickets
+     * @param price        the price of the sector in euros, null if the sector has none
+     */
+    record InvoiceLine(LocalDateTime showDate, String eventName, String roomName, Long sectorId, Integer rowNumber, Integer columnNumber, Integer price) {
+    }
+}
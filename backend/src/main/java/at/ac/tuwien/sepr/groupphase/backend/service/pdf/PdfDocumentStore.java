@@ -0,0 +1,194 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+/**
+ * Keeps rendered documents on disk, so they survive restarts and do not take up heap.
+ *
+ * <p>A document is stored as {@code <type>/<id>/<model hash>-<content hash>.pdf}. The model hash covers everything
+ * printed, so a document whose data changed is looked up under a new name and rendered again. The content hash of
+ * the file is its entity tag: two renderings of the same model differ in their timestamps, so only the file itself
+ * can back a strong tag.</p>
+ *
+ * <p>Files are written to a temporary name and moved into place, so readers never see a partial document. Storing a
+ * document leaves older versions of the entity alone, as they may still be streamed to a client. Instead, every file
+ * that has not been used for the configured retention is removed by an hourly sweep: older versions are never looked
+ * up again and age out, documents still downloaded are kept, and anything removed is rendered again on request.</p>
+ */
+@Component
+public class PdfDocumentStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfDocumentStore.class);
+    private static final int HASH_LENGTH = 32;
+
+    private final Path directory;
+    private final Duration retention;
+
+    public PdfDocumentStore(@Value("${pdf.store.directory:./pdf-store}") Path directory, @Value("${pdf.store.retention:30d}") Duration retention) {
+        this.directory = directory;
+        this.retention = retention;
+    }
+
+    /**
+     * Looks up the stored document of a model.
+     *
+     * @param model the contents of the document
+     * @return the stored document, or null if it has not been rendered yet
+     */
+    public StoredPdf find(PdfDocumentModel model) {
+        Path entityDirectory = entityDirectory(model.type(), model.id());
+        if (!Files.isDirectory(entityDirectory)) {
+            return null;
+        }
+        String prefix = modelHash(model) + "-";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entityDirectory, prefix + "*.pdf")) {
+            for (Path file : files) {
+                markUsed(file);
+                String name = file.getFileName().toString();
+                return new StoredPdf(file, name.substring(prefix.length(), name.length() - ".pdf".length()));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not look up stored {} {}: {}", model.type(), model.id(), e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Stores the rendered document of a model next to older versions of the same entity.
+     *
+     * @param model the contents of the document
+     * @param pdf   the rendered document
+     * @return the stored document
+     */
+    public StoredPdf put(PdfDocumentModel model, byte[] pdf) {
+        Path entityDirectory = entityDirectory(model.type(), model.id());
+        String etag = hash(pdf);
+        Path target = entityDirectory.resolve(modelHash(model) + "-" + etag + ".pdf");
+        try {
+            Files.createDirectories(entityDirectory);
+            Path temporary = Files.createTempFile(entityDirectory, "rendering-", ".tmp");
+            Files.write(temporary, pdf);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store " + model.type() + " " + model.id(), e);
+        }
+        return new StoredPdf(target, etag);
+    }
+
+    /**
+     * Removes all stored documents of an entity.
+     *
+     * @param type the kind of document
+     * @param id   the ID of the entity
+     */
+    public void evict(String type, Long id) {
+        Path entityDirectory = entityDirectory(type, id);
+        if (!Files.isDirectory(entityDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entityDirectory, "*.pdf")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            LOGGER.debug("Evicted stored {} {}", type, id);
+        } catch (IOException e) {
+            LOGGER.warn("Could not evict stored {} {}: {}", type, id, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the documents that have not been stored or looked up within the retention, together with temporary
+     * files left behind by an interrupted rendering and the folders that stayed empty as long.
+     */
+    @Scheduled(fixedRate = 3_600_000, initialDelay = 60_000)
+    public void removeUnused() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        FileTime unusedSince = FileTime.from(Instant.now().minus(retention));
+        int removed = 0;
+        try (Stream<Path> entityDirectories = Files.walk(directory, 2)) {
+            for (Path entityDirectory : entityDirectories.filter(path -> directory.relativize(path).getNameCount() == 2).toList()) {
+                removed += removeUnused(entityDirectory, unusedSince);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.warn("Could not clean up stored documents: {}", e.getMessage());
+        }
+        LOGGER.debug("Removed {} unused stored documents", removed);
+    }
+
+    private static int removeUnused(Path entityDirectory, FileTime unusedSince) throws IOException {
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(entityDirectory)) {
+            for (Path file : files) {
+                if (Files.getLastModifiedTime(file).compareTo(unusedSince) < 0 && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        }
+        // a folder emptied just now is left for a later sweep, as a document may be about to be stored in it
+        try {
+            if (Files.getLastModifiedTime(entityDirectory).compareTo(unusedSince) < 0) {
+                Files.deleteIfExists(entityDirectory);
+            }
+        } catch (DirectoryNotEmptyException e) {
+            // still holds documents in use
+        }
+        return removed;
+    }
+
+    /**
+     * Moves the modification time of a looked up file to now, which the sweep reads as its last use. Only files used
+     * longer than half the retention ago are touched, so lookups rarely write and no file in use comes close to removal.
+     */
+    private void markUsed(Path file) {
+        try {
+            FileTime now = FileTime.from(Instant.now());
+            if (Files.getLastModifiedTime(file).toInstant().isBefore(now.toInstant().minus(retention.dividedBy(2)))) {
+                Files.setLastModifiedTime(file, now);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Could not mark {} as used: {}", file, e.getMessage());
+        }
+    }
+
+    private Path entityDirectory(String type, Long id) {
+        return directory.resolve(type).resolve(String.valueOf(id));
+    }
+
+    /**
+     * Hashes the text of a model, which lists every component of the record and its nested records.
+     */
+    private static String modelHash(PdfDocumentModel model) {
+        return hash(model.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
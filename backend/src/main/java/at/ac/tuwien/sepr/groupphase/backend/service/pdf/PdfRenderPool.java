@@ -0,0 +1,124 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.PdfRenderQueueFullException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders PDFs on a fixed number of worker threads and keeps the finished documents in the {@link PdfDocumentStore}.
+ *
+ * <p>Callers load a {@link PdfDocumentModel} first and release their transaction, so no database connection is held
+ * while iText lays out the document. Documents waiting for a worker are queued up to a fixed capacity, beyond that
+ * requests are rejected with a {@link PdfRenderQueueFullException} instead of piling up.</p>
+ *
+ * <p>Finished documents are stored by their model. A model holds everything printed, so a changed order yields
+ * a different model and is rendered again, while repeated downloads of the same document are served from disk.
+ * Concurrent requests for a document that is still rendering wait for the same result.</p>
+ */
+@Component
+public class PdfRenderPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PdfRenderPool.class);
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final PdfRenderer renderer;
+    private final ThreadPoolExecutor workers;
+    private final PdfDocumentStore store;
+    private final Map<PdfDocumentModel, CompletableFuture<StoredPdf>> rendering = new ConcurrentHashMap<>();
+
+    public PdfRenderPool(PdfRenderer renderer,
+                         PdfDocumentStore store,
+                         @Value("${pdf.render.threads:4}") int threads,
+                         @Value("${pdf.render.queue-capacity:100}") int queueCapacity) {
+        this.renderer = renderer;
+        this.store = store;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("pdf-render-", 0).daemon().factory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns the stored document for a model, rendering it on a worker if it is not stored yet.
+     * Blocks until the document is ready.
+     *
+     * @param model the contents of the document
+     * @return the stored document
+     * @throws PdfRenderQueueFullException if the document would have to be rendered but the queue is full
+     */
+    public StoredPdf render(PdfDocumentModel model) {
+        StoredPdf stored = store.find(model);
+        if (stored != null) {
+            return stored;
+        }
+
+        CompletableFuture<StoredPdf> submitted = new CompletableFuture<>();
+        CompletableFuture<StoredPdf> running = rendering.putIfAbsent(model, submitted);
+        if (running == null) {
+            running = submitted;
+            try {
+                workers.execute(() -> renderInto(model, submitted));
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("PDF render queue is full, rejecting {}", model.getClass().getSimpleName());
+                PdfRenderQueueFullException full = new PdfRenderQueueFullException("Too many documents are being generated at the moment, please try again shortly",
+                    RETRY_AFTER_SECONDS);
+                rendering.remove(model, submitted);
+                submitted.completeExceptionally(full);
+                throw full;
+            }
+        }
+        return await(running);
+    }
+
+    /**
+     * Prepares tickets to be rendered into one document while it is written, a page per ticket.
+     * The document is neither queued nor stored. It is rendered by the thread writing it, as a full queue could
+     * only be reported once the response has started.
+     *
+     * @param tickets the contents of the tickets
+     * @return the document, rendered when written
+     */
+    public StreamedPdf stream(List<PdfDocumentModel.TicketDocument> tickets) {
+        return out -> renderer.renderTickets(tickets, out);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void renderInto(PdfDocumentModel model, CompletableFuture<StoredPdf> result) {
+        try {
+            result.complete(store.put(model, renderer.render(model)));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } finally {
+            rendering.remove(model, result);
+        }
+    }
+
+    private static StoredPdf await(CompletableFuture<StoredPdf> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering a PDF", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Rendering a PDF failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
+import com.itextpdf.kernel.pdf.xobject.PdfFormXObject;
+import com.itextpdf.layout.Canvas;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.BlockElement;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Image;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.layout.LayoutArea;
+import com.itextpdf.layout.layout.LayoutContext;
+import com.itextpdf.layout.properties.AreaBreakType;
+import com.itextpdf.layout.properties.TextAlignment;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lays out tickets and invoices with iText. Works only on {@link PdfDocumentModel}s and never touches the
+ * database, so any number of threads may render at the same time.
+ *
+ * <p>The parts that are the same in every document, the company header and the closing text of invoices, are
+ * laid out once into a template PDF. Each document copies them in as form XObjects instead of laying them out
+ * again. Every thread reads the templates through its own {@link PdfDocument}, as iText documents must not be
+ * shared between threads.</p>
+ */
+@Component
+public class PdfRenderer {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final String[] INVOICE_COLUMNS = {"Datum", "Bezeichnung", "Menge", "Platzwahl", "Steuersatz", "Netto ", "Ust. ", "Gesamt"};
+
+    // side length of the QR code in points
+    private static final float QR_CODE_SIZE = 200;
+
+    // pages of the template PDF
+    private static final int COMPANY_HEADER = 1;
+    private static final int INVOICE_FOOTER = 2;
+    private static final int CANCELLATION_FOOTER = 3;
+
+    private final byte[] templates = renderTemplates();
+    private final ThreadLocal<PdfDocument> templateDocument = ThreadLocal.withInitial(this::openTemplates);
+
+    /**
+     * Renders a document.
+     *
+     * @param model the contents of the document
+     * @return the PDF
+     */
+    public byte[] render(PdfDocumentModel model) {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(pdf)));
+        switch (model) {
+            case PdfDocumentModel.TicketDocument ticket -> renderTicket(ticket, document, template(COMPANY_HEADER, document));
+            case PdfDocumentModel.InvoiceDocument invoice -> renderInvoice(invoice, document);
+        }
+        document.close();
+        return pdf.toByteArray();
+    }
+
+    /**
+     * Renders tickets into one document, a page per ticket. Every page is written to the stream as soon as it
+     * is laid out, and all pages share one copy of the company header, so the memory needed does not grow with
+     * the number of tickets.
+     *
+     * @param tickets the contents of the tickets
+     * @param out     the stream to write the PDF to, left open
+     */
+    public void renderTickets(List<PdfDocumentModel.TicketDocument> tickets, OutputStream out) {
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        Document document = new Document(new PdfDocument(writer));
+        PdfFormXObject header = template(COMPANY_HEADER, document);
+        for (int i = 0; i < tickets.size(); i++) {
+            if (i > 0) {
+                document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            }
+            renderTicket(tickets.get(i), document, header);
+        }
+        document.close();
+    }
+
+    private void renderTicket(PdfDocumentModel.TicketDocument ticket, Document document, PdfFormXObject header) {
+        document.add(new Image(header));
+
+        document.add(new Paragraph("Ticket").setTextAlignment(TextAlignment.CENTER).setBold());
+        document.add(new Paragraph("Show: " + ticket.showName()));
+        document.add(new Paragraph("Event: " + ticket.eventName()));
+        document.add(new Paragraph("Address: " + ticket.locationName()));
+        document.add(new Paragraph(ticket.street()));
+        document.add(new Paragraph(ticket.postalCode() + " " + ticket.city()));
+
+        document.add(new Paragraph("Date: " + ticket.showDate().format(DATE_TIME)));
+        document.add(new Paragraph("Room: " + ticket.roomName()));
+        document.add(new Paragraph("Sector: " + ticket.sectorId()));
+        if (ticket.rowNumber() != null) {
+            document.add(new Paragraph("Seat: " + ticket.rowNumber() + ticket.columnNumber()));
+        }
+
+        document.add(new Paragraph("Price: " + ticket.price() + " EUR"));
+
+        String qrContent = "http://localhost:4200/ticket/" + ticket.ticketId() + "/" + ticket.ticketCode();
+        document.add(qrCode(qrContent, document.getPdfDocument()));
+    }
+
+    /**
+     * Draws a QR code as vector graphics, one filled rectangle per run of dark modules in a row.
+     */
+    private static Image qrCode(String content, PdfDocument pdfDocument) {
+        BitMatrix matrix;
+        try {
+            // a size of 0 yields one pixel per module, including the quiet zone
+            matrix = new QRCodeWriter().encode(content, BarcodeFormat.QR_CODE, 0, 0);
+        } catch (WriterException e) {
+            throw new RuntimeException("Error while generating QR Code", e);
+        }
+        int size = matrix.getWidth();
+        PdfFormXObject qrCode = new PdfFormXObject(new Rectangle(size, size));
+        PdfCanvas canvas = new PdfCanvas(qrCode, pdfDocument);
+        for (int y = 0; y < size; y++) {
+            int x = 0;
+            while (x < size) {
+                if (!matrix.get(x, y)) {
+                    x++;
+                    continue;
+                }
+                int start = x;
+                while (x < size && matrix.get(x, y)) {
+                    x++;
+                }
+                // PDF coordinates grow upwards, matrix rows downwards
+                canvas.rectangle(start, size - 1 - y, x - start, 1);
+            }
+        }
+        canvas.fill();
+        canvas.release();
+        return new Image(qrCode).scaleAbsolute(QR_CODE_SIZE, QR_CODE_SIZE);
+    }
+
+    private void renderInvoice(PdfDocumentModel.InvoiceDocument invoice, Document document) {
+        addCompanyHeader(document);
+
+        document.add(new Paragraph(invoice.firstName() + " " + invoice.lastName()));
+
+        if (invoice.street() != null && invoice.housenumber() != null && invoice.postalCode() != null
+            && invoice.city() != null && invoice.country() != null) {
+            document.add(new Paragraph(invoice.street() + " " + invoice.housenumber()));
+            document.add(new Paragraph(invoice.postalCode() + " " + invoice.city()));
+            document.add(new Paragraph(invoice.country()));
+        }
+
+        var invoiceDateOfOrder = new Paragraph(invoice.createdAt().format(DATE));
+        invoiceDateOfOrder.setTextAlignment(TextAlignment.RIGHT);
+        document.add(invoiceDateOfOrder);
+
+        var invoiceNumber = new Paragraph(invoice.cancellation()
+            ? "Cancellation Invoice Number / Stornierung Rechnung Nr." + invoice.orderId()
+            : "Invoice Number / Rechnung Nr." + invoice.orderId());
+        invoiceNumber.setTextAlignment(TextAlignment.CENTER);
+        invoiceNumber.setBold();
+        document.add(invoiceNumber);
+
+        Table table = new Table(INVOICE_COLUMNS.length);
+        for (String column : INVOICE_COLUMNS) {
+            table.addHeaderCell(new Cell().add(new Paragraph(column)));
+        }
+
+        var sum = 0;
+        for (var line : invoice.lines()) {
+            table.addCell(new Cell().add(new Paragraph(line.showDate().format(DATE_TIME))));
+            table.addCell(new Cell().add(new Paragraph(line.eventName())));
+            table.addCell(new Cell().add(new Paragraph("1")));
+            var seatchoice = "Room: " + line.roomName() + ", Sector: " + line.sectorId();
+            if (line.rowNumber() != null) {
+                seatchoice = seatchoice + ", Row: " + line.rowNumber() + ", Seat: " + line.columnNumber();
+            }
+            table.addCell(new Cell().add(new Paragraph(seatchoice)));
+
+            var bruttoPrice = Optional.ofNullable(line.price()).orElse(0);
+            sum = sum + bruttoPrice;
+            var ust = bruttoPrice - (bruttoPrice / (1 + 0.13));
+            var netto = bruttoPrice - ust;
+
+            table.addCell(new Cell().add(new Paragraph("13 %")));
+            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", netto))));
+            table.addCell(new Cell().add(new Paragraph(String.format("%.02f", ust))));
+            table.addCell(new Cell().add(new Paragraph(line.price() + " EUR")));
+        }
+
+        document.add(table);
+
+        var ust = sum - (sum / (1 + 0.13));
+        var netto = sum - ust;
+
+        document.add(new Paragraph("Summe Brutto:           " + sum + " EUR").setTextAlignment(TextAlignment.RIGHT).setBold());
+        document.add(new Paragraph("Summe Netto:      "
+            + String.format("%.02f", netto) + " EUR").setTextAlignment(TextAlignment.RIGHT));
+        document.add(new Paragraph("Betrag enthält wie folgt 13% USt:        "
+            + String.format("%.02f", ust) + " EUR").setTextAlignment(TextAlignment.RIGHT));
+        document.add(new Paragraph("USt 13% (ermäßigter Steuersatz für Konzerte und Opernkarten etc)").setTextAlignment(TextAlignment.RIGHT));
+        document.add(new Image(template(invoice.cancellation() ? CANCELLATION_FOOTER : INVOICE_FOOTER, document)));
+    }
+
+    private void addCompanyHeader(Document document) {
+        document.add(new Image(template(COMPANY_HEADER, document)));
+    }
+
+    private PdfFormXObject template(int page, Document document) {
+        try {
+            return templateDocument.get().getPage(page).copyAsFormXObject(document.getPdfDocument());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while copying PDF template", e);
+        }
+    }
+
+    private PdfDocument openTemplates() {
+        try {
+            return new PdfDocument(new PdfReader(new ByteArrayInputStream(templates)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while reading PDF templates", e);
+        }
+    }
+
+    /**
+     * Lays out the static parts of the documents, each on a page of its own that is exactly as large as the part.
+     */
+    private static byte[] renderTemplates() {
+        ByteArrayOutputStream pdf = new ByteArrayOutputStream();
+        Document document = new Document(new PdfDocument(new PdfWriter(pdf)));
+        addTemplatePage(document, companyHeader());
+        addTemplatePage(document, footer(false));
+        addTemplatePage(document, footer(true));
+        document.close();
+        return pdf.toByteArray();
+    }
+
+    private static void addTemplatePage(Document document, BlockElement<?> element) {
+        float width = PageSize.A4.getWidth() - document.getLeftMargin() - document.getRightMargin();
+        float height = element.createRendererSubTree().setParent(document.getRenderer())
+            .layout(new LayoutContext(new LayoutArea(1, new Rectangle(width, PageSize.A4.getHeight()))))
+            .getOccupiedArea().getBBox().getHeight();
+        PdfPage page = document.getPdfDocument().addNewPage(new PageSize(width, height));
+        new Canvas(page, page.getPageSize()).add(element).close();
+    }
+
+    private static Div footer(boolean cancellation) {
+        return new Div().add(new Paragraph(cancellation ? """
+
+            Wir haben Ihre Stornierung erhalten und wie gewünscht rückabgewickelt.
+
+            Der Rechnungsbetrag wurde auf Ihr angegebenes Konto für die Gutschrift rückerstattet.
+
+            Wir bedauern Ihre Stornierung, vielleicht finden Sie jedoch Interesse an anderen unserer Veranstaltungen!
+
+
+            Freundliche Grüße,
+            Das TicketLine Team
+
+            """ : """
+
+            Wir haben Ihre Bezahlung unter Angabe der Rechnungsnummer auf das Konto der TicketLine GmbH dankend erhalten.
+
+            Wir wünschen Ihnen einen interessanten und angenehmen Veranstaltungsbesuch!
+
+            Freundliche Grüße,
+            Das TicketLine Team
+
+            """)).add(new Paragraph("UID: ATU1234567"));
+    }
+
+    private static Paragraph companyHeader() {
+        var ticketLine = new Paragraph("""
+            TicketLine
+            Verkauf von Tickets für Kino, Theater, Opern, Konzerte und mehr
+            Karlsplatz 13, 1040 Wien
+            Tel.: 0043 1 523543210, Mail: shop@ticketline.at
+            www.ticketline.at""");
+        ticketLine.setTextAlignment(TextAlignment.RIGHT);
+        return ticketLine;
+    }
+}
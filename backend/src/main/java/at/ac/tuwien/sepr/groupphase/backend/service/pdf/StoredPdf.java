@@ -0,0 +1,12 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import java.nio.file.Path;
+
+/**
+ * A rendered document in the {@link PdfDocumentStore}.
+ *
+ * @param path the file holding the PDF
+ * @param etag the hash of the file content, a strong entity tag without quotes
+ */
+public record StoredPdf(Path path, String etag) {
+}
@@ -0,0 +1,40 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.OrderType;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Order;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import static at.ac.tuwien.sepr.groupphase.backend.util.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener removing stored ticket documents from the {@link PdfDocumentStore} once a refund or cancellation
+ * of them is committed. The tickets are read from the new order after the commit, as they are added to it after it
+ * was first saved.
+ */
+@Component
+public class StoredPdfListener {
+
+    private final ObjectProvider<PdfDocumentStore> store;
+
+    public StoredPdfListener(ObjectProvider<PdfDocumentStore> store) {
+        this.store = store;
+    }
+
+    @PostPersist
+    public void afterPersist(Order order) {
+        if (order.getOrderType() != OrderType.REFUND && order.getOrderType() != OrderType.CANCELLATION) {
+            return;
+        }
+        store.ifAvailable(documents -> afterCommit(() -> {
+            if (order.getTickets() == null) {
+                return;
+            }
+            for (Ticket ticket : order.getTickets()) {
+                documents.evict("ticket", ticket.getId());
+            }
+        }));
+    }
+}
@@ -0,0 +1,19 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.pdf;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A document whose contents are loaded but which is rendered only while it is written, page by page.
+ */
+@FunctionalInterface
+public interface StreamedPdf {
+
+    /**
+     * Renders the document into a stream, leaving the stream open.
+     *
+     * @param out the stream to write the PDF to
+     * @throws IOException if writing to the stream fails
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,21 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.ranking;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * The number of tickets sold for an event, with what is needed to show it in a ranking.
+ *
+ * @param eventId     the ID of the event
+ * @param name        the name of the event
+ * @param dateTime    the start of the event
+ * @param category    the category of the event
+ * @param ticketsSold the number of bought tickets
+ */
+public record EventSales(Long eventId, String name, LocalDateTime dateTime, Event.EventCategory category, long ticketsSold) {
+
+    EventSales withTicketsSold(long ticketsSold) {
+        return new EventSales(eventId, name, dateTime, category, ticketsSold);
+    }
+}
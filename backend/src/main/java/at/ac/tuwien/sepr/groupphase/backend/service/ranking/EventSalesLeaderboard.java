@@ -0,0 +1,199 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.ranking;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * In-memory ranking of the events starting within the next 30 days by the number of tickets sold.
+ *
+ * <p>The sold tickets of each event are counted in memory and kept in order per category, so reading the top ten
+ * only walks the head of an ordered set. Counts are changed by {@link TicketSalesListener} once a ticket bought or
+ * given back is committed, so the ranking never shows sales that are rolled back. Changes committed while a refresh
+ * reads the database are applied again on top of it, so a refresh does not lose them.</p>
+ *
+ * <p>The ranking is rebuilt from the database every minute, which picks up events entering the 30 day window,
+ * drops events that started and corrects anything changed by bulk updates. Events that were outside the window
+ * at the last refresh are not counted until the next one.</p>
+ *
+ * <p>A caller inside a read-write transaction is answered from the database instead, so it sees the tickets it
+ * changed itself before they are committed.</p>
+ */
+@Component
+public class EventSalesLeaderboard {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventSalesLeaderboard.class);
+
+    /**
+     * How far ahead events are ranked.
+     */
+    static final Duration WINDOW = Duration.ofDays(30);
+
+    private static final Comparator<EventSales> RANKING = Comparator.comparingLong(EventSales::ticketsSold).reversed()
+        .thenComparing(EventSales::dateTime)
+        .thenComparing(EventSales::eventId);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Object refreshing = new Object();
+
+    private final Map<Long, EventSales> sales = new HashMap<>();
+    private List<EventSales> committedWhileRefreshing;
+    private final NavigableSet<EventSales> ranking = new TreeSet<>(RANKING);
+    private final Map<Event.EventCategory, NavigableSet<EventSales>> rankingByCategory = new EnumMap<>(Event.EventCategory.class);
+    private LocalDateTime trackedUntil;
+
+    public EventSalesLeaderboard(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        // reads only committed sales, even when asked from within a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns the events with the most tickets sold that start within the next 30 days.
+     *
+     * @param category the category to rank, null for all events
+     * @param limit    the maximum number of events
+     * @return the best-selling events, most tickets sold first
+     */
+    public List<EventSales> top(Event.EventCategory category, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime end = now.plus(WINDOW);
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ticketRepository.countBoughtPerEventBetween(now, end).stream()
+                .map(EventSalesLeaderboard::toSales)
+                .filter(entry -> category == null || entry.category() == category)
+                .sorted(RANKING)
+                .limit(limit)
+                .toList();
+        }
+        if (!isLoaded()) {
+            refresh();
+        }
+        synchronized (this) {
+            NavigableSet<EventSales> ranked = category == null ? ranking : rankingByCategory.get(category);
+            List<EventSales> top = new ArrayList<>(limit);
+            if (ranked == null) {
+                return top;
+            }
+            for (EventSales entry : ranked) {
+                if (top.size() == limit || entry.ticketsSold() <= 0) {
+                    break;
+                }
+                if (!entry.dateTime().isBefore(now) && !entry.dateTime().isAfter(end)) {
+                    top.add(entry);
+                }
+            }
+            return top;
+        }
+    }
+
+    /**
+     * Builds the ranking once the application started, so sales from then on are counted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the ranking from the database, applying changes committed meanwhile on top of it.
+     */
+    @Scheduled(fixedRate = 60_000, initialDelay = 60_000)
+    public void refresh() {
+        synchronized (refreshing) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime end = now.plus(WINDOW);
+            synchronized (this) {
+                committedWhileRefreshing = new ArrayList<>();
+            }
+            List<Object[]> rows;
+            try {
+                rows = transactionTemplate.execute(status -> ticketRepository.countBoughtPerEventBetween(now, end));
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    committedWhileRefreshing = null;
+                }
+                throw e;
+            }
+
+            synchronized (this) {
+                sales.clear();
+                ranking.clear();
+                rankingByCategory.clear();
+                rows.forEach(row -> put(toSales(row)));
+                trackedUntil = end;
+                // committed while the rows were read, so they may be missing from them
+                committedWhileRefreshing.forEach(this::add);
+                committedWhileRefreshing = null;
+            }
+            LOGGER.debug("Refreshed sales ranking of {} events", rows.size());
+        }
+    }
+
+    /**
+     * Counts committed tickets of an event being bought or given back. Events outside the window of the last refresh
+     * and changes made before the first refresh are ignored, the next refresh counts them.
+     *
+     * @param event the event of the ticket, with the number of tickets bought (+1) or given back (-1)
+     */
+    synchronized void committed(EventSales event) {
+        if (committedWhileRefreshing != null) {
+            committedWhileRefreshing.add(event);
+        }
+        add(event);
+    }
+
+    private void add(EventSales event) {
+        EventSales current = sales.get(event.eventId());
+        if (current == null) {
+            if (trackedUntil == null || event.dateTime() == null || event.dateTime().isAfter(trackedUntil)) {
+                return;
+            }
+            // within the window of the last refresh, so it had no sales back then
+            current = event.withTicketsSold(0);
+        }
+        put(current.withTicketsSold(current.ticketsSold() + event.ticketsSold()));
+    }
+
+    private static EventSales toSales(Object[] row) {
+        return new EventSales((Long) row[0], (String) row[1], (LocalDateTime) row[2], (Event.EventCategory) row[3], (Long) row[4]);
+    }
+
+    private synchronized boolean isLoaded() {
+        return trackedUntil != null;
+    }
+
+    private void put(EventSales entry) {
+        EventSales previous = sales.put(entry.eventId(), entry);
+        NavigableSet<EventSales> categoryRanking = rankingByCategory.computeIfAbsent(entry.category(), category -> new TreeSet<>(RANKING));
+        if (previous != null) {
+            ranking.remove(previous);
+            rankingByCategory.get(previous.category()).remove(previous);
+        }
+        ranking.add(entry);
+        categoryRanking.add(entry);
+    }
+}
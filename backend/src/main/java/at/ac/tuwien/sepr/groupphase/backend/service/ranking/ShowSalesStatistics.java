@@ -0,0 +1,207 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.ranking;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory count of the bought tickets per show and the places per room, used to rank search results by
+ * popularity and remaining availability.
+ *
+ * <p>Tickets are counted once when the application started, after that {@link TicketSalesListener} adds every ticket
+ * bought or given back as soon as its transaction commits. Places are read again whenever rooms or shows change.
+ * Until the first count, every show counts as unsold and every room as of unknown size.</p>
+ *
+ * <p>Searches rank by a {@link Snapshot} of the counts that is taken at most once a minute, so every page requested
+ * within the same minute is cut from the same order and pages do not overlap while tickets are being sold.</p>
+ */
+@Component
+public class ShowSalesStatistics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShowSalesStatistics.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * The figures of one minute.
+     *
+     * @param takenAt         the minute the figures belong to
+     * @param soldPerShow     the bought tickets per show ID
+     * @param capacityPerRoom the places per room ID
+     */
+    public record Snapshot(LocalDateTime takenAt, Map<Long, Long> soldPerShow, Map<Long, Long> capacityPerRoom) {
+
+        /**
+         * Returns the number of bought tickets of a show.
+         *
+         * @param showId the ID of the show
+         * @return the tickets bought when the snapshot was taken
+         */
+        public long sold(Long showId) {
+            return soldPerShow.getOrDefault(showId, 0L);
+        }
+
+        /**
+         * Returns the number of places of a room, seats in a sector plus the capacity of its standing sectors.
+         *
+         * @param roomId the ID of the room
+         * @return the places when the snapshot was taken, 0 if unknown
+         */
+        public long capacity(Long roomId) {
+            return capacityPerRoom.getOrDefault(roomId, 0L);
+        }
+    }
+
+    private final TicketRepository ticketRepository;
+    private final RoomRepository roomRepository;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Long> soldPerShow = new ConcurrentHashMap<>();
+    // held from a ticket change until its transaction completed, so the first count sees either all or none of its tickets
+    private final ReadWriteLock counting = new ReentrantReadWriteLock();
+    private volatile boolean counted;
+    private volatile Map<Long, Long> capacityPerRoom = Map.of();
+    private volatile Snapshot snapshot;
+
+    public ShowSalesStatistics(TicketRepository ticketRepository, RoomRepository roomRepository, PlatformTransactionManager transactionManager, Clock clock) {
+        this.ticketRepository = ticketRepository;
+        this.roomRepository = roomRepository;
+        this.clock = clock;
+        // reads only committed figures, even when asked from within a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.snapshot = new Snapshot(LocalDateTime.MIN, Map.of(), Map.of());
+    }
+
+    /**
+     * Returns the figures of the current minute, taking them if this is the first request of the minute.
+     *
+     * @return the snapshot of the current minute
+     */
+    public Snapshot snapshot() {
+        LocalDateTime minute = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MINUTES);
+        Snapshot current = snapshot;
+        if (current.takenAt().equals(minute)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!snapshot.takenAt().equals(minute)) {
+                snapshot = new Snapshot(minute, Map.copyOf(soldPerShow), capacityPerRoom);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Counts the bought tickets and the places once the application started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // waits for a moment without ticket changes in flight instead of queueing, so new changes never wait behind
+        // the count while their transaction may hold a lock that a change in flight is waiting for
+        while (!counting.writeLock().tryLock()) {
+            LockSupport.parkNanos(POLL_INTERVAL.toNanos());
+        }
+        try {
+            List<Object[]> rows = transactionTemplate.execute(status -> ticketRepository.countBoughtPerShow());
+            soldPerShow.clear();
+            sum(soldPerShow, rows);
+            counted = true;
+        } finally {
+            counting.writeLock().unlock();
+        }
+        refreshCapacity();
+        LOGGER.debug("Counted sales of {} shows", soldPerShow.size());
+    }
+
+    /**
+     * Reads the places again once a change to rooms or shows is committed, a new show may be in a room not seen yet.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onResultsChanged(SearchResultsChangedEvent event) {
+        if (event.types().contains(SearchDocument.Type.SHOW)) {
+            refreshCapacity();
+        }
+    }
+
+    /**
+     * Counts tickets of a show being bought or given back once the surrounding transaction commits.
+     *
+     * @param showId the show of the ticket
+     * @param delta  +1 if a ticket was bought, -1 if a bought ticket was given back
+     */
+    void count(Long showId, int delta) {
+        counting.readLock().lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                add(showId, delta);
+            } finally {
+                counting.readLock().unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        add(showId, delta);
+                    }
+                } finally {
+                    counting.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void add(Long showId, int delta) {
+        // tickets committed before the first count are part of it
+        if (counted) {
+            soldPerShow.merge(showId, (long) delta, Long::sum);
+        }
+    }
+
+    private void refreshCapacity() {
+        capacityPerRoom = transactionTemplate.execute(status -> {
+            Map<Long, Long> capacity = new HashMap<>();
+            sum(capacity, roomRepository.countSeatsPerRoom());
+            sum(capacity, roomRepository.sumStandingCapacityPerRoom());
+            return Map.copyOf(capacity);
+        });
+        LOGGER.debug("Read places of {} rooms", capacityPerRoom.size());
+    }
+
+    private static void sum(Map<Long, Long> totals, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            totals.merge((Long) row[0], ((Number) row[1]).longValue(), Long::sum);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.ranking;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import static at.ac.tuwien.sepr.groupphase.backend.util.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener counting tickets being bought or given back in the {@link EventSalesLeaderboard} and the
+ * {@link ShowSalesStatistics}. The event is taken when the ticket is flushed and the change counted once the
+ * surrounding transaction committed, so rolled back sales are never counted.
+ */
+@Component
+public class TicketSalesListener {
+
+    private final ObjectProvider<EventSalesLeaderboard> leaderboard;
+    private final ObjectProvider<ShowSalesStatistics> statistics;
+
+    public TicketSalesListener(ObjectProvider<EventSalesLeaderboard> leaderboard, ObjectProvider<ShowSalesStatistics> statistics) {
+        this.leaderboard = leaderboard;
+        this.statistics = statistics;
+    }
+
+    @PostPersist
+    public void afterPersist(Ticket ticket) {
+        onChange(ticket, false, isBought(ticket.getStatus()));
+    }
+
+    @PostUpdate
+    public void afterUpdate(Ticket ticket) {
+        onChange(ticket, isBought(ticket.getPersistedStatus()), isBought(ticket.getStatus()));
+    }
+
+    @PostRemove
+    public void afterRemove(Ticket ticket) {
+        onChange(ticket, isBought(ticket.getPersistedStatus()), false);
+    }
+
+    private void onChange(Ticket ticket, boolean wasBought, boolean isBought) {
+        if (wasBought == isBought || ticket.getShow() == null) {
+            return;
+        }
+
+        int delta = isBought ? 1 : -1;
+        statistics.getObject().count(ticket.getShow().getId(), delta);
+        Event event = ticket.getShow().getEvent();
+        if (event == null) {
+            return;
+        }
+        EventSales change = new EventSales(event.getId(), event.getName(), event.getDateTime(), event.getCategory(), delta);
+        EventSalesLeaderboard sales = leaderboard.getObject();
+        afterCommit(() -> sales.committed(change));
+    }
+
+    private static boolean isBought(TicketStatus status) {
+        return status == TicketStatus.BOUGHT;
+    }
+}
@@ -0,0 +1,124 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The attributes of an entity that the {@link FacetIndex} filters and counts search results by.
+ * Related entities are referenced by ID, so changing a location or room is picked up by all events and shows using it.
+ */
+public sealed interface FacetDocument {
+
+    /**
+     * The ID of the entity.
+     *
+     * @return the ID
+     */
+    Long id();
+
+    /**
+     * The facet attributes of an event.
+     *
+     * @param id         the ID of the event
+     * @param category   the category
+     * @param locationId the ID of the location
+     * @param dateTime   the start of the event
+     * @param duration   the duration in minutes
+     */
+    record EventFacts(Long id, Event.EventCategory category, Long locationId, LocalDateTime dateTime, int duration) implements FacetDocument {
+    }
+
+    /**
+     * The facet attributes of a show.
+     *
+     * @param id      the ID of the show
+     * @param eventId the ID of the event
+     * @param roomId  the ID of the room
+     * @param date    the start of the show
+     * @param prices  the distinct prices of the sectors, empty if the show has no prices
+     */
+    record ShowFacts(Long id, Long eventId, Long roomId, LocalDateTime date, NavigableSet<Integer> prices) implements FacetDocument {
+
+        public ShowFacts {
+            prices = Collections.unmodifiableNavigableSet(prices != null ? new TreeSet<>(prices) : new TreeSet<>());
+        }
+
+        /**
+         * Returns the price of the cheapest sector.
+         *
+         * @return the lowest price, null if the show has no prices
+         */
+        public Integer minPrice() {
+            return prices.isEmpty() ? null : prices.first();
+        }
+
+        /**
+         * Returns the price of the most expensive sector.
+         *
+         * @return the highest price, null if the show has no prices
+         */
+        public Integer maxPrice() {
+            return prices.isEmpty() ? null : prices.last();
+        }
+
+        /**
+         * Returns whether a sector price lies in the given range (inclusive).
+         *
+         * @param min the lowest price, null for no lower bound
+         * @param max the highest price, null for no upper bound
+         * @return true if some sector costs between min and max
+         */
+        public boolean hasPriceBetween(BigDecimal min, BigDecimal max) {
+            return prices.stream().map(BigDecimal::valueOf)
+                .anyMatch(price -> (min == null || price.compareTo(min) >= 0) && (max == null || price.compareTo(max) <= 0));
+        }
+    }
+
+    /**
+     * The facet attributes of an event location.
+     *
+     * @param id   the ID of the location
+     * @param city the city
+     */
+    record LocationFacts(Long id, String city) implements FacetDocument {
+    }
+
+    /**
+     * The facet attributes of a room.
+     *
+     * @param id   the ID of the room
+     * @param name the name
+     */
+    record RoomFacts(Long id, String name) implements FacetDocument {
+    }
+
+    /**
+     * Returns the facet attributes of an entity.
+     *
+     * @param entity any entity
+     * @return the attributes, or null if search results are not counted by the entity
+     */
+    static FacetDocument of(Object entity) {
+        return switch (entity) {
+            case Event event -> new EventFacts(event.getId(), event.getCategory(), idOf(event.getLocation()), event.getDateTime(), event.getDuration());
+            case Show show -> new ShowFacts(show.getId(), show.getEvent() != null ? show.getEvent().getId() : null,
+                show.getRoom() != null ? show.getRoom().getId() : null, show.getDate(),
+                show.getPriceHistogram() != null ? new TreeSet<>(show.getPriceHistogram().keySet()) : null);
+            case EventLocation location -> new LocationFacts(location.getId(), location.getCity());
+            case Room room -> new RoomFacts(room.getId(), room.getName());
+            default -> null;
+        };
+    }
+
+    private static Long idOf(EventLocation location) {
+        return location != null ? location.getId() : null;
+    }
+}
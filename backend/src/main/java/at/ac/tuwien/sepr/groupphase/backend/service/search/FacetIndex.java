@@ -0,0 +1,344 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory copy of the attributes events and shows are filtered and counted by, answering which events and shows
+ * match a search and how many of them fall into each category, city, price range and month without querying the database.
+ *
+ * <p>Matching applies the same criteria as the database would: text criteria are passed in as the IDs the
+ * {@link SearchIndex} matched, all other criteria are checked against the stored {@link FacetDocument}s.
+ * The counts cover all results of a search, not just the requested page.</p>
+ *
+ * <p>The index is built once the application started and kept up to date by {@link SearchIndexListener}
+ * whenever an event, show, location or room is committed or removed, changes committed while it is built are applied
+ * afterwards. Until it is built, {@link #isReady()} is false.</p>
+ */
+@Component
+public class FacetIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FacetIndex.class);
+
+    /**
+     * Lower bounds of the price ranges in euros. A price falls into the last range whose bound it reaches.
+     */
+    private static final int[] PRICE_BOUNDS = {0, 20, 50, 100, 200};
+
+    private static final Comparator<Map.Entry<String, Long>> MOST_FIRST = Map.Entry.<String, Long>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey());
+
+    /**
+     * The number of results per value of each facet.
+     *
+     * @param categories  results per event category, most first
+     * @param cities      results per city of the event location, most first
+     * @param priceRanges results per price range, cheapest range first
+     * @param months      results per month the event or show takes place in, earliest first
+     */
+    public record Facets(Map<String, Long> categories, Map<String, Long> cities, Map<String, Long> priceRanges, Map<String, Long> months) {
+    }
+
+    private final EventRepository eventRepository;
+    private final ShowRepository showRepository;
+    private final EventLocationRepository eventLocationRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, FacetDocument.EventFacts> events = new HashMap<>();
+    private final Map<Long, FacetDocument.ShowFacts> shows = new HashMap<>();
+    private final Map<Long, FacetDocument.LocationFacts> locations = new HashMap<>();
+    private final Map<Long, FacetDocument.RoomFacts> rooms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexUpdates updates = new PendingIndexUpdates();
+    private volatile boolean ready;
+
+    public FacetIndex(EventRepository eventRepository, ShowRepository showRepository, EventLocationRepository eventLocationRepository,
+                      RoomRepository roomRepository, PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.showRepository = showRepository;
+        this.eventLocationRepository = eventLocationRepository;
+        this.roomRepository = roomRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns whether the index has been built and can count results.
+     *
+     * @return true once the index is built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Adds all events, shows, locations and rooms once the application started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<FacetDocument> documents = transactionTemplate.execute(status -> {
+            List<FacetDocument> loaded = new ArrayList<>();
+            eventLocationRepository.findAll().forEach(location -> loaded.add(FacetDocument.of(location)));
+            roomRepository.findAll().forEach(room -> loaded.add(FacetDocument.of(room)));
+            eventRepository.findAll().forEach(event -> loaded.add(FacetDocument.of(event)));
+            showRepository.findAll().forEach(show -> loaded.add(FacetDocument.of(show)));
+            return loaded;
+        });
+        documents.forEach(this::store);
+        updates.replay();
+        ready = true;
+        LOGGER.info("Indexed facets of {} entities", documents.size());
+    }
+
+    /**
+     * Adds the attributes of an entity, replacing its previous ones.
+     *
+     * @param document the attributes
+     */
+    public void put(FacetDocument document) {
+        updates.submit(() -> store(document));
+    }
+
+    /**
+     * Removes the attributes of an entity.
+     *
+     * @param document the attributes of the removed entity, only its kind and ID are used
+     */
+    public void remove(FacetDocument document) {
+        updates.submit(() -> drop(document));
+    }
+
+    private void store(FacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            switch (document) {
+                case FacetDocument.EventFacts event -> events.put(event.id(), event);
+                case FacetDocument.ShowFacts show -> shows.put(show.id(), show);
+                case FacetDocument.LocationFacts location -> locations.put(location.id(), location);
+                case FacetDocument.RoomFacts room -> rooms.put(room.id(), room);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void drop(FacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            switch (document) {
+                case FacetDocument.EventFacts event -> events.remove(event.id());
+                case FacetDocument.ShowFacts show -> shows.remove(show.id());
+                case FacetDocument.LocationFacts location -> locations.remove(location.id());
+                case FacetDocument.RoomFacts room -> rooms.remove(room.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events matching an event search.
+     *
+     * @param textMatches the events matching the text criteria, null if there are none
+     * @param category    part of the category name, null for any
+     * @param duration    the wanted duration in minutes, matching events up to 30 minutes shorter or longer, null for any
+     * @return the matching events, in no particular order
+     */
+    public List<FacetDocument.EventFacts> matchingEvents(Set<Long> textMatches, String category, Integer duration) {
+        String categoryPart = lowerOrNull(category);
+        List<FacetDocument.EventFacts> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (FacetDocument.EventFacts event : events.values()) {
+                if ((textMatches == null || textMatches.contains(event.id()))
+                    && (categoryPart == null || contains(event.category() != null ? event.category().name() : null, categoryPart))
+                    && (duration == null || Math.abs(event.duration() - duration) <= 30)) {
+                    matches.add(event);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the shows matching a show search.
+     *
+     * @param showTextMatches  the shows matching the text criteria on the show, null if there are none
+     * @param eventTextMatches the events matching the text criteria on the event, null if there are none
+     * @param startDate        the earliest date, inclusive, null for any
+     * @param endDate          the latest date, inclusive, null for any
+     * @param roomName         part of the room name, null for any
+     * @param minPrice         the lowest price a sector may cost, null for any
+     * @param maxPrice         the highest price a sector may cost, null for any
+     * @return the matching shows, in no particular order
+     */
+    public List<FacetDocument.ShowFacts> matchingShows(Set<Long> showTextMatches, Set<Long> eventTextMatches, LocalDateTime startDate,
+                                                       LocalDateTime endDate, String roomName, BigDecimal minPrice, BigDecimal maxPrice) {
+        String roomPart = lowerOrNull(roomName);
+        List<FacetDocument.ShowFacts> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (FacetDocument.ShowFacts show : shows.values()) {
+                if ((showTextMatches == null || showTextMatches.contains(show.id()))
+                    && (eventTextMatches == null || eventTextMatches.contains(show.eventId()))
+                    && (startDate == null || show.date() != null && !show.date().isBefore(startDate))
+                    && (endDate == null || show.date() != null && !show.date().isAfter(endDate))
+                    && (roomPart == null || contains(roomNameOf(show), roomPart))
+                    && (minPrice == null && maxPrice == null || show.hasPriceBetween(minPrice, maxPrice))) {
+                    matches.add(show);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    /**
+     * Counts events per facet value. The price of an event is the cheapest price of its shows.
+     *
+     * @param matches the events found by {@link #matchingEvents(Set, String, Integer)}
+     * @return the counts
+     */
+    public Facets countEvents(Collection<FacetDocument.EventFacts> matches) {
+        Counter counter = new Counter();
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> cheapest = new HashMap<>();
+            for (FacetDocument.ShowFacts show : shows.values()) {
+                if (show.eventId() != null && show.minPrice() != null) {
+                    cheapest.merge(show.eventId(), show.minPrice(), Math::min);
+                }
+            }
+            for (FacetDocument.EventFacts event : matches) {
+                counter.count(event, cheapest.get(event.id()), event.dateTime());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counter.facets();
+    }
+
+    /**
+     * Counts shows per facet value. Category and city are those of the event of a show.
+     *
+     * @param matches the shows found by {@link #matchingShows(Set, Set, LocalDateTime, LocalDateTime, String, BigDecimal, BigDecimal)}
+     * @return the counts
+     */
+    public Facets countShows(Collection<FacetDocument.ShowFacts> matches) {
+        Counter counter = new Counter();
+        lock.readLock().lock();
+        try {
+            for (FacetDocument.ShowFacts show : matches) {
+                counter.count(events.get(show.eventId()), show.minPrice(), show.date());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counter.facets();
+    }
+
+    private String roomNameOf(FacetDocument.ShowFacts show) {
+        FacetDocument.RoomFacts room = show.roomId() != null ? rooms.get(show.roomId()) : null;
+        return room != null ? room.name() : null;
+    }
+
+    private static String lowerOrNull(String text) {
+        return text == null || text.isBlank() ? null : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String text, String lowerPart) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerPart);
+    }
+
+    /**
+     * Returns the label of the price range a price falls into, e.g. {@code 20-50} or {@code 200+}.
+     *
+     * @param price the price in euros
+     * @return the label of the range
+     */
+    static String priceRange(int price) {
+        return rangeLabel(rangeIndex(price));
+    }
+
+    private static int rangeIndex(int price) {
+        int index = 0;
+        while (index + 1 < PRICE_BOUNDS.length && price >= PRICE_BOUNDS[index + 1]) {
+            index++;
+        }
+        return index;
+    }
+
+    private static String rangeLabel(int index) {
+        return index == PRICE_BOUNDS.length - 1 ? PRICE_BOUNDS[index] + "+" : PRICE_BOUNDS[index] + "-" + PRICE_BOUNDS[index + 1];
+    }
+
+    /**
+     * Adds up the facet values of the matching results. Only used while holding the read lock.
+     */
+    private final class Counter {
+        private final Map<String, Long> categories = new HashMap<>();
+        private final Map<String, Long> cities = new HashMap<>();
+        private final Map<Integer, Long> priceRanges = new TreeMap<>();
+        private final Map<YearMonth, Long> months = new TreeMap<>();
+
+        void count(FacetDocument.EventFacts event, Integer price, LocalDateTime date) {
+            if (event != null && event.category() != null) {
+                categories.merge(event.category().name(), 1L, Long::sum);
+            }
+            FacetDocument.LocationFacts location = event != null && event.locationId() != null ? locations.get(event.locationId()) : null;
+            if (location != null && location.city() != null) {
+                cities.merge(location.city(), 1L, Long::sum);
+            }
+            if (price != null) {
+                priceRanges.merge(rangeIndex(price), 1L, Long::sum);
+            }
+            if (date != null) {
+                months.merge(YearMonth.from(date), 1L, Long::sum);
+            }
+        }
+
+        Facets facets() {
+            Map<String, Long> ranges = new LinkedHashMap<>();
+            priceRanges.forEach((index, count) -> ranges.put(rangeLabel(index), count));
+            Map<String, Long> byMonth = new LinkedHashMap<>();
+            months.forEach((month, count) -> byMonth.put(month.toString(), count));
+            return new Facets(mostFirst(categories), mostFirst(cities), ranges, byMonth);
+        }
+
+        private static Map<String, Long> mostFirst(Map<String, Long> counts) {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            List<Map.Entry<String, Long>> entries = counts.entrySet().stream().sorted(MOST_FIRST).toList();
+            entries.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+}
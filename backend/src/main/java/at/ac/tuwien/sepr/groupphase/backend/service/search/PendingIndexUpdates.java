@@ -0,0 +1,50 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds back the updates an in-memory index receives while it is loaded from the database and replays them afterwards.
+ *
+ * <p>The load reads whatever was committed when it ran, so an update committed in the meantime may or may not be part of
+ * it. Applying such an update before the loaded rows would let a stale row overwrite a newer version or bring back
+ * a removed entity. Replaying it after the load always leaves the latest version in the index.</p>
+ */
+public class PendingIndexUpdates {
+
+    private List<Runnable> pending = new ArrayList<>();
+
+    /**
+     * Applies the update right away once the index is loaded, otherwise queues it until {@link #replay()}.
+     *
+     * @param update the change to the index
+     */
+    public void submit(Runnable update) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(update);
+                return;
+            }
+        }
+        update.run();
+    }
+
+    /**
+     * Applies all queued updates in the order they were submitted, including those submitted while replaying,
+     * and lets further updates through. Called once the load finished.
+     */
+    public void replay() {
+        while (true) {
+            List<Runnable> updates;
+            synchronized (this) {
+                if (pending == null || pending.isEmpty()) {
+                    pending = null;
+                    return;
+                }
+                updates = pending;
+                pending = new ArrayList<>();
+            }
+            updates.forEach(Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * A search result to be ranked, with the signals a {@link RelevanceScorer} weighs.
+ *
+ * @param id        the ID of the show or event
+ * @param textScore how well the search text matched, 0 if no text was searched
+ * @param date      the start of the show or the next show of the event, null if unknown
+ * @param sold      the tickets bought
+ * @param capacity  the places available in total, 0 if unknown
+ */
+public record RelevanceCandidate(Long id, double textScore, LocalDateTime date, long sold, long capacity) {
+}
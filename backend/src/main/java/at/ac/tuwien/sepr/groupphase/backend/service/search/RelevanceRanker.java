@@ -0,0 +1,78 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Orders search results by the score of the configured {@link RelevanceScorer} and cuts out the requested page.
+ *
+ * <p>Only the results up to the end of the page are kept in order: a heap holding that many results, worst on top,
+ * replaces its worst result whenever a better one comes along. Ranking n results for the first pages therefore costs
+ * about n log(page end) instead of sorting all of them.</p>
+ */
+@Component
+public class RelevanceRanker {
+
+    private record Scored(Long id, double score) {
+    }
+
+    /**
+     * Higher score first, lower ID first among equal scores, so pages do not overlap.
+     */
+    private static final Comparator<Scored> BEST_FIRST = Comparator.comparingDouble(Scored::score).reversed().thenComparing(Scored::id);
+
+    private final RelevanceScorer scorer;
+
+    public RelevanceRanker(RelevanceScorer scorer) {
+        this.scorer = scorer;
+    }
+
+    /**
+     * Ranks candidates and returns the IDs on the requested page.
+     *
+     * @param candidates all results of the search
+     * @param now        the time the dates are scored against, the same for all pages of one order
+     * @param pageable   the requested page
+     * @return the IDs on the page, most relevant first
+     */
+    public List<Long> page(List<RelevanceCandidate> candidates, LocalDateTime now, Pageable pageable) {
+        if (pageable.getOffset() >= candidates.size()) {
+            return List.of();
+        }
+        final int offset = (int) pageable.getOffset();
+        int limit = (int) Math.min(candidates.size(), pageable.getOffset() + pageable.getPageSize());
+
+        double bestTextScore = 0;
+        long mostSold = 0;
+        for (RelevanceCandidate candidate : candidates) {
+            bestTextScore = Math.max(bestTextScore, candidate.textScore());
+            mostSold = Math.max(mostSold, candidate.sold());
+        }
+        RelevanceScorer.Context context = new RelevanceScorer.Context(bestTextScore, mostSold, now);
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit, BEST_FIRST.reversed());
+        for (RelevanceCandidate candidate : candidates) {
+            Scored scored = new Scored(candidate.id(), scorer.score(candidate, context));
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (BEST_FIRST.compare(scored, best.peek()) < 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(limit);
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().id());
+        }
+        Collections.reverse(ranked);
+        return ranked.subList(offset, ranked.size());
+    }
+}
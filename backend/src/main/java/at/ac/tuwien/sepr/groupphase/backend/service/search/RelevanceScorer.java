@@ -0,0 +1,28 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scores how relevant a search result is, so the {@link RelevanceRanker} can order results by it.
+ */
+public interface RelevanceScorer {
+
+    /**
+     * Figures of all candidates of one search, so signals can be scaled relative to the best result.
+     *
+     * @param bestTextScore the highest text score of all candidates
+     * @param mostSold      the most tickets bought of all candidates
+     * @param now           the time of the search
+     */
+    record Context(double bestTextScore, long mostSold, LocalDateTime now) {
+    }
+
+    /**
+     * Scores a candidate.
+     *
+     * @param candidate the candidate
+     * @param context   the figures of all candidates of the search
+     * @return the relevance, higher is better
+     */
+    double score(RelevanceCandidate candidate, Context context);
+}
@@ -0,0 +1,76 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Artist;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The searchable text of one entity.
+ *
+ * @param type   the kind of entity
+ * @param id     the ID of the entity
+ * @param fields the text of each searchable field, fields without text are left out
+ */
+public record SearchDocument(Type type, Long id, Map<String, String> fields) {
+
+    public enum Type {
+        EVENT,
+        SHOW,
+        ARTIST,
+        LOCATION
+    }
+
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String FIRSTNAME = "firstname";
+    public static final String LASTNAME = "lastname";
+    public static final String STAGENAME = "stagename";
+    public static final String STREET = "street";
+    public static final String CITY = "city";
+
+    public static SearchDocument of(Event event) {
+        return create(Type.EVENT, event.getId(), NAME, event.getName(), DESCRIPTION, event.getDescription());
+    }
+
+    public static SearchDocument of(Show show) {
+        return create(Type.SHOW, show.getId(), NAME, show.getName());
+    }
+
+    public static SearchDocument of(Artist artist) {
+        return create(Type.ARTIST, artist.getId(), FIRSTNAME, artist.getFirstname(), LASTNAME, artist.getLastname(), STAGENAME, artist.getStagename());
+    }
+
+    public static SearchDocument of(EventLocation location) {
+        return create(Type.LOCATION, location.getId(), NAME, location.getName(), STREET, location.getStreet(), CITY, location.getCity());
+    }
+
+    /**
+     * Returns the document of a searchable entity.
+     *
+     * @param entity any entity
+     * @return the document, or null if the entity is not searchable
+     */
+    public static SearchDocument of(Object entity) {
+        return switch (entity) {
+            case Event event -> of(event);
+            case Show show -> of(show);
+            case Artist artist -> of(artist);
+            case EventLocation location -> of(location);
+            default -> null;
+        };
+    }
+
+    private static SearchDocument create(Type type, Long id, String... namesAndValues) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (namesAndValues[i + 1] != null && !namesAndValues[i + 1].isBlank()) {
+                fields.put(namesAndValues[i], namesAndValues[i + 1]);
+            }
+        }
+        return new SearchDocument(type, id, fields);
+    }
+}
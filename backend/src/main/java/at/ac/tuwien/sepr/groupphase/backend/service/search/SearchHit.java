@@ -0,0 +1,10 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+/**
+ * An entity matching a search, with how well it matched.
+ *
+ * @param id    the ID of the entity
+ * @param score the relevance, higher is better
+ */
+public record SearchHit(Long id, double score) {
+}
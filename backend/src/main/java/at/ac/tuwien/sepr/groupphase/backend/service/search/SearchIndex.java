@@ -0,0 +1,273 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the searchable text of events, shows, artists and locations.
+ *
+ * <p>Every field of every entity type maps its words, as produced by {@link SearchTokenizer}, to the entities containing them.
+ * Words are kept sorted, so a search word matches whole words as well as words it is the beginning of, and a lookup costs
+ * the number of matching words instead of the number of entities. Hits are ranked by how rare the matched words are,
+ * whole words counting more than prefixes.</p>
+ *
+ * <p>The index is built once the application started and kept up to date by {@link SearchIndexListener}
+ * whenever one of the entities is committed or removed. Changes committed while it is built are applied afterwards,
+ * see {@link PendingIndexUpdates}. Until it is built, {@link #isReady()} is false and callers are expected to search
+ * the database instead.</p>
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndex.class);
+
+    /**
+     * Weight of a search word matching only the beginning of a word, relative to matching the whole word.
+     */
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+        .thenComparing(SearchHit::id);
+
+    private final ArtistRepository artistRepository;
+    private final EventRepository eventRepository;
+    private final ShowRepository showRepository;
+    private final EventLocationRepository eventLocationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SearchDocument.Type, TypeIndex> indexes = new EnumMap<>(SearchDocument.Type.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexUpdates updates = new PendingIndexUpdates();
+    private volatile boolean ready;
+
+    /**
+     * The documents of one entity type. Words map to the entities containing them and how often they do.
+     */
+    private static final class TypeIndex {
+        private final Map<Long, SearchDocument> documents = new HashMap<>();
+        private final Map<String, NavigableMap<String, Map<Long, Integer>>> words = new HashMap<>();
+    }
+
+    public SearchIndex(ArtistRepository artistRepository, EventRepository eventRepository, ShowRepository showRepository,
+                       EventLocationRepository eventLocationRepository, PlatformTransactionManager transactionManager) {
+        this.artistRepository = artistRepository;
+        this.eventRepository = eventRepository;
+        this.showRepository = showRepository;
+        this.eventLocationRepository = eventLocationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        for (SearchDocument.Type type : SearchDocument.Type.values()) {
+            indexes.put(type, new TypeIndex());
+        }
+    }
+
+    /**
+     * Returns whether the index has been built and can answer searches.
+     *
+     * @return true once the index is built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes all searchable entities once the application started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<SearchDocument> documents = transactionTemplate.execute(status -> {
+            List<SearchDocument> loaded = new ArrayList<>();
+            artistRepository.findAll().forEach(artist -> loaded.add(SearchDocument.of(artist)));
+            eventRepository.findAll().forEach(event -> loaded.add(SearchDocument.of(event)));
+            showRepository.findAll().forEach(show -> loaded.add(SearchDocument.of(show)));
+            eventLocationRepository.findAll().forEach(location -> loaded.add(SearchDocument.of(location)));
+            return loaded;
+        });
+        documents.forEach(this::store);
+        updates.replay();
+        ready = true;
+        LOGGER.info("Indexed {} documents for search", documents.size());
+    }
+
+    /**
+     * Adds a document, replacing the previous version of the same entity.
+     *
+     * @param document the document
+     */
+    public void put(SearchDocument document) {
+        updates.submit(() -> store(document));
+    }
+
+    /**
+     * Removes the document of an entity.
+     *
+     * @param type the kind of entity
+     * @param id   the ID of the entity
+     */
+    public void remove(SearchDocument.Type type, Long id) {
+        updates.submit(() -> drop(type, id));
+    }
+
+    private void store(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            TypeIndex index = indexes.get(document.type());
+            unindex(index, index.documents.put(document.id(), document));
+            document.fields().forEach((field, text) -> {
+                NavigableMap<String, Map<Long, Integer>> fieldWords = index.words.computeIfAbsent(field, f -> new TreeMap<>());
+                for (String word : SearchTokenizer.tokenize(text)) {
+                    fieldWords.computeIfAbsent(word, w -> new HashMap<>()).merge(document.id(), 1, Integer::sum);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void drop(SearchDocument.Type type, Long id) {
+        lock.writeLock().lock();
+        try {
+            TypeIndex index = indexes.get(type);
+            unindex(index, index.documents.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the entities of a type matching all given field queries. Every word of a query has to match the beginning
+     * of a word in its field. Blank queries are ignored.
+     *
+     * @param type    the kind of entity
+     * @param queries the text to look for per field
+     * @return the matching entities, best match first
+     */
+    public List<SearchHit> search(SearchDocument.Type type, Map<String, String> queries) {
+        lock.readLock().lock();
+        try {
+            TypeIndex index = indexes.get(type);
+            Map<Long, Double> scores = null;
+            for (Map.Entry<String, String> query : queries.entrySet()) {
+                for (String word : SearchTokenizer.tokenize(query.getValue())) {
+                    Map<Long, Double> wordScores = match(index, query.getKey(), word);
+                    scores = scores == null ? wordScores : intersect(scores, wordScores);
+                    if (scores.isEmpty()) {
+                        return List.of();
+                    }
+                }
+            }
+            if (scores == null) {
+                return List.of();
+            }
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> hits.add(new SearchHit(id, score)));
+            hits.sort(RANKING);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best matching entities of every type for one query. The query is split into words once,
+     * and every word has to match the beginning of a word in any field of an entity.
+     *
+     * @param query the text to look for
+     * @param limit the maximum number of hits per type
+     * @return the matching entities per type, best match first
+     */
+    public Map<SearchDocument.Type, List<SearchHit>> searchAll(String query, int limit) {
+        List<String> queryWords = SearchTokenizer.tokenize(query);
+        Map<SearchDocument.Type, List<SearchHit>> results = new EnumMap<>(SearchDocument.Type.class);
+        lock.readLock().lock();
+        try {
+            indexes.forEach((type, index) -> results.put(type, queryWords.isEmpty() ? List.of() : matchAnyField(index, queryWords, limit)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private static List<SearchHit> matchAnyField(TypeIndex index, List<String> queryWords, int limit) {
+        Map<Long, Double> scores = null;
+        for (String word : queryWords) {
+            Map<Long, Double> wordScores = new HashMap<>();
+            for (String field : index.words.keySet()) {
+                match(index, field, word).forEach((id, score) -> wordScores.merge(id, score, Math::max));
+            }
+            scores = scores == null ? wordScores : intersect(scores, wordScores);
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> hits.add(new SearchHit(id, score)));
+        hits.sort(RANKING);
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Scores the entities having a word in the field that starts with the given word.
+     * Rare words score higher than common ones, repeated words a little higher than single ones.
+     */
+    private static Map<Long, Double> match(TypeIndex index, String field, String word) {
+        Map<Long, Double> scores = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> fieldWords = index.words.get(field);
+        if (fieldWords == null) {
+            return scores;
+        }
+        int documents = index.documents.size();
+        for (Map.Entry<String, Map<Long, Integer>> entry : fieldWords.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+            double weight = entry.getKey().equals(word) ? 1.0 : PREFIX_WEIGHT;
+            double rarity = Math.log(1.0 + (double) documents / entry.getValue().size());
+            entry.getValue().forEach((id, count) -> scores.merge(id, weight * rarity * (1.0 + Math.log(count)), Math::max));
+        }
+        return scores;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> scores, Map<Long, Double> wordScores) {
+        Map<Long, Double> both = new HashMap<>();
+        scores.forEach((id, score) -> {
+            Double wordScore = wordScores.get(id);
+            if (wordScore != null) {
+                both.put(id, score + wordScore);
+            }
+        });
+        return both;
+    }
+
+    private static void unindex(TypeIndex index, SearchDocument document) {
+        if (document == null) {
+            return;
+        }
+        document.fields().forEach((field, text) -> {
+            NavigableMap<String, Map<Long, Integer>> fieldWords = index.words.get(field);
+            for (String word : SearchTokenizer.tokenize(text)) {
+                Map<Long, Integer> ids = fieldWords.get(word);
+                if (ids != null && ids.remove(document.id()) != null && ids.isEmpty()) {
+                    fieldWords.remove(word);
+                }
+            }
+        });
+    }
+}
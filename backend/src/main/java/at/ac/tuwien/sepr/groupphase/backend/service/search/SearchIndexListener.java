@@ -0,0 +1,72 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.LocationGeoIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import static at.ac.tuwien.sepr.groupphase.backend.util.TransactionCallbacks.afterCommit;
+
+/**
+ * JPA entity listener keeping the in-memory search indexes in sync with the entities they cover: the {@link SearchIndex}
+ * and the {@link SuggestionIndex} with searchable text, the {@link FacetIndex} with the attributes results are counted by
+ * and the {@link LocationGeoIndex} with the coordinates of event locations.
+ * The values are taken when the entity is flushed and indexed once the transaction committed,
+ * so searches never find changes that were rolled back. Does nothing in contexts without the indexes, e.g. repository tests.
+ */
+@Component
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndex> searchIndex;
+    private final ObjectProvider<SuggestionIndex> suggestionIndex;
+    private final ObjectProvider<LocationGeoIndex> locationGeoIndex;
+    private final ObjectProvider<FacetIndex> facetIndex;
+
+    public SearchIndexListener(ObjectProvider<SearchIndex> searchIndex, ObjectProvider<SuggestionIndex> suggestionIndex,
+                               ObjectProvider<LocationGeoIndex> locationGeoIndex, ObjectProvider<FacetIndex> facetIndex) {
+        this.searchIndex = searchIndex;
+        this.suggestionIndex = suggestionIndex;
+        this.locationGeoIndex = locationGeoIndex;
+        this.facetIndex = facetIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterWrite(Object entity) {
+        SearchDocument document = SearchDocument.of(entity);
+        if (document != null) {
+            searchIndex.ifAvailable(index -> afterCommit(() -> index.put(document)));
+            suggestionIndex.ifAvailable(index -> afterCommit(() -> index.put(document)));
+        }
+        FacetDocument facts = FacetDocument.of(entity);
+        if (facts != null) {
+            facetIndex.ifAvailable(index -> afterCommit(() -> index.put(facts)));
+        }
+        if (entity instanceof EventLocation location) {
+            GeoPoint point = location.getLatitude() != null && location.getLongitude() != null
+                ? new GeoPoint(location.getLatitude(), location.getLongitude())
+                : null;
+            locationGeoIndex.ifAvailable(index -> afterCommit(() -> index.put(location.getId(), point)));
+        }
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        SearchDocument document = SearchDocument.of(entity);
+        if (document != null) {
+            searchIndex.ifAvailable(index -> afterCommit(() -> index.remove(document.type(), document.id())));
+            suggestionIndex.ifAvailable(index -> afterCommit(() -> index.remove(document.type(), document.id())));
+        }
+        FacetDocument facts = FacetDocument.of(entity);
+        if (facts != null) {
+            facetIndex.ifAvailable(index -> afterCommit(() -> index.remove(facts)));
+        }
+        if (entity instanceof EventLocation location) {
+            locationGeoIndex.ifAvailable(index -> afterCommit(() -> index.remove(location.getId())));
+        }
+    }
+}
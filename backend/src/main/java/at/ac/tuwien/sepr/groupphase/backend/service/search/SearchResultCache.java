@@ -0,0 +1,120 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches pages of artist, event and show search results, keyed by the normalized search criteria including the page.
+ *
+ * <p>Each entity type has its own cache, bounded by the total number of results it holds rather than the number of pages,
+ * so a few large pages cannot crowd out memory. Results are dropped when a {@link SearchResultsChangedEvent} names their
+ * type, once the change is committed and the {@link SearchIndex} has caught up with it. A search that was running while
+ * the results were dropped does not put its possibly outdated page into the cache. Entries also expire after a while,
+ * as a safety net for changes made without publishing an event.</p>
+ *
+ * <p>Hits, misses, evictions and the size of every cache are reported as {@code cache.*} metrics tagged with
+ * {@code cache=search.artist}, {@code search.event} and {@code search.show}.</p>
+ */
+@Component
+public class SearchResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private static final List<SearchDocument.Type> CACHED_TYPES = List.of(SearchDocument.Type.ARTIST, SearchDocument.Type.EVENT, SearchDocument.Type.SHOW);
+
+    private final Map<SearchDocument.Type, Cache<Object, Page<?>>> caches = new EnumMap<>(SearchDocument.Type.class);
+    private final Map<SearchDocument.Type, AtomicLong> generations = new EnumMap<>(SearchDocument.Type.class);
+
+    public SearchResultCache(@Value("${search.result-cache.maximum-results:20000}") long maximumResults,
+                             @Value("${search.result-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                             MeterRegistry meterRegistry) {
+        for (SearchDocument.Type type : CACHED_TYPES) {
+            Cache<Object, Page<?>> cache = Caffeine.newBuilder()
+                .maximumWeight(maximumResults)
+                .weigher((Object query, Page<?> page) -> page.getNumberOfElements() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "search." + type.name().toLowerCase(Locale.ROOT));
+            caches.put(type, cache);
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached page for the given criteria, or runs the search and caches its page.
+     * The criteria have to be normalized and implement {@code equals} and {@code hashCode}.
+     *
+     * @param type   the kind of entity searched
+     * @param query  the normalized criteria including the page
+     * @param search runs the search if the page is not cached
+     * @param <P>    the type of the page
+     * @return the page of results
+     */
+    @SuppressWarnings("unchecked")
+    public <P extends Page<?>> P get(SearchDocument.Type type, Object query, Supplier<P> search) {
+        Cache<Object, Page<?>> cache = cache(type);
+        Page<?> cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return (P) cached;
+        }
+
+        AtomicLong generation = generations.get(type);
+        long before = generation.get();
+        P page = search.get();
+        cache.put(query, page);
+        // the results were dropped while searching, so the page may be outdated
+        if (generation.get() != before) {
+            cache.invalidate(query);
+        }
+        return page;
+    }
+
+    /**
+     * Drops all cached results of the given entity type.
+     *
+     * @param type the kind of entity
+     */
+    public void invalidate(SearchDocument.Type type) {
+        Cache<Object, Page<?>> cache = cache(type);
+        generations.get(type).incrementAndGet();
+        cache.invalidateAll();
+        LOGGER.debug("Dropped cached {} search results", type);
+    }
+
+    /**
+     * Drops the cached results of the types named by the event. Runs after the transaction completed, so the
+     * index updated on commit is searched again; a rolled back change only drops results needlessly.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onResultsChanged(SearchResultsChangedEvent event) {
+        event.types().stream().filter(caches::containsKey).forEach(this::invalidate);
+    }
+
+    private Cache<Object, Page<?>> cache(SearchDocument.Type type) {
+        Cache<Object, Page<?>> cache = caches.get(type);
+        if (cache == null) {
+            throw new IllegalArgumentException("Search results of type " + type + " are not cached");
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,57 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import java.util.Set;
+
+/**
+ * Published when data changed that search results of the given entity types are built from.
+ * The {@link SearchResultCache} drops the cached results of these types once the change is committed.
+ *
+ * @param types the entity types whose search results may have changed
+ */
+public record SearchResultsChangedEvent(Set<SearchDocument.Type> types) {
+
+    /**
+     * An artist was created or changed.
+     *
+     * @return the event
+     */
+    public static SearchResultsChangedEvent artistChanged() {
+        return new SearchResultsChangedEvent(Set.of(SearchDocument.Type.ARTIST));
+    }
+
+    /**
+     * An event was created or changed. Shows are searched by the name of their event, so their results are affected too.
+     *
+     * @return the event
+     */
+    public static SearchResultsChangedEvent eventChanged() {
+        return new SearchResultsChangedEvent(Set.of(SearchDocument.Type.EVENT, SearchDocument.Type.SHOW));
+    }
+
+    /**
+     * A show was created or changed. Events are counted by the prices of their shows, so their results are affected too.
+     *
+     * @return the event
+     */
+    public static SearchResultsChangedEvent showChanged() {
+        return new SearchResultsChangedEvent(Set.of(SearchDocument.Type.EVENT, SearchDocument.Type.SHOW));
+    }
+
+    /**
+     * A room was changed. Shows are searched by the name and the prices of their room, and events counted by these prices.
+     *
+     * @return the event
+     */
+    public static SearchResultsChangedEvent roomChanged() {
+        return new SearchResultsChangedEvent(Set.of(SearchDocument.Type.EVENT, SearchDocument.Type.SHOW));
+    }
+
+    /**
+     * A location was created or changed. Events and shows are counted by the city of their location.
+     *
+     * @return the event
+     */
+    public static SearchResultsChangedEvent locationChanged() {
+        return new SearchResultsChangedEvent(Set.of(SearchDocument.Type.EVENT, SearchDocument.Type.SHOW));
+    }
+}
@@ -0,0 +1,11 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+/**
+ * A name offered while the user is still typing.
+ *
+ * @param type the kind of entity the name belongs to
+ * @param id   the ID of the entity
+ * @param text the name as stored
+ */
+public record Suggestion(SearchDocument.Type type, Long id, String text) {
+}
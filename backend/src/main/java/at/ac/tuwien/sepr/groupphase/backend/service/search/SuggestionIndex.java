@@ -0,0 +1,260 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of the names offered as suggestions while typing: artist stage names, event names and location names.
+ *
+ * <p>Names are normalized like search text, so case, accents and punctuation do not matter. Every name is split into
+ * overlapping three-letter sequences (trigrams); a query of three or more letters only looks at the names containing all of
+ * its trigrams and then checks that they contain the query itself, so suggestions also match in the middle of a name.
+ * Shorter queries match the beginning of a word in the name. Names starting with the query come first, then names with
+ * a word starting with it, then the rest, shorter names before longer ones.</p>
+ *
+ * <p>The index is built once the application started and kept up to date by {@link SearchIndexListener}, changes
+ * committed while it is built are applied afterwards. Until it is built, no suggestions are returned.</p>
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private static final int GRAM = 3;
+
+    private final ArtistRepository artistRepository;
+    private final EventRepository eventRepository;
+    private final EventLocationRepository eventLocationRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<SearchDocument.Type, Map<Long, Entry>> entries = new EnumMap<>(SearchDocument.Type.class);
+    private final Map<String, Set<Entry>> trigrams = new HashMap<>();
+    private final NavigableMap<String, Set<Entry>> words = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PendingIndexUpdates updates = new PendingIndexUpdates();
+    private volatile boolean ready;
+
+    /**
+     * A suggested name together with its normalized form, words separated by single spaces.
+     */
+    private record Entry(Suggestion suggestion, String normalized) {
+    }
+
+    public SuggestionIndex(ArtistRepository artistRepository, EventRepository eventRepository, EventLocationRepository eventLocationRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.artistRepository = artistRepository;
+        this.eventRepository = eventRepository;
+        this.eventLocationRepository = eventLocationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Returns whether the index has been built and can answer queries.
+     *
+     * @return true once the index is built
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Indexes the names of all artists, events and locations once the application started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<SearchDocument> documents = transactionTemplate.execute(status -> {
+            List<SearchDocument> loaded = new ArrayList<>();
+            artistRepository.findAll().forEach(artist -> loaded.add(SearchDocument.of(artist)));
+            eventRepository.findAll().forEach(event -> loaded.add(SearchDocument.of(event)));
+            eventLocationRepository.findAll().forEach(location -> loaded.add(SearchDocument.of(location)));
+            return loaded;
+        });
+        documents.forEach(this::store);
+        updates.replay();
+        ready = true;
+        LOGGER.info("Indexed the names of {} entities for suggestions", documents.size());
+    }
+
+    /**
+     * Adds the suggested name of an entity, replacing its previous name. Entities without a suggested name are ignored.
+     *
+     * @param document the searchable text of the entity
+     */
+    public void put(SearchDocument document) {
+        updates.submit(() -> store(document));
+    }
+
+    /**
+     * Removes the suggested name of an entity.
+     *
+     * @param type the kind of entity
+     * @param id   the ID of the entity
+     */
+    public void remove(SearchDocument.Type type, Long id) {
+        updates.submit(() -> drop(type, id));
+    }
+
+    private void store(SearchDocument document) {
+        String text = suggestedText(document);
+        lock.writeLock().lock();
+        try {
+            Map<Long, Entry> ofType = entries.computeIfAbsent(document.type(), type -> new HashMap<>());
+            unindex(ofType.remove(document.id()));
+            String normalized = text == null ? "" : normalize(text);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(new Suggestion(document.type(), document.id(), text), normalized);
+            ofType.put(document.id(), entry);
+            for (String trigram : trigrams(normalized)) {
+                trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(entry);
+            }
+            for (String word : normalized.split(" ")) {
+                words.computeIfAbsent(word, w -> new HashSet<>()).add(entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void drop(SearchDocument.Type type, Long id) {
+        lock.writeLock().lock();
+        try {
+            Map<Long, Entry> ofType = entries.get(type);
+            if (ofType != null) {
+                unindex(ofType.remove(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the names containing the query, best match first.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @return the suggestions, empty if the query has no letters or digits
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<Entry> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM) {
+                Set<Entry> seen = new HashSet<>();
+                for (Set<Entry> withWord : words.subMap(normalized, true, normalized + Character.MAX_VALUE, true).values()) {
+                    withWord.stream().filter(seen::add).forEach(matches::add);
+                }
+            } else {
+                List<Set<Entry>> postings = new ArrayList<>();
+                for (String trigram : trigrams(normalized)) {
+                    Set<Entry> posting = trigrams.get(trigram);
+                    if (posting == null) {
+                        return List.of();
+                    }
+                    postings.add(posting);
+                }
+                postings.sort(Comparator.comparingInt(Set::size));
+                for (Entry entry : postings.getFirst()) {
+                    if (containsAll(postings, entry) && entry.normalized().contains(normalized)) {
+                        matches.add(entry);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Comparator<Entry> ranking = Comparator.<Entry>comparingInt(entry -> position(entry.normalized(), normalized))
+            .thenComparingInt(entry -> entry.normalized().length())
+            .thenComparing(Entry::normalized)
+            .thenComparing(entry -> entry.suggestion().type())
+            .thenComparing(entry -> entry.suggestion().id());
+        return matches.stream().sorted(ranking).limit(limit).map(Entry::suggestion).toList();
+    }
+
+    private static String suggestedText(SearchDocument document) {
+        return switch (document.type()) {
+            case ARTIST -> document.fields().get(SearchDocument.STAGENAME);
+            case EVENT, LOCATION -> document.fields().get(SearchDocument.NAME);
+            case SHOW -> null;
+        };
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", SearchTokenizer.tokenize(text));
+    }
+
+    /**
+     * Ranks where the query was found: 0 at the start of the name, 1 at the start of a later word, 2 inside a word.
+     */
+    private static int position(String normalized, String query) {
+        if (normalized.startsWith(query)) {
+            return 0;
+        }
+        return normalized.contains(" " + query) ? 1 : 2;
+    }
+
+    private static boolean containsAll(List<Set<Entry>> postings, Entry entry) {
+        for (int i = 1; i < postings.size(); i++) {
+            if (!postings.get(i).contains(entry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : trigrams(entry.normalized())) {
+            removeFrom(trigrams, trigram, entry);
+        }
+        for (String word : entry.normalized().split(" ")) {
+            removeFrom(words, word, entry);
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<Entry>> postings, String key, Entry entry) {
+        Set<Entry> posting = postings.get(key);
+        if (posting != null && posting.remove(entry) && posting.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+}
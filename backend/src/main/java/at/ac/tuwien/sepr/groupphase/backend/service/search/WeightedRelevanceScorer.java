@@ -0,0 +1,72 @@
+package at.ac.tuwien.sepr.groupphase.backend.service.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Scores search results by a weighted sum of four signals, each between 0 and 1.
+ *
+ * <ul>
+ *     <li>text: the text score relative to the best match of the search</li>
+ *     <li>date: 1 for shows starting now, halved after 30 days, 0 for shows in the past</li>
+ *     <li>availability: 1 while at least a fifth of the places is left, falling to 0 when sold out</li>
+ *     <li>popularity: the tickets bought relative to the best-selling result, on a logarithmic scale</li>
+ * </ul>
+ *
+ * <p>The weights are configured under {@code search.relevance}.</p>
+ */
+@Component
+public class WeightedRelevanceScorer implements RelevanceScorer {
+
+    private static final double DAYS_TO_HALF_DATE_SCORE = 30;
+    private static final double UNKNOWN_AVAILABILITY = 0.5;
+
+    private final double textWeight;
+    private final double dateWeight;
+    private final double availabilityWeight;
+    private final double popularityWeight;
+
+    public WeightedRelevanceScorer(@Value("${search.relevance.text-weight:0.55}") double textWeight,
+                                   @Value("${search.relevance.date-weight:0.2}") double dateWeight,
+                                   @Value("${search.relevance.availability-weight:0.1}") double availabilityWeight,
+                                   @Value("${search.relevance.popularity-weight:0.15}") double popularityWeight) {
+        this.textWeight = textWeight;
+        this.dateWeight = dateWeight;
+        this.availabilityWeight = availabilityWeight;
+        this.popularityWeight = popularityWeight;
+    }
+
+    @Override
+    public double score(RelevanceCandidate candidate, Context context) {
+        return textWeight * text(candidate, context)
+            + dateWeight * date(candidate, context)
+            + availabilityWeight * availability(candidate)
+            + popularityWeight * popularity(candidate, context);
+    }
+
+    private static double text(RelevanceCandidate candidate, Context context) {
+        return context.bestTextScore() > 0 ? candidate.textScore() / context.bestTextScore() : 0;
+    }
+
+    private static double date(RelevanceCandidate candidate, Context context) {
+        if (candidate.date() == null || candidate.date().isBefore(context.now())) {
+            return 0;
+        }
+        double days = Duration.between(context.now(), candidate.date()).toMinutes() / (24.0 * 60);
+        return 1 / (1 + days / DAYS_TO_HALF_DATE_SCORE);
+    }
+
+    private static double availability(RelevanceCandidate candidate) {
+        if (candidate.capacity() <= 0) {
+            return UNKNOWN_AVAILABILITY;
+        }
+        double remaining = Math.max(0, 1 - (double) candidate.sold() / candidate.capacity());
+        return Math.min(1, remaining * 5);
+    }
+
+    private static double popularity(RelevanceCandidate candidate, Context context) {
+        return context.mostSold() > 0 ? Math.log1p(candidate.sold()) / Math.log1p(context.mostSold()) : 0;
+    }
+}
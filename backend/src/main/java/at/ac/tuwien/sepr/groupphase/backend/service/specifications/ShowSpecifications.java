@@ -1,10 +1,14 @@
 package at.ac.tuwien.sepr.groupphase.backend.service.specifications;
 
+import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 /**
  * Provides reusable JPA Specifications for dynamic querying of Show entities.
@@ -40,6 +44,13 @@ public final class ShowSpecifications {
         };
     }
 
+    /**
+     * Filters shows belonging to one of the given events.
+     */
+    public static Specification<Show> hasEventIn(Collection<Long> eventIds) {
+        return (root, query, cb) -> eventIds.isEmpty() ? cb.disjunction() : root.get("event").get("id").in(eventIds);
+    }
+
     /**
      * Filters shows by a case-insensitive partial match on the associated room's name.
      */
@@ -64,26 +75,27 @@ public final class ShowSpecifications {
         };
     }
 
+    /**
+     * Filters shows having a sector whose price lies in the given range (inclusive).
+     * A single bound is checked against the prices stored on the show; with both bounds they only narrow down the shows
+     * whose sectors are then looked up.
+     */
     public static Specification<Show> hasPriceBetween(BigDecimal min, BigDecimal max) {
         return (root, query, cb) -> {
             if (min == null && max == null) {
                 return null;
             }
-
-            var sectorsJoin = root.join("room").join("sectors");
-
-            query.distinct(true);
-
             if (min != null && max != null) {
-                return cb.between(sectorsJoin.get("price"), min, max);
+                Subquery<Integer> prices = query.subquery(Integer.class);
+                Root<Sector> sector = prices.from(Sector.class);
+                prices.select(sector.get("price"))
+                    .where(cb.equal(sector.get("room"), root.get("room")), cb.between(sector.get("price"), min, max));
+                return cb.and(cb.ge(root.get("maxPrice"), min), cb.le(root.get("minPrice"), max), cb.exists(prices));
             } else if (min != null) {
-                return cb.greaterThanOrEqualTo(sectorsJoin.get("price"), min);
+                return cb.ge(root.get("maxPrice"), min);
             } else {
-                return cb.lessThanOrEqualTo(sectorsJoin.get("price"), max);
+                return cb.le(root.get("minPrice"), max);
             }
         };
     }
-
-
-
 }
@@ -3,9 +3,11 @@ package at.ac.tuwien.sepr.groupphase.backend.service.validators;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.artist.ArtistSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLocationSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -16,6 +18,11 @@ import java.util.List;
 @Component
 public class SearchValidator {
 
+    /**
+     * Largest radius in kilometers event locations can be searched in.
+     */
+    public static final int MAX_RADIUS_KM = 500;
+
     public SearchValidator() {
 
     }
@@ -93,10 +100,24 @@ public class SearchValidator {
         boolean hasCity = eventLocationSearchDto.getCity() != null && !eventLocationSearchDto.getCity().isBlank();
         boolean hasCountry = eventLocationSearchDto.getCountry() != null && !eventLocationSearchDto.getCountry().isBlank();
         boolean hasPostalCode = eventLocationSearchDto.getPostalCode() != null && !eventLocationSearchDto.getPostalCode().isBlank();
+        boolean hasNear = eventLocationSearchDto.getNear() != null && !eventLocationSearchDto.getNear().isBlank();
 
-        if (!hasName && !hasStreet && !hasCity && !hasCountry && !hasPostalCode) {
+        if (!hasName && !hasStreet && !hasCity && !hasCountry && !hasPostalCode && !hasNear) {
             validationErrors.add(
-                "At least one of the following fields must be filled: eventlocation name, eventlocation street, eventlocation city, eventlocation country, eventlocation postalcode .");
+                "At least one of the following fields must be filled: eventlocation name, eventlocation street, eventlocation city, eventlocation country, eventlocation postalcode, near.");
+        }
+
+        if (hasNear && GeoPoint.parse(eventLocationSearchDto.getNear()) == null) {
+            validationErrors.add("Near must be given as latitude,longitude with latitude between -90 and 90 and longitude between -180 and 180");
+        }
+
+        Double radiusKm = eventLocationSearchDto.getRadiusKm();
+        if (hasNear && radiusKm == null) {
+            validationErrors.add("Radius must be given when searching near a point");
+        } else if (!hasNear && radiusKm != null) {
+            validationErrors.add("Radius must only be given when searching near a point");
+        } else if (radiusKm != null && !(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            validationErrors.add("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
         }
 
         if (eventLocationSearchDto.getName() != null && eventLocationSearchDto.getName().length() > 100) {
@@ -259,4 +280,58 @@ public class SearchValidator {
             throw new ValidationException("Validation of show search request failed", validationErrors);
         }
     }
+
+    /**
+     * Validates the criteria of a search over all kinds of entities.
+     *
+     * @param criteria the search criteria
+     * @throws ValidationException if any validation fails
+     */
+    public void validateForGlobalSearch(GlobalSearchDto criteria) throws ValidationException {
+        List<String> validationErrors = new ArrayList<>();
+
+        if (criteria == null) {
+            validationErrors.add("Search request must not be null");
+            throw new ValidationException("Validation of search request failed", validationErrors);
+        }
+
+        if (criteria.getQuery() == null || criteria.getQuery().isBlank()) {
+            validationErrors.add("Search query must not be empty");
+        } else if (criteria.getQuery().length() > 100) {
+            validationErrors.add("Search query must not exceed 100 characters");
+        }
+
+        if (criteria.getLimit() == null || criteria.getLimit() < 1 || criteria.getLimit() > 50) {
+            validationErrors.add("Limit must be between 1 and 50");
+        }
+
+        if (!validationErrors.isEmpty()) {
+            throw new ValidationException("Validation of search request failed", validationErrors);
+        }
+    }
+
+    /**
+     * Validates a request for suggestions while typing.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of suggestions
+     * @throws ValidationException if any validation fails
+     */
+    public void validateForSuggestions(String query, Integer limit) throws ValidationException {
+        List<String> validationErrors = new ArrayList<>();
+
+        if (query == null) {
+            validationErrors.add("Query must not be null");
+        } else if (query.length() > 100) {
+            validationErrors.add("Query must not exceed 100 characters");
+        }
+
+        if (limit == null || limit < 1 || limit > 20) {
+            validationErrors.add("Limit must be between 1 and 20");
+        }
+
+        if (!validationErrors.isEmpty()) {
+            throw new ValidationException("Validation of suggestion request failed", validationErrors);
+        }
+    }
 }
@@ -5,7 +5,6 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetSeatedDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetStandingDto;
-import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.entity.StandingSector;
@@ -15,11 +14,14 @@ import at.ac.tuwien.sepr.groupphase.backend.exception.ReservationExpiredExceptio
 import at.ac.tuwien.sepr.groupphase.backend.exception.ReservationNotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.SeatUnavailableException;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
-import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
-import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
+import at.ac.tuwien.sepr.groupphase.backend.service.cart.CartResolution;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.RoomServiceImpl;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.ShowServiceImpl;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatOccupancyIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowHolds;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowOccupancy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -27,34 +29,36 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Component
 public class TicketValidator {
     private static final Logger LOGGER = LoggerFactory.getLogger(TicketValidator.class);
     private final ShowServiceImpl showService;
     private final RoomServiceImpl roomService;
-    private final HoldRepository holdRepository;
-    private final TicketRepository ticketRepository;
+    private final HoldStore holdStore;
+    private final SeatOccupancyIndex seatOccupancyIndex;
     private final AuthenticationFacade authenticationFacade;
 
-    public TicketValidator(ShowServiceImpl showService, RoomServiceImpl roomService, HoldRepository holdRepository, TicketRepository ticketRepository,
+    public TicketValidator(ShowServiceImpl showService, RoomServiceImpl roomService, HoldStore holdStore, SeatOccupancyIndex seatOccupancyIndex,
                            AuthenticationFacade authenticationFacade) {
         this.showService = showService;
         this.roomService = roomService;
-        this.holdRepository = holdRepository;
-        this.ticketRepository = ticketRepository;
+        this.holdStore = holdStore;
+        this.seatOccupancyIndex = seatOccupancyIndex;
         this.authenticationFacade = authenticationFacade;
     }
 
     public void validateForBuyTickets(TicketRequestDto dto) {
+        validateForBuyTickets(dto, CartResolution.resolve(roomService, dto.getTargets()));
+    }
+
+    public void validateForBuyTickets(TicketRequestDto dto, CartResolution cart) {
         LOGGER.debug("validateForBuyTickets: {}", dto);
         Show show = requireShow(dto.getShowId());
-        validateTargetsBelongToShow(show, dto.getTargets());
+        validateTargetsBelongToShow(show, dto.getTargets(), cart);
         validateShowNotStarted(show);
-        validateNoHoldsOn(dto.getShowId(), dto.getTargets());
-        validateNoTicketsOn(dto.getShowId(), dto.getTargets());
+        validateNoHoldsOn(dto.getShowId(), dto.getTargets(), cart);
+        validateNoTicketsOn(dto.getShowId(), dto.getTargets(), cart);
     }
 
     public void validateHold(Long showId, Long sectorId, Long seatId, Long userId) {
@@ -63,19 +67,23 @@ public class TicketValidator {
         validateBeforeShowStarts(show);
         validateSectorBelongsToShow(show, sectorId);
         if (seatId != null) {
-            validateSeatBelongsToSector(sectorId, seatId);
+            validateSeatBelongsToSector(sectorId, roomService.getSeatById(seatId));
         }
         validateNoHoldsOn(showId, sectorId, seatId);
         validateNoTicketsOn(showId, sectorId, seatId);
     }
 
     public void validateForReserveTickets(TicketRequestDto dto) {
+        validateForReserveTickets(dto, CartResolution.resolve(roomService, dto.getTargets()));
+    }
+
+    public void validateForReserveTickets(TicketRequestDto dto, CartResolution cart) {
         LOGGER.debug("validateForReserveTickets: {}", dto);
         Show show = requireShow(dto.getShowId());
-        validateTargetsBelongToShow(show, dto.getTargets());
+        validateTargetsBelongToShow(show, dto.getTargets(), cart);
         validateBeforeShowStarts(show);
-        validateNoHoldsOn(dto.getShowId(), dto.getTargets());
-        validateNoTicketsOn(dto.getShowId(), dto.getTargets());
+        validateNoHoldsOn(dto.getShowId(), dto.getTargets(), cart);
+        validateNoTicketsOn(dto.getShowId(), dto.getTargets(), cart);
     }
 
     public void validateForBuyReservedTickets(List<Long> ids, List<Ticket> tickets) {
@@ -116,16 +124,13 @@ public class TicketValidator {
     /**
      * Validates all DTO targets refer to sectors (and seats, if any) in this show’s room.
      */
-    private void validateTargetsBelongToShow(Show show, List<TicketTargetDto> targets) {
-        List<Ticket> existing = ticketRepository.findByShowId(show.getId())
-            .stream()
-            .filter(t -> t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED)
-            .toList();
+    private void validateTargetsBelongToShow(Show show, List<TicketTargetDto> targets, CartResolution cart) {
+        ShowOccupancy occupancy = seatOccupancyIndex.forShow(show.getId());
 
         for (TicketTargetDto t : targets) {
             if (t instanceof TicketTargetSeatedDto s) {
                 validateSectorBelongsToShow(show, s.getSectorId());
-                validateSeatBelongsToSector(s.getSectorId(), s.getSeatId());
+                validateSeatBelongsToSector(s.getSectorId(), cart.getSeat(s.getSeatId()));
             } else if (t instanceof TicketTargetStandingDto st) {
                 validateSectorBelongsToShow(show, st.getSectorId());
                 if (st.getQuantity() <= 0) {
@@ -133,12 +138,10 @@ public class TicketValidator {
                         "Requested standing quantity must be greater than zero for sector " + st.getSectorId());
                 }
 
-                StandingSector sector = (StandingSector) roomService.getSectorById(st.getSectorId());
+                StandingSector sector = (StandingSector) cart.getSector(st.getSectorId());
                 long capacity = sector.getCapacity();
 
-                long alreadyTaken = existing.stream()
-                    .filter(tk -> tk.getSector().getId().equals(st.getSectorId()))
-                    .count();
+                long alreadyTaken = occupancy.getStandingTaken(st.getSectorId());
 
                 if (alreadyTaken + st.getQuantity() > capacity) {
                     throw new SeatUnavailableException(
@@ -165,10 +168,9 @@ public class TicketValidator {
     /**
      * Validates that the given seat belongs to the given sector.
      */
-    private void validateSeatBelongsToSector(Long sectorId, Long seatId) {
-        var seat = roomService.getSeatById(seatId);
+    private void validateSeatBelongsToSector(Long sectorId, Seat seat) {
         if (!seat.getSector().getId().equals(sectorId)) {
-            throw new SeatUnavailableException("Seat " + seatId + " is not in sector " + sectorId);
+            throw new SeatUnavailableException("Seat " + seat.getId() + " is not in sector " + sectorId);
         }
     }
 
@@ -176,55 +178,32 @@ public class TicketValidator {
      * Validates that no one else currently holds any of these targets, and
      * that standing‐sector capacity isn’t exceeded.
      */
-    private void validateNoHoldsOn(Long showId, List<TicketTargetDto> targets) {
-        LocalDateTime now = LocalDateTime.now();
-
-        // fetch all valid holds for this show that were created by *other* users
-        List<Hold> otherHolds = holdRepository.findByShowId(showId).stream()
-            .filter(h -> h.getValidUntil().isAfter(now))
-            .filter(h -> !h.getUserId().equals(authenticationFacade.getCurrentUserId()))
-            .toList();
-
-        // group existing holds by sector for quick lookup
-        Map<Long, Long> holdsBySector = otherHolds.stream()
-            .filter(h -> h.getSeatId() == null)
-            .collect(Collectors.groupingBy(Hold::getSectorId, Collectors.counting()));
+    private void validateNoHoldsOn(Long showId, List<TicketTargetDto> targets, CartResolution cart) {
+        // valid holds for this show, ignoring those of the current user
+        ShowHolds holds = holdStore.forShow(showId);
+        Long currentUserId = authenticationFacade.getCurrentUserId();
 
-        // fetch existing tickets (BOUGHT or RESERVED) for this show
-        List<Ticket> existing = ticketRepository.findByShowId(showId).stream()
-            .filter(t -> t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED)
-            .toList();
-
-        // group existing tickets by sector
-        Map<Long, Long> ticketsBySector = existing.stream()
-            .filter(t -> t.getSeat() == null)
-            .collect(Collectors.groupingBy(t -> t.getSector().getId(), Collectors.counting()));
+        // existing tickets (BOUGHT or RESERVED) for this show
+        ShowOccupancy occupancy = seatOccupancyIndex.forShow(showId);
 
         for (TicketTargetDto t : targets) {
             if (t instanceof TicketTargetSeatedDto s) {
                 // SEATED: any OTHER valid hold on this seat?
-                Seat seat = roomService.getSeatById(s.getSeatId());
-                if (seat == null) {
-                    throw new NotFoundException("Seat with id " + s.getSeatId() + " not found");
-                }
+                Seat seat = cart.getSeat(s.getSeatId());
 
-                boolean conflict = otherHolds.stream()
-                    .anyMatch(h -> s.getSeatId().equals(h.getSeatId()));
-                if (conflict) {
+                if (holds.isSeatHeldByOther(s.getSeatId(), currentUserId)) {
                     throw new SeatUnavailableException("Seat " + seat.getColumnNumber() + " Row + " + seat.getRowNumber() + " + is currently on hold");
                 }
                 // also check if already bought/reserved
-                boolean occupied = existing.stream()
-                    .anyMatch(tk -> tk.getSeat() != null && tk.getSeat().getId().equals(s.getSeatId()));
-                if (occupied) {
+                if (occupancy.isSeatTaken(s.getSeatId())) {
                     throw new SeatUnavailableException("Seat " + seat.getColumnNumber() + " Row + " + seat.getRowNumber() + " is already taken");
                 }
 
             } else if (t instanceof TicketTargetStandingDto st) {
                 // STANDING: ensure capacity not exceeded
-                long capacity = ((StandingSector) roomService.getSectorById(st.getSectorId())).getCapacity();
-                long boughtOrReserved = ticketsBySector.getOrDefault(st.getSectorId(), 0L);
-                long held = holdsBySector.getOrDefault(st.getSectorId(), 0L);
+                long capacity = ((StandingSector) cart.getSector(st.getSectorId())).getCapacity();
+                long boughtOrReserved = occupancy.getStandingTaken(st.getSectorId());
+                long held = holds.standingHeldByOthers(st.getSectorId(), currentUserId);
                 long requested = st.getQuantity();
 
                 if (boughtOrReserved + held + requested > capacity) {
@@ -241,24 +220,15 @@ public class TicketValidator {
      * Validates that no one holds this single seat/sector right now.
      */
     private void validateNoHoldsOn(Long showId, Long sectorId, Long seatId) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Hold> holds = holdRepository.findByShowId(showId);
+        ShowHolds holds = holdStore.forShow(showId);
         if (seatId != null) {
             // Seated: any valid hold on this seat blocks it
-            boolean conflict = holds.stream()
-                .anyMatch(h -> h.getValidUntil().isAfter(now)
-                    && h.getSectorId().equals(sectorId)
-                    && h.getSeatId() != null && h.getSeatId().equals(seatId));
-            if (conflict) {
+            if (holds.isSeatHeld(seatId)) {
                 throw new SeatUnavailableException("Seat already on hold for show " + showId);
             }
         } else {
             // Standing: only block if holds >= capacity
-            long activeHolds = holds.stream()
-                .filter(h -> h.getValidUntil().isAfter(now)
-                    && h.getSectorId().equals(sectorId)
-                    && h.getSeatId() == null)
-                .count();
+            long activeHolds = holds.standingHeld(sectorId);
             long capacity = ((StandingSector) roomService.getSectorById(sectorId)).getCapacity();
             if (activeHolds >= capacity) {
                 throw new SeatUnavailableException("Standing sector already fully on hold for show " + showId);
@@ -269,26 +239,14 @@ public class TicketValidator {
     /**
      * Validates that none of these targets already have a BOUGHT or RESERVED ticket.
      */
-    private void validateNoTicketsOn(Long showId, List<TicketTargetDto> targets) {
-        List<Ticket> existing = ticketRepository.findByShowId(showId)
-            .stream()
-            .filter(t -> t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED)
-            .toList();
-
-        Map<Long, Long> ticketsBySector = existing.stream()
-            .filter(t -> t.getSeat() == null)
-            .collect(Collectors.groupingBy(t -> t.getSector().getId(), Collectors.counting()));
+    private void validateNoTicketsOn(Long showId, List<TicketTargetDto> targets, CartResolution cart) {
+        ShowOccupancy occupancy = seatOccupancyIndex.forShow(showId);
 
         for (TicketTargetDto t : targets) {
             if (t instanceof TicketTargetSeatedDto s) {
-                Seat seat = roomService.getSeatById(s.getSeatId());
-                if (seat == null) {
-                    throw new NotFoundException("Seat with id " + s.getSeatId() + " not found");
-                }
+                Seat seat = cart.getSeat(s.getSeatId());
 
-                boolean occupied = existing.stream()
-                    .anyMatch(tk -> tk.getSeat() != null && tk.getSeat().getId().equals(s.getSeatId()));
-                if (occupied) {
+                if (occupancy.isSeatTaken(s.getSeatId())) {
                     throw new SeatUnavailableException("Seat " + seat.getColumnNumber() + " Row + " + seat.getRowNumber() + " is already taken");
                 }
             } else if (t instanceof TicketTargetStandingDto st) {
@@ -297,10 +255,10 @@ public class TicketValidator {
                         "Requested standing quantity must be greater than zero for sector " + st.getSectorId());
                 }
 
-                StandingSector sector = (StandingSector) roomService.getSectorById(st.getSectorId());
+                StandingSector sector = (StandingSector) cart.getSector(st.getSectorId());
                 long capacity = sector.getCapacity();
 
-                long alreadyTaken = ticketsBySector.getOrDefault(st.getSectorId(), 0L);
+                long alreadyTaken = occupancy.getStandingTaken(st.getSectorId());
 
                 if (alreadyTaken + st.getQuantity() > capacity) {
                     throw new SeatUnavailableException(
@@ -316,19 +274,11 @@ public class TicketValidator {
      * Validates that a single seat/sector has no BOUGHT or RESERVED ticket.
      */
     private void validateNoTicketsOn(Long showId, Long sectorId, Long seatId) {
-        LocalDateTime now = LocalDateTime.now();
-
         if (seatId == null) {
 
-            long activeHolds = holdRepository.findByShowId(showId).stream()
-                .filter(h -> h.getValidUntil().isAfter(now))
-                .filter(h -> h.getSectorId().equals(sectorId) && h.getSeatId() == null)
-                .count();
+            long activeHolds = holdStore.forShow(showId).standingHeld(sectorId);
 
-            long soldOrReserved = ticketRepository.findByShowId(showId).stream()
-                .filter(t -> (t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED))
-                .filter(t -> t.getSector().getId().equals(sectorId) && t.getSeat() == null)
-                .count();
+            long soldOrReserved = seatOccupancyIndex.forShow(showId).getStandingTaken(sectorId);
 
             StandingSector standing = (StandingSector) roomService.getSectorById(sectorId);
             long capacity = standing.getCapacity();
@@ -342,9 +292,7 @@ public class TicketValidator {
             }
 
         } else {
-            boolean occupied = ticketRepository.findByShowId(showId).stream()
-                .filter(t -> (t.getStatus() == TicketStatus.BOUGHT || t.getStatus() == TicketStatus.RESERVED))
-                .anyMatch(t -> t.getSeat() != null && t.getSeat().getId().equals(seatId));
+            boolean occupied = seatOccupancyIndex.forShow(showId).isSeatTaken(seatId);
 
             Seat seat = roomService.getSeatById(seatId);
             if (seat == null) {
@@ -0,0 +1,95 @@
+package at.ac.tuwien.sepr.groupphase.backend.util;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque cursors for keyset pagination.
+ *
+ * <p>A cursor holds the sort keys of the last row of a page. The next page starts right after these keys,
+ * so the database seeks to it through the index instead of skipping all previous rows as with an offset.
+ * Clients are expected to pass cursors back unchanged.</p>
+ */
+public final class KeysetCursor {
+
+    /**
+     * The largest page size a client may ask for.
+     */
+    public static final int MAX_SIZE = 100;
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the sort keys of the last row of a page.
+     *
+     * @param keys the sort keys, in sort order
+     * @return the cursor
+     */
+    public static String encode(Object... keys) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(keys.length);
+            for (Object key : keys) {
+                out.writeUTF(String.valueOf(key));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode(Object...)}.
+     *
+     * @param cursor    the cursor
+     * @param keyCount  the number of sort keys expected
+     * @return the sort keys as text, in sort order
+     * @throws ValidationException if the cursor is malformed
+     */
+    public static List<String> decode(String cursor, int keyCount) throws ValidationException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int count = in.readUnsignedByte();
+            if (count != keyCount) {
+                throw invalid();
+            }
+            List<String> keys = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                keys.add(in.readUTF());
+            }
+            return keys;
+        } catch (IllegalArgumentException | IOException e) {
+            throw invalid();
+        }
+    }
+
+    /**
+     * Checks the requested page size.
+     *
+     * @param size the number of rows per page
+     * @throws ValidationException if the size is not between 1 and {@link #MAX_SIZE}
+     */
+    public static void validateSize(int size) throws ValidationException {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new ValidationException("Validation of page request failed", List.of("Page size must be between 1 and " + MAX_SIZE));
+        }
+    }
+
+    /**
+     * Returns the error for a cursor that could not be read.
+     *
+     * @return the error
+     */
+    public static ValidationException invalid() {
+        return new ValidationException("Validation of page request failed", List.of("Cursor is invalid"));
+    }
+}
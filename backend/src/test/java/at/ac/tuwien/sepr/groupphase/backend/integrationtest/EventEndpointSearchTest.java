@@ -4,6 +4,9 @@ import at.ac.tuwien.sepr.groupphase.backend.config.properties.SecurityProperties
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.EventEndpoint;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetCountDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.SearchFacetsDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.EventMapper;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.ShowMapper;
 import at.ac.tuwien.sepr.groupphase.backend.service.EventService;
@@ -12,7 +15,7 @@ import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -56,7 +59,7 @@ public class EventEndpointSearchTest {
     @WithMockUser(username = "user", roles = "USER")
     void searchNoDataReturnsEmptyContent() throws Exception {
         when(searchService.searchEvents(any()))
-            .thenReturn(new PageImpl<>(List.of()));
+            .thenReturn(new FacetedPageDto<>(List.of(), Pageable.unpaged(), 0, null));
         String emptyDtoJson = "{\"page\":0,\"size\":10}";
 
         mockMvc.perform(post("/api/v1/events/search")
@@ -81,8 +84,11 @@ public class EventEndpointSearchTest {
             .description("Description")
             .build();
 
+        SearchFacetsDto facets = new SearchFacetsDto();
+        facets.setCategories(List.of(new FacetCountDto("ROCK", 1)));
+        facets.setCities(List.of(new FacetCountDto("Vienna", 1)));
         when(searchService.searchEvents(any(EventSearchDto.class)))
-            .thenReturn(new PageImpl<>(List.of(resultDto)));
+            .thenReturn(new FacetedPageDto<>(List.of(resultDto), Pageable.unpaged(), 1, facets));
 
         String dtoJson = """
               {
@@ -104,6 +110,9 @@ public class EventEndpointSearchTest {
             .andExpect(jsonPath("$.content[0].category").value("Rock"))
             .andExpect(jsonPath("$.content[0].locationId").value(42))
             .andExpect(jsonPath("$.content[0].duration").value(120))
-            .andExpect(jsonPath("$.content[0].description").value("Description"));
+            .andExpect(jsonPath("$.content[0].description").value("Description"))
+            .andExpect(jsonPath("$.facets.categories[0].value").value("ROCK"))
+            .andExpect(jsonPath("$.facets.categories[0].count").value(1))
+            .andExpect(jsonPath("$.facets.cities[0].value").value("Vienna"));
     }
 }
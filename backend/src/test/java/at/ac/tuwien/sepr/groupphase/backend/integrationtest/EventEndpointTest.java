@@ -480,4 +480,46 @@ public class EventEndpointTest implements TestData {
             () -> assertEquals(1, json.get("size").asInt())
         );
     }
+
+    @Test
+    public void getEventsAfter_withFromDate_shouldPageByDateAndNameIgnoringCase() throws Exception {
+        Event sameTime = new Event();
+        sameTime.setName("abendkonzert");
+        sameTime.setCategory(EventCategory.JAZZ);
+        sameTime.setDescription("Jazz am Abend");
+        sameTime.setDuration(90);
+        sameTime.setDateTime(testEvent.getDateTime());
+        sameTime.setLocation(testLocation);
+        eventRepository.save(sameTime);
+        Event past = new Event();
+        past.setName("Vergangen");
+        past.setCategory(EventCategory.JAZZ);
+        past.setDescription("Schon vorbei");
+        past.setDuration(90);
+        past.setDateTime(LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.MINUTES));
+        past.setLocation(testLocation);
+        eventRepository.save(past);
+
+        JsonNode first = eventsAfter("", true);
+        JsonNode second = eventsAfter(first.get("next").asText(), false);
+
+        assertAll(
+            () -> assertEquals(List.of("abendkonzert"), first.get("content").findValuesAsText("name")),
+            () -> assertEquals(2, first.get("totalElements").asLong()),
+            () -> assertEquals(List.of("Jazzkonzert"), second.get("content").findValuesAsText("name")),
+            () -> assertTrue(second.get("next").isNull())
+        );
+    }
+
+    private JsonNode eventsAfter(String after, boolean count) throws Exception {
+        MvcResult result = mockMvc.perform(get(EVENT_BASE_URI + "/paginated")
+                .param("after", after)
+                .param("size", "1")
+                .param("fromDate", LocalDateTime.now().toString())
+                .param("count", String.valueOf(count))
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES)))
+            .andReturn();
+        assertEquals(HttpStatus.OK.value(), result.getResponse().getStatus());
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
 }
@@ -19,6 +19,7 @@ import org.springframework.data.domain.PageImpl;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -101,4 +102,32 @@ public class EventLocationEndpointSearchTest {
             .andExpect(jsonPath("$.content[0].country").value("Austria"))
             .andExpect(jsonPath("$.content[0].postalCode").value("1110"));
     }
+
+    @Test
+    @WithMockUser(username = "user", roles = "USER")
+    void searchNearPointPassesPointAndRadiusAndReturnsDistance() throws Exception {
+        EventLocationDetailDto dto = EventLocationDetailDto.EventLocationDtoBuilder
+            .anEventLocationDto()
+            .id(5L)
+            .name("Gasometer")
+            .latitude(48.17)
+            .longitude(16.44)
+            .distanceKm(5.2)
+            .build();
+
+        when(searchService.searchEventLocations(argThat(criteria ->
+            "48.2082,16.3738".equals(criteria.getNear()) && Double.valueOf(10.0).equals(criteria.getRadiusKm()))))
+            .thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(post("/api/v1/locations/search")
+                .param("near", "48.2082,16.3738")
+                .param("radiusKm", "10")
+                .with(csrf())
+                .contentType(APPLICATION_JSON)
+                .content("{\"page\":0,\"size\":10}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].latitude").value(48.17))
+            .andExpect(jsonPath("$.content[0].distanceKm").value(5.2));
+    }
 }
@@ -6,9 +6,14 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.DetailedMessage
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.MessageInquiryDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.message.SimpleMessageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.MessageMapper;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ImageRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.MessageRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ImageStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.ImageServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,6 +21,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -26,6 +32,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -53,6 +68,15 @@ public class MessageEndpointTest implements TestData {
     @Autowired
     private MessageMapper messageMapper;
 
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageServiceImpl imageService;
+
     @Autowired
     private JwtTokenizer jwtTokenizer;
 
@@ -79,6 +103,46 @@ public class MessageEndpointTest implements TestData {
             .build();
     }
 
+    @Test
+    public void givenThreeMessages_whenPagingWithCursor_thenNewestFirstWithoutGapsAndInvalidCursorRejected() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            messageRepository.save(Message.MessageBuilder.aMessage()
+                .withTitle(TEST_NEWS_TITLE + i)
+                .withSummary(TEST_NEWS_SUMMARY)
+                .withText(TEST_NEWS_TEXT)
+                .withPublishedAt(i < 2 ? TEST_NEWS_PUBLISHED_AT : TEST_NEWS_PUBLISHED_AT.minusDays(1))
+                .withImages(new ArrayList<>())
+                .build());
+        }
+
+        JsonNode first = pageAfter("", true);
+        JsonNode second = pageAfter(first.get("next").asText(), false);
+        MockHttpServletResponse invalid = this.mockMvc.perform(get(MESSAGE_BASE_URI + "/paginated")
+                .param("after", "not-a-cursor")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES)))
+            .andReturn().getResponse();
+
+        assertAll(
+            () -> assertEquals(List.of(TEST_NEWS_TITLE + 1, TEST_NEWS_TITLE + 0), first.get("content").findValuesAsText("title")),
+            () -> assertEquals(3, first.get("totalElements").asLong()),
+            () -> assertEquals(List.of(TEST_NEWS_TITLE + 2), second.get("content").findValuesAsText("title")),
+            () -> assertTrue(second.get("next").isNull()),
+            () -> assertTrue(second.get("totalElements").isNull()),
+            () -> assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), invalid.getStatus())
+        );
+    }
+
+    private JsonNode pageAfter(String after, boolean count) throws Exception {
+        MockHttpServletResponse response = this.mockMvc.perform(get(MESSAGE_BASE_URI + "/paginated")
+                .param("after", after)
+                .param("size", "2")
+                .param("count", String.valueOf(count))
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES)))
+            .andReturn().getResponse();
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        return objectMapper.readTree(response.getContentAsString());
+    }
+
     @Test
     public void givenNothing_whenFindAll_thenEmptyList() throws Exception {
         MvcResult mvcResult = this.mockMvc.perform(get(MESSAGE_BASE_URI)
@@ -248,6 +312,78 @@ public class MessageEndpointTest implements TestData {
     }
 
 
+    @Test
+    public void givenUploadedImage_whenFindImageWithRange_thenPartOfStoredFile() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1200, 600, BufferedImage.TYPE_INT_RGB), "png", png);
+        String body = objectMapper.writeValueAsString(messageMapper.messageToMessageInquiryDto(message));
+        MockMultipartFile messagePart = new MockMultipartFile("message", null, "application/json", body.getBytes());
+        MockMultipartFile imagePart = new MockMultipartFile("images", "test-image.png", "image/png", png.toByteArray());
+
+        MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.multipart(MESSAGE_BASE_URI)
+                .file(messagePart)
+                .file(imagePart)
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES)))
+            .andReturn();
+        DetailedMessageDto message = objectMapper.readValue(created.getResponse().getContentAsString(), DetailedMessageDto.class);
+        String imageUri = MESSAGE_BASE_URI + "/" + message.getId() + "/image/" + message.getImages().getFirst().getId();
+
+        MockHttpServletResponse part = this.mockMvc.perform(get(imageUri)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES)))
+            .andReturn().getResponse();
+        MockHttpServletResponse thumbnail = this.mockMvc.perform(get(imageUri + "/thumbnail")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES)))
+            .andReturn().getResponse();
+        BufferedImage preview = ImageIO.read(new ByteArrayInputStream(thumbnail.getContentAsByteArray()));
+
+        assertAll(
+            () -> assertEquals(HttpStatus.CREATED.value(), created.getResponse().getStatus()),
+            () -> assertEquals(HttpStatus.PARTIAL_CONTENT.value(), part.getStatus()),
+            () -> assertArrayEquals(Arrays.copyOf(png.toByteArray(), 10), part.getContentAsByteArray()),
+            () -> assertNotNull(part.getHeader(HttpHeaders.ETAG)),
+            () -> assertEquals(HttpStatus.OK.value(), thumbnail.getStatus()),
+            () -> assertEquals("image/png", thumbnail.getContentType()),
+            () -> assertEquals(480, preview.getWidth())
+        );
+    }
+
+    @Test
+    public void givenUploadedImage_whenMessageDeleted_thenStoredFilesRemovedBySweep() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(900, 300, BufferedImage.TYPE_INT_RGB), "png", png);
+        String body = objectMapper.writeValueAsString(messageMapper.messageToMessageInquiryDto(message));
+        MockMultipartFile messagePart = new MockMultipartFile("message", null, "application/json", body.getBytes());
+        MockMultipartFile imagePart = new MockMultipartFile("images", "test-image.png", "image/png", png.toByteArray());
+
+        MvcResult created = this.mockMvc.perform(MockMvcRequestBuilders.multipart(MESSAGE_BASE_URI)
+                .file(messagePart)
+                .file(imagePart)
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(ADMIN_USER, ADMIN_ROLES)))
+            .andReturn();
+        DetailedMessageDto message = objectMapper.readValue(created.getResponse().getContentAsString(), DetailedMessageDto.class);
+        Image image = imageRepository.findById(message.getImages().getFirst().getId()).orElseThrow();
+        Path picture = imageStore.path(image.getContentHash());
+        Path thumbnail = imageStore.path(image.getThumbnailHash());
+        boolean storedBefore = Files.exists(picture) && Files.exists(thumbnail);
+
+        messageRepository.deleteById(message.getId());
+        boolean keptUntilSweep = Files.exists(picture) && Files.exists(thumbnail);
+        // the sweep leaves files stored within the last hour alone
+        FileTime storedLongAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(picture, storedLongAgo);
+        Files.setLastModifiedTime(thumbnail, storedLongAgo);
+        imageService.removeUnusedFiles();
+
+        assertAll(
+            () -> assertTrue(storedBefore),
+            () -> assertTrue(keptUntilSweep),
+            () -> assertFalse(imageRepository.existsById(image.getId())),
+            () -> assertFalse(Files.exists(picture)),
+            () -> assertFalse(Files.exists(thumbnail))
+        );
+    }
+
     private boolean isNow(LocalDateTime date) {
         LocalDateTime today = LocalDateTime.now();
         return date.getYear() == today.getYear() && date.getDayOfYear() == today.getDayOfYear() &&
@@ -6,8 +6,10 @@ import at.ac.tuwien.sepr.groupphase.backend.config.type.OrderType;
 import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
 import at.ac.tuwien.sepr.groupphase.backend.entity.*;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Order;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.OrderGroup;
 import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
 import at.ac.tuwien.sepr.groupphase.backend.repository.*;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderGroupRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.JwtTokenizer;
@@ -18,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
@@ -72,6 +75,9 @@ public class PdfExportEndpointTest implements TestData {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private OrderGroupRepository orderGroupRepository;
+
     private Order refundOrder;
 
     private ApplicationUser user;
@@ -84,12 +90,14 @@ public class PdfExportEndpointTest implements TestData {
     @Autowired
     private SectorRepository sectorRepository;
     private Long testOrderId;
+    private OrderGroup orderGroup;
 
     @Transactional
     @BeforeEach
     public void setup() {
         ticketRepository.deleteAll();
         orderRepository.deleteAll();
+        orderGroupRepository.deleteAll();
         artistRepository.deleteAll();
         showRepository.deleteAll();
         eventRepository.deleteAll();
@@ -153,10 +161,15 @@ public class PdfExportEndpointTest implements TestData {
         testShow.addArtist(testArtist);
         showRepository.save(testShow);
 
+        orderGroup = new OrderGroup();
+        orderGroup.setUserId(user.getId());
+        orderGroupRepository.save(orderGroup);
+
         Order order = new Order();
         order.setUserId(user.getId());
         order.setCreatedAt(LocalDateTime.now());
         order.setOrderType(OrderType.ORDER);
+        order.setOrderGroup(orderGroup);
         orderRepository.save(order);
         testOrderId = order.getId();
 
@@ -234,6 +247,26 @@ public class PdfExportEndpointTest implements TestData {
         assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), result.getResponse().getStatus());
     }
 
+    @Test
+    public void exportOrderGroupTicketsPdf_shouldStreamAllTickets() throws Exception {
+        MvcResult result = mockMvc.perform(get(PDF_BASE_URI + "/order-groups/" + orderGroup.getId() + "/tickets")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(user.getId().toString(), List.of("ROLE_USER"))))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=Tickets" + orderGroup.getId() + ".pdf"))
+            .andReturn();
+
+        byte[] pdfBytes = result.getResponse().getContentAsByteArray();
+        assertTrue(new String(pdfBytes, 0, 5).startsWith("%PDF"));
+    }
+
+    @Test
+    public void exportOrderGroupTicketsPdf_shouldFailForOrderGroupOfOtherUser() throws Exception {
+        mockMvc.perform(get(PDF_BASE_URI + "/order-groups/" + orderGroup.getId() + "/tickets")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(String.valueOf(user.getId() + 1), List.of("ROLE_USER"))))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     public void exportInvoicePdf_shouldSucceed() throws Exception {
         MvcResult result = mockMvc.perform(get(PDF_BASE_URI + "/invoice/" + testOrderId)
@@ -256,6 +289,25 @@ public class PdfExportEndpointTest implements TestData {
 
 
 
+    @Test
+    public void exportInvoicePdf_shouldAnswerNotModifiedForMatchingETag() throws Exception {
+        String token = jwtTokenizer.getAuthToken(user.getId().toString(), List.of("ROLE_USER"));
+        MvcResult first = mockMvc.perform(get(PDF_BASE_URI + "/invoice/" + testOrderId)
+                .header(securityProperties.getAuthHeader(), token))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult repeated = mockMvc.perform(get(PDF_BASE_URI + "/invoice/" + testOrderId)
+                .header(securityProperties.getAuthHeader(), token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andReturn();
+
+        assertEquals(0, repeated.getResponse().getContentAsByteArray().length);
+    }
+
     @Test
     public void exportInvoicePdf_shouldFailWithoutAuthorization() throws Exception {
         MvcResult result = mockMvc.perform(get(PDF_BASE_URI + "/invoice/" + testOrderId))
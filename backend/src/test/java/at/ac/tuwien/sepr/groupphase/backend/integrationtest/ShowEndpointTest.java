@@ -9,10 +9,13 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Event.EventCategory;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation.LocationType;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
@@ -25,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
@@ -59,6 +63,7 @@ public class ShowEndpointTest implements TestData {
     @Autowired private RoomRepository roomRepository;
     @Autowired private TicketRepository ticketRepository;
     @Autowired private OrderRepository orderRepository;
+    @Autowired private HoldRepository holdRepository;
 
 
     private Event testEvent;
@@ -142,6 +147,77 @@ public class ShowEndpointTest implements TestData {
         );
     }
 
+    @Test
+    public void getRoomUsage_withMatchingEtag_shouldReturn304() throws Exception {
+        Show show = showRepository.save(Show.ShowBuilder.aShow()
+            .withName("Polled Show")
+            .withDuration(60)
+            .withDate(testEvent.getDateTime().plusHours(1))
+            .withEvent(testEvent)
+            .withRoom(testRoom)
+            .build());
+        String uri = SHOW_BASE_URI + "/" + show.getId() + "/room-usage";
+        String token = jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES);
+
+        // the first request starts tracking the show
+        mockMvc.perform(get(uri).header(securityProperties.getAuthHeader(), token)).andReturn();
+        MvcResult tracked = mockMvc.perform(get(uri).header(securityProperties.getAuthHeader(), token)).andReturn();
+        String etag = tracked.getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult unchanged = mockMvc.perform(get(uri)
+                .header(securityProperties.getAuthHeader(), token)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andReturn();
+
+        assertAll(
+            () -> assertEquals(HttpStatus.OK.value(), tracked.getResponse().getStatus()),
+            () -> assertNotNull(etag),
+            () -> assertEquals(HttpStatus.NOT_MODIFIED.value(), unchanged.getResponse().getStatus()),
+            () -> assertEquals(0, unchanged.getResponse().getContentLength())
+        );
+    }
+
+    @Test
+    public void streamAvailability_afterHoldPlaced_shouldPushSnapshotAndHoldEvent() throws Exception {
+        Show show = showRepository.save(Show.ShowBuilder.aShow()
+            .withName("Watched Show")
+            .withDuration(60)
+            .withDate(testEvent.getDateTime().plusHours(1))
+            .withEvent(testEvent)
+            .withRoom(testRoom)
+            .build());
+
+        MvcResult stream = mockMvc.perform(get(SHOW_BASE_URI + "/" + show.getId() + "/availability/stream")
+                .header(securityProperties.getAuthHeader(), jwtTokenizer.getAuthToken(DEFAULT_USER, USER_ROLES)))
+            .andReturn();
+        assertTrue(stream.getRequest().isAsyncStarted());
+        awaitContent(stream, "event:snapshot");
+
+        Hold hold = new Hold();
+        hold.setShowId(show.getId());
+        hold.setSeatId(4711L);
+        hold.setSectorId(42L);
+        hold.setUserId(1L);
+        hold.setValidUntil(LocalDateTime.now().plusMinutes(30));
+        holdRepository.save(hold);
+
+        // the event name may already be written while its data is not
+        String events = awaitContent(stream, "\"seatId\":4711");
+        assertTrue(events.contains("event:hold-placed"), events);
+        holdRepository.deleteAll();
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertTrue(content.contains(expected), "Expected " + expected + " in " + content);
+        return content;
+    }
+
     @Test
     public void getAllShows_shouldReturnEmptyInitially() throws Exception {
         MvcResult result = mockMvc.perform(get(SHOW_BASE_URI)
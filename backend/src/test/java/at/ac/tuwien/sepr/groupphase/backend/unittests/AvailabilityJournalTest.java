@@ -0,0 +1,34 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityChanges;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityJournal;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ReservationsExpiredEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class AvailabilityJournalTest {
+
+    private final AvailabilityJournal journal = new AvailabilityJournal(mock(HoldStore.class));
+
+    @Test
+    public void onReservationsExpired_recordsReleasedSeatsAndKeepsTrackingTheShow() {
+        long seen = journal.forShow(1L).currentVersion();
+
+        journal.onReservationsExpired(new ReservationsExpiredEvent(1L, List.of(
+            new ReservationsExpiredEvent.Released(7L, 3L), new ReservationsExpiredEvent.Released(null, 4L))));
+        AvailabilityChanges changes = journal.changesSince(1L, seen);
+
+        assertAll(
+            () -> assertNotNull(changes),
+            () -> assertTrue(changes.version() > seen),
+            () -> assertEquals(Set.of(7L), changes.seatIds()),
+            () -> assertEquals(Set.of(4L), changes.standingSectorIds())
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.EventSalesLeaderboard;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.ShowSalesStatistics;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.TicketSalesListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class EventSalesLeaderboardTest {
+
+    private final Event event = new Event();
+    private TicketRepository ticketRepository;
+    private EventSalesLeaderboard leaderboard;
+    private TicketSalesListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        event.setId(1L);
+        event.setName("Concert");
+        event.setCategory(Event.EventCategory.CLASSICAL);
+        event.setDateTime(LocalDateTime.now().plusDays(1));
+        ticketRepository = mock(TicketRepository.class);
+        when(ticketRepository.countBoughtPerEventBetween(any(), any())).thenReturn(List.<Object[]>of(row(5)));
+        leaderboard = new EventSalesLeaderboard(ticketRepository, mock(PlatformTransactionManager.class));
+
+        ObjectProvider<EventSalesLeaderboard> leaderboardProvider = mock(ObjectProvider.class);
+        when(leaderboardProvider.getObject()).thenReturn(leaderboard);
+        ObjectProvider<ShowSalesStatistics> statisticsProvider = mock(ObjectProvider.class);
+        when(statisticsProvider.getObject()).thenReturn(mock(ShowSalesStatistics.class));
+        listener = new TicketSalesListener(leaderboardProvider, statisticsProvider);
+    }
+
+    @Test
+    public void top_countsSalesOnceTheirTransactionCommitted() {
+        leaderboard.refresh();
+
+        inTransaction(false, () -> listener.afterPersist(boughtTicket()));
+        long afterRollback = leaderboard.top(null, 10).getFirst().ticketsSold();
+        inTransaction(true, () -> listener.afterPersist(boughtTicket()));
+        long afterCommit = leaderboard.top(null, 10).getFirst().ticketsSold();
+
+        assertAll(
+            () -> assertEquals(5, afterRollback),
+            () -> assertEquals(6, afterCommit)
+        );
+    }
+
+    @Test
+    public void refresh_keepsSalesCommittedWhileReading() {
+        leaderboard.refresh();
+        // the sale commits after the database was read, so the rows do not contain it
+        when(ticketRepository.countBoughtPerEventBetween(any(), any())).thenAnswer(invocation -> {
+            listener.afterPersist(boughtTicket());
+            return List.<Object[]>of(row(5));
+        });
+
+        leaderboard.refresh();
+
+        assertEquals(6, leaderboard.top(Event.EventCategory.CLASSICAL, 10).getFirst().ticketsSold());
+    }
+
+    private Object[] row(long sold) {
+        return new Object[] {event.getId(), event.getName(), event.getDateTime(), event.getCategory(), sold};
+    }
+
+    private Ticket boughtTicket() {
+        Show show = new Show();
+        show.setId(10L);
+        show.setEvent(event);
+        Ticket ticket = new Ticket();
+        ticket.setShow(show);
+        ticket.setStatus(TicketStatus.BOUGHT);
+        return ticket;
+    }
+
+    /**
+     * Runs the action with transaction synchronization active and commits or rolls back afterwards.
+     */
+    private static void inTransaction(boolean commit, Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            List<TransactionSynchronization> synchronizations = new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event.EventCategory;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class FacetIndexTest {
+
+    private FacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new FacetIndex(mock(EventRepository.class), mock(ShowRepository.class), mock(EventLocationRepository.class),
+            mock(RoomRepository.class), mock(PlatformTransactionManager.class));
+        facetIndex.load();
+        facetIndex.put(new FacetDocument.LocationFacts(1L, "Vienna"));
+        facetIndex.put(new FacetDocument.LocationFacts(2L, "Graz"));
+        facetIndex.put(new FacetDocument.RoomFacts(1L, "Great Hall"));
+        facetIndex.put(new FacetDocument.RoomFacts(2L, "Small Stage"));
+        facetIndex.put(new FacetDocument.EventFacts(1L, EventCategory.ROCK, 1L, LocalDateTime.of(2025, 6, 1, 20, 0), 120));
+        facetIndex.put(new FacetDocument.EventFacts(2L, EventCategory.JAZZ, 1L, LocalDateTime.of(2025, 6, 15, 20, 0), 90));
+        facetIndex.put(new FacetDocument.EventFacts(3L, EventCategory.ROCK, 2L, LocalDateTime.of(2025, 7, 1, 20, 0), 240));
+        facetIndex.put(new FacetDocument.ShowFacts(1L, 1L, 1L, LocalDateTime.of(2025, 6, 1, 20, 0), new TreeSet<>(Set.of(30, 80))));
+        facetIndex.put(new FacetDocument.ShowFacts(2L, 1L, 2L, LocalDateTime.of(2025, 6, 2, 20, 0), new TreeSet<>(Set.of(15, 40))));
+        facetIndex.put(new FacetDocument.ShowFacts(3L, 3L, 1L, LocalDateTime.of(2025, 7, 1, 20, 0), new TreeSet<>(Set.of(250, 300))));
+        facetIndex.put(new FacetDocument.ShowFacts(4L, 2L, 2L, LocalDateTime.of(2025, 8, 1, 20, 0), null));
+    }
+
+    @Test
+    public void countEvents_countsAllEventsPerValueMostFirst() {
+        FacetIndex.Facets facets = facetIndex.countEvents(facetIndex.matchingEvents(null, null, null));
+
+        assertAll(
+            () -> assertEquals(List.of("ROCK", "JAZZ"), List.copyOf(facets.categories().keySet())),
+            () -> assertEquals(Map.of("ROCK", 2L, "JAZZ", 1L), facets.categories()),
+            () -> assertEquals(List.of("Vienna", "Graz"), List.copyOf(facets.cities().keySet())),
+            () -> assertEquals(Map.of("Vienna", 2L, "Graz", 1L), facets.cities()),
+            // the cheapest show of event 1 costs 15, event 2 has no prices
+            () -> assertEquals(List.of("0-20", "200+"), List.copyOf(facets.priceRanges().keySet())),
+            () -> assertEquals(List.of("2025-06", "2025-07"), List.copyOf(facets.months().keySet())),
+            () -> assertEquals(2L, facets.months().get("2025-06"))
+        );
+    }
+
+    @Test
+    public void matchingEvents_appliesTextMatchesCategoryAndDuration() {
+        FacetIndex.Facets byText = facetIndex.countEvents(facetIndex.matchingEvents(Set.of(2L, 3L), null, null));
+        FacetIndex.Facets byCategory = facetIndex.countEvents(facetIndex.matchingEvents(null, "roc", null));
+        FacetIndex.Facets byDuration = facetIndex.countEvents(facetIndex.matchingEvents(null, null, 100));
+
+        assertAll(
+            () -> assertEquals(Map.of("ROCK", 1L, "JAZZ", 1L), byText.categories()),
+            () -> assertEquals(Map.of("ROCK", 2L), byCategory.categories()),
+            () -> assertEquals(Map.of("ROCK", 1L, "JAZZ", 1L), byDuration.categories())
+        );
+    }
+
+    @Test
+    public void matchingShows_appliesCriteriaLikeTheDatabase() {
+        FacetIndex.Facets byRoom = facetIndex.countShows(facetIndex.matchingShows(null, null, null, null, "great", null, null));
+        FacetIndex.Facets byPrice = facetIndex.countShows(facetIndex.matchingShows(null, null, null, null, null, new BigDecimal("50"), new BigDecimal("100")));
+        FacetIndex.Facets byDate = facetIndex.countShows(facetIndex.matchingShows(null, Set.of(1L), LocalDateTime.of(2025, 6, 2, 20, 0), null, null, null, null));
+        // show 1 has sectors at 30 and 80, none of them in between
+        List<FacetDocument.ShowFacts> betweenSectors = facetIndex.matchingShows(null, null, null, null, null, new BigDecimal("50"), new BigDecimal("60"));
+
+        assertAll(
+            () -> assertEquals(Map.of("ROCK", 2L), byRoom.categories()),
+            () -> assertEquals(Map.of("Vienna", 1L, "Graz", 1L), byRoom.cities()),
+            () -> assertEquals(Map.of("20-50", 1L), byPrice.priceRanges()),
+            () -> assertEquals(Map.of("0-20", 1L), byDate.priceRanges()),
+            () -> assertEquals(Map.of("2025-06", 1L), byDate.months()),
+            () -> assertTrue(betweenSectors.isEmpty())
+        );
+    }
+
+    @Test
+    public void put_replacesFactsAndRemoveDropsThem() {
+        facetIndex.put(new FacetDocument.LocationFacts(2L, "Linz"));
+        facetIndex.put(new FacetDocument.EventFacts(2L, EventCategory.POP, 2L, LocalDateTime.of(2025, 6, 15, 20, 0), 90));
+        facetIndex.remove(new FacetDocument.EventFacts(1L, null, null, null, 0));
+
+        FacetIndex.Facets facets = facetIndex.countEvents(facetIndex.matchingEvents(null, null, null));
+
+        assertAll(
+            () -> assertEquals(Map.of("ROCK", 1L, "POP", 1L), facets.categories()),
+            () -> assertEquals(Map.of("Linz", 2L), facets.cities())
+        );
+    }
+}
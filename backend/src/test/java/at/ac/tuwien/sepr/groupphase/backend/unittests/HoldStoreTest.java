@@ -0,0 +1,153 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
+import at.ac.tuwien.sepr.groupphase.backend.repository.HoldRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.AvailabilityEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatClaimEngine;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowHolds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HoldStoreTest {
+
+    private static final Long SHOW_ID = 1L;
+    private static final Long SECTOR_ID = 10L;
+
+    private HoldRepository holdRepository;
+    private HoldStore holdStore;
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T18:00:00Z"));
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        holdRepository = mock(HoldRepository.class);
+        holdStore = new HoldStore(holdRepository, new SeatClaimEngine(), events::add, clock);
+    }
+
+    @Test
+    public void forShow_afterHoldRanOut_releasesSeatAndPublishesExpiry() {
+        Hold shortHold = hold(1L, 100L, 1L, now().plusNanos(500_000_000L));
+        Hold standingHold = hold(2L, null, 2L, now().plusMinutes(30));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(SHOW_ID), any())).thenReturn(List.of(shortHold, standingHold));
+
+        ShowHolds before = holdStore.forShow(SHOW_ID);
+        boolean heldBefore = before.isSeatHeld(100L);
+        boolean heldByOtherBefore = before.isSeatHeldByOther(100L, 1L);
+        int standingForOwner = before.standingHeldByOthers(SECTOR_ID, 2L);
+        int standingForOthers = before.standingHeldByOthers(SECTOR_ID, 1L);
+
+        // the wheel expires holds at the next full second after they ran out
+        clock.advance(Duration.ofSeconds(1));
+        ShowHolds after = holdStore.forShow(SHOW_ID);
+
+        assertAll(
+            () -> assertTrue(heldBefore),
+            () -> assertFalse(heldByOtherBefore, "Own holds must not block the holder"),
+            () -> assertEquals(0, standingForOwner),
+            () -> assertEquals(1, standingForOthers),
+            () -> assertFalse(after.isSeatHeld(100L)),
+            () -> assertEquals(1, after.standingHeld(SECTOR_ID)),
+            () -> assertEquals(1, after.active().size()),
+            () -> assertEquals(List.of(new AvailabilityEvent(AvailabilityEvent.Type.HOLD_EXPIRED, SHOW_ID, 100L, SECTOR_ID)), events)
+        );
+        verify(holdRepository, times(1)).findByShowIdAndValidUntilAfter(eq(SHOW_ID), any());
+    }
+
+    @Test
+    public void forShow_withExpiredRowsLoaded_ignoresThem() {
+        Hold expired = hold(1L, 100L, 1L, now().minusMinutes(1));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(SHOW_ID), any())).thenReturn(List.of(expired));
+
+        ShowHolds holds = holdStore.forShow(SHOW_ID);
+
+        assertAll(
+            () -> assertFalse(holds.isSeatHeld(100L)),
+            () -> assertTrue(holds.active().isEmpty()),
+            () -> assertTrue(events.isEmpty())
+        );
+    }
+
+    @Test
+    public void expireAllHolds_afterLastHoldRanOut_dropsShowUntilNextAccess() {
+        Hold shortHold = hold(1L, 100L, 1L, now().plusSeconds(10));
+        Hold longHold = hold(2L, 101L, 1L, now().plusMinutes(30));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(SHOW_ID), any())).thenReturn(List.of(shortHold, longHold));
+        ShowHolds loaded = holdStore.forShow(SHOW_ID);
+
+        clock.advance(Duration.ofSeconds(11));
+        holdStore.expireAllHolds();
+        ShowHolds withLongHold = holdStore.forShow(SHOW_ID);
+
+        clock.advance(Duration.ofMinutes(30));
+        holdStore.expireAllHolds();
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(SHOW_ID), any())).thenReturn(List.of());
+        ShowHolds reloaded = holdStore.forShow(SHOW_ID);
+
+        assertAll(
+            () -> assertSame(loaded, withLongHold, "A show with active holds must stay in memory"),
+            () -> assertNotSame(loaded, reloaded, "A show without active holds must be dropped"),
+            () -> assertTrue(reloaded.active().isEmpty()),
+            () -> assertEquals(2, events.size())
+        );
+        verify(holdRepository, times(2)).findByShowIdAndValidUntilAfter(eq(SHOW_ID), any());
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    private static Hold hold(Long id, Long seatId, Long userId, LocalDateTime validUntil) {
+        Hold hold = new Hold();
+        hold.setId(id);
+        hold.setShowId(SHOW_ID);
+        hold.setSeatId(seatId);
+        hold.setSectorId(SECTOR_ID);
+        hold.setUserId(userId);
+        hold.setValidUntil(validUntil);
+        return hold;
+    }
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.IdSequenceAligner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class IdSequenceAlignerTest {
+
+    private static final long LEGACY_ID = 100_000L;
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM order_group WHERE id = ?", LEGACY_ID);
+    }
+
+    @Test
+    public void alignSequences_withExistingHigherIds_nextBlockStartsAfterThem() {
+        // a row written while the table still used an identity column
+        jdbcTemplate.update("INSERT INTO order_group (id, user_id) VALUES (?, ?)", LEGACY_ID, 1L);
+
+        idSequenceAligner.alignSequences();
+
+        Long blockEnd = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR order_group_seq", Long.class);
+        assertTrue(blockEnd - 50 >= LEGACY_ID, "next id block must start after " + LEGACY_ID + " but ends at " + blockEnd);
+    }
+
+    @Test
+    public void alignSequences_onOtherDatabase_leavesSequencesAlone() {
+        JdbcTemplate otherDatabase = mock(JdbcTemplate.class);
+        when(otherDatabase.execute(ArgumentMatchers.<ConnectionCallback<String>>any())).thenReturn("PostgreSQL");
+
+        new IdSequenceAligner(otherDatabase).alignSequences();
+
+        verify(otherDatabase).execute(ArgumentMatchers.<ConnectionCallback<String>>any());
+        verifyNoMoreInteractions(otherDatabase);
+    }
+}
@@ -0,0 +1,53 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.ImageBlobMigration;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ImageStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class ImageBlobMigrationTest {
+
+    @Autowired
+    private ImageBlobMigration imageBlobMigration;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM image WHERE image_type = 'image/x-legacy'");
+    }
+
+    @Test
+    public void migrate_withPicturesInTheDatabase_movesThemIntoTheStoreAndDropsTheColumn() throws Exception {
+        byte[] picture = {4, 8, 15, 16, 23, 42};
+        // a table written before pictures moved into the image store
+        jdbcTemplate.execute("ALTER TABLE image ADD COLUMN image BLOB");
+        jdbcTemplate.update("INSERT INTO image (image, image_type) VALUES (?, 'image/x-legacy')", (Object) picture);
+
+        imageBlobMigration.run(null);
+
+        String hash = jdbcTemplate.queryForObject("SELECT content_hash FROM image WHERE image_type = 'image/x-legacy'", String.class);
+        assertAll(
+            () -> assertArrayEquals(picture, Files.readAllBytes(imageStore.path(hash))),
+            () -> assertThrows(BadSqlGrammarException.class, () -> jdbcTemplate.queryForList("SELECT image FROM image"))
+        );
+    }
+}
@@ -0,0 +1,86 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.Geocoder;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.LocationGeoIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class LocationGeoIndexTest {
+
+    private static final GeoPoint STEPHANSPLATZ = new GeoPoint(48.2085, 16.3731);
+
+    private LocationGeoIndex geoIndex;
+
+    @BeforeEach
+    void setUp() {
+        geoIndex = new LocationGeoIndex(mock(EventLocationRepository.class), mock(PlatformTransactionManager.class));
+        geoIndex.load();
+        geoIndex.put(1L, new GeoPoint(48.1700, 16.4400)); // Gasometer, about 6.5 km
+        geoIndex.put(2L, new GeoPoint(48.2030, 16.3610)); // Volkstheater, about 1 km
+        geoIndex.put(3L, new GeoPoint(47.8095, 13.0550)); // Salzburg, about 250 km
+        geoIndex.put(4L, new GeoPoint(48.3069, 14.2858)); // Linz, about 155 km
+    }
+
+    @Test
+    public void within_returnsLocationsInRadiusNearestFirst() {
+        List<LocationGeoIndex.Hit> hits = geoIndex.within(STEPHANSPLATZ, 10);
+
+        assertAll(
+            () -> assertEquals(List.of(2L, 1L), hits.stream().map(LocationGeoIndex.Hit::id).toList()),
+            () -> assertEquals(1.0, hits.get(0).distanceKm(), 0.2),
+            () -> assertEquals(6.5, hits.get(1).distanceKm(), 0.5)
+        );
+    }
+
+    @Test
+    public void within_largeRadiusScansAllLocations() {
+        List<LocationGeoIndex.Hit> hits = geoIndex.within(STEPHANSPLATZ, 200);
+
+        assertEquals(List.of(2L, 1L, 4L), hits.stream().map(LocationGeoIndex.Hit::id).toList());
+    }
+
+    @Test
+    public void put_movesLocationAndRemoveDropsIt() {
+        geoIndex.put(3L, new GeoPoint(48.2100, 16.3700));
+        List<Long> moved = geoIndex.within(STEPHANSPLATZ, 10).stream().map(LocationGeoIndex.Hit::id).toList();
+        geoIndex.remove(2L);
+        geoIndex.put(1L, null);
+        List<Long> removed = geoIndex.within(STEPHANSPLATZ, 10).stream().map(LocationGeoIndex.Hit::id).toList();
+
+        assertAll(
+            () -> assertEquals(List.of(3L, 2L, 1L), moved),
+            () -> assertEquals(List.of(3L), removed)
+        );
+    }
+
+    @Test
+    public void within_findsLocationsAcrossTheDateLine() {
+        geoIndex.put(5L, new GeoPoint(-16.50, 179.95));
+        geoIndex.put(6L, new GeoPoint(-16.50, -179.95));
+
+        List<LocationGeoIndex.Hit> hits = geoIndex.within(new GeoPoint(-16.50, 179.99), 20);
+
+        assertEquals(List.of(5L, 6L), hits.stream().map(LocationGeoIndex.Hit::id).toList());
+    }
+
+    @Test
+    public void geocoder_locatesByPostalCodeThenCityIgnoringCaseAndAccents() {
+        Geocoder geocoder = new Geocoder();
+
+        assertAll(
+            () -> assertEquals(new GeoPoint(48.1700, 16.4400), geocoder.locate("Austria", "1110", "Vienna")),
+            () -> assertEquals(new GeoPoint(47.3769, 8.5417), geocoder.locate("schweiz", "9999", "ZURICH")),
+            () -> assertEquals(new GeoPoint(48.2082, 16.3738), geocoder.locate("Österreich", null, "Wien")),
+            () -> assertNull(geocoder.locate("Country 1", "PostalCode 1", "City 1")),
+            () -> assertNull(geocoder.locate("Austria", "9999", "Atlantis"))
+        );
+    }
+}
@@ -0,0 +1,151 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.exception.PdfRenderQueueFullException;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfDocumentModel;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfDocumentStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderPool;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderer;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdf;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfRenderPoolTest {
+
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @TempDir
+    private Path storeDirectory;
+
+    private PdfRenderPool renderPool;
+
+    @AfterEach
+    void tearDown() {
+        renderPool.shutdown();
+    }
+
+    @Test
+    public void render_rendersEachModelOnceAndServesRepeatsFromStore() throws Exception {
+        AtomicInteger renders = new AtomicInteger();
+        PdfRenderer renderer = new PdfRenderer() {
+            @Override
+            public byte[] render(PdfDocumentModel model) {
+                renders.incrementAndGet();
+                return super.render(model);
+            }
+        };
+        renderPool = new PdfRenderPool(renderer, new PdfDocumentStore(storeDirectory, RETENTION), 2, 10);
+
+        StoredPdf first = renderPool.render(invoice(1L, "Max"));
+        StoredPdf repeated = renderPool.render(invoice(1L, "Max"));
+        StoredPdf changed = renderPool.render(invoice(1L, "Moritz"));
+
+        assertAll(
+            () -> assertEquals(first, repeated),
+            () -> assertNotEquals(first.etag(), changed.etag()),
+            () -> assertTrue(Files.readString(changed.path(), StandardCharsets.ISO_8859_1).startsWith("%PDF")),
+            // the older version stays until it ages out
+            () -> assertTrue(Files.exists(first.path())),
+            () -> assertEquals(2, renders.get())
+        );
+    }
+
+    @Test
+    public void evict_removesStoredDocumentsOfTheEntityOnly() {
+        PdfDocumentStore store = new PdfDocumentStore(storeDirectory, RETENTION);
+        renderPool = new PdfRenderPool(new PdfRenderer(), store, 1, 10);
+        StoredPdf evicted = renderPool.render(invoice(1L, "Max"));
+        StoredPdf kept = renderPool.render(invoice(2L, "Max"));
+
+        store.evict("invoice", 1L);
+
+        assertAll(
+            () -> assertNull(store.find(invoice(1L, "Max"))),
+            () -> assertFalse(Files.exists(evicted.path())),
+            () -> assertEquals(kept, store.find(invoice(2L, "Max")))
+        );
+    }
+
+    @Test
+    public void removeUnused_removesOnlyDocumentsUnusedForTheRetention() throws Exception {
+        PdfDocumentStore store = new PdfDocumentStore(storeDirectory, RETENTION);
+        renderPool = new PdfRenderPool(new PdfRenderer(), store, 1, 10);
+        StoredPdf outdated = renderPool.render(invoice(1L, "Max"));
+        StoredPdf current = renderPool.render(invoice(1L, "Moritz"));
+        StoredPdf lookedUp = renderPool.render(invoice(2L, "Max"));
+        FileTime longAgo = FileTime.from(Instant.now().minus(RETENTION).minusSeconds(60));
+        Files.setLastModifiedTime(outdated.path(), longAgo);
+        Files.setLastModifiedTime(lookedUp.path(), longAgo);
+
+        // looking a document up counts as using it
+        StoredPdf found = store.find(invoice(2L, "Max"));
+        store.removeUnused();
+
+        assertAll(
+            () -> assertFalse(Files.exists(outdated.path())),
+            () -> assertTrue(Files.exists(current.path())),
+            () -> assertEquals(lookedUp, found),
+            () -> assertTrue(Files.exists(lookedUp.path()))
+        );
+    }
+
+    @Test
+    public void render_rejectsDocumentsWhenWorkersAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PdfRenderer renderer = new PdfRenderer() {
+            @Override
+            public byte[] render(PdfDocumentModel model) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new byte[] {1};
+            }
+        };
+        renderPool = new PdfRenderPool(renderer, new PdfDocumentStore(storeDirectory, RETENTION), 1, 1);
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+
+        CompletableFuture<StoredPdf> running = CompletableFuture.supplyAsync(() -> renderPool.render(invoice(1L, "A")), callers);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        // one of the two waits in the queue, the other is rejected right away
+        CompletableFuture<StoredPdf> second = CompletableFuture.supplyAsync(() -> renderPool.render(invoice(2L, "B")), callers);
+        CompletableFuture<StoredPdf> third = CompletableFuture.supplyAsync(() -> renderPool.render(invoice(3L, "C")), callers);
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> CompletableFuture.anyOf(second, third).get(10, TimeUnit.SECONDS));
+        release.countDown();
+        CompletableFuture<StoredPdf> queued = second.isCompletedExceptionally() ? third : second;
+
+        assertAll(
+            () -> assertInstanceOf(PdfRenderQueueFullException.class, rejected.getCause()),
+            () -> assertArrayEquals(new byte[] {1}, Files.readAllBytes(running.get(10, TimeUnit.SECONDS).path())),
+            () -> assertArrayEquals(new byte[] {1}, Files.readAllBytes(queued.get(10, TimeUnit.SECONDS).path()))
+        );
+        callers.shutdown();
+    }
+
+    private static PdfDocumentModel.InvoiceDocument invoice(Long orderId, String firstName) {
+        return new PdfDocumentModel.InvoiceDocument(orderId, false, firstName, "Mustermann", "Musterstraße", "12A", "1040", "Wien", "Österreich",
+            LocalDateTime.of(2025, 5, 31, 10, 0),
+            List.of(new PdfDocumentModel.InvoiceLine(LocalDateTime.of(2025, 6, 1, 20, 0), "Muster Event", "Raum A", 1L, 5, 12, 30)));
+    }
+}
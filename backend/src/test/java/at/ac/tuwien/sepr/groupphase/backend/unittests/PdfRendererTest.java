@@ -0,0 +1,108 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfDocumentModel;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderer;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfResources;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PdfRendererTest {
+
+    private final PdfRenderer renderer = new PdfRenderer();
+
+    @Test
+    public void render_drawsTicketWithoutRasterImages() throws IOException {
+        try (PdfDocument pdf = read(renderer.render(ticket(1L)))) {
+            PdfResources resources = pdf.getFirstPage().getResources();
+            String text = PdfTextExtractor.getTextFromPage(pdf.getFirstPage());
+
+            assertAll(
+                () -> assertTrue(text.contains("Karlsplatz 13, 1040 Wien")),
+                () -> assertTrue(text.contains("Show: Funky Evening")),
+                // the company header and the QR code
+                () -> assertEquals(2, resources.getResourceNames(PdfName.XObject).size()),
+                () -> resources.getResourceNames(PdfName.XObject).forEach(name -> {
+                    PdfStream xObject = resources.getResource(PdfName.XObject).getAsStream(name);
+                    assertEquals(PdfName.Form, xObject.getAsName(PdfName.Subtype));
+                })
+            );
+        }
+    }
+
+    @Test
+    public void renderTickets_writesOnePagePerTicketSharingTheHeader() throws IOException {
+        List<PdfDocumentModel.TicketDocument> tickets = List.of(ticket(1L), ticket(2L), ticket(3L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        renderer.renderTickets(tickets, out);
+
+        try (PdfDocument pdf = read(out.toByteArray())) {
+            Set<PdfIndirectReference> xObjects = new HashSet<>();
+            for (int page = 1; page <= pdf.getNumberOfPages(); page++) {
+                PdfDictionary pageXObjects = pdf.getPage(page).getResources().getResource(PdfName.XObject);
+                pageXObjects.keySet().forEach(name -> xObjects.add(pageXObjects.getAsStream(name).getIndirectReference()));
+            }
+
+            assertAll(
+                () -> assertEquals(3, pdf.getNumberOfPages()),
+                () -> assertTrue(PdfTextExtractor.getTextFromPage(pdf.getPage(3)).contains("Karlsplatz 13, 1040 Wien")),
+                // one QR code per ticket and a single header
+                () -> assertEquals(4, xObjects.size())
+            );
+        }
+    }
+
+    @Test
+    public void render_addsClosingTextMatchingTheInvoiceKind() throws IOException {
+        List<PdfDocumentModel.InvoiceLine> lines = List.of(
+            new PdfDocumentModel.InvoiceLine(LocalDateTime.of(2025, 6, 1, 20, 0), "Muster Event", "Raum A", 1L, 5, 12, 30));
+
+        String invoice = text(renderer.render(new PdfDocumentModel.InvoiceDocument(1L, false, "Max", "Mustermann", null, null, null, null, null,
+            LocalDateTime.of(2025, 5, 31, 10, 0), lines)));
+        String cancellation = text(renderer.render(new PdfDocumentModel.InvoiceDocument(1L, true, "Max", "Mustermann", null, null, null, null, null,
+            LocalDateTime.of(2025, 5, 31, 10, 0), lines)));
+
+        assertAll(
+            () -> assertTrue(invoice.contains("Bezeichnung")),
+            () -> assertTrue(invoice.contains("Wir wünschen Ihnen einen interessanten und angenehmen Veranstaltungsbesuch!")),
+            () -> assertTrue(invoice.contains("UID: ATU1234567")),
+            () -> assertTrue(cancellation.contains("Wir haben Ihre Stornierung erhalten")),
+            () -> assertFalse(cancellation.contains("Veranstaltungsbesuch"))
+        );
+    }
+
+    private static PdfDocumentModel.TicketDocument ticket(Long ticketId) {
+        return new PdfDocumentModel.TicketDocument(ticketId, "4d5d4d7ddddd44", "Funky Evening", "Jazzkonzert",
+            "Testhalle", "Teststraße 1", "1010", "Vienna", LocalDateTime.of(2025, 6, 1, 20, 0), "Test Room A", 2L, 3, 4, 30);
+    }
+
+    private static String text(byte[] pdf) throws IOException {
+        try (PdfDocument document = read(pdf)) {
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= document.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(document.getPage(page)));
+            }
+            return text.toString();
+        }
+    }
+
+    private static PdfDocument read(byte[] pdf) throws IOException {
+        return new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)));
+    }
+}
@@ -0,0 +1,67 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceCandidate;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceRanker;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceScorer;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.WeightedRelevanceScorer;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RelevanceRankerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private final WeightedRelevanceScorer scorer = new WeightedRelevanceScorer(0.55, 0.2, 0.1, 0.15);
+
+    @Test
+    public void page_returnsRequestedSliceOfAllCandidatesBestFirst() {
+        // the candidate ID doubles as its score, in shuffled order
+        RelevanceRanker ranker = new RelevanceRanker((candidate, context) -> candidate.textScore());
+        List<RelevanceCandidate> candidates = new ArrayList<>();
+        LongStream.of(7, 3, 9, 1, 5, 8, 2, 6, 4, 10).forEach(id -> candidates.add(new RelevanceCandidate(id, id, null, 0, 0)));
+
+        assertAll(
+            () -> assertEquals(List.of(10L, 9L, 8L), ranker.page(candidates, NOW, PageRequest.of(0, 3))),
+            () -> assertEquals(List.of(7L, 6L, 5L), ranker.page(candidates, NOW, PageRequest.of(1, 3))),
+            () -> assertEquals(List.of(1L), ranker.page(candidates, NOW, PageRequest.of(3, 3))),
+            () -> assertEquals(List.of(), ranker.page(candidates, NOW, PageRequest.of(4, 3)))
+        );
+    }
+
+    @Test
+    public void page_ordersEqualScoresByIdSoPagesDoNotOverlap() {
+        RelevanceRanker ranker = new RelevanceRanker((candidate, context) -> 1);
+        List<RelevanceCandidate> candidates = List.of(
+            new RelevanceCandidate(3L, 0, null, 0, 0),
+            new RelevanceCandidate(1L, 0, null, 0, 0),
+            new RelevanceCandidate(2L, 0, null, 0, 0));
+
+        assertAll(
+            () -> assertEquals(List.of(1L, 2L), ranker.page(candidates, NOW, PageRequest.of(0, 2))),
+            () -> assertEquals(List.of(3L), ranker.page(candidates, NOW, PageRequest.of(1, 2)))
+        );
+    }
+
+    @Test
+    public void score_prefersBetterTextMatchSoonerDateAndPopularShowsWithPlacesLeft() {
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        RelevanceScorer.Context context = new RelevanceScorer.Context(2.0, 100, now);
+        RelevanceCandidate base = new RelevanceCandidate(1L, 1.0, now.plusDays(30), 10, 100);
+
+        assertAll(
+            () -> assertTrue(scorer.score(new RelevanceCandidate(1L, 2.0, now.plusDays(30), 10, 100), context) > scorer.score(base, context)),
+            () -> assertTrue(scorer.score(new RelevanceCandidate(1L, 1.0, now.plusDays(1), 10, 100), context) > scorer.score(base, context)),
+            () -> assertTrue(scorer.score(new RelevanceCandidate(1L, 1.0, now.plusDays(30), 60, 100), context) > scorer.score(base, context)),
+            () -> assertTrue(scorer.score(new RelevanceCandidate(1L, 1.0, now.plusDays(30), 100, 100), context) < scorer.score(base, context)),
+            () -> assertTrue(scorer.score(new RelevanceCandidate(1L, 1.0, now.minusDays(1), 10, 100), context) < scorer.score(base, context)),
+            () -> assertEquals(0.55 + 0.1 * 0.5, scorer.score(new RelevanceCandidate(1L, 2.0, null, 0, 0), new RelevanceScorer.Context(2.0, 0, now)), 1e-9)
+        );
+    }
+}
@@ -4,6 +4,8 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventSearchRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.specifications.EventSpecifications;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -152,4 +156,19 @@ public class EventRepositoryTest {
             () -> assertEquals(120, saved.getDuration())
         );
     }
+
+    @Test
+    public void findSearchRows_selectsResultColumnsOfMatchingEvents() {
+        Event event = eventRepository.findAll().getFirst();
+
+        Page<EventSearchRepository.EventRow> page = eventRepository.findSearchRows(EventSpecifications.hasCategory("classic"), PageRequest.of(0, 10));
+        Page<EventSearchRepository.EventRow> empty = eventRepository.findSearchRows(EventSpecifications.hasCategory("rock"), PageRequest.of(0, 10));
+
+        assertAll(
+            () -> assertEquals(1, page.getTotalElements()),
+            () -> assertEquals(new EventSearchRepository.EventRow(event.getId(), "Test Event", Event.EventCategory.CLASSICAL, event.getLocation().getId(),
+                120, "A wonderful classical evening."), page.getContent().getFirst()),
+            () -> assertEquals(0, empty.getTotalElements())
+        );
+    }
 }
@@ -2,6 +2,7 @@ package at.ac.tuwien.sepr.groupphase.backend.unittests.Repository;
 
 import at.ac.tuwien.sepr.groupphase.backend.entity.*;
 import at.ac.tuwien.sepr.groupphase.backend.repository.*;
+import at.ac.tuwien.sepr.groupphase.backend.service.specifications.ShowSpecifications;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -226,5 +228,20 @@ public class ShowRepositoryTest {
         );
     }
 
+    @Test
+    public void findSearchRows_selectsResultColumnsOfMatchingShows() {
+        Show show = showRepository.findAll().getFirst();
+        Specification<Show> inMainRoom = ShowSpecifications.hasRoomName("main");
+        Specification<Show> inOtherRoom = ShowSpecifications.hasRoomName("other");
+
+        Page<ShowSearchRepository.ShowRow> page = showRepository.findSearchRows(inMainRoom, PageRequest.of(0, 10));
+        List<ShowSearchRepository.ShowRow> none = showRepository.findSearchRows(inOtherRoom);
 
-}
\ No newline at end of file
+        assertAll(
+            () -> assertEquals(1, page.getTotalElements()),
+            () -> assertEquals(new ShowSearchRepository.ShowRow(show.getId(), "Evening Show", 150, show.getDate(), show.getEvent().getId(), "Summer Fest",
+                testRoom.getId(), "Main Room", null, null), page.getContent().getFirst()),
+            () -> assertTrue(none.isEmpty())
+        );
+    }
+}
@@ -0,0 +1,128 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Artist;
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchHit;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SearchIndexTest {
+
+    private final EventLocationRepository eventLocationRepository = mock(EventLocationRepository.class);
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(mock(ArtistRepository.class), mock(EventRepository.class), mock(ShowRepository.class),
+            eventLocationRepository, mock(PlatformTransactionManager.class));
+        searchIndex.load();
+        searchIndex.put(SearchDocument.of(location(1L, "Café Müller", "Straße des Friedens", "Wien")));
+        searchIndex.put(SearchDocument.of(location(2L, "Cafeteria", "Ring 1", "Wien")));
+        searchIndex.put(SearchDocument.of(location(3L, "Stadthalle", "Roland-Rainer-Platz 1", "Wien")));
+    }
+
+    @Test
+    public void search_ignoresCaseAndAccentsAndRanksWholeWordsFirst() {
+        List<SearchHit> hits = searchIndex.search(SearchDocument.Type.LOCATION, Map.of(SearchDocument.NAME, "CAFE"));
+
+        assertAll(
+            () -> assertEquals(List.of(1L, 2L), hits.stream().map(SearchHit::id).toList()),
+            () -> assertTrue(hits.get(0).score() > hits.get(1).score())
+        );
+    }
+
+    @Test
+    public void search_requiresEveryWordOfEveryField() {
+        List<SearchHit> hits = searchIndex.search(SearchDocument.Type.LOCATION, Map.of(
+            SearchDocument.NAME, "muller cafe",
+            SearchDocument.STREET, "strasse"));
+        List<SearchHit> none = searchIndex.search(SearchDocument.Type.LOCATION, Map.of(
+            SearchDocument.NAME, "cafe",
+            SearchDocument.STREET, "platz"));
+
+        assertAll(
+            () -> assertEquals(List.of(1L), hits.stream().map(SearchHit::id).toList()),
+            () -> assertTrue(none.isEmpty())
+        );
+    }
+
+    @Test
+    public void put_replacesPreviousVersionAndRemoveDropsDocument() {
+        Artist artist = Artist.ArtistBuilder.anArtist().withFirstname("Freddie").withLastname("Mercury").withStagename("Queen").build();
+        artist.setId(5L);
+        searchIndex.put(SearchDocument.of(artist));
+        artist.setStagename("Solo");
+        searchIndex.put(SearchDocument.of(artist));
+
+        List<SearchHit> oldName = searchIndex.search(SearchDocument.Type.ARTIST, Map.of(SearchDocument.STAGENAME, "queen"));
+        List<SearchHit> newName = searchIndex.search(SearchDocument.Type.ARTIST, Map.of(SearchDocument.STAGENAME, "solo"));
+        searchIndex.remove(SearchDocument.Type.ARTIST, 5L);
+        List<SearchHit> removed = searchIndex.search(SearchDocument.Type.ARTIST, Map.of(SearchDocument.FIRSTNAME, "fred"));
+
+        assertAll(
+            () -> assertTrue(oldName.isEmpty()),
+            () -> assertEquals(List.of(5L), newName.stream().map(SearchHit::id).toList()),
+            () -> assertTrue(removed.isEmpty())
+        );
+    }
+
+    @Test
+    public void searchAll_matchesAnyFieldAndLimitsHitsPerType() {
+        Artist artist = Artist.ArtistBuilder.anArtist().withFirstname("Wien").withLastname("Er").withStagename("Wiener Sängerknaben").build();
+        artist.setId(9L);
+        searchIndex.put(SearchDocument.of(artist));
+
+        Map<SearchDocument.Type, List<SearchHit>> hits = searchIndex.searchAll("wien", 2);
+        Map<SearchDocument.Type, List<SearchHit>> both = searchIndex.searchAll("cafe ring", 2);
+
+        assertAll(
+            () -> assertEquals(2, hits.get(SearchDocument.Type.LOCATION).size()),
+            () -> assertEquals(List.of(9L), hits.get(SearchDocument.Type.ARTIST).stream().map(SearchHit::id).toList()),
+            () -> assertTrue(hits.get(SearchDocument.Type.EVENT).isEmpty()),
+            () -> assertEquals(List.of(2L), both.get(SearchDocument.Type.LOCATION).stream().map(SearchHit::id).toList())
+        );
+    }
+
+    @Test
+    public void load_withChangesCommittedMeanwhile_keepsTheNewerVersions() {
+        SearchIndex loading = new SearchIndex(mock(ArtistRepository.class), mock(EventRepository.class), mock(ShowRepository.class),
+            eventLocationRepository, mock(PlatformTransactionManager.class));
+        when(eventLocationRepository.findAll()).thenAnswer(invocation -> {
+            // committed while the stale rows are read
+            loading.put(SearchDocument.of(location(1L, "Konzerthaus", "Lothringerstraße 20", "Wien")));
+            loading.remove(SearchDocument.Type.LOCATION, 2L);
+            return List.of(location(1L, "Café Müller", "Straße des Friedens", "Wien"), location(2L, "Cafeteria", "Ring 1", "Wien"));
+        });
+
+        loading.load();
+
+        assertAll(
+            () -> assertTrue(loading.search(SearchDocument.Type.LOCATION, Map.of(SearchDocument.NAME, "cafe")).isEmpty()),
+            () -> assertEquals(List.of(1L), loading.search(SearchDocument.Type.LOCATION, Map.of(SearchDocument.NAME, "konzerthaus"))
+                .stream().map(SearchHit::id).toList())
+        );
+    }
+
+    private static EventLocation location(Long id, String name, String street, String city) {
+        EventLocation location = new EventLocation();
+        location.setId(id);
+        location.setName(name);
+        location.setStreet(street);
+        location.setCity(city);
+        return location;
+    }
+}
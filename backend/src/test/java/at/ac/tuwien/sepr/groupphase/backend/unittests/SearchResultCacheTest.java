@@ -0,0 +1,75 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchResultCache cache;
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(1000, Duration.ofMinutes(10), meterRegistry);
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    public void get_searchesOnceAndReportsHitsAndMisses() {
+        Page<String> first = cache.get(SearchDocument.Type.EVENT, "rock", this::search);
+        Page<String> second = cache.get(SearchDocument.Type.EVENT, "rock", this::search);
+        cache.get(SearchDocument.Type.SHOW, "rock", this::search);
+
+        assertAll(
+            () -> assertSame(first, second),
+            () -> assertEquals(2, searches.get()),
+            () -> assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "search.event").tag("result", "hit").functionCounter().count()),
+            () -> assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "search.event").tag("result", "miss").functionCounter().count()),
+            () -> assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "search.show").tag("result", "miss").functionCounter().count())
+        );
+    }
+
+    @Test
+    public void onResultsChanged_dropsOnlyTheNamedTypes() {
+        cache.get(SearchDocument.Type.ARTIST, "queen", this::search);
+        cache.get(SearchDocument.Type.EVENT, "queen", this::search);
+        cache.get(SearchDocument.Type.SHOW, "queen", this::search);
+
+        cache.onResultsChanged(SearchResultsChangedEvent.eventChanged());
+        cache.get(SearchDocument.Type.ARTIST, "queen", this::search);
+        cache.get(SearchDocument.Type.EVENT, "queen", this::search);
+        cache.get(SearchDocument.Type.SHOW, "queen", this::search);
+
+        assertEquals(5, searches.get());
+    }
+
+    @Test
+    public void get_doesNotKeepPageOfSearchOverlappingAChange() {
+        cache.get(SearchDocument.Type.SHOW, "opera", () -> {
+            cache.invalidate(SearchDocument.Type.SHOW);
+            return search();
+        });
+        cache.get(SearchDocument.Type.SHOW, "opera", this::search);
+
+        assertEquals(2, searches.get());
+    }
+
+    private Page<String> search() {
+        searches.incrementAndGet();
+        return new PageImpl<>(List.of("result"));
+    }
+}
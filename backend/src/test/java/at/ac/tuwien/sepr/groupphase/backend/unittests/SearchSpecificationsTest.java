@@ -1,5 +1,6 @@
 package at.ac.tuwien.sepr.groupphase.backend.unittests;
 
+import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.ArtistSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.EventLocationSpecifications;
 import at.ac.tuwien.sepr.groupphase.backend.service.specifications.EventSpecifications;
@@ -119,6 +120,12 @@ class SearchSpecificationsTest {
         when(mockPath.get(anyString())).thenReturn(mockPath);
         when(joinRoom.get(anyString())).thenReturn(mockPath);
         when(joinSector.get(anyString())).thenReturn(mockPath);
+        Subquery subquery = mock(Subquery.class);
+        Root sectorRoot = mock(Root.class);
+        when(query.subquery(Integer.class)).thenReturn(subquery);
+        when(subquery.from(Sector.class)).thenReturn(sectorRoot);
+        when(subquery.select(any())).thenReturn(subquery);
+        when(sectorRoot.get(anyString())).thenReturn(mockPath);
 
         ShowSpecifications.dateBetween(LocalDateTime.now(), LocalDateTime.now().plusDays(1))
             .toPredicate(root, query, cb);
@@ -119,6 +119,36 @@ class SearchValidatorTest {
         assertThrows(ValidationException.class, () -> validator.validateForEventLocations(dto));
     }
 
+    @Test
+    void validateForEventLocations_NearWithRadius_Passes() {
+        EventLocationSearchDto dto = new EventLocationSearchDto();
+        dto.setNear("48.2082, 16.3738");
+        dto.setRadiusKm(25.0);
+        assertDoesNotThrow(() -> validator.validateForEventLocations(dto));
+    }
+
+    @Test
+    void validateForEventLocations_InvalidNearOrRadius_Throws() {
+        EventLocationSearchDto outOfRange = new EventLocationSearchDto();
+        outOfRange.setNear("91,16");
+        outOfRange.setRadiusKm(10.0);
+        EventLocationSearchDto missingRadius = new EventLocationSearchDto();
+        missingRadius.setNear("48.2,16.3");
+        EventLocationSearchDto radiusTooLarge = new EventLocationSearchDto();
+        radiusTooLarge.setNear("48.2,16.3");
+        radiusTooLarge.setRadiusKm(SearchValidator.MAX_RADIUS_KM + 1.0);
+        EventLocationSearchDto radiusWithoutNear = new EventLocationSearchDto();
+        radiusWithoutNear.setCity("Vienna");
+        radiusWithoutNear.setRadiusKm(10.0);
+
+        assertAll(
+            () -> assertThrows(ValidationException.class, () -> validator.validateForEventLocations(outOfRange)),
+            () -> assertThrows(ValidationException.class, () -> validator.validateForEventLocations(missingRadius)),
+            () -> assertThrows(ValidationException.class, () -> validator.validateForEventLocations(radiusTooLarge)),
+            () -> assertThrows(ValidationException.class, () -> validator.validateForEventLocations(radiusWithoutNear))
+        );
+    }
+
     @Test
     void validateForEventLocations_InvalidPage_Throws() {
         EventLocationSearchDto dto = new EventLocationSearchDto();
@@ -0,0 +1,126 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatClaimEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeatClaimEngineTest {
+
+    private static final Long SHOW_ID = 1L;
+
+    private final SeatClaimEngine seatClaimEngine = new SeatClaimEngine();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void claim_whileOtherTransactionOnShowIsOpen_waitsForItsCommit() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        List<String> order = new ArrayList<>();
+
+        Future<?> first = executor.submit(() -> inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            seatClaimEngine.claim(SHOW_ID, () -> order.add("first"));
+            claimed.countDown();
+            await(commit);
+        }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch secondDone = new CountDownLatch(1);
+        Future<?> second = executor.submit(() -> inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            seatClaimEngine.claim(SHOW_ID, () -> order.add("second"));
+            secondDone.countDown();
+        }));
+
+        boolean secondRanBeforeCommit = secondDone.await(300, TimeUnit.MILLISECONDS);
+        commit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertAll(
+            () -> assertFalse(secondRanBeforeCommit, "A claim must not run while another one on the show is not committed"),
+            () -> assertEquals(List.of("first", "second"), order)
+        );
+    }
+
+    @Test
+    public void lockUntilCompletion_onRollback_revertsBeforeOthersGetTheLock() throws Exception {
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch rollback = new CountDownLatch(1);
+
+        Future<?> failing = executor.submit(() -> inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> {
+            seatClaimEngine.lockUntilCompletion(SHOW_ID, taken::decrementAndGet);
+            taken.incrementAndGet();
+            locked.countDown();
+            await(rollback);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        Future<Integer> reader = executor.submit(() -> seatClaimEngine.withLock(SHOW_ID, taken::get));
+        rollback.countDown();
+        failing.get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, reader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void claim_onOtherShow_doesNotWait() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> {
+            seatClaimEngine.claim(SHOW_ID, () -> true);
+            claimed.countDown();
+            await(commit);
+        }));
+        assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+        Future<Boolean> other = executor.submit(() -> seatClaimEngine.claim(SHOW_ID + 1, () -> true));
+
+        try {
+            assertTrue(other.get(5, TimeUnit.SECONDS));
+        } finally {
+            commit.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Runs the action with transaction synchronization active and completes the transaction with the given status.
+     */
+    private static void inTransaction(int status, Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), status);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
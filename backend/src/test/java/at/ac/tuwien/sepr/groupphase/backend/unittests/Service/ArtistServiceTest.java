@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -47,13 +48,16 @@ public class ArtistServiceTest {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private ArtistServiceImpl artistService;
 
     private Show testShow;
 
     @BeforeEach
     public void setUp() {
-        artistService = new ArtistServiceImpl(artistRepository, showRepository);
+        artistService = new ArtistServiceImpl(artistRepository, showRepository, eventPublisher);
 
         EventLocation testLocation = EventLocation.EventLocationBuilder.anEventLocation()
             .withName("Wiener Konzerthaus")
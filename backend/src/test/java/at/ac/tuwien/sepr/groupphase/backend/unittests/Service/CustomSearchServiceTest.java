@@ -4,6 +4,9 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.artist.ArtistSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.artist.ArtistSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.event.EventSearchResultDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.FacetedPageDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.search.GlobalSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.show.ShowSearchResultDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.eventlocation.EventLocationDetailDto;
@@ -19,16 +22,33 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
 import at.ac.tuwien.sepr.groupphase.backend.exception.ValidationException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowSearchRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.CustomSearchService;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.GeoPoint;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.LocationGeoIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.ShowSalesStatistics;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.FacetIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.RelevanceRanker;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchHit;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultCache;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchResultsChangedEvent;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.WeightedRelevanceScorer;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.SearchValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -38,9 +58,12 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -65,6 +88,24 @@ class CustomSearchServiceTest {
     @Mock
     private EventLocationRepository eventLocationRepo;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private LocationGeoIndex locationGeoIndex;
+
+    @Mock
+    private FacetIndex facetIndex;
+
+    @Mock
+    private ShowSalesStatistics showSalesStatistics;
+
+    @Spy
+    private RelevanceRanker relevanceRanker = new RelevanceRanker(new WeightedRelevanceScorer(0.55, 0.2, 0.1, 0.15));
+
+    @Spy
+    private SearchResultCache searchResultCache = new SearchResultCache(1000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
     private Artist artist;
     private ArtistSearchResultDto dto;
     private Event event;
@@ -152,6 +193,35 @@ class CustomSearchServiceTest {
         );
     }
 
+    @Test
+    public void givenReadyIndex_whenSearchArtists_thenReturnsHitsInRankOrder() throws ValidationException {
+        Artist other = Artist.ArtistBuilder.anArtist()
+            .withFirstname("Fred")
+            .withLastname("Astaire")
+            .withStagename("Fred Astaire")
+            .build();
+        other.setId(7L);
+        artist.setId(42L);
+
+        ArtistSearchDto searchDto = new ArtistSearchDto();
+        searchDto.setFirstname("Fred");
+        searchDto.setPage(0);
+        searchDto.setSize(10);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(eq(SearchDocument.Type.ARTIST), any())).thenReturn(List.of(new SearchHit(7L, 2.0), new SearchHit(42L, 1.0)));
+        when(artistRepo.findAll(ArgumentMatchers.<Specification<Artist>>any())).thenReturn(List.of(artist, other));
+
+        Page<ArtistSearchResultDto> result = service.searchArtists(searchDto);
+
+        assertAll(
+            () -> assertEquals(2, result.getTotalElements()),
+            () -> assertEquals(7L, result.getContent().get(0).getId()),
+            () -> assertEquals(42L, result.getContent().get(1).getId())
+        );
+        verify(artistRepo, never()).findAll(ArgumentMatchers.<Specification<Artist>>any(), any(Pageable.class));
+    }
+
     @Test
     public void givenNoMatches_whenSearchArtists_thenReturnsEmptyPage() throws ValidationException {
         ArtistSearchDto searchDto = new ArtistSearchDto();
@@ -181,8 +251,8 @@ class CustomSearchServiceTest {
 
     @Test
     public void givenValidSearchDto_whenSearchEventLocations_thenReturnsMappedDtoPage() throws ValidationException {
-        Page<EventLocation> stubPage = new PageImpl<>(List.of(location), PageRequest.of(0, 10), 1);
-        when(eventLocationRepo.findAll(
+        Page<EventLocationSearchRepository.LocationRow> stubPage = new PageImpl<>(List.of(rowOf(location)), PageRequest.of(0, 10), 1);
+        when(eventLocationRepo.findSearchRows(
             ArgumentMatchers.<Specification<EventLocation>>any(),
             any(Pageable.class)))
             .thenReturn(stubPage);
@@ -207,15 +277,68 @@ class CustomSearchServiceTest {
         );
 
         verify(validator).validateForEventLocations(searchDto);
-        verify(eventLocationRepo).findAll(
+        verify(eventLocationRepo).findSearchRows(
             ArgumentMatchers.<Specification<EventLocation>>any(),
             eq(PageRequest.of(0, 10))
         );
     }
 
+    @Test
+    public void givenNearPoint_whenSearchEventLocations_thenReturnsLocationsNearestFirstWithDistance() throws ValidationException {
+        EventLocation closer = new EventLocation();
+        closer.setId(6L);
+        closer.setName("Volkstheater");
+        EventLocationSearchDto searchDto = new EventLocationSearchDto();
+        searchDto.setNear("48.2085,16.3731");
+        searchDto.setRadiusKm(10.0);
+
+        when(locationGeoIndex.isReady()).thenReturn(true);
+        when(locationGeoIndex.within(new GeoPoint(48.2085, 16.3731), 10.0))
+            .thenReturn(List.of(new LocationGeoIndex.Hit(6L, 1.0), new LocationGeoIndex.Hit(5L, 6.5)));
+        when(eventLocationRepo.findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any())).thenReturn(List.of(rowOf(location), rowOf(closer)));
+
+        Page<EventLocationDetailDto> result = service.searchEventLocations(searchDto);
+
+        assertAll(
+            () -> assertEquals(2, result.getTotalElements()),
+            () -> assertEquals(List.of(6L, 5L), result.getContent().stream().map(EventLocationDetailDto::getId).toList()),
+            () -> assertEquals(List.of(1.0, 6.5), result.getContent().stream().map(EventLocationDetailDto::getDistanceKm).toList())
+        );
+        verify(eventLocationRepo, never()).findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any(), any(Pageable.class));
+    }
+
+    @Test
+    public void givenNearPointAndCountry_whenSearchEventLocations_thenLoadsOnlyTheHitsNeededForThePage() throws ValidationException {
+        EventLocation nearest = new EventLocation();
+        nearest.setId(1L);
+        nearest.setName("Volkstheater");
+        EventLocationSearchDto searchDto = new EventLocationSearchDto();
+        searchDto.setNear("48.2085,16.3731");
+        searchDto.setRadiusKm(10.0);
+        searchDto.setCountry("Austria");
+        searchDto.setPage(0);
+        searchDto.setSize(2);
+
+        when(locationGeoIndex.isReady()).thenReturn(true);
+        when(locationGeoIndex.within(new GeoPoint(48.2085, 16.3731), 10.0))
+            .thenReturn(LongStream.rangeClosed(1, 450).mapToObj(id -> new LocationGeoIndex.Hit(id, id / 100.0)).toList());
+        when(eventLocationRepo.findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any())).thenReturn(List.of(rowOf(location), rowOf(nearest)));
+        when(eventLocationRepo.count(ArgumentMatchers.<Specification<EventLocation>>any())).thenReturn(100L);
+
+        Page<EventLocationDetailDto> result = service.searchEventLocations(searchDto);
+
+        assertAll(
+            () -> assertEquals(List.of(1L, 5L), result.getContent().stream().map(EventLocationDetailDto::getId).toList()),
+            // the matches of the first chunk and the counted ones of the two others
+            () -> assertEquals(202, result.getTotalElements())
+        );
+        verify(eventLocationRepo, times(1)).findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any());
+        verify(eventLocationRepo, times(2)).count(ArgumentMatchers.<Specification<EventLocation>>any());
+    }
+
     @Test
     public void givenNoMatches_whenSearchEventLocations_thenReturnsEmptyPage() throws ValidationException {
-        when(eventLocationRepo.findAll(
+        when(eventLocationRepo.findSearchRows(
             ArgumentMatchers.<Specification<EventLocation>>any(),
             any(Pageable.class)))
             .thenReturn(Page.empty());
@@ -233,7 +356,7 @@ class CustomSearchServiceTest {
         assertTrue(result.getContent().isEmpty());
 
         verify(validator).validateForEventLocations(searchDto);
-        verify(eventLocationRepo).findAll(
+        verify(eventLocationRepo).findSearchRows(
             ArgumentMatchers.<Specification<EventLocation>>any(),
             eq(PageRequest.of(0, 10))
         );
@@ -241,9 +364,9 @@ class CustomSearchServiceTest {
 
     @Test
     public void searchEvents_MapsEntitiesToDto() throws ValidationException {
-        Page<Event> stubPage = new PageImpl<>(List.of(event), PageRequest.of(0,10), 1);
+        Page<EventSearchRepository.EventRow> stubPage = new PageImpl<>(List.of(rowOf(event)), PageRequest.of(0,10), 1);
 
-        when(eventRepo.findAll(
+        when(eventRepo.findSearchRows(
             ArgumentMatchers.<Specification<Event>>any(),
             any(Pageable.class)
         )).thenReturn(stubPage);
@@ -268,6 +391,56 @@ class CustomSearchServiceTest {
         verify(validator).validateForEvents(dto);
     }
 
+    @Test
+    public void givenReadyIndexes_whenSearchEvents_thenRanksAndCountsFacetsOfAllTextMatches() throws ValidationException {
+        EventSearchDto dto = new EventSearchDto();
+        dto.setName("test");
+        dto.setCategory("rock");
+        dto.setPage(0);
+        dto.setSize(10);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search(eq(SearchDocument.Type.EVENT), any())).thenReturn(List.of(new SearchHit(1L, 2.0), new SearchHit(3L, 1.0)));
+        EventSearchRepository.EventRow other = new EventSearchRepository.EventRow(3L, "Other", Event.EventCategory.ROCK, 2L, 90, null);
+        when(eventRepo.findSearchRows(ArgumentMatchers.<Specification<Event>>any())).thenReturn(List.of(other, rowOf(event)));
+        when(facetIndex.isReady()).thenReturn(true);
+        List<FacetDocument.EventFacts> matches = List.of(
+            new FacetDocument.EventFacts(3L, Event.EventCategory.ROCK, 2L, LocalDateTime.now().plusDays(1), 90),
+            new FacetDocument.EventFacts(1L, Event.EventCategory.ROCK, 2L, LocalDateTime.now().plusDays(1), 90));
+        when(facetIndex.matchingEvents(Set.of(1L, 3L), "rock", null)).thenReturn(matches);
+        when(showSalesStatistics.snapshot()).thenReturn(new ShowSalesStatistics.Snapshot(LocalDateTime.now(), Map.of(), Map.of()));
+        when(facetIndex.countEvents(matches)).thenReturn(new FacetIndex.Facets(
+            Map.of("ROCK", 1L), Map.of("Vienna", 1L), Map.of("20-50", 1L), Map.of("2025-06", 1L)));
+
+        FacetedPageDto<EventSearchResultDto> result = service.searchEvents(dto);
+
+        assertAll(
+            () -> assertEquals(2, result.getTotalElements()),
+            () -> assertEquals(List.of(1L, 3L), result.getContent().stream().map(EventSearchResultDto::getId).toList()),
+            () -> assertEquals("ROCK", result.getFacets().getCategories().getFirst().getValue()),
+            () -> assertEquals(1L, result.getFacets().getCategories().getFirst().getCount()),
+            () -> assertEquals("Vienna", result.getFacets().getCities().getFirst().getValue()),
+            () -> assertEquals("20-50", result.getFacets().getPriceRanges().getFirst().getValue()),
+            () -> assertEquals("2025-06", result.getFacets().getMonths().getFirst().getValue())
+        );
+    }
+
+    @Test
+    public void givenIndexNotReady_whenSearchShowsByText_thenReturnsNoFacets() throws ValidationException {
+        ShowSearchDto searchDto = new ShowSearchDto();
+        searchDto.setName("test");
+        searchDto.setPage(0);
+        searchDto.setSize(10);
+
+        when(facetIndex.isReady()).thenReturn(true);
+        when(showRepo.findSearchRows(ArgumentMatchers.<Specification<Show>>any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        FacetedPageDto<ShowSearchResultDto> result = service.searchShows(searchDto);
+
+        assertNull(result.getFacets());
+        verify(facetIndex, never()).matchingShows(any(), any(), any(), any(), any(), any(), any());
+    }
+
     @Test
     public void givenValidSearchDto_whenSearchShows_thenReturnsMappedResultPage() throws ValidationException {
         ShowSearchDto searchDto = new ShowSearchDto();
@@ -276,8 +449,8 @@ class CustomSearchServiceTest {
         searchDto.setEventName("Test");
         searchDto.setRoomName("Main");
 
-        Page<Show> stubPage = new PageImpl<>(List.of(show), PageRequest.of(0, 10), 1);
-        when(showRepo.findAll(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
+        Page<ShowSearchRepository.ShowRow> stubPage = new PageImpl<>(List.of(rowOf(show)), PageRequest.of(0, 10), 1);
+        when(showRepo.findSearchRows(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
         doNothing().when(validator).validateForShows(searchDto);
 
         Page<ShowSearchResultDto> result = service.searchShows(searchDto);
@@ -294,7 +467,30 @@ class CustomSearchServiceTest {
         assertEquals("Main Hall", dto.getRoomName());
 
         verify(validator).validateForShows(searchDto);
-        verify(showRepo).findAll(any(Specification.class), eq(PageRequest.of(0, 10)));
+        verify(showRepo).findSearchRows(any(Specification.class), eq(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void givenRepeatedCriteria_whenSearchShows_thenAnswersFromCacheUntilRoomChanged() throws ValidationException {
+        ShowSearchDto first = new ShowSearchDto();
+        first.setEventName("Test");
+        first.setRoomName("");
+        ShowSearchDto sameIgnoringCase = new ShowSearchDto();
+        sameIgnoringCase.setEventName("TEST");
+
+        when(showRepo.findSearchRows(any(Specification.class), any(Pageable.class)))
+            .thenReturn(new PageImpl<>(List.of(rowOf(show)), PageRequest.of(0, 10), 1));
+
+        Page<ShowSearchResultDto> uncached = service.searchShows(first);
+        Page<ShowSearchResultDto> cached = service.searchShows(sameIgnoringCase);
+        searchResultCache.onResultsChanged(SearchResultsChangedEvent.artistChanged());
+        service.searchShows(first);
+        searchResultCache.onResultsChanged(SearchResultsChangedEvent.roomChanged());
+        service.searchShows(first);
+
+        assertSame(uncached, cached);
+        verify(showRepo, times(2)).findSearchRows(any(Specification.class), any(Pageable.class));
+        verify(validator, times(4)).validateForShows(any());
     }
 
     @Test
@@ -304,7 +500,7 @@ class CustomSearchServiceTest {
         searchDto.setSize(10);
         searchDto.setName("NotExisting");
 
-        when(showRepo.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
+        when(showRepo.findSearchRows(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
         doNothing().when(validator).validateForShows(searchDto);
 
         Page<ShowSearchResultDto> result = service.searchShows(searchDto);
@@ -313,7 +509,7 @@ class CustomSearchServiceTest {
         assertTrue(result.isEmpty());
 
         verify(validator).validateForShows(searchDto);
-        verify(showRepo).findAll(any(Specification.class), eq(PageRequest.of(0, 10)));
+        verify(showRepo).findSearchRows(any(Specification.class), eq(PageRequest.of(0, 10)));
     }
 
     @Test
@@ -336,8 +532,8 @@ class CustomSearchServiceTest {
             .build();
         showWithoutSectors.setId(200L);
 
-        Page<Show> stubPage = new PageImpl<>(List.of(showWithoutSectors), PageRequest.of(0, 10), 1);
-        when(showRepo.findAll(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
+        Page<ShowSearchRepository.ShowRow> stubPage = new PageImpl<>(List.of(rowOf(showWithoutSectors)), PageRequest.of(0, 10), 1);
+        when(showRepo.findSearchRows(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
         doNothing().when(validator).validateForShows(searchDto);
 
         Page<ShowSearchResultDto> result = service.searchShows(searchDto);
@@ -369,13 +565,14 @@ class CustomSearchServiceTest {
             .withRoom(roomWithSectors)
             .build();
         showWithSectors.setId(300L);
+        showWithSectors.updatePrices(roomWithSectors.getSectors());
 
-        Page<Show> stubPage = new PageImpl<>(
-            List.of(showWithSectors),
+        Page<ShowSearchRepository.ShowRow> stubPage = new PageImpl<>(
+            List.of(rowOf(showWithSectors)),
             PageRequest.of(0, 10),
             1
         );
-        when(showRepo.findAll(any(Specification.class), any(Pageable.class)))
+        when(showRepo.findSearchRows(any(Specification.class), any(Pageable.class)))
             .thenReturn(stubPage);
 
         doNothing().when(validator).validateForShows(searchDto);
@@ -395,8 +592,8 @@ class CustomSearchServiceTest {
         dto.setSize(10);
         dto.setDuration(90);
 
-        Page<Event> stubPage = new PageImpl<>(List.of(event), PageRequest.of(0, 10), 1);
-        when(eventRepo.findAll(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
+        Page<EventSearchRepository.EventRow> stubPage = new PageImpl<>(List.of(rowOf(event)), PageRequest.of(0, 10), 1);
+        when(eventRepo.findSearchRows(any(Specification.class), any(Pageable.class))).thenReturn(stubPage);
         doNothing().when(validator).validateForEvents(dto);
 
         Page<EventSearchResultDto> result = service.searchEvents(dto);
@@ -414,6 +611,75 @@ class CustomSearchServiceTest {
         );
 
         verify(validator).validateForEvents(dto);
-        verify(eventRepo).findAll(any(Specification.class), eq(PageRequest.of(0, 10)));
+        verify(eventRepo).findSearchRows(any(Specification.class), eq(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void givenReadyIndex_whenSearchAll_thenReturnsHitsOfEveryTypeInRankOrder() throws ValidationException {
+        Artist other = Artist.ArtistBuilder.anArtist().withFirstname("Brian").withLastname("May").withStagename("Queen").build();
+        other.setId(7L);
+        artist.setId(42L);
+        GlobalSearchDto searchDto = new GlobalSearchDto();
+        searchDto.setQuery("queen");
+        searchDto.setLimit(5);
+
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.searchAll("queen", 5)).thenReturn(Map.of(
+            SearchDocument.Type.ARTIST, List.of(new SearchHit(7L, 2.0), new SearchHit(42L, 1.0)),
+            SearchDocument.Type.EVENT, List.of(new SearchHit(1L, 1.0)),
+            SearchDocument.Type.LOCATION, List.of(),
+            SearchDocument.Type.SHOW, List.of(new SearchHit(100L, 1.0))));
+        when(artistRepo.findAllById(List.of(7L, 42L))).thenReturn(List.of(artist, other));
+        when(eventRepo.findSearchRows(ArgumentMatchers.<Specification<Event>>any())).thenReturn(List.of(rowOf(event)));
+        when(showRepo.findSearchRows(ArgumentMatchers.<Specification<Show>>any())).thenReturn(List.of(rowOf(show)));
+
+        GlobalSearchResultDto result = service.searchAll(searchDto);
+
+        assertAll(
+            () -> assertEquals(List.of(7L, 42L), result.getArtists().stream().map(ArtistSearchResultDto::getId).toList()),
+            () -> assertEquals(List.of(1L), result.getEvents().stream().map(EventSearchResultDto::getId).toList()),
+            () -> assertTrue(result.getLocations().isEmpty()),
+            () -> assertEquals(List.of(100L), result.getShows().stream().map(ShowSearchResultDto::getId).toList())
+        );
+        verify(validator).validateForGlobalSearch(searchDto);
+        verify(eventLocationRepo, never()).findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any());
+    }
+
+    @Test
+    public void givenIndexNotReady_whenSearchAll_thenQueriesEveryRepositoryWithLimit() throws ValidationException {
+        GlobalSearchDto searchDto = new GlobalSearchDto();
+        searchDto.setQuery("  Vienna ");
+        searchDto.setLimit(3);
+        PageRequest firstPage = PageRequest.of(0, 3);
+
+        when(artistRepo.findAll(ArgumentMatchers.<Specification<Artist>>any(), eq(firstPage))).thenReturn(new PageImpl<>(List.of(artist)));
+        when(eventRepo.findSearchRows(ArgumentMatchers.<Specification<Event>>any(), eq(firstPage))).thenReturn(Page.empty());
+        when(eventLocationRepo.findSearchRows(ArgumentMatchers.<Specification<EventLocation>>any(), eq(firstPage))).thenReturn(new PageImpl<>(List.of(rowOf(location))));
+        when(showRepo.findSearchRows(ArgumentMatchers.<Specification<Show>>any(), eq(firstPage))).thenReturn(new PageImpl<>(List.of(rowOf(show))));
+
+        GlobalSearchResultDto result = service.searchAll(searchDto);
+
+        assertAll(
+            () -> assertEquals("Queen", result.getArtists().getFirst().getStagename()),
+            () -> assertTrue(result.getEvents().isEmpty()),
+            () -> assertEquals("Gasometer", result.getLocations().getFirst().getName()),
+            () -> assertEquals("Amazing Show", result.getShows().getFirst().getName())
+        );
+        verify(searchIndex, never()).searchAll(any(), anyInt());
+    }
+
+    private static EventSearchRepository.EventRow rowOf(Event event) {
+        return new EventSearchRepository.EventRow(event.getId(), event.getName(), event.getCategory(), event.getLocation().getId(),
+            event.getDuration(), event.getDescription());
+    }
+
+    private static ShowSearchRepository.ShowRow rowOf(Show show) {
+        return new ShowSearchRepository.ShowRow(show.getId(), show.getName(), show.getDuration(), show.getDate(), show.getEvent().getId(),
+            show.getEvent().getName(), show.getRoom().getId(), show.getRoom().getName(), show.getMinPrice(), show.getMaxPrice());
+    }
+
+    private static EventLocationSearchRepository.LocationRow rowOf(EventLocation location) {
+        return new EventLocationSearchRepository.LocationRow(location.getId(), location.getName(), location.getStreet(), location.getCity(),
+            location.getCountry(), location.getPostalCode(), location.getLatitude(), location.getLongitude());
     }
 }
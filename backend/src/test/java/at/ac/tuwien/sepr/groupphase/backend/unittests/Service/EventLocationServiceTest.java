@@ -4,6 +4,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.mapper.ShowMapper;
 import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
 import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.geo.Geocoder;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.EventLocationServiceImpl;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,9 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,11 +36,14 @@ public class EventLocationServiceTest {
 
   private ShowMapper showMapper;
 
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
   private EventLocation testLocation;
 
   @BeforeEach
   public void setUp() {
-    eventLocationService = new EventLocationServiceImpl(eventLocationRepository, showRepository,showMapper);
+    eventLocationService = new EventLocationServiceImpl(eventLocationRepository, showRepository,showMapper, new Geocoder(), eventPublisher);
 
     testLocation = EventLocation.EventLocationBuilder.anEventLocation()
         .withName("Wiener Staatsoper")
@@ -107,7 +113,33 @@ public class EventLocationServiceTest {
     assertAll(
         () -> assertNotNull(saved.getId()),
         () -> assertEquals("Theater", saved.getName()),
+        () -> assertEquals(48.1986, saved.getLatitude()),
+        () -> assertEquals(16.3948, saved.getLongitude()),
         () -> assertEquals(2, eventLocationRepository.findAll().size())
     );
   }
+
+  @Test
+  public void testCompleteMissingCoordinates_unknownAddress_isNotLookedUpAgain() {
+    EventLocation unknown = eventLocationRepository.save(EventLocation.EventLocationBuilder.anEventLocation()
+        .withName("Nowhere Hall")
+        .withCountry("Atlantis")
+        .withCity("Nowhere")
+        .withStreet("Nowhere Street")
+        .withPostalCode("0000")
+        .withType(EventLocation.LocationType.THEATER)
+        .build());
+
+    eventLocationService.completeMissingCoordinates();
+    LocalDateTime lookedUpAt = unknown.getGeocodedAt();
+    eventLocationService.completeMissingCoordinates();
+
+    assertAll(
+        () -> assertNotNull(testLocation.getLatitude()),
+        () -> assertNull(unknown.getLatitude()),
+        () -> assertNotNull(lookedUpAt),
+        () -> assertSame(lookedUpAt, unknown.getGeocodedAt()),
+        () -> assertTrue(eventLocationRepository.findByGeocodedAtIsNull().isEmpty())
+    );
+  }
 }
@@ -519,6 +519,24 @@ public class EventServiceTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testGetTopTenEventsByCategory_afterRefund_countsOneTicketLess() throws ValidationException {
+        Ticket refunded = ticketRepository.findAll().stream()
+            .filter(ticket -> ticket.getShow().getEvent().getName().equals("Event Two"))
+            .findFirst()
+            .orElseThrow();
+        refunded.setStatus(TicketStatus.REFUNDED);
+        ticketRepository.saveAndFlush(refunded);
+
+        List<EventTopTenDto> result = eventService.getTopTenEventsByCategory(Event.EventCategory.CLASSICAL.name());
+
+        assertAll(
+            () -> assertEquals("Event Two", result.get(0).getName()),
+            () -> assertEquals(7L, result.get(0).getTicketsSold())
+        );
+    }
+
     @Transactional
     @Test
     public void testGetTopTenEventsByCategory_invalidCategory_throwsValidationException() {
@@ -3,27 +3,45 @@ package at.ac.tuwien.sepr.groupphase.backend.unittests.Service;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Image;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ImageRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ImageStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.StoredImage;
+import at.ac.tuwien.sepr.groupphase.backend.service.image.ThumbnailGenerator;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.ImageServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ImageServiceImplTest {
 
+    @TempDir
+    private Path storeDirectory;
+
     private ImageRepository imageRepository;
     private ImageServiceImpl imageService;
 
     @BeforeEach
     void setUp() {
         imageRepository = mock(ImageRepository.class);
-        imageService = new ImageServiceImpl(imageRepository);
+        imageService = new ImageServiceImpl(imageRepository, new ImageStore(storeDirectory), new ThumbnailGenerator(32));
     }
 
     @Test
@@ -44,4 +62,90 @@ public class ImageServiceImplTest {
         assertThrows(NotFoundException.class, () -> imageService.findById(1L));
         verify(imageRepository).findById(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStore_KeepsOriginalOnceAndCreatesThumbnail() throws IOException {
+        byte[] png = png(200, 100);
+
+        Image first = imageService.store(new ByteArrayInputStream(png), "image/png");
+        Image second = imageService.store(new ByteArrayInputStream(png), "image/png");
+        when(imageRepository.findById(1L)).thenReturn(Optional.of(first));
+        StoredImage original = imageService.findContent(1L, false);
+        StoredImage thumbnail = imageService.findContent(1L, true);
+        BufferedImage preview = ImageIO.read(thumbnail.path().toFile());
+
+        assertAll(
+            () -> assertEquals(first.getContentHash(), second.getContentHash()),
+            () -> assertArrayEquals(png, Files.readAllBytes(original.path())),
+            () -> assertEquals("image/png", original.contentType()),
+            () -> assertEquals("image/png", thumbnail.contentType()),
+            () -> assertEquals(32, preview.getWidth()),
+            () -> assertEquals(16, preview.getHeight())
+        );
+    }
+
+    @Test
+    void testFindContent_WithoutThumbnail_FallsBackToOriginal() {
+        Image image = imageService.store(new ByteArrayInputStream(new byte[] {1, 2, 3}), "image/jpeg");
+        when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
+
+        StoredImage content = imageService.findContent(1L, true);
+
+        assertAll(
+            () -> assertNull(image.getThumbnailHash()),
+            () -> assertEquals(image.getContentHash(), content.hash()),
+            () -> assertEquals("image/jpeg", content.contentType())
+        );
+    }
+
+    @Test
+    void testStore_WhenTransactionRolledBack_RemovesOnlyFilesItCreated() throws IOException {
+        Image existing = imageService.store(new ByteArrayInputStream(new byte[] {1, 2, 3}), "image/jpeg");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Image reused = imageService.store(new ByteArrayInputStream(new byte[] {1, 2, 3}), "image/jpeg");
+            Image created = imageService.store(new ByteArrayInputStream(png(200, 100)), "image/png");
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            assertAll(
+                () -> assertEquals(existing.getContentHash(), reused.getContentHash()),
+                () -> assertTrue(Files.exists(storePath(existing.getContentHash())), "Files stored before must be kept"),
+                () -> assertFalse(Files.exists(storePath(created.getContentHash()))),
+                () -> assertFalse(Files.exists(storePath(created.getThumbnailHash())))
+            );
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRemoveUnusedFiles_RemovesOnlyOldFilesWithoutImage() throws IOException {
+        Image used = imageService.store(new ByteArrayInputStream(new byte[] {1, 2, 3}), "image/jpeg");
+        Image unused = imageService.store(new ByteArrayInputStream(new byte[] {4, 5, 6}), "image/jpeg");
+        Image recent = imageService.store(new ByteArrayInputStream(new byte[] {7, 8, 9}), "image/jpeg");
+        FileTime storedLongAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(storePath(used.getContentHash()), storedLongAgo);
+        Files.setLastModifiedTime(storePath(unused.getContentHash()), storedLongAgo);
+        when(imageRepository.existsByContentHashOrThumbnailHash(used.getContentHash(), used.getContentHash())).thenReturn(true);
+
+        imageService.removeUnusedFiles();
+
+        assertAll(
+            () -> assertTrue(Files.exists(storePath(used.getContentHash()))),
+            () -> assertFalse(Files.exists(storePath(unused.getContentHash()))),
+            () -> assertTrue(Files.exists(storePath(recent.getContentHash())), "Recently stored files may not be committed yet")
+        );
+    }
+
+    private Path storePath(String hash) {
+        return storeDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", png);
+        return png.toByteArray();
+    }
+}
@@ -18,12 +18,25 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.UserRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.PdfExportServiceImpl;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfDocumentStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderPool;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.PdfRenderer;
+import at.ac.tuwien.sepr.groupphase.backend.service.pdf.StoredPdf;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +50,10 @@ class PdfExportServiceImplTest {
     private TicketRepository ticketRepository;
     private OrderRepository orderRepository;
     private UserRepository userRepository;
+    private PdfRenderPool renderPool;
+
+    @TempDir
+    private Path storeDirectory;
     private PdfExportServiceImpl pdfExportService;
 
     @BeforeEach
@@ -45,7 +62,8 @@ class PdfExportServiceImplTest {
         orderRepository = mock(OrderRepository.class);
         userRepository = mock(UserRepository.class);
 
-        pdfExportService = new PdfExportServiceImpl(ticketRepository, orderRepository, userRepository);
+        renderPool = new PdfRenderPool(new PdfRenderer(), new PdfDocumentStore(storeDirectory, Duration.ofDays(30)), 1, 10);
+        pdfExportService = new PdfExportServiceImpl(ticketRepository, orderRepository, userRepository, renderPool, mock(PlatformTransactionManager.class));
 
         Authentication authentication = mock(Authentication.class);
         SecurityContext securityContext = mock(SecurityContext.class);
@@ -53,6 +71,11 @@ class PdfExportServiceImplTest {
         SecurityContextHolder.setContext(securityContext);
     }
 
+    @AfterEach
+    void tearDown() {
+        renderPool.shutdown();
+    }
+
     private Ticket createMockTicket(Long id, String code) {
         EventLocation location = mock(EventLocation.class);
         when(location.getStreet()).thenReturn("Musterstraße 12");
@@ -103,7 +126,7 @@ class PdfExportServiceImplTest {
         when(ticketRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> {
-            pdfExportService.makeTicketPdf(1L, new ByteArrayOutputStream(), Optional.empty());
+            pdfExportService.makeTicketPdf(1L, Optional.empty());
         });
     }
 
@@ -116,7 +139,7 @@ class PdfExportServiceImplTest {
             .thenReturn("999");
 
         assertThrows(AuthorizationException.class, () -> {
-            pdfExportService.makeTicketPdf(1L, new ByteArrayOutputStream(), Optional.empty());
+            pdfExportService.makeTicketPdf(1L, Optional.empty());
         });
     }
 
@@ -128,7 +151,7 @@ class PdfExportServiceImplTest {
         String wrongCode = "wrongCode";
 
         assertThrows(ValidationException.class, () -> {
-            pdfExportService.makeTicketPdf(1L, new ByteArrayOutputStream(), Optional.of(wrongCode));
+            pdfExportService.makeTicketPdf(1L, Optional.of(wrongCode));
         });
     }
 
@@ -140,13 +163,9 @@ class PdfExportServiceImplTest {
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal())
             .thenReturn("1"); // korrekter User
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        assertDoesNotThrow(() -> {
-            pdfExportService.makeTicketPdf(1L, outputStream, Optional.empty());
-        });
+        StoredPdf pdf = assertDoesNotThrow(() -> pdfExportService.makeTicketPdf(1L, Optional.empty()));
 
-        assertTrue(outputStream.size() > 0);
+        assertTrue(pdf.path().toFile().length() > 0);
     }
 
     @Test
@@ -154,13 +173,9 @@ class PdfExportServiceImplTest {
         Ticket ticketMock = createMockTicket(1L, "correctCode");
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(ticketMock));
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        StoredPdf pdf = assertDoesNotThrow(() -> pdfExportService.makeTicketPdf(1L, Optional.of("correctCode")));
 
-        assertDoesNotThrow(() -> {
-            pdfExportService.makeTicketPdf(1L, outputStream, Optional.of("correctCode"));
-        });
-
-        assertTrue(outputStream.size() > 0);
+        assertTrue(pdf.path().toFile().length() > 0);
     }
 
 
@@ -191,13 +206,9 @@ class PdfExportServiceImplTest {
 
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("1"); // Authorized user
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        assertDoesNotThrow(() -> {
-            pdfExportService.makeInvoicePdf(1L, outputStream);
-        });
+        StoredPdf pdf = assertDoesNotThrow(() -> pdfExportService.makeInvoicePdf(1L));
 
-        assertTrue(outputStream.size() > 0);
+        assertTrue(pdf.path().toFile().length() > 0);
     }
 
     @Test
@@ -212,10 +223,8 @@ class PdfExportServiceImplTest {
 
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("999");
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
         assertThrows(AuthorizationException.class, () -> {
-            pdfExportService.makeInvoicePdf(1L, outputStream);
+            pdfExportService.makeInvoicePdf(1L);
         });
     }
 
@@ -245,12 +254,9 @@ class PdfExportServiceImplTest {
 
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("1");
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        assertDoesNotThrow(() -> {
-            pdfExportService.makeInvoicePdf(1L, outputStream);
-        });
+        StoredPdf pdf = assertDoesNotThrow(() -> pdfExportService.makeInvoicePdf(1L));
 
-        assertTrue(outputStream.size() > 0, "PDF generation failed; output stream is empty");
+        assertTrue(pdf.path().toFile().length() > 0, "PDF generation failed; stored file is empty");
     }
 
     @Test
@@ -270,12 +276,33 @@ class PdfExportServiceImplTest {
 
         when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("999");
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
         assertThrows(AuthorizationException.class, () -> {
-            pdfExportService.makeCancelInvoicePdf(1L, outputStream);
+            pdfExportService.makeCancelInvoicePdf(1L);
         });
 
     }
 
+    @Test
+    void makeOrderGroupTicketsPdf_WritesOnePagePerTicket() throws Exception {
+        Ticket first = createMockTicket(1L, "firstCode");
+        Ticket second = createMockTicket(2L, "secondCode");
+        when(ticketRepository.findBoughtByOrderGroupForExport(1L, 1L)).thenReturn(List.of(first, second));
+        when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("1");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        pdfExportService.makeOrderGroupTicketsPdf(1L).writeTo(out);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(out.toByteArray())))) {
+            assertEquals(2, pdf.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void makeOrderGroupTicketsPdf_ThrowsNotFoundException_WhenOrderGroupHasNoBoughtTicketsOfUser() {
+        when(ticketRepository.findBoughtByOrderGroupForExport(1L, 999L)).thenReturn(List.of());
+        when(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).thenReturn("999");
+
+        assertThrows(NotFoundException.class, () -> pdfExportService.makeOrderGroupTicketsPdf(1L));
+    }
+
 }
@@ -0,0 +1,212 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests.Service;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.PurchaseStatus;
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.PurchaseHandleDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetSeatedDto;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Room;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Seat;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Sector;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderGroupRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.OrderRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
+import at.ac.tuwien.sepr.groupphase.backend.service.PurchaseQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class PurchaseQueueServiceTest {
+
+    @Autowired
+    private PurchaseQueueService purchaseQueueService;
+    @Autowired
+    private EventLocationRepository eventLocationRepository;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private RoomRepository roomRepository;
+    @Autowired
+    private ShowRepository showRepository;
+    @Autowired
+    private TicketRepository ticketRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderGroupRepository orderGroupRepository;
+
+    @MockitoBean
+    private AuthenticationFacade authenticationFacade;
+
+    private Show show;
+    private Sector sector;
+    private Seat seat;
+
+    @BeforeEach
+    public void setUp() {
+        when(authenticationFacade.getCurrentUserId()).thenReturn(1L);
+
+        EventLocation location = EventLocation.EventLocationBuilder.anEventLocation()
+            .withName("Queue Venue")
+            .withCountry("Austria")
+            .withCity("Vienna")
+            .withStreet("Queue St")
+            .withPostalCode("1010")
+            .withType(EventLocation.LocationType.HALL)
+            .build();
+        eventLocationRepository.save(location);
+
+        Room room = Room.RoomBuilder.aRoom()
+            .withName("Queue Room")
+            .withEventLocation(location)
+            .withSeats(new ArrayList<>())
+            .build();
+        sector = Sector.SectorBuilder.aSector()
+            .withName("Queue Sector")
+            .withPrice(100)
+            .withRoom(room)
+            .build();
+        room.addSector(sector);
+        seat = new Seat();
+        seat.setRowNumber(1);
+        seat.setColumnNumber(1);
+        seat.setDeleted(false);
+        seat.setSector(sector);
+        room.addSeat(seat);
+        roomRepository.save(room);
+
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).plusDays(1);
+        Event event = Event.EventBuilder.anEvent()
+            .withName("Queue Event")
+            .withCategory(Event.EventCategory.CLASSICAL)
+            .withDescription("Test description")
+            .withDateTime(start)
+            .withDuration(120)
+            .withLocation(location)
+            .build();
+        eventRepository.save(event);
+
+        show = showRepository.save(Show.ShowBuilder.aShow()
+            .withName("Queue Show")
+            .withDuration(60)
+            .withDate(start.plusMinutes(10))
+            .withEvent(event)
+            .withRoom(room)
+            .withOnSaleMode(true)
+            .build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ticketRepository.deleteAll();
+        orderRepository.deleteAll();
+        orderGroupRepository.deleteAll();
+        showRepository.deleteAll();
+        eventRepository.deleteAll();
+        roomRepository.deleteAll();
+        eventLocationRepository.deleteAll();
+    }
+
+    private TicketRequestDto createBuyRequest() {
+        TicketTargetSeatedDto target = new TicketTargetSeatedDto();
+        target.setSectorId(sector.getId());
+        target.setSeatId(seat.getId());
+
+        TicketRequestDto request = new TicketRequestDto();
+        request.setShowId(show.getId());
+        request.setTargets(List.of(target));
+        request.setFirstName("John");
+        request.setLastName("Doe");
+        request.setStreet("Main Street");
+        request.setHousenumber("10");
+        request.setCity("Vienna");
+        request.setCountry("Austria");
+        request.setPostalCode("1010");
+        request.setCardNumber("4242424242424242");
+        request.setExpirationDate("12/30");
+        request.setSecurityCode("123");
+        return request;
+    }
+
+    private PurchaseHandleDto awaitFinished(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            PurchaseHandleDto handle = purchaseQueueService.getPurchase(id);
+            if (handle.getStatus() == PurchaseStatus.COMPLETED || handle.getStatus() == PurchaseStatus.FAILED) {
+                return handle;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Purchase " + id + " was not processed in time");
+    }
+
+    @Test
+    public void testIsOnSale_returnsFlagOfShow() {
+        assertTrue(purchaseQueueService.isOnSale(show.getId()));
+    }
+
+    @Test
+    public void testEnqueue_sameSeatTwice_firstCompletesAndSecondFails() throws Exception {
+        PurchaseHandleDto first = purchaseQueueService.enqueue(createBuyRequest());
+        PurchaseHandleDto second = purchaseQueueService.enqueue(createBuyRequest());
+
+        PurchaseHandleDto firstDone = awaitFinished(first.getId());
+        PurchaseHandleDto secondDone = awaitFinished(second.getId());
+
+        assertAll(
+            () -> assertEquals(show.getId(), first.getShowId()),
+            () -> assertEquals(PurchaseStatus.COMPLETED, firstDone.getStatus()),
+            () -> assertNotNull(firstDone.getOrderGroup()),
+            () -> assertNull(firstDone.getError()),
+            () -> assertEquals(0, firstDone.getPosition()),
+            () -> assertEquals(PurchaseStatus.FAILED, secondDone.getStatus()),
+            () -> assertNull(secondDone.getOrderGroup()),
+            () -> assertNotNull(secondDone.getError()),
+            () -> assertEquals(1, ticketRepository.findAll().stream()
+                .filter(t -> t.getStatus() == TicketStatus.BOUGHT)
+                .count())
+        );
+    }
+
+    @Test
+    public void testGetPurchase_ofOtherUser_throwsNotFoundException() throws Exception {
+        PurchaseHandleDto handle = purchaseQueueService.enqueue(createBuyRequest());
+        awaitFinished(handle.getId());
+
+        when(authenticationFacade.getCurrentUserId()).thenReturn(2L);
+
+        assertThrows(NotFoundException.class, () -> purchaseQueueService.getPurchase(handle.getId()));
+    }
+}
@@ -15,6 +15,9 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ShowRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.ReservationCleanUpService;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatOccupancyIndex;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.ShowOccupancy;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -52,7 +55,14 @@ public class ReservationCleanUpServiceTest {
     @Autowired
     private RoomRepository roomRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SeatOccupancyIndex seatOccupancyIndex;
+
     private Show testShow;
+    private Seat testSeat;
 
     @BeforeEach
     @Transactional
@@ -84,6 +94,7 @@ public class ReservationCleanUpServiceTest {
         seat.setColumnNumber(1);
         seat.setSector(sector);
         room.addSeat(seat);
+        testSeat = seat;
 
         StandingSector standingSector = StandingSector.StandingSectorBuilder.aStandingSector()
             .withPrice(50)
@@ -137,4 +148,31 @@ public class ReservationCleanUpServiceTest {
         assertTrue(reservedAfter.isEmpty(), "No RESERVED tickets should remain after cleanup");
         assertEquals(1, cancelledAfter.size(), "One ticket should be CANCELLED after cleanup");
     }
+
+    @Test
+    @Transactional
+    public void testCleanupServiceCountsExpiredReservationsAndFreesSeat() {
+        double expiredBefore = meterRegistry.counter("tickets.reservations.expired").count();
+
+        cleanUpService.cancelExpiredReservations();
+
+        assertEquals(expiredBefore + 1, meterRegistry.counter("tickets.reservations.expired").count());
+        Ticket expired = ticketRepository.findByShowAndStatus(testShow, TicketStatus.EXPIRED).getFirst();
+        assertNull(expired.getActiveSeatId(), "An expired ticket should no longer block its seat");
+    }
+
+    @Test
+    public void testCleanupServiceReleasesSeatInIndexedOccupancy() {
+        ShowOccupancy before = seatOccupancyIndex.forShow(testShow.getId());
+        boolean takenBefore = before.isSeatTaken(testSeat.getId());
+
+        cleanUpService.cancelExpiredReservations();
+
+        ShowOccupancy after = seatOccupancyIndex.forShow(testShow.getId());
+        assertAll(
+            () -> assertTrue(takenBefore),
+            () -> assertSame(before, after, "The occupancy should be updated in place, not reloaded"),
+            () -> assertFalse(after.isSeatTaken(testSeat.getId()))
+        );
+    }
 }
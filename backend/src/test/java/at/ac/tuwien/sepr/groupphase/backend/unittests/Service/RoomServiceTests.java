@@ -8,6 +8,7 @@ import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SeatUsageDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.SectorDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.CreateRoomDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomDetailDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.room.RoomUsageChangesDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StageSectorDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.roomdtos.StandingSectorUsageDto;
@@ -40,12 +41,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -200,6 +204,43 @@ public class RoomServiceTests {
     }
 
 
+    @Test
+    public void testUpdateRoom_changedSectorPrices_areCopiedToShowsInRoom() throws ValidationException {
+        RoomDetailDto created = roomService.createRoom(createRoomDto);
+        Show show = showRepository.save(Show.ShowBuilder.aShow()
+            .withName("Priced Show")
+            .withDuration(120)
+            .withDate(LocalDateTime.now().plusYears(1))
+            .withEvent(event)
+            .withRoom(roomRepository.findById(created.getId()).orElseThrow())
+            .build());
+
+        StandingSectorDto cheap = new StandingSectorDto();
+        cheap.setPrice(25);
+        cheap.setName("Back");
+        cheap.setCapacity(5);
+        StandingSectorDto expensive = new StandingSectorDto();
+        expensive.setPrice(80);
+        expensive.setName("Front");
+        expensive.setCapacity(5);
+        RoomDetailDto withSectors = RoomDetailDto.RoomDetailDtoBuilder.aRoomDetailDto()
+            .id(created.getId())
+            .name(created.getName())
+            .sectors(List.of(cheap, expensive))
+            .seats(List.of())
+            .eventLocationId(created.getEventLocationId())
+            .build();
+
+        roomService.updateRoom(created.getId(), withSectors);
+
+        Show updated = showRepository.findById(show.getId()).orElseThrow();
+        assertAll(
+            () -> assertEquals(25, updated.getMinPrice()),
+            () -> assertEquals(80, updated.getMaxPrice()),
+            () -> assertEquals(Map.of(25, 1, 80, 1), updated.getPriceHistogram())
+        );
+    }
+
     @Test
     public void testCreateRoom_validInput_createsRoom_RoomHasCorrectSeatCount() {
         RoomDetailDto result = roomService.createRoom(createRoomDto);
@@ -728,6 +769,160 @@ public class RoomServiceTests {
         assertFalse(dto.isAvailable(), "Seat with RESERVED ticket should not be available");
     }
 
+    @Test
+    public void testGetRoomUsageForShow_expiredReservation_releasesSeatAfterFirstLoad() {
+        RoomDetailDto room = roomService.createRoom(createRoomDto);
+        Seat seat = seatRepository.findAll().get(0);
+
+        Show show = Show.ShowBuilder.aShow()
+            .withName("Expiring Test Show")
+            .withDate(LocalDateTime.now().plusDays(1))
+            .withDuration(120)
+            .withEvent(event)
+            .withRoom(roomRepository.findById(room.getId()).orElseThrow())
+            .build();
+        show = showRepository.save(show);
+
+        Ticket reserved = new Ticket();
+        reserved.setShow(show);
+        reserved.setSeat(seat);
+        reserved.setSector(seat.getSector());
+        reserved.setStatus(TicketStatus.RESERVED);
+        reserved.setCreatedAt(LocalDateTime.now());
+        reserved = ticketRepository.save(reserved);
+
+        Long showId = show.getId();
+        boolean availableBefore = roomService.getRoomUsageForShow(showId).getSeats().stream()
+            .filter(s -> s.getId().equals(seat.getId()))
+            .map(s -> ((SeatUsageDto) s).isAvailable())
+            .findFirst()
+            .orElseThrow();
+
+        reserved.setStatus(TicketStatus.EXPIRED);
+        ticketRepository.save(reserved);
+
+        boolean availableAfter = roomService.getRoomUsageForShow(showId).getSeats().stream()
+            .filter(s -> s.getId().equals(seat.getId()))
+            .map(s -> ((SeatUsageDto) s).isAvailable())
+            .findFirst()
+            .orElseThrow();
+
+        assertAll(
+            () -> assertFalse(availableBefore, "Seat with RESERVED ticket should not be available"),
+            () -> assertTrue(availableAfter, "Seat should be available again once the reservation expired")
+        );
+    }
+
+    @Test
+    public void testGetRoomUsageChanges_afterTicketBought_returnsOnlyChangedSeat() {
+        RoomDetailDto room = roomService.createRoom(createRoomDto);
+        Seat seat = seatRepository.findAll().get(0);
+
+        Show show = Show.ShowBuilder.aShow()
+            .withName("Polling Test Show")
+            .withDate(LocalDateTime.now().plusDays(1))
+            .withDuration(120)
+            .withEvent(event)
+            .withRoom(roomRepository.findById(room.getId()).orElseThrow())
+            .build();
+        show = showRepository.save(show);
+        Long showId = show.getId();
+
+        RoomUsageChangesDto initial = roomService.getRoomUsageChanges(showId, null);
+        RoomUsageChangesDto unchanged = roomService.getRoomUsageChanges(showId, initial.getVersion());
+
+        Ticket ticket = new Ticket();
+        ticket.setShow(show);
+        ticket.setSeat(seat);
+        ticket.setSector(seat.getSector());
+        ticket.setStatus(TicketStatus.BOUGHT);
+        ticket.setCreatedAt(LocalDateTime.now());
+        ticketRepository.save(ticket);
+
+        RoomUsageChangesDto changed = roomService.getRoomUsageChanges(showId, initial.getVersion());
+
+        assertAll(
+            () -> assertTrue(initial.isComplete(), "First request without a version should contain everything"),
+            () -> assertEquals(100, initial.getSeats().size()),
+            () -> assertFalse(unchanged.isComplete()),
+            () -> assertEquals(initial.getVersion(), unchanged.getVersion(), "Version must not move without changes"),
+            () -> assertTrue(unchanged.getSeats().isEmpty()),
+            () -> assertFalse(changed.isComplete()),
+            () -> assertTrue(changed.getVersion() > initial.getVersion(), "Version must increase after a seat was taken"),
+            () -> assertEquals(1, changed.getSeats().size()),
+            () -> assertEquals(seat.getId(), changed.getSeats().getFirst().getId()),
+            () -> assertFalse(changed.getSeats().getFirst().isAvailable()),
+            () -> assertEquals(changed.getVersion(), roomService.getRoomUsageVersion(showId))
+        );
+    }
+
+    @Test
+    public void testGetRoomUsageChanges_unknownVersion_returnsCompleteUsage() {
+        RoomDetailDto room = roomService.createRoom(createRoomDto);
+
+        Show show = Show.ShowBuilder.aShow()
+            .withName("Restarted Polling Show")
+            .withDate(LocalDateTime.now().plusDays(1))
+            .withDuration(120)
+            .withEvent(event)
+            .withRoom(roomRepository.findById(room.getId()).orElseThrow())
+            .build();
+        show = showRepository.save(show);
+
+        assertNull(roomService.getRoomUsageVersion(show.getId()), "Shows are only tracked once their usage was requested");
+
+        RoomUsageChangesDto changes = roomService.getRoomUsageChanges(show.getId(), 1L);
+
+        assertAll(
+            () -> assertTrue(changes.isComplete()),
+            () -> assertEquals(100, changes.getSeats().size()),
+            () -> assertTrue(changes.getSeats().stream().allMatch(SeatUsageDto::isAvailable))
+        );
+    }
+
+    @Test
+    public void testGetSharedRoomUsage_countsHoldOfCurrentUser() {
+        RoomDetailDto room = roomService.createRoom(createRoomDto);
+        Seat seat = seatRepository.findAll().get(0);
+
+        Show show = Show.ShowBuilder.aShow()
+            .withName("Shared Usage Show")
+            .withDate(LocalDateTime.now().plusDays(1))
+            .withDuration(120)
+            .withEvent(event)
+            .withRoom(roomRepository.findById(room.getId()).orElseThrow())
+            .build();
+        show = showRepository.save(show);
+
+        Hold hold = new Hold();
+        hold.setSeatId(seat.getId());
+        hold.setShowId(show.getId());
+        hold.setSectorId(seat.getSector().getId());
+        hold.setUserId(1L);
+        hold.setValidUntil(LocalDateTime.now().plusMinutes(10));
+        holdRepository.save(hold);
+
+        RoomUsageChangesDto own;
+        RoomUsageChangesDto shared;
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("1", null, List.of()));
+        try {
+            own = roomService.getRoomUsageChanges(show.getId(), null);
+            shared = roomService.getSharedRoomUsage(show.getId());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertAll(
+            () -> assertTrue(isAvailable(own, seat.getId()), "The holder still sees its own seat as available"),
+            () -> assertFalse(isAvailable(shared, seat.getId()), "Shared usage counts every hold"),
+            () -> assertTrue(shared.isComplete())
+        );
+    }
+
+    private static boolean isAvailable(RoomUsageChangesDto usage, Long seatId) {
+        return usage.getSeats().stream().filter(seat -> seat.getId().equals(seatId)).findFirst().orElseThrow().isAvailable();
+    }
+
     @Test
     public void testGetRoomUsageForShow_expiredHold_doesNotBlockSeat() {
         RoomDetailDto room = roomService.createRoom(createRoomDto);
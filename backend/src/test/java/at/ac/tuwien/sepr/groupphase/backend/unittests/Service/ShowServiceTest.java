@@ -11,6 +11,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
@@ -37,6 +38,8 @@ public class ShowServiceTest {
     private RoomRepository roomRepository;
     @Autowired
     private ShowValidator showValidator;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     private ShowServiceImpl showService;
 
@@ -48,7 +51,7 @@ public class ShowServiceTest {
 
     @BeforeEach
     public void setUp() {
-        showService = new ShowServiceImpl(showRepository, eventRepository, artistRepository, showValidator, roomRepository);
+        showService = new ShowServiceImpl(showRepository, eventRepository, artistRepository, showValidator, roomRepository, eventPublisher);
 
         EventLocation location = EventLocation.EventLocationBuilder.anEventLocation()
             .withName("Konzerthaus")
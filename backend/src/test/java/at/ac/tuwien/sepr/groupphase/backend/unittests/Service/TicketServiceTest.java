@@ -19,12 +19,14 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
 import at.ac.tuwien.sepr.groupphase.backend.service.ShowService;
 import at.ac.tuwien.sepr.groupphase.backend.service.TicketService;
+import at.ac.tuwien.sepr.groupphase.backend.service.impl.TicketServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -64,6 +66,10 @@ public class TicketServiceTest {
     private OrderGroupRepository orderGroupRepository;
     @Autowired
     private HoldRepository holdRepository;
+    @Autowired
+    private TicketServiceImpl ticketServiceImpl;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @MockitoBean
     private AuthenticationFacade authenticationFacade;
@@ -244,6 +250,21 @@ public class TicketServiceTest {
         );
     }
 
+    @Test
+    @Transactional
+    public void testCompleteMissingActiveSeats_marksSeatOfTicketStoredWithoutIt() throws ValidationException {
+        TicketTargetSeatedDto target = new TicketTargetSeatedDto();
+        target.setSectorId(sector.getId());
+        target.setSeatId(seat.getId());
+        ticketService.buyTickets(createBuyRequest(List.of(target)));
+        // a ticket written before the seat uniqueness was enforced
+        jdbcTemplate.update("UPDATE ticket SET active_seat_id = NULL");
+
+        ticketServiceImpl.completeMissingActiveSeats();
+
+        assertEquals(seat.getId(), jdbcTemplate.queryForObject("SELECT active_seat_id FROM ticket", Long.class));
+    }
+
     @Test
     @Transactional
     public void testBuyStandingTicket_savesAddressAndGroupCorrectly() throws ValidationException {
@@ -393,6 +414,20 @@ public class TicketServiceTest {
         });
     }
 
+    @Test
+    @Transactional
+    public void testBuyTickets_sameSeatTwiceInOneRequest_throwsSeatUnavailableException() {
+        TicketTargetSeatedDto first = new TicketTargetSeatedDto();
+        first.setSectorId(sector.getId());
+        first.setSeatId(seat.getId());
+        TicketTargetSeatedDto duplicate = new TicketTargetSeatedDto();
+        duplicate.setSectorId(sector.getId());
+        duplicate.setSeatId(seat.getId());
+        TicketRequestDto request = createBuyRequest(List.of(first, duplicate));
+
+        assertThrows(SeatUnavailableException.class, () -> ticketService.buyTickets(request));
+    }
+
     @Test
     @Transactional
     public void testBuyReservedTickets_withCheckoutData_createsOrderAndSetsAddress() throws ValidationException {
@@ -0,0 +1,112 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Show;
+import at.ac.tuwien.sepr.groupphase.backend.entity.ticket.Ticket;
+import at.ac.tuwien.sepr.groupphase.backend.repository.RoomRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.ShowSalesStatistics;
+import at.ac.tuwien.sepr.groupphase.backend.service.ranking.TicketSalesListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ShowSalesStatisticsTest {
+
+    private static final Long SHOW_ID = 1L;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T18:00:10Z"));
+    private ShowSalesStatistics statistics;
+    private TicketSalesListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        TicketRepository ticketRepository = mock(TicketRepository.class);
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        when(ticketRepository.countBoughtPerShow()).thenReturn(List.<Object[]>of(new Object[] {SHOW_ID, 2L}));
+        when(roomRepository.countSeatsPerRoom()).thenReturn(List.<Object[]>of(new Object[] {5L, 10L}));
+        when(roomRepository.sumStandingCapacityPerRoom()).thenReturn(List.<Object[]>of(new Object[] {5L, 20L}));
+        statistics = new ShowSalesStatistics(ticketRepository, roomRepository, mock(PlatformTransactionManager.class), clock);
+
+        ObjectProvider<ShowSalesStatistics> statisticsProvider = mock(ObjectProvider.class);
+        when(statisticsProvider.getObject()).thenReturn(statistics);
+        listener = new TicketSalesListener(mock(ObjectProvider.class), statisticsProvider);
+    }
+
+    @Test
+    public void snapshot_countsSalesAfterLoadFromTheNextMinuteOn() {
+        statistics.load();
+        ShowSalesStatistics.Snapshot first = statistics.snapshot();
+
+        listener.afterPersist(boughtTicket());
+        clock.advance(Duration.ofSeconds(30));
+        ShowSalesStatistics.Snapshot sameMinute = statistics.snapshot();
+        clock.advance(Duration.ofSeconds(30));
+        ShowSalesStatistics.Snapshot nextMinute = statistics.snapshot();
+
+        assertAll(
+            () -> assertEquals(2, first.sold(SHOW_ID)),
+            () -> assertEquals(30, first.capacity(5L)),
+            () -> assertSame(first, sameMinute),
+            () -> assertEquals(3, nextMinute.sold(SHOW_ID)),
+            () -> assertEquals(clock.instant().atZone(ZoneOffset.UTC).toLocalDateTime().withSecond(0), nextMinute.takenAt())
+        );
+    }
+
+    @Test
+    public void snapshot_ignoresSalesBeforeLoadAsTheLoadCountsThem() {
+        listener.afterPersist(boughtTicket());
+        statistics.load();
+
+        assertEquals(2, statistics.snapshot().sold(SHOW_ID));
+    }
+
+    private static Ticket boughtTicket() {
+        Show show = new Show();
+        show.setId(SHOW_ID);
+        Ticket ticket = new Ticket();
+        ticket.setShow(show);
+        ticket.setStatus(TicketStatus.BOUGHT);
+        return ticket;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
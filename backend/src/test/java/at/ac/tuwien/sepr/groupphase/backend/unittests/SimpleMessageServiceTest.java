@@ -6,9 +6,12 @@ import at.ac.tuwien.sepr.groupphase.backend.entity.Message;
 import at.ac.tuwien.sepr.groupphase.backend.exception.NotFoundException;
 import at.ac.tuwien.sepr.groupphase.backend.repository.ImageRepository;
 import at.ac.tuwien.sepr.groupphase.backend.repository.MessageRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.ImageService;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.SimpleMessageService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
 
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +25,7 @@ public class SimpleMessageServiceTest {
 
     private ImageRepository imageRepository;
     private MessageRepository messageRepository;
+    private ImageService imageService;
     private SimpleMessageService simpleMessageService;
 
 
@@ -30,7 +34,8 @@ public class SimpleMessageServiceTest {
         imageRepository = mock(ImageRepository.class);
         messageRepository = mock(MessageRepository.class);
 
-        simpleMessageService = new SimpleMessageService(messageRepository, imageRepository);
+        imageService = mock(ImageService.class);
+        simpleMessageService = new SimpleMessageService(messageRepository, imageRepository, imageService);
 
     }
 
@@ -87,6 +92,16 @@ public class SimpleMessageServiceTest {
         verify(messageRepository).save(message);
     }
 
+    @Test
+    void testPublishMessage_WithUploadsOfRejectedMessage_StoresNoImages() {
+        Message message = new Message();
+        when(messageRepository.saveAndFlush(message)).thenThrow(new DataIntegrityViolationException("title too long"));
+        MockMultipartFile upload = new MockMultipartFile("images", "picture.png", "image/png", new byte[] {1, 2, 3});
+
+        assertThrows(DataIntegrityViolationException.class, () -> simpleMessageService.publishMessage(message, List.of(upload)));
+        verifyNoInteractions(imageService);
+    }
+
 
 
 }
@@ -0,0 +1,92 @@
+package at.ac.tuwien.sepr.groupphase.backend.unittests;
+
+import at.ac.tuwien.sepr.groupphase.backend.entity.Artist;
+import at.ac.tuwien.sepr.groupphase.backend.entity.Event;
+import at.ac.tuwien.sepr.groupphase.backend.entity.EventLocation;
+import at.ac.tuwien.sepr.groupphase.backend.repository.ArtistRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventLocationRepository;
+import at.ac.tuwien.sepr.groupphase.backend.repository.EventRepository;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SearchDocument;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.Suggestion;
+import at.ac.tuwien.sepr.groupphase.backend.service.search.SuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class SuggestionIndexTest {
+
+    private SuggestionIndex suggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestionIndex = new SuggestionIndex(mock(ArtistRepository.class), mock(EventRepository.class), mock(EventLocationRepository.class),
+            mock(PlatformTransactionManager.class));
+        suggestionIndex.load();
+        suggestionIndex.put(SearchDocument.of(artist(1L, "Queen")));
+        suggestionIndex.put(SearchDocument.of(artist(2L, "Queens of the Stone Age")));
+        suggestionIndex.put(SearchDocument.of(event(3L, "Dancing Queen Night")));
+        suggestionIndex.put(SearchDocument.of(location(4L, "Café Müller")));
+    }
+
+    @Test
+    public void suggest_matchesInfixAndRanksNameStartFirst() {
+        List<Suggestion> suggestions = suggestionIndex.suggest("QUEE", 10);
+
+        assertEquals(List.of("Queen", "Queens of the Stone Age", "Dancing Queen Night"),
+            suggestions.stream().map(Suggestion::text).toList());
+    }
+
+    @Test
+    public void suggest_ignoresAccentsAndMatchesWordStartsForShortQueries() {
+        List<Suggestion> accents = suggestionIndex.suggest("mull", 10);
+        List<Suggestion> shortQuery = suggestionIndex.suggest("st", 10);
+        List<Suggestion> limited = suggestionIndex.suggest("queen", 1);
+
+        assertAll(
+            () -> assertEquals(List.of(4L), accents.stream().map(Suggestion::id).toList()),
+            () -> assertEquals(SearchDocument.Type.LOCATION, accents.getFirst().type()),
+            () -> assertEquals(List.of(2L), shortQuery.stream().map(Suggestion::id).toList()),
+            () -> assertEquals(List.of(1L), limited.stream().map(Suggestion::id).toList())
+        );
+    }
+
+    @Test
+    public void put_replacesPreviousNameAndRemoveDropsIt() {
+        Artist renamed = artist(1L, "Freddie");
+        suggestionIndex.put(SearchDocument.of(renamed));
+        List<Suggestion> oldName = suggestionIndex.suggest("queen", 10);
+        List<Suggestion> newName = suggestionIndex.suggest("fred", 10);
+        suggestionIndex.remove(SearchDocument.Type.ARTIST, 1L);
+
+        assertAll(
+            () -> assertEquals(List.of(2L, 3L), oldName.stream().map(Suggestion::id).toList()),
+            () -> assertEquals(List.of(1L), newName.stream().map(Suggestion::id).toList()),
+            () -> assertTrue(suggestionIndex.suggest("fred", 10).isEmpty())
+        );
+    }
+
+    private static Artist artist(Long id, String stagename) {
+        Artist artist = Artist.ArtistBuilder.anArtist().withFirstname("First").withLastname("Last").withStagename(stagename).build();
+        artist.setId(id);
+        return artist;
+    }
+
+    private static Event event(Long id, String name) {
+        Event event = new Event();
+        event.setId(id);
+        event.setName(name);
+        return event;
+    }
+
+    private static EventLocation location(Long id, String name) {
+        EventLocation location = new EventLocation();
+        location.setId(id);
+        location.setName(name);
+        return location;
+    }
+}
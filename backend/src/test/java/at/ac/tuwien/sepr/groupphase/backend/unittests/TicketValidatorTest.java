@@ -2,6 +2,7 @@ package at.ac.tuwien.sepr.groupphase.backend.unittests;
 
 import at.ac.tuwien.sepr.groupphase.backend.config.type.TicketStatus;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketRequestDto;
+import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetSeatedDto;
 import at.ac.tuwien.sepr.groupphase.backend.endpoint.dto.ticket.TicketTargetStandingDto;
 import at.ac.tuwien.sepr.groupphase.backend.entity.Hold;
@@ -20,6 +21,9 @@ import at.ac.tuwien.sepr.groupphase.backend.repository.ticket.TicketRepository;
 import at.ac.tuwien.sepr.groupphase.backend.security.AuthenticationFacade;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.RoomServiceImpl;
 import at.ac.tuwien.sepr.groupphase.backend.service.impl.ShowServiceImpl;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.HoldStore;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatClaimEngine;
+import at.ac.tuwien.sepr.groupphase.backend.service.occupancy.SeatOccupancyIndex;
 import at.ac.tuwien.sepr.groupphase.backend.service.validators.TicketValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,9 +31,14 @@ import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -61,7 +70,9 @@ public class TicketValidatorTest {
         ticketRepository = mock(TicketRepository.class);
         authFacade = mock(AuthenticationFacade.class);
 
-        validator = new TicketValidator(showService, roomService, holdRepository, ticketRepository, authFacade);
+        SeatClaimEngine seatClaimEngine = new SeatClaimEngine();
+        validator = new TicketValidator(showService, roomService, new HoldStore(holdRepository, seatClaimEngine, event -> {
+        }, Clock.systemDefaultZone()), new SeatOccupancyIndex(ticketRepository, seatClaimEngine), authFacade);
 
 
         show = new Show();
@@ -88,6 +99,48 @@ public class TicketValidatorTest {
         when(roomService.getSectorById(20L)).thenReturn(standingSector);
         when(roomService.getSeatById(100L)).thenReturn(seat);
         when(authFacade.getCurrentUserId()).thenReturn(1L);
+
+        // batch lookups of the cart resolution fall back to the single-id stubs of each test
+        when(roomService.getSectorsByIds(any())).thenAnswer(inv -> resolveEach(inv.getArgument(0), roomService::getSectorById));
+        when(roomService.getSeatsByIds(any())).thenAnswer(inv -> resolveEach(inv.getArgument(0), roomService::getSeatById));
+    }
+
+    private static <T> List<T> resolveEach(Collection<Long> ids, Function<Long, T> lookup) {
+        return ids.stream().map(lookup).filter(Objects::nonNull).toList();
+    }
+
+    @Test
+    public void validateForBuyTickets_shouldResolveAllTargetsWithOneLookupEach() {
+        Seat secondSeat = new Seat();
+        secondSeat.setId(101L);
+        secondSeat.setSector(sector);
+        Seat thirdSeat = new Seat();
+        thirdSeat.setId(102L);
+        thirdSeat.setSector(sector);
+
+        TicketRequestDto dto = new TicketRequestDto();
+        dto.setShowId(show.getId());
+        List<TicketTargetDto> targets = new ArrayList<>();
+        for (Seat s : List.of(seat, secondSeat, thirdSeat)) {
+            TicketTargetSeatedDto target = new TicketTargetSeatedDto();
+            target.setSectorId(sector.getId());
+            target.setSeatId(s.getId());
+            targets.add(target);
+        }
+        TicketTargetStandingDto standing = new TicketTargetStandingDto();
+        standing.setSectorId(standingSector.getId());
+        standing.setQuantity(2);
+        targets.add(standing);
+        dto.setTargets(targets);
+
+        doReturn(List.of(sector, standingSector)).when(roomService).getSectorsByIds(any());
+        doReturn(List.of(seat, secondSeat, thirdSeat)).when(roomService).getSeatsByIds(any());
+
+        assertDoesNotThrow(() -> validator.validateForBuyTickets(dto));
+        verify(roomService, times(1)).getSectorsByIds(Set.of(sector.getId(), standingSector.getId()));
+        verify(roomService, times(1)).getSeatsByIds(Set.of(seat.getId(), secondSeat.getId(), thirdSeat.getId()));
+        verify(roomService, never()).getSectorById(any());
+        verify(roomService, never()).getSeatById(any());
     }
 
     @Test
@@ -199,12 +252,8 @@ public class TicketValidatorTest {
         target.setSeatId(seat.getId());
         dto.setTargets(List.of(target));
 
-        Ticket existing = new Ticket();
-        existing.setShow(show);
-        existing.setSeat(seat);
-        existing.setStatus(TicketStatus.BOUGHT);
-
-        when(ticketRepository.findByShowId(show.getId())).thenReturn(List.of(existing));
+        when(ticketRepository.findOccupancyByShowId(eq(show.getId()), any()))
+            .thenReturn(List.<Object[]>of(new Object[] {seat.getId(), sector.getId()}));
 
         assertThrows(SeatUnavailableException.class, () -> validator.validateForBuyTickets(dto));
     }
@@ -601,11 +650,8 @@ public class TicketValidatorTest {
         when(showService.getShowById(showId)).thenReturn(show);
         when(roomService.getSectorById(sectorId)).thenReturn(sector);
 
-        Ticket existing = new Ticket();
-        existing.setSector(sector);
-        existing.setStatus(TicketStatus.BOUGHT);
-
-        when(ticketRepository.findByShowId(showId)).thenReturn(List.of(existing, existing, existing, existing));
+        Object[] existing = new Object[] {null, sectorId};
+        when(ticketRepository.findOccupancyByShowId(eq(showId), any())).thenReturn(List.of(existing, existing, existing, existing));
 
         TicketTargetStandingDto target = new TicketTargetStandingDto();
         target.setSectorId(sectorId);
@@ -633,7 +679,7 @@ public class TicketValidatorTest {
         hold.setSeatId(seatId);
         hold.setValidUntil(LocalDateTime.now().plusMinutes(5));
 
-        when(holdRepository.findByShowId(showId)).thenReturn(List.of(hold));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(showId), any())).thenReturn(List.of(hold));
 
         Sector sector = new Sector();
         sector.setId(sectorId);
@@ -668,16 +714,18 @@ public class TicketValidatorTest {
         Long sectorId = 1L;
 
         Hold hold1 = new Hold();
+        hold1.setId(1L);
         hold1.setSectorId(sectorId);
         hold1.setSeatId(null);
         hold1.setValidUntil(LocalDateTime.now().plusMinutes(5));
 
         Hold hold2 = new Hold();
+        hold2.setId(2L);
         hold2.setSectorId(sectorId);
         hold2.setSeatId(null);
         hold2.setValidUntil(LocalDateTime.now().plusMinutes(5));
 
-        when(holdRepository.findByShowId(showId)).thenReturn(List.of(hold1, hold2));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(showId), any())).thenReturn(List.of(hold1, hold2));
 
         StandingSector sector = new StandingSector();
         sector.setId(sectorId);
@@ -715,7 +763,7 @@ public class TicketValidatorTest {
         hold.setValidUntil(LocalDateTime.now().plusMinutes(5));
         hold.setUserId(999L);
 
-        when(holdRepository.findByShowId(showId)).thenReturn(List.of(hold));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(showId), any())).thenReturn(List.of(hold));
         when(authFacade.getCurrentUserId()).thenReturn(1L);
 
         Sector sector = new Sector();
@@ -768,14 +816,9 @@ public class TicketValidatorTest {
         standingSector.setId(sectorId);
         standingSector.setCapacity(10);
 
-        Ticket ticket = new Ticket();
-        ticket.setSector(standingSector);
-        ticket.setSeat(null);
-        ticket.setStatus(TicketStatus.BOUGHT);
-
-        when(holdRepository.findByShowId(showId)).thenReturn(List.of(hold));
+        when(holdRepository.findByShowIdAndValidUntilAfter(eq(showId), any())).thenReturn(List.of(hold));
         when(authFacade.getCurrentUserId()).thenReturn(1L);
-        when(ticketRepository.findByShowId(showId)).thenReturn(List.of(ticket));
+        when(ticketRepository.findOccupancyByShowId(eq(showId), any())).thenReturn(List.<Object[]>of(new Object[] {null, sectorId}));
         when(roomService.getSectorById(sectorId)).thenReturn(standingSector);
 
         Room room = new Room();
@@ -786,7 +829,6 @@ public class TicketValidatorTest {
         show.setDate(LocalDateTime.now().plusHours(1));
         when(showService.getShowById(showId)).thenReturn(show);
 
-        ticket.setStatus(TicketStatus.BOUGHT);
         hold.setValidUntil(LocalDateTime.now().plusMinutes(5));
         target.setQuantity(9);
 